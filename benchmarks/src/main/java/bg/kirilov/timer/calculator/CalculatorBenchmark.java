@@ -0,0 +1,68 @@
+package bg.kirilov.timer.calculator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a single amount calculation on the tick path.<br>
+ * The fixed-point calculator must not be slower than the double one, and a compiled pay schedule not much slower
+ * than either of them.
+ *
+ * @since 10/17/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalculatorBenchmark {
+
+    private Calculator moneyPerSecond;
+    private Calculator fixedPoint;
+    private Calculator paySchedule;
+    private long secondsPassed;
+
+    @Setup
+    public void init() {
+        moneyPerSecond = new MoneyPerSecondCalculator(12, 37.5);
+        fixedPoint = new FixedPointMoneyCalculator(12, 37.5);
+        //a segment change every few hours for a year
+        paySchedule = new PaySchedule(12, 37.5)
+                .tier(8 * 3600, 1.5)
+                .weekends(2)
+                .window(EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY), LocalTime.of(22, 0), LocalTime.of(6, 0), 1.25)
+                .overhead(1.2)
+                .compile(Instant.parse("2026-10-16T09:00:00Z"), ZoneOffset.UTC);
+    }
+
+    @Benchmark
+    public double moneyPerSecond() {
+        return moneyPerSecond.calculate(++secondsPassed);
+    }
+
+    @Benchmark
+    public double fixedPoint() {
+        return fixedPoint.calculate(++secondsPassed);
+    }
+
+    @Benchmark
+    public double paySchedule() {
+        return paySchedule.calculate(++secondsPassed);
+    }
+}
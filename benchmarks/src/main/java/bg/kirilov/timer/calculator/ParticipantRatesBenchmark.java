@@ -0,0 +1,62 @@
+package bg.kirilov.timer.calculator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregating per-participant rates and bulk calculation over many sessions
+ *
+ * @since 10/17/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParticipantRatesBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    private int size;
+
+    private double[] rates;
+    private long[] secondsPassed;
+    private double[] amounts;
+    private ParticipantRatesCalculator calculator;
+
+    @Setup
+    public void init() {
+        Random random = new Random(42);
+        rates = new double[size];
+        secondsPassed = new long[size];
+        for (int i = 0; i < size; i++) {
+            rates[i] = 15 + random.nextInt(100);
+            secondsPassed[i] = random.nextInt(8 * 3600);
+        }
+        amounts = new double[size];
+        calculator = new ParticipantRatesCalculator(rates);
+    }
+
+    @Benchmark
+    public double aggregate() {
+        return ParticipantRatesCalculator.sum(rates, 0, rates.length);
+    }
+
+    @Benchmark
+    public double[] bulkCalculate() {
+        calculator.calculate(secondsPassed, amounts);
+        return amounts;
+    }
+}
@@ -0,0 +1,80 @@
+package bg.kirilov.timer.history;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Queries over a history of millions of sessions spread over a year
+ *
+ * @since 10/17/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionHistoryBenchmark {
+
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+    private static final long YEAR_2026 = 1767225600000L;
+
+    @Param({"1000000", "5000000"})
+    private int size;
+
+    private Path directory;
+    private SessionHistory history;
+
+    @Setup(Level.Trial)
+    public void init() throws IOException {
+        directory = Files.createTempDirectory("history-benchmark");
+        history = SessionHistory.open(directory);
+        Random random = new Random(42);
+        for (int i = 0; i < size; i++) {
+            long start = YEAR_2026 + i * (365 * DAY / size) + random.nextInt(3600_000);
+            history.append(start, 1800, 1 + random.nextInt(20), 25.5, random.nextInt(100_000) / 100.0);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanUp() throws IOException {
+        history.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public long[] costPerWeekForAYear() {
+        return history.costPerPeriod(YEAR_2026, 7 * DAY, 52);
+    }
+
+    @Benchmark
+    public long costOfAMonth() {
+        return history.totalCost(YEAR_2026 + 100 * DAY, YEAR_2026 + 130 * DAY);
+    }
+
+    @Benchmark
+    public int[] top100() {
+        return history.mostExpensive(100);
+    }
+}
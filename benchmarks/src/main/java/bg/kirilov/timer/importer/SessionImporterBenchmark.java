@@ -0,0 +1,75 @@
+package bg.kirilov.timer.importer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Imports a file of millions of planned sessions, with one worker and with a worker per core
+ *
+ * @since 10/17/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionImporterBenchmark {
+
+    private static final int ROWS = 2_000_000;
+
+    /**
+     * 0 is a worker per core
+     */
+    @Param({"1", "0"})
+    private int parallelism;
+
+    private Path file;
+    private ForkJoinPool pool;
+    private final SessionImporter importer = new SessionImporter();
+
+    @Setup(Level.Trial)
+    public void init() throws IOException {
+        file = Files.createTempFile("import-benchmark", ".csv");
+        Random random = new Random(42);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+            writer.write("people,rate,duration\n");
+            for (int i = 0; i < ROWS; i++) {
+                writer.write((1 + random.nextInt(20)) + "," + random.nextInt(100_000) / 100.0 + ","
+                        + (1 + random.nextInt(8)) + ":" + random.nextInt(6) + "0:00\n");
+            }
+        }
+        pool = new ForkJoinPool(parallelism == 0 ? Runtime.getRuntime().availableProcessors() : parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanUp() throws IOException {
+        pool.shutdown();
+        Files.delete(file);
+    }
+
+    @Benchmark
+    public ImportResult importFile() throws IOException {
+        return importer.importFile(file, pool);
+    }
+}
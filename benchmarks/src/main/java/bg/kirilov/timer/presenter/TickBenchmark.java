@@ -0,0 +1,104 @@
+package bg.kirilov.timer.presenter;
+
+import bg.kirilov.timer.calculator.MoneyPerSecondCalculator;
+import bg.kirilov.timer.util.Formatters;
+import bg.kirilov.timer.util.TimeConstants;
+import org.joda.time.Duration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A full tick of a session - time, calculation, texts and view update.<br>
+ * Every tick advances the clock by a whole second, so every tick changes both texts.
+ * Run with "-prof gc" to see the garbage per tick.
+ *
+ * @since 10/17/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TickBenchmark {
+
+    private static final long NANOS_IN_A_SECOND = 1_000_000_000L;
+
+    private long now;
+    private CalculatingSession session;
+    private BlackholeView view;
+
+    //the tick before CalculatingSession - Joda Duration, Period and NumberFormat on every tick
+    private Duration legacyDuration;
+    private MoneyPerSecondCalculator legacyCalculator;
+    private NumberFormat legacyFormatter;
+
+    @Setup
+    public void init(Blackhole blackhole) {
+        view = new BlackholeView(blackhole);
+        session = new CalculatingSession(view, Locale.US, new MoneyPerSecondCalculator(12, 37.5),
+                TimeConstants.ONE_SECOND_IN_MILLIS, Timekeeping.MONOTONIC, () -> now);
+        session.start(null);
+
+        legacyDuration = new Duration(Duration.ZERO);
+        legacyCalculator = new MoneyPerSecondCalculator(12, 37.5);
+        legacyFormatter = Formatters.getNumberFormatter(Locale.US);
+    }
+
+    @Benchmark
+    public void sessionTick() {
+        now += NANOS_IN_A_SECOND;
+        session.updateState();
+    }
+
+    @Benchmark
+    public void legacyTick(Blackhole blackhole) {
+        legacyDuration = legacyDuration.plus(TimeConstants.ONE_SECOND_IN_MILLIS);
+        blackhole.consume(Formatters.getPeriodFormatter().print(legacyDuration.toPeriod()));
+
+        int passedSeconds = legacyDuration.toStandardSeconds().getSeconds();
+        double amount = legacyCalculator.calculate(passedSeconds);
+        blackhole.consume(legacyFormatter.format(amount));
+    }
+
+    private static final class BlackholeView implements CalculatingView {
+        private final Blackhole blackhole;
+
+        BlackholeView(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void setClock(String formattedClock) {
+            blackhole.consume(formattedClock);
+        }
+
+        @Override
+        public void setAmount(String formattedAmount) {
+            blackhole.consume(formattedAmount);
+        }
+
+        @Override
+        public void setClock(CharSequence formattedClock) {
+            blackhole.consume(formattedClock);
+        }
+
+        @Override
+        public void setAmount(CharSequence formattedAmount) {
+            blackhole.consume(formattedAmount);
+        }
+    }
+}
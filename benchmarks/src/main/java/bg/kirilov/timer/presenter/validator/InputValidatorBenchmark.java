@@ -0,0 +1,66 @@
+package bg.kirilov.timer.presenter.validator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validating user input - valid input and input that cannot be parsed
+ *
+ * @since 10/17/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InputValidatorBenchmark {
+
+    private String validInt = "42";
+    private String invalidInt = "4x2";
+    private String validDouble = "37.50";
+    private String invalidDouble = "37,5.0";
+
+    private final NumberParser parser = new NumberParser(Locale.US);
+
+    @Benchmark
+    public ParseStatus parserInvalidInt() {
+        return parser.parseInt(invalidInt);
+    }
+
+    @Benchmark
+    public double parserValidDouble() {
+        parser.parseDouble(validDouble);
+        return parser.doubleValue();
+    }
+
+    @Benchmark
+    public InputValidity<?> validInt() {
+        return new InputValidator().validateInt(validInt).validatePositiveNumber().getResult();
+    }
+
+    @Benchmark
+    public InputValidity<?> invalidInt() {
+        return new InputValidator().validateInt(invalidInt).validatePositiveNumber().getResult();
+    }
+
+    @Benchmark
+    public InputValidity<?> validDouble() {
+        return new InputValidator().validateDouble(validDouble).validatePositiveNumber().getResult();
+    }
+
+    @Benchmark
+    public InputValidity<?> invalidDouble() {
+        return new InputValidator().validateDouble(invalidDouble).validatePositiveNumber().getResult();
+    }
+}
@@ -0,0 +1,63 @@
+package bg.kirilov.timer.ui;
+
+import bg.kirilov.timer.presenter.CalculatingView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One frame of a dashboard of thousands of one-second sessions: the ticks of 1/60 of the sessions,
+ * then the flush of the 40 rows on the screen. A frame at 60 fps has 16 ms.
+ *
+ * @since 10/17/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DashboardBenchmark {
+
+    private static final int VISIBLE_ROWS = 40;
+
+    @Param({"5000"})
+    private int sessions;
+
+    private DashboardTableModel model;
+    private CalculatingView[] views;
+    private int nextTicking;
+
+    @Setup
+    public void init() {
+        model = new DashboardTableModel();
+        //stands for the JTable - it repaints the rows of the events
+        model.addTableModelListener(event -> {
+        });
+        views = new CalculatingView[sessions];
+        for (int i = 0; i < sessions; i++) {
+            views[i] = model.addRow("Room " + i);
+        }
+    }
+
+    @Benchmark
+    public int frame() {
+        int ticksPerFrame = sessions / 60;
+        for (int i = 0; i < ticksPerFrame; i++) {
+            views[nextTicking].setClock("00:00:01");
+            views[nextTicking].setAmount("0.01");
+            nextTicking = (nextTicking + 1) % sessions;
+        }
+        return model.flushFrame(0, VISIBLE_ROWS - 1);
+    }
+}
@@ -0,0 +1,67 @@
+package bg.kirilov.timer.util;
+
+import org.joda.time.Duration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Printing the clock and the amount - through Formatters and through the reusable texts of the tick path
+ *
+ * @since 10/17/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormattersBenchmark {
+
+    private long seconds;
+    private double amount;
+
+    private ClockText clockText;
+    private AmountText amountText;
+
+    @Setup
+    public void init() {
+        clockText = new ClockText();
+        amountText = new AmountText(Formatters.getNumberFormatter(Locale.US));
+    }
+
+    @Benchmark
+    public String numberFormatter() {
+        amount += 0.37;
+        return Formatters.formatNumber(amount, Locale.US);
+    }
+
+    @Benchmark
+    public String periodFormatter() {
+        seconds++;
+        return Formatters.getPeriodFormatter().print(new Duration(seconds * TimeConstants.ONE_SECOND_IN_MILLIS).toPeriod());
+    }
+
+    @Benchmark
+    public CharSequence amountText() {
+        amount += 0.37;
+        amountText.set(amount);
+        return amountText;
+    }
+
+    @Benchmark
+    public CharSequence clockText() {
+        clockText.set(++seconds);
+        return clockText;
+    }
+}
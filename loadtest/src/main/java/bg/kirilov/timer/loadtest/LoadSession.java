@@ -0,0 +1,97 @@
+package bg.kirilov.timer.loadtest;
+
+import bg.kirilov.timer.calculator.Calculator;
+import bg.kirilov.timer.presenter.CalculatingSession;
+import bg.kirilov.timer.presenter.CalculatingThread;
+import bg.kirilov.timer.presenter.CalculatingView;
+import bg.kirilov.timer.presenter.TickingEngine;
+import bg.kirilov.timer.presenter.Timekeeping;
+
+/**
+ * One session of the load, ticked either by a shared engine or by a thread of its own.
+ *
+ * @since 10/17/2026
+ */
+abstract class LoadSession {
+
+    /**
+     * The views only count - the load is the ticking, not the rendering
+     */
+    static final CalculatingView NO_VIEW = new CalculatingView() {
+        @Override
+        public void setClock(String formattedClock) {
+        }
+
+        @Override
+        public void setAmount(String formattedAmount) {
+        }
+    };
+
+    abstract void pause();
+
+    abstract void resume();
+
+    abstract void stop();
+
+    abstract CalculatingSession getSession();
+
+    /**
+     * Starts a session on the engine
+     */
+    static LoadSession onEngine(TickingEngine engine, Calculator calculator, long intervalMillis, Timekeeping timekeeping) {
+        CalculatingSession session = engine.start(new CalculatingSession(NO_VIEW, calculator, intervalMillis, timekeeping));
+        return new LoadSession() {
+            @Override
+            void pause() {
+                session.pause();
+            }
+
+            @Override
+            void resume() {
+                session.resume();
+            }
+
+            @Override
+            void stop() {
+                session.stop();
+            }
+
+            @Override
+            CalculatingSession getSession() {
+                return session;
+            }
+        };
+    }
+
+    /**
+     * Starts a thread for the session
+     *
+     * @throws OutOfMemoryError if the JVM can't create another thread
+     */
+    static LoadSession onThread(Calculator calculator, long intervalMillis, Timekeeping timekeeping) {
+        CalculatingThread thread = new CalculatingThread(NO_VIEW, calculator, intervalMillis, timekeeping);
+        thread.setDaemon(true);
+        thread.start();
+        return new LoadSession() {
+            @Override
+            void pause() {
+                thread.pauseThread();
+            }
+
+            @Override
+            void resume() {
+                thread.resumeThread();
+            }
+
+            @Override
+            void stop() {
+                thread.stopThread();
+            }
+
+            @Override
+            CalculatingSession getSession() {
+                return thread.getSession();
+            }
+        };
+    }
+}
@@ -0,0 +1,297 @@
+package bg.kirilov.timer.loadtest;
+
+import bg.kirilov.timer.calculator.MoneyPerSecondCalculator;
+import bg.kirilov.timer.metrics.LatencyHistogram;
+import bg.kirilov.timer.metrics.TickMetrics;
+import bg.kirilov.timer.presenter.TickingEngine;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Soak and load test: keeps a configured number of sessions running while they are stopped and replaced, paused and
+ * resumed at configured rates, and samples the tick lateness, the throughput, the heap and the threads of the JVM.<br>
+ * The sessions are ticked by one shared {@link TickingEngine} ("--mode engine") or by a CalculatingThread each
+ * ("--mode threads"). A run that can't create more threads is not an error - the failure is part of the result.<br>
+ * The samples are printed while the run goes and written to a JSON file at the end - see {@link LoadTestConfig#USAGE}.
+ *
+ * @since 10/17/2026
+ */
+public final class LoadTest {
+
+    private static final long SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final double NANOS_IN_A_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final LoadTestConfig config;
+    private final LoadTestResult result;
+    private final Random random;
+    private final TickMetrics metrics = TickMetrics.getDefault();
+    private final TickingEngine engine;
+
+    private final List<LoadSession> running = new ArrayList<>();
+    private final ArrayDeque<PausedSession> paused = new ArrayDeque<>();
+    private boolean rampUpFailed;
+
+    //since the last sample
+    private long started;
+    private long stopped;
+    private long pauses;
+    private long resumes;
+
+    private LoadTest(LoadTestConfig config) {
+        this.config = config;
+        this.result = new LoadTestResult(config);
+        this.random = new Random(config.seed);
+        this.engine = config.mode == LoadTestConfig.Mode.ENGINE ? new TickingEngine(config.tickerThreads, metrics) : null;
+    }
+
+    public static void main(String[] args) throws IOException {
+        LoadTestConfig config;
+        try {
+            config = LoadTestConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadTestConfig.USAGE);
+            System.exit(1);
+            return;
+        }
+
+        LoadTestResult result = new LoadTest(config).run();
+        result.write(config.out);
+        System.out.println("Result written to " + config.out.toAbsolutePath());
+    }
+
+    private LoadTestResult run() {
+        long startNanos = System.nanoTime();
+        long endNanos = startNanos + TimeUnit.SECONDS.toNanos(config.durationSeconds);
+        long sampleNanos = TimeUnit.SECONDS.toNanos(config.sampleSeconds);
+        long lastSampleNanos = startNanos;
+        long lastGcCount = gcCount();
+        long lastGcMillis = gcMillis();
+        resetMetrics();
+
+        double churnDue = 0;
+        double pausesDue = 0;
+        double sliceSeconds = SLICE_NANOS / NANOS_IN_A_SECOND;
+        try {
+            for (long sliceStart = startNanos; sliceStart < endNanos; sliceStart += SLICE_NANOS) {
+                sleepUntil(sliceStart);
+                long now = System.nanoTime();
+
+                rampUp(targetSessions(now - startNanos));
+                resumeDue(now);
+                if (now - startNanos >= TimeUnit.SECONDS.toNanos(config.rampUpSeconds)) {
+                    churnDue += config.churnPerSecond * sliceSeconds;
+                    for (; churnDue >= 1 && stopRandom(); churnDue--) {
+                        startSession();
+                    }
+                }
+                pausesDue += config.pausesPerSecond * sliceSeconds;
+                for (; pausesDue >= 1 && pauseRandom(now); pausesDue--) {
+                    //paused
+                }
+
+                if (now - lastSampleNanos >= sampleNanos) {
+                    LoadTestResult.Sample sample = sample(now - startNanos, now - lastSampleNanos,
+                            gcCount() - lastGcCount, gcMillis() - lastGcMillis);
+                    result.add(sample);
+                    System.out.println(sample);
+                    lastSampleNanos = now;
+                    lastGcCount += sample.gcCount;
+                    lastGcMillis += sample.gcMillis;
+                }
+            }
+        } finally {
+            stopAll();
+        }
+        return result;
+    }
+
+    /**
+     * @return sessions that should exist by now, growing linearly during the ramp-up
+     */
+    private int targetSessions(long elapsedNanos) {
+        long rampUpNanos = TimeUnit.SECONDS.toNanos(config.rampUpSeconds);
+        if (rampUpNanos == 0 || elapsedNanos >= rampUpNanos) {
+            return config.sessions;
+        }
+        return (int) (config.sessions * (double) elapsedNanos / rampUpNanos);
+    }
+
+    private void rampUp(int target) {
+        while (!rampUpFailed && running.size() + paused.size() < target) {
+            startSession();
+        }
+    }
+
+    private void startSession() {
+        if (rampUpFailed) {
+            return;
+        }
+        MoneyPerSecondCalculator calculator = new MoneyPerSecondCalculator(1 + random.nextInt(20), 10 + random.nextInt(90));
+        try {
+            running.add(config.mode == LoadTestConfig.Mode.ENGINE
+                    ? LoadSession.onEngine(engine, calculator, config.intervalMillis, config.timekeeping)
+                    : LoadSession.onThread(calculator, config.intervalMillis, config.timekeeping));
+            started++;
+        } catch (OutOfMemoryError e) {
+            //where the design breaks - the run goes on with the sessions it has
+            rampUpFailed = true;
+            String failure = "No more sessions after " + (running.size() + paused.size()) + ": " + e;
+            result.setFailure(failure);
+            System.err.println(failure);
+        }
+    }
+
+    /**
+     * Stops a random running or paused session
+     *
+     * @return false if there is none
+     */
+    private boolean stopRandom() {
+        int count = running.size() + paused.size();
+        if (count == 0) {
+            return false;
+        }
+        int index = random.nextInt(count);
+        if (index < running.size()) {
+            removeRunning(index).stop();
+        } else {
+            //the longest paused one - the order of the queue is kept
+            paused.pollFirst().session.stop();
+        }
+        stopped++;
+        return true;
+    }
+
+    /**
+     * @return false if no session is running
+     */
+    private boolean pauseRandom(long now) {
+        if (running.isEmpty()) {
+            return false;
+        }
+        LoadSession session = removeRunning(random.nextInt(running.size()));
+        session.pause();
+        paused.addLast(new PausedSession(session, now + TimeUnit.SECONDS.toNanos(config.pauseSeconds)));
+        pauses++;
+        return true;
+    }
+
+    private void resumeDue(long now) {
+        while (!paused.isEmpty() && paused.peekFirst().resumeAtNanos <= now) {
+            LoadSession session = paused.pollFirst().session;
+            session.resume();
+            running.add(session);
+            resumes++;
+        }
+    }
+
+    /**
+     * Swaps the last session in - the order of the running sessions does not matter
+     */
+    private LoadSession removeRunning(int index) {
+        LoadSession removed = running.get(index);
+        LoadSession last = running.remove(running.size() - 1);
+        if (index < running.size()) {
+            running.set(index, last);
+        }
+        return removed;
+    }
+
+    private void stopAll() {
+        for (LoadSession session : running) {
+            session.stop();
+        }
+        for (PausedSession session : paused) {
+            session.session.stop();
+        }
+        running.clear();
+        paused.clear();
+        if (engine != null) {
+            engine.shutdown();
+        }
+    }
+
+    private LoadTestResult.Sample sample(long elapsedNanos, long intervalNanos, long gcCount, long gcMillis) {
+        LoadTestResult.Sample sample = new LoadTestResult.Sample();
+        sample.elapsedSeconds = elapsedNanos / NANOS_IN_A_SECOND;
+        sample.intervalSeconds = intervalNanos / NANOS_IN_A_SECOND;
+        sample.sessions = running.size() + paused.size();
+        sample.pausedSessions = paused.size();
+        sample.started = started;
+        sample.stopped = stopped;
+        sample.pauses = pauses;
+        sample.resumes = resumes;
+        started = stopped = pauses = resumes = 0;
+
+        LatencyHistogram lateness = metrics.getTickLateness();
+        LatencyHistogram update = metrics.getUpdateDuration();
+        sample.ticks = update.getCount();
+        sample.latenessP50Micros = lateness.getP50Micros();
+        sample.latenessP99Micros = lateness.getP99Micros();
+        sample.latenessP999Micros = lateness.getP999Micros();
+        sample.latenessMaxMicros = lateness.getMaxMicros();
+        sample.updateP99Micros = update.getP99Micros();
+        //ticks recorded while resetting may be lost - a few among thousands
+        resetMetrics();
+
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        sample.heapUsedBytes = heap.getUsed();
+        sample.heapCommittedBytes = heap.getCommitted();
+        sample.threads = ManagementFactory.getThreadMXBean().getThreadCount();
+        sample.gcCount = gcCount;
+        sample.gcMillis = gcMillis;
+        return sample;
+    }
+
+    private void resetMetrics() {
+        metrics.getTickLateness().reset();
+        metrics.getUpdateDuration().reset();
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, collector.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, collector.getCollectionTime());
+        }
+        return millis;
+    }
+
+    private static void sleepUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static final class PausedSession {
+        private final LoadSession session;
+        private final long resumeAtNanos;
+
+        PausedSession(LoadSession session, long resumeAtNanos) {
+            this.session = session;
+            this.resumeAtNanos = resumeAtNanos;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package bg.kirilov.timer.loadtest;
+
+import bg.kirilov.timer.presenter.Timekeeping;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * What a {@link LoadTest} run does, from the command line.
+ *
+ * @since 10/17/2026
+ */
+class LoadTestConfig {
+
+    static final String USAGE = "Usage: LoadTest [--mode engine|threads] [--sessions N] [--ramp-up SECONDS]"
+            + " [--duration SECONDS] [--churn STOPS_PER_SECOND] [--pauses PAUSES_PER_SECOND] [--pause-seconds SECONDS]"
+            + " [--ticker-threads N] [--interval-millis MILLIS] [--timekeeping MONOTONIC|FIXED_INCREMENT|ADAPTIVE]"
+            + " [--sample-seconds SECONDS] [--seed N] [--out FILE]";
+
+    /**
+     * How the sessions are ticked
+     */
+    enum Mode {
+        /**
+         * All sessions on one shared {@link bg.kirilov.timer.presenter.TickingEngine}
+         */
+        ENGINE,
+        /**
+         * A {@link bg.kirilov.timer.presenter.CalculatingThread} per session
+         */
+        THREADS
+    }
+
+    Mode mode = Mode.ENGINE;
+    /**
+     * Sessions running or paused at a time, once ramped up
+     */
+    int sessions = 10_000;
+    int rampUpSeconds = 10;
+    int durationSeconds = 60;
+    /**
+     * Sessions stopped and replaced by new ones every second
+     */
+    double churnPerSecond = 100;
+    /**
+     * Running sessions paused every second
+     */
+    double pausesPerSecond = 100;
+    int pauseSeconds = 5;
+    int tickerThreads = Runtime.getRuntime().availableProcessors();
+    long intervalMillis = 1000;
+    Timekeeping timekeeping = Timekeeping.MONOTONIC;
+    int sampleSeconds = 1;
+    long seed = 1;
+    Path out = Paths.get("loadtest-result.json");
+
+    /**
+     * @throws IllegalArgumentException if an option is unknown or its value is invalid
+     */
+    static LoadTestConfig parse(String[] args) {
+        LoadTestConfig config = new LoadTestConfig();
+        for (int i = 0; i < args.length; i++) {
+            if (i + 1 == args.length) {
+                throw new IllegalArgumentException("Value expected after " + args[i]);
+            }
+            String value = args[++i];
+            switch (args[i - 1]) {
+                case "--mode":
+                    config.mode = Mode.valueOf(value.toUpperCase());
+                    break;
+                case "--sessions":
+                    config.sessions = positive(value);
+                    break;
+                case "--ramp-up":
+                    config.rampUpSeconds = Integer.parseInt(value);
+                    break;
+                case "--duration":
+                    config.durationSeconds = positive(value);
+                    break;
+                case "--churn":
+                    config.churnPerSecond = Double.parseDouble(value);
+                    break;
+                case "--pauses":
+                    config.pausesPerSecond = Double.parseDouble(value);
+                    break;
+                case "--pause-seconds":
+                    config.pauseSeconds = Integer.parseInt(value);
+                    break;
+                case "--ticker-threads":
+                    config.tickerThreads = positive(value);
+                    break;
+                case "--interval-millis":
+                    config.intervalMillis = positive(value);
+                    break;
+                case "--timekeeping":
+                    config.timekeeping = Timekeeping.valueOf(value.toUpperCase());
+                    break;
+                case "--sample-seconds":
+                    config.sampleSeconds = positive(value);
+                    break;
+                case "--seed":
+                    config.seed = Long.parseLong(value);
+                    break;
+                case "--out":
+                    config.out = Paths.get(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i - 1]);
+            }
+        }
+        return config;
+    }
+
+    /**
+     * Appends the configuration as a JSON object
+     */
+    StringBuilder appendJson(StringBuilder json) {
+        return json.append("{\"mode\":\"").append(mode)
+                .append("\",\"sessions\":").append(sessions)
+                .append(",\"rampUpSeconds\":").append(rampUpSeconds)
+                .append(",\"durationSeconds\":").append(durationSeconds)
+                .append(",\"churnPerSecond\":").append(churnPerSecond)
+                .append(",\"pausesPerSecond\":").append(pausesPerSecond)
+                .append(",\"pauseSeconds\":").append(pauseSeconds)
+                .append(",\"tickerThreads\":").append(tickerThreads)
+                .append(",\"intervalMillis\":").append(intervalMillis)
+                .append(",\"timekeeping\":\"").append(timekeeping)
+                .append("\",\"sampleSeconds\":").append(sampleSeconds)
+                .append(",\"seed\":").append(seed)
+                .append('}');
+    }
+
+    private static int positive(String value) {
+        int parsed = Integer.parseInt(value);
+        if (parsed <= 0) {
+            throw new IllegalArgumentException("Positive number expected: " + value);
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,199 @@
+package bg.kirilov.timer.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * The samples of a run and their summary, written as one JSON document so runs of different versions can be compared.
+ *
+ * @since 10/17/2026
+ */
+class LoadTestResult {
+
+    private static final String POM_PROPERTIES = "/META-INF/maven/bg.kirilov.moneytimer/moneytimer/pom.properties";
+
+    private final LoadTestConfig config;
+    private final long startedAtMillis = System.currentTimeMillis();
+    private final List<Sample> samples = new ArrayList<>();
+    private String failure;
+
+    LoadTestResult(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    void add(Sample sample) {
+        samples.add(sample);
+    }
+
+    /**
+     * @param failure - why the run could not go on as configured, e.g. no more threads
+     */
+    void setFailure(String failure) {
+        this.failure = failure;
+    }
+
+    List<Sample> getSamples() {
+        return samples;
+    }
+
+    void write(Path file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.append(toJson()).append('\n');
+        }
+    }
+
+    String toJson() {
+        Runtime runtime = Runtime.getRuntime();
+        StringBuilder json = new StringBuilder(256 + samples.size() * 384);
+        json.append("{\"version\":");
+        appendString(json, moneyTimerVersion());
+        json.append(",\"java\":");
+        appendString(json, System.getProperty("java.vm.name") + " " + System.getProperty("java.version"));
+        json.append(",\"startedAtMillis\":").append(startedAtMillis)
+                .append(",\"availableProcessors\":").append(runtime.availableProcessors())
+                .append(",\"maxHeapBytes\":").append(runtime.maxMemory())
+                .append(",\"config\":");
+        config.appendJson(json).append(",\"failure\":");
+        appendString(json, failure);
+
+        json.append(",\"samples\":[");
+        for (int i = 0; i < samples.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            samples.get(i).appendJson(json);
+        }
+        json.append("],\"summary\":");
+        return appendSummary(json).append('}').toString();
+    }
+
+    /**
+     * Peaks and the worst latencies of all samples, and the mean throughput
+     */
+    private StringBuilder appendSummary(StringBuilder json) {
+        int peakSessions = 0;
+        int peakThreads = 0;
+        long peakHeapUsedBytes = 0;
+        long worstLatenessP99Micros = 0;
+        long worstLatenessMaxMicros = 0;
+        long ticks = 0;
+        double seconds = 0;
+        for (Sample sample : samples) {
+            peakSessions = Math.max(peakSessions, sample.sessions);
+            peakThreads = Math.max(peakThreads, sample.threads);
+            peakHeapUsedBytes = Math.max(peakHeapUsedBytes, sample.heapUsedBytes);
+            worstLatenessP99Micros = Math.max(worstLatenessP99Micros, sample.latenessP99Micros);
+            worstLatenessMaxMicros = Math.max(worstLatenessMaxMicros, sample.latenessMaxMicros);
+            ticks += sample.ticks;
+            seconds += sample.intervalSeconds;
+        }
+        return json.append("{\"peakSessions\":").append(peakSessions)
+                .append(",\"peakThreads\":").append(peakThreads)
+                .append(",\"peakHeapUsedBytes\":").append(peakHeapUsedBytes)
+                .append(",\"meanTicksPerSecond\":").append(seconds == 0 ? 0 : Math.round(ticks / seconds))
+                .append(",\"worstLatenessP99Micros\":").append(worstLatenessP99Micros)
+                .append(",\"worstLatenessMaxMicros\":").append(worstLatenessMaxMicros)
+                .append('}');
+    }
+
+    /**
+     * @return the version of the moneytimer artifact under test
+     */
+    private static String moneyTimerVersion() {
+        try (InputStream in = LoadTestResult.class.getResourceAsStream(POM_PROPERTIES)) {
+            if (in != null) {
+                Properties properties = new Properties();
+                properties.load(in);
+                return properties.getProperty("version", "unknown");
+            }
+        } catch (IOException e) {
+            //unknown then
+        }
+        return "unknown";
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < ' ') {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+
+    /**
+     * What happened in one sampling interval, and the state of the JVM at its end
+     */
+    static final class Sample {
+        double elapsedSeconds;
+        double intervalSeconds;
+        int sessions;
+        int pausedSessions;
+        long started;
+        long stopped;
+        long pauses;
+        long resumes;
+        long ticks;
+        long latenessP50Micros;
+        long latenessP99Micros;
+        long latenessP999Micros;
+        long latenessMaxMicros;
+        long updateP99Micros;
+        long heapUsedBytes;
+        long heapCommittedBytes;
+        int threads;
+        long gcCount;
+        long gcMillis;
+
+        long getTicksPerSecond() {
+            return intervalSeconds == 0 ? 0 : Math.round(ticks / intervalSeconds);
+        }
+
+        StringBuilder appendJson(StringBuilder json) {
+            return json.append("{\"elapsedSeconds\":").append(Math.round(elapsedSeconds * 1000) / 1000.0)
+                    .append(",\"sessions\":").append(sessions)
+                    .append(",\"pausedSessions\":").append(pausedSessions)
+                    .append(",\"started\":").append(started)
+                    .append(",\"stopped\":").append(stopped)
+                    .append(",\"pauses\":").append(pauses)
+                    .append(",\"resumes\":").append(resumes)
+                    .append(",\"ticksPerSecond\":").append(getTicksPerSecond())
+                    .append(",\"latenessP50Micros\":").append(latenessP50Micros)
+                    .append(",\"latenessP99Micros\":").append(latenessP99Micros)
+                    .append(",\"latenessP999Micros\":").append(latenessP999Micros)
+                    .append(",\"latenessMaxMicros\":").append(latenessMaxMicros)
+                    .append(",\"updateP99Micros\":").append(updateP99Micros)
+                    .append(",\"heapUsedBytes\":").append(heapUsedBytes)
+                    .append(",\"heapCommittedBytes\":").append(heapCommittedBytes)
+                    .append(",\"threads\":").append(threads)
+                    .append(",\"gcCount\":").append(gcCount)
+                    .append(",\"gcMillis\":").append(gcMillis)
+                    .append('}');
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%8.1fs sessions=%d paused=%d ticks/s=%d lateness p50=%dus p99=%dus max=%dus"
+                            + " heap=%dMB threads=%d gc=%dms",
+                    elapsedSeconds, sessions, pausedSessions, getTicksPerSecond(), latenessP50Micros,
+                    latenessP99Micros, latenessMaxMicros, heapUsedBytes >> 20, threads, gcMillis);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package bg.kirilov.timer;
+
+import bg.kirilov.timer.metrics.TickMetrics;
+import bg.kirilov.timer.presenter.SessionRegistry;
+import bg.kirilov.timer.presenter.TickingEngine;
+import bg.kirilov.timer.presenter.Timekeeping;
+import bg.kirilov.timer.presenter.validator.InputValidator;
+import bg.kirilov.timer.presenter.validator.InputValidity;
+import bg.kirilov.timer.report.ReportFormat;
+import bg.kirilov.timer.ui.SessionDashboard;
+
+import javax.management.JMException;
+import javax.swing.*;
+import java.awt.*;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.CompletionException;
+
+/**
+ * One window with the sessions of every room - see {@link SessionDashboard}.<br>
+ * Sessions are started from the fields on top and stopped by selecting their rows.
+ * They can be exported to a CSV or, with the .jsonl extension, JSON Lines report.
+ * With "--demo N" N sessions with random headcounts and pay rates are started right away.
+ *
+ * @since 10/17/2026
+ */
+public final class DashboardMain {
+
+    private DashboardMain() {
+    }
+
+    public static void main(String[] args) {
+        int demoSessions = 0;
+        for (int i = 0; i < args.length; i++) {
+            if ("--demo".equals(args[i]) && i + 1 < args.length) {
+                demoSessions = Integer.parseInt(args[++i]);
+            } else {
+                System.err.println("Usage: DashboardMain [--demo SESSIONS]");
+                System.exit(1);
+            }
+        }
+        try {
+            TickMetrics.registerDefaultMBeans();
+        } catch (JMException e) {
+            System.err.println("Metrics will not be seen over JMX: " + e);
+        }
+
+        final int sessions = demoSessions;
+        SwingUtilities.invokeLater(() -> show(sessions));
+    }
+
+    private static void show(int demoSessions) {
+        JOptionPane.setDefaultLocale(Locale.ENGLISH);
+        SessionRegistry registry = new SessionRegistry(TickingEngine.getDefault(), Locale.getDefault(), Timekeeping.MONOTONIC);
+        SessionDashboard dashboard = new SessionDashboard(registry);
+
+        Random random = new Random();
+        for (int i = 1; i <= demoSessions; i++) {
+            dashboard.start("Room " + i, 1 + random.nextInt(20), 10 + random.nextInt(90));
+        }
+
+        JFrame frame = new JFrame("Timer - all sessions");
+        frame.add(controls(dashboard), BorderLayout.NORTH);
+        frame.add(dashboard, BorderLayout.CENTER);
+        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        frame.setSize(640, 480);
+        frame.setLocationRelativeTo(null);
+        frame.setVisible(true);
+    }
+
+    private static JPanel controls(SessionDashboard dashboard) {
+        JTextField id = new JTextField(10);
+        JTextField people = new JTextField(4);
+        JTextField payRate = new JTextField(6);
+        JButton start = new JButton("START");
+        JButton stop = new JButton("STOP SELECTED");
+        JButton export = new JButton("EXPORT");
+
+        start.addActionListener(event -> {
+            InputValidity<?> peopleCount = new InputValidator().validateInt(people.getText()).validatePositiveNumber().getResult();
+            InputValidity<?> rate = new InputValidator().validateDouble(payRate.getText()).validatePositiveNumber().getResult();
+            String error = id.getText().trim().isEmpty() ? "Session is empty"
+                    : !peopleCount.isValid() ? "People Count is invalid because: " + peopleCount.getInvalidReason()
+                    : !rate.isValid() ? "Pay Rate is invalid because: " + rate.getInvalidReason()
+                    : null;
+            try {
+                if (error == null) {
+                    dashboard.start(id.getText().trim(), peopleCount.getValidNumber().intValue(),
+                            rate.getValidNumber().doubleValue());
+                    id.setText("");
+                    return;
+                }
+            } catch (IllegalArgumentException e) {
+                error = e.getMessage();
+            }
+            JOptionPane.showMessageDialog(dashboard, error, "Error", JOptionPane.ERROR_MESSAGE);
+        });
+        stop.addActionListener(event -> {
+            for (String selected : dashboard.getSelectedIds()) {
+                dashboard.stop(selected);
+            }
+        });
+
+        export.addActionListener(event -> {
+            JFileChooser chooser = new JFileChooser();
+            if (chooser.showSaveDialog(dashboard) != JFileChooser.APPROVE_OPTION) {
+                return;
+            }
+            Path file = chooser.getSelectedFile().toPath();
+            ReportFormat format = file.toString().endsWith(".jsonl") ? ReportFormat.JSON_LINES : ReportFormat.CSV;
+            export.setEnabled(false);
+            dashboard.export(format, file).whenComplete((exported, failure) -> SwingUtilities.invokeLater(() -> {
+                export.setEnabled(true);
+                if (failure == null) {
+                    JOptionPane.showMessageDialog(dashboard, "Exported " + exported + " sessions to " + file);
+                } else {
+                    Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+                    JOptionPane.showMessageDialog(dashboard, "Cannot export to " + file + ": " + cause.getMessage(),
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }));
+        });
+
+        JPanel controls = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        controls.add(new JLabel("Session"));
+        controls.add(id);
+        controls.add(new JLabel("People"));
+        controls.add(people);
+        controls.add(new JLabel("Pay rate"));
+        controls.add(payRate);
+        controls.add(start);
+        controls.add(stop);
+        controls.add(export);
+        return controls;
+    }
+}
@@ -1,10 +1,32 @@
 package bg.kirilov.timer;
 
+import bg.kirilov.timer.aggregation.CostPublisher;
+import bg.kirilov.timer.history.SessionHistory;
+import bg.kirilov.timer.journal.Journal;
+import bg.kirilov.timer.metrics.SessionsMetrics;
+import bg.kirilov.timer.metrics.TickMetrics;
+import bg.kirilov.timer.presenter.SessionListener;
+import bg.kirilov.timer.presenter.SessionSnapshot;
+import bg.kirilov.timer.presenter.TickingEngine;
 import bg.kirilov.timer.presenter.TickingPresenter;
+import bg.kirilov.timer.presenter.validator.NumberParser;
+import bg.kirilov.timer.presenter.validator.ParseStatus;
+import bg.kirilov.timer.ui.EdtCalculatingView;
 import bg.kirilov.timer.ui.MoneyTimerExitHandler;
 import bg.kirilov.timer.ui.TickingViewImpl;
 
+import javax.management.JMException;
 import javax.swing.*;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Locale;
 
 /**
@@ -17,13 +39,47 @@ import java.util.Locale;
  */
 public final class Main {
 
+    /**
+     * How often the journal is forced to the disk, in milliseconds. 0 forces every event.
+     */
+    private static final String SYNC_INTERVAL_PROPERTY = "moneytimer.journal.syncMillis";
+    /**
+     * UDP port of a local aggregator to publish the cost of the sessions to
+     */
+    private static final String PUBLISH_PORT_PROPERTY = "moneytimer.publishPort";
+    /**
+     * Comma-separated amounts to alert about, e.g. "500,1000,5000"
+     */
+    private static final String BUDGETS_PROPERTY = "moneytimer.budgets";
+    private static final long DEFAULT_SYNC_INTERVAL_MILLIS = 1000;
+    private static final Path DATA_DIRECTORY = Paths.get(System.getProperty("user.home"), ".moneytimer");
+
     public static void main(String[] args) {
         JOptionPane.setDefaultLocale(Locale.ENGLISH);
         JFrame frame = new JFrame();
 
+        final Journal journal = openJournal();
+        final SessionHistory history = openHistory();
+        SessionListener listener = SessionListener.both(journal == null ? SessionListener.NONE : journal,
+                history == null ? SessionListener.NONE : history);
+
         final TickingViewImpl view = new TickingViewImpl();
-        final TickingPresenter presenter = new TickingPresenter(view);
+        //the clock is rendered on the EDT, never directly from the ticking threads
+        final TickingPresenter presenter = new TickingPresenter(view, new EdtCalculatingView(view), TickingEngine.getDefault(),
+                listener);
         view.setPresenter(presenter);
+        presenter.setBudgets(parseBudgets(System.getProperty(BUDGETS_PROPERTY, "")));
+        registerMBeans(presenter);
+        publishCost(presenter);
+
+        if (journal != null) {
+            //continue the session the last run didn't stop
+            for (SessionSnapshot snapshot : journal.getRecoveredSessions()) {
+                if (TickingPresenter.SESSION_ID.equals(snapshot.getId())) {
+                    presenter.restoreClock(snapshot);
+                }
+            }
+        }
 
         //TODO change the API of the panel.getExitHandler()
         final MoneyTimerExitHandler exitHandler = new MoneyTimerExitHandler(view);
@@ -40,4 +96,92 @@ public final class Main {
         frame.setLocationRelativeTo(null);
         frame.setVisible(true);
     }
+
+    /**
+     * @return the amounts, without the ones that are not positive numbers
+     */
+    private static double[] parseBudgets(String budgets) {
+        NumberParser parser = new NumberParser(Locale.ROOT);
+        String[] amounts = budgets.split(",");
+        double[] parsed = new double[amounts.length];
+        int count = 0;
+        for (String amount : amounts) {
+            if (parser.parseDouble(amount.trim()) == ParseStatus.OK && parser.doubleValue() > 0) {
+                parsed[count++] = parser.doubleValue();
+            } else if (!amount.trim().isEmpty()) {
+                System.err.println("Ignoring budget " + amount + ", a positive number expected");
+            }
+        }
+        return Arrays.copyOf(parsed, count);
+    }
+
+    /**
+     * @return the journal in the home folder of the user or null if it can't be used
+     */
+    private static Journal openJournal() {
+        Path file = DATA_DIRECTORY.resolve("journal.bin");
+        try {
+            Files.createDirectories(file.getParent());
+            Journal journal = Journal.open(file, Long.getLong(SYNC_INTERVAL_PROPERTY, DEFAULT_SYNC_INTERVAL_MILLIS));
+            closeOnExit(journal);
+            return journal;
+        } catch (IOException e) {
+            System.err.println("Sessions will not survive a restart, the journal " + file + " can't be used: " + e);
+            return null;
+        }
+    }
+
+    /**
+     * @return the history of the completed sessions in the home folder of the user or null if it can't be used
+     */
+    private static SessionHistory openHistory() {
+        Path directory = DATA_DIRECTORY.resolve("history");
+        try {
+            SessionHistory history = SessionHistory.open(directory);
+            closeOnExit(history);
+            return history;
+        } catch (IOException e) {
+            System.err.println("Completed sessions will not be kept, the history " + directory + " can't be used: " + e);
+            return null;
+        }
+    }
+
+    /**
+     * Publishes to the aggregator of {@link #PUBLISH_PORT_PROPERTY}, if set
+     */
+    private static void publishCost(TickingPresenter presenter) {
+        Integer port = Integer.getInteger(PUBLISH_PORT_PROPERTY);
+        if (port == null) {
+            return;
+        }
+        try {
+            closeOnExit(new CostPublisher(CostPublisher.defaultNodeId(), presenter::getSessionsById,
+                    Collections.singletonList(new InetSocketAddress(InetAddress.getLoopbackAddress(), port)),
+                    CostPublisher.DEFAULT_INTERVAL_MILLIS));
+        } catch (IOException e) {
+            System.err.println("The cost will not be published to port " + port + ": " + e);
+        }
+    }
+
+    /**
+     * Tick latencies and the counters of the current session, under "bg.kirilov.timer"
+     */
+    private static void registerMBeans(TickingPresenter presenter) {
+        try {
+            TickMetrics.registerDefaultMBeans();
+            new SessionsMetrics(presenter::getSessionsById).registerMBean(ManagementFactory.getPlatformMBeanServer());
+        } catch (JMException e) {
+            System.err.println("Metrics will not be seen over JMX: " + e);
+        }
+    }
+
+    private static void closeOnExit(Closeable closeable) {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                System.err.println(e.getMessage());
+            }
+        }));
+    }
 }
@@ -0,0 +1,145 @@
+package bg.kirilov.timer.aggregation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects the cost counters published by the nodes, on a UDP port of the loopback interface.<br>
+ * Aggregators can also gossip with each other: each one sends the floors of all nodes and up to
+ * {@link #MAX_GOSSIP_COUNTERS} counters to its peers every interval, the next ones each time, so aggregators that
+ * were cut off from each other or from some nodes agree again once they can talk.
+ *
+ * @since 10/17/2026
+ */
+public class CostAggregator implements Closeable {
+
+    public static final long DEFAULT_GOSSIP_INTERVAL_MILLIS = 10_000;
+    static final int MAX_GOSSIP_COUNTERS = 4096;
+
+    private final CostCounters counters = new CostCounters();
+    private final DatagramChannel channel;
+    private final Thread receiver;
+    private final List<InetSocketAddress> peers;
+    private final ScheduledExecutorService gossiper;
+    private final AtomicLong malformedCount = new AtomicLong();
+    /**
+     * Only touched by the gossiping thread
+     */
+    private long gossipOffset;
+
+    /**
+     * Without peers
+     *
+     * @param port - 0 picks a free port, see {@link #getPort()}
+     */
+    public CostAggregator(int port) throws IOException {
+        this(port, Collections.<InetSocketAddress>emptyList(), DEFAULT_GOSSIP_INTERVAL_MILLIS);
+    }
+
+    /**
+     * @param peers                - other aggregators to send all counters to
+     * @param gossipIntervalMillis - how often they are sent
+     */
+    public CostAggregator(int port, List<InetSocketAddress> peers, long gossipIntervalMillis) throws IOException {
+        this.channel = DatagramChannel.open();
+        channel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        this.peers = new ArrayList<>(peers);
+
+        receiver = new Thread(this::receive, "money-timer-aggregator-" + getPort());
+        receiver.setDaemon(true);
+        receiver.start();
+
+        if (this.peers.isEmpty()) {
+            gossiper = null;
+        } else {
+            gossiper = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "money-timer-gossip-" + getPort());
+                thread.setDaemon(true);
+                return thread;
+            });
+            ByteBuffer buffer = ByteBuffer.allocate(CostMessages.MAX_DATAGRAM_SIZE);
+            gossiper.scheduleWithFixedDelay(() -> gossip(buffer), gossipIntervalMillis, gossipIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public int getPort() {
+        try {
+            return ((InetSocketAddress) channel.getLocalAddress()).getPort();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * @return everything heard so far - live, not a copy
+     */
+    public CostCounters getCounters() {
+        return counters;
+    }
+
+    /**
+     * @return datagrams ignored because they were not counters
+     */
+    public long getMalformedCount() {
+        return malformedCount.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (gossiper != null) {
+            gossiper.shutdownNow();
+        }
+        channel.close();
+        try {
+            receiver.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void receive() {
+        //decoding reads names straight from the array
+        ByteBuffer datagram = ByteBuffer.allocate(CostMessages.MAX_DATAGRAM_SIZE);
+        while (channel.isOpen()) {
+            try {
+                datagram.clear();
+                channel.receive(datagram);
+                datagram.flip();
+                if (CostMessages.decode(datagram, counters) < 0) {
+                    malformedCount.incrementAndGet();
+                }
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Receiving cost counters failed: " + e);
+            }
+        }
+    }
+
+    private void gossip(ByteBuffer buffer) {
+        try {
+            CostCounters slice = counters.slice(gossipOffset, MAX_GOSSIP_COUNTERS);
+            gossipOffset += MAX_GOSSIP_COUNTERS;
+            CostMessages.encode(slice, buffer, datagram -> {
+                for (InetSocketAddress peer : peers) {
+                    channel.send(datagram.duplicate(), peer);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Gossiping to " + peers + " failed: " + e);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package bg.kirilov.timer.aggregation;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The cost of the sessions of many nodes, as counters that can be merged in any order, any number of times.<br>
+ * Every (node, session) has one counter: the cost so far, which only grows, and whether the session ended, which
+ * never turns back. Merging keeps the larger cost and ORs the ends - so duplicated, reordered and late updates change
+ * nothing, and any two copies that have seen the same updates hold the same totals, whatever the order.<br>
+ * <br>
+ * The sessions of a node are numbered in the order the node started them. Every node also has a floor: the final
+ * cost of all its sessions up to a number, which only grows. A node folds its ended sessions into its floor, and
+ * merging a floor drops the counters it covers - so the counters kept and sent grow with the live sessions, not with
+ * all sessions ever run. Counters already covered by a floor are ignored when they come late.<br>
+ * Thread-safe. The totals are kept up to date on every merge.
+ *
+ * @since 10/17/2026
+ */
+public class CostCounters {
+
+    /**
+     * The session name of the floor of a node - the sequence of the floor is the last session it covers
+     */
+    public static final String FLOOR = "";
+
+    private final ConcurrentMap<String, NodeCounters> nodes = new ConcurrentHashMap<>();
+    private final AtomicLong totalCents = new AtomicLong();
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Visits the counters
+     */
+    public interface CounterVisitor {
+        /**
+         * @param session  - {@link #FLOOR} for the floor of the node
+         * @param sequence - the number of the session within the node, or the last one the floor covers
+         */
+        void visit(String node, String session, long sequence, long cents, boolean ended);
+    }
+
+    /**
+     * @param node     - unique among all nodes, e.g. host and process
+     * @param session  - unique within the node, or {@link #FLOOR}
+     * @param sequence - the number of the session within the node, from 1 in the order they started
+     * @param cents    - the cost of the session so far, in hundredths
+     * @param ended    - true once the session is stopped
+     * @return true if the counters changed
+     */
+    public synchronized boolean merge(String node, String session, long sequence, long cents, boolean ended) {
+        NodeCounters counters = nodes.get(node);
+        if (counters == null) {
+            counters = new NodeCounters();
+            nodes.put(node, counters);
+        }
+        if (FLOOR.equals(session)) {
+            return mergeFloor(counters, sequence, cents);
+        }
+        if (sequence <= counters.floorSequence) {
+            //folded in the floor already
+            return false;
+        }
+
+        Counter current = counters.sessions.get(session);
+        Counter merged = current == null ? new Counter(sequence, cents, ended) : current.merge(cents, ended);
+        if (merged == current) {
+            return false;
+        }
+        long previousCents = current == null ? 0 : current.cents;
+        boolean wasActive = current != null && !current.ended;
+        totalCents.addAndGet(merged.cents - previousCents);
+        if (!merged.ended && !wasActive) {
+            activeSessions.incrementAndGet();
+        } else if (merged.ended && wasActive) {
+            activeSessions.decrementAndGet();
+        }
+        if (current == null) {
+            size.incrementAndGet();
+        }
+        counters.sessions.put(session, merged);
+        return true;
+    }
+
+    /**
+     * Merges all counters of the other copy
+     */
+    public void mergeAll(CostCounters other) {
+        other.forEach(this::merge);
+    }
+
+    /**
+     * @return the cost of all sessions of all nodes, ended or not, in hundredths
+     */
+    public long getTotalCents() {
+        return totalCents.get();
+    }
+
+    /**
+     * @return sessions not ended yet
+     */
+    public int getActiveSessionsCount() {
+        return activeSessions.get();
+    }
+
+    /**
+     * @return the cost of all sessions of the node, in hundredths
+     */
+    public long getNodeCents(String node) {
+        NodeCounters counters = nodes.get(node);
+        if (counters == null) {
+            return 0;
+        }
+        long cents = counters.floorCents;
+        for (Counter counter : counters.sessions.values()) {
+            cents += counter.cents;
+        }
+        return cents;
+    }
+
+    /**
+     * @return the cost of the session, in hundredths, or -1 if nothing is known about it - also once it is folded
+     * in the floor of its node
+     */
+    public long getCents(String node, String session) {
+        NodeCounters counters = nodes.get(node);
+        Counter counter = counters == null ? null : counters.sessions.get(session);
+        return counter == null ? -1 : counter.cents;
+    }
+
+    /**
+     * @return the counters of sessions, without the floors
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Visits a consistent state of every counter - each one at least as new as when the visit started.
+     * The floor of a node comes before its sessions.
+     */
+    public void forEach(CounterVisitor visitor) {
+        for (Map.Entry<String, NodeCounters> node : nodes.entrySet()) {
+            NodeCounters counters = node.getValue();
+            long floorSequence;
+            long floorCents;
+            synchronized (this) {
+                floorSequence = counters.floorSequence;
+                floorCents = counters.floorCents;
+            }
+            visitor.visit(node.getKey(), FLOOR, floorSequence, floorCents, true);
+            for (Map.Entry<String, Counter> entry : counters.sessions.entrySet()) {
+                Counter counter = entry.getValue();
+                visitor.visit(node.getKey(), entry.getKey(), counter.sequence, counter.cents, counter.ended);
+            }
+        }
+    }
+
+    /**
+     * For sending a large state a part at a time: successive offsets go round all counters.
+     *
+     * @param offset - of the first session counter, wrapping around
+     * @param max    - session counters at most
+     * @return a copy of all floors and of some of the session counters
+     */
+    public CostCounters slice(long offset, int max) {
+        CostCounters slice = new CostCounters();
+        int count = size();
+        long first = count == 0 ? 0 : Math.floorMod(offset, count);
+        long[] index = new long[1];
+        forEach((node, session, sequence, cents, ended) -> {
+            if (FLOOR.equals(session)) {
+                slice.merge(node, session, sequence, cents, ended);
+                return;
+            }
+            long position = index[0]++;
+            if (Math.floorMod(position - first, (long) Math.max(count, 1)) < max) {
+                slice.merge(node, session, sequence, cents, ended);
+            }
+        });
+        return slice;
+    }
+
+    /**
+     * A floor moves up only: one covering more sessions, or the same ones with more cost seen
+     */
+    private boolean mergeFloor(NodeCounters counters, long sequence, long cents) {
+        if (sequence < counters.floorSequence
+                || sequence == counters.floorSequence && cents <= counters.floorCents) {
+            return false;
+        }
+        totalCents.addAndGet(cents - counters.floorCents);
+        counters.floorSequence = sequence;
+        counters.floorCents = cents;
+        for (Iterator<Counter> iterator = counters.sessions.values().iterator(); iterator.hasNext(); ) {
+            Counter counter = iterator.next();
+            if (counter.sequence <= sequence) {
+                iterator.remove();
+                size.decrementAndGet();
+                totalCents.addAndGet(-counter.cents);
+                if (!counter.ended) {
+                    activeSessions.decrementAndGet();
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The floor and the sessions above it of one node. Changed while holding the counters.
+     */
+    private static final class NodeCounters {
+        final ConcurrentMap<String, Counter> sessions = new ConcurrentHashMap<>();
+        long floorSequence;
+        long floorCents;
+    }
+
+    /**
+     * Immutable, replaced as a whole
+     */
+    private static final class Counter {
+        final long sequence;
+        final long cents;
+        final boolean ended;
+
+        Counter(long sequence, long cents, boolean ended) {
+            this.sequence = sequence;
+            this.cents = cents;
+            this.ended = ended;
+        }
+
+        /**
+         * @return this if the other adds nothing
+         */
+        Counter merge(long otherCents, boolean otherEnded) {
+            long mergedCents = Math.max(cents, otherCents);
+            boolean mergedEnded = ended || otherEnded;
+            if (mergedCents == cents && mergedEnded == ended) {
+                return this;
+            }
+            return new Counter(sequence, mergedCents, mergedEnded);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package bg.kirilov.timer.aggregation;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The datagrams counters travel in:<br>
+ * [int magic][short count] and count times [short length][node UTF-8][short length][session UTF-8][long sequence]
+ * [long cents][byte ended].<br>
+ * Counters that don't fit in one datagram are split in more. Every datagram is complete on its own,
+ * so losing or reordering some of them never corrupts the others.
+ *
+ * @since 10/17/2026
+ */
+final class CostMessages {
+
+    static final int MAGIC = 0x4D544332;
+    /**
+     * Below the limit of a UDP datagram
+     */
+    static final int MAX_DATAGRAM_SIZE = 60_000;
+    private static final int HEADER_SIZE = Integer.BYTES + Short.BYTES;
+    private static final int MAX_NAME_BYTES = 1024;
+
+    /**
+     * Receives encoded datagrams
+     */
+    interface DatagramSink {
+        /**
+         * @param datagram - from position to limit. Reused after the call.
+         */
+        void send(ByteBuffer datagram) throws IOException;
+    }
+
+    private CostMessages() {
+    }
+
+    /**
+     * Encodes all counters, in as many datagrams as needed
+     *
+     * @param buffer - at least {@link #MAX_DATAGRAM_SIZE} bytes, reused for every datagram
+     * @return the number of datagrams
+     */
+    static int encode(CostCounters counters, ByteBuffer buffer, DatagramSink sink) throws IOException {
+        Encoder encoder = new Encoder(buffer, sink);
+        try {
+            counters.forEach(encoder);
+        } catch (EncodingFailure e) {
+            throw e.getCause();
+        }
+        encoder.sendIfAny();
+        return encoder.datagrams;
+    }
+
+    /**
+     * Merges the counters of a datagram. A malformed datagram is ignored as a whole.
+     *
+     * @return the number of counters in the datagram, or -1 if it is malformed
+     */
+    static int decode(ByteBuffer datagram, CostCounters into) {
+        int start = datagram.position();
+        //validated as a whole before merging anything
+        int count = readCount(datagram);
+        if (count < 0) {
+            return -1;
+        }
+        datagram.position(start + HEADER_SIZE);
+        for (int i = 0; i < count; i++) {
+            into.merge(readName(datagram), readName(datagram), datagram.getLong(), datagram.getLong(),
+                    datagram.get() != 0);
+        }
+        return count;
+    }
+
+    /**
+     * @return the count, or -1 if the datagram is malformed
+     */
+    private static int readCount(ByteBuffer datagram) {
+        ByteBuffer view = datagram.duplicate();
+        try {
+            if (view.getInt() != MAGIC) {
+                return -1;
+            }
+            int count = view.getShort() & 0xFFFF;
+            for (int i = 0; i < count; i++) {
+                skipName(view);
+                skipName(view);
+                if (view.getLong() < 0 || view.getLong() < 0) {
+                    return -1;
+                }
+                view.get();
+            }
+            return view.hasRemaining() ? -1 : count;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    private static void skipName(ByteBuffer view) {
+        int length = view.getShort() & 0xFFFF;
+        if (length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("Name too long: " + length);
+        }
+        view.position(view.position() + length);
+    }
+
+    private static String readName(ByteBuffer datagram) {
+        int length = datagram.getShort() & 0xFFFF;
+        String name = new String(datagram.array(), datagram.arrayOffset() + datagram.position(), length,
+                StandardCharsets.UTF_8);
+        datagram.position(datagram.position() + length);
+        return name;
+    }
+
+    private static final class Encoder implements CostCounters.CounterVisitor {
+        private final ByteBuffer buffer;
+        private final DatagramSink sink;
+        private int count;
+        private int datagrams;
+
+        Encoder(ByteBuffer buffer, DatagramSink sink) {
+            this.buffer = buffer;
+            this.sink = sink;
+            startDatagram();
+        }
+
+        @Override
+        public void visit(String node, String session, long sequence, long cents, boolean ended) {
+            byte[] nodeBytes = nameBytes(node);
+            byte[] sessionBytes = nameBytes(session);
+            int size = 2 * Short.BYTES + nodeBytes.length + sessionBytes.length + 2 * Long.BYTES + 1;
+            if (buffer.position() + size > MAX_DATAGRAM_SIZE || count == 0xFFFF) {
+                sendIfAny();
+            }
+            buffer.putShort((short) nodeBytes.length).put(nodeBytes)
+                    .putShort((short) sessionBytes.length).put(sessionBytes)
+                    .putLong(sequence)
+                    .putLong(cents)
+                    .put((byte) (ended ? 1 : 0));
+            count++;
+        }
+
+        void sendIfAny() {
+            if (count == 0) {
+                return;
+            }
+            buffer.putShort(Integer.BYTES, (short) count);
+            buffer.flip();
+            try {
+                sink.send(buffer);
+            } catch (IOException e) {
+                throw new EncodingFailure(e);
+            }
+            datagrams++;
+            startDatagram();
+        }
+
+        private void startDatagram() {
+            buffer.clear();
+            buffer.putInt(MAGIC).putShort((short) 0);
+            count = 0;
+        }
+
+        private static byte[] nameBytes(String name) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > MAX_NAME_BYTES) {
+                throw new IllegalArgumentException("Name longer than " + MAX_NAME_BYTES + " bytes: " + name);
+            }
+            return bytes;
+        }
+    }
+
+    /**
+     * Carries a failed send out of the visit
+     */
+    private static final class EncodingFailure extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        EncodingFailure(IOException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized IOException getCause() {
+            return (IOException) super.getCause();
+        }
+    }
+}
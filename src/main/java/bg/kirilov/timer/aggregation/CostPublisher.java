@@ -0,0 +1,289 @@
+package bg.kirilov.timer.aggregation;
+
+import bg.kirilov.timer.presenter.CalculatingSession;
+import bg.kirilov.timer.util.AmountText;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Publishes the cost of the sessions of this node to aggregators over UDP.<br>
+ * Every interval the sessions are read and only the counters that changed are sent. Every
+ * {@link #FULL_STATE_EVERY} intervals the floor and up to {@link #MAX_FULL_STATE_COUNTERS} counters of the node are
+ * sent, the next ones each time, so an aggregator that lost datagrams, restarted or was cut off catches up by itself -
+ * see {@link CostCounters} for why resending is harmless.<br>
+ * A session gets a counter of its own even if its id is reused, e.g. the one session of the window.
+ * A session that is gone is published as ended, with its final amount. On close all sessions are published as ended -
+ * a session restored after a restart only counts the amount it adds from then on, the earlier one was counted by the
+ * node before the restart.<br>
+ * Ended counters are folded into the floor of the node after {@link #RETIRE_AFTER_ROUNDS}, once a full state carried
+ * them - oldest first, so a session that runs for long goes on in a new counter to let the ones behind it retire.
+ *
+ * @since 10/17/2026
+ */
+public class CostPublisher implements Closeable {
+
+    public static final long DEFAULT_INTERVAL_MILLIS = 1000;
+    static final int FULL_STATE_EVERY = 10;
+    static final int RETIRE_AFTER_ROUNDS = 3 * FULL_STATE_EVERY;
+    /**
+     * A few datagrams
+     */
+    static final int MAX_FULL_STATE_COUNTERS = 4096;
+
+    private final String node;
+    private final Supplier<? extends Map<String, CalculatingSession>> sessions;
+    private final List<InetSocketAddress> aggregators;
+    private final DatagramChannel channel;
+    private final ScheduledExecutorService publisher = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "money-timer-publisher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    //only touched by the publishing thread
+
+    /**
+     * The counters of this node, as the aggregators should eventually see them
+     */
+    private final CostCounters state = new CostCounters();
+    /**
+     * The current counter of every session read last round
+     */
+    private final Map<CalculatingSession, Published> published = new IdentityHashMap<>();
+    /**
+     * Counters not folded into the floor yet, by sequence
+     */
+    private final TreeMap<Long, Published> unretired = new TreeMap<>();
+    /**
+     * Ended counters in the order they ended - ones retired meanwhile are skipped
+     */
+    private final Deque<Published> ended = new ArrayDeque<>();
+    private final ByteBuffer buffer = ByteBuffer.allocate(CostMessages.MAX_DATAGRAM_SIZE);
+    private long sequences;
+    private long rounds;
+    private long floorSequence;
+    private long floorCents;
+    private long fullStateOffset;
+
+    /**
+     * @param node           - unique among all nodes, see {@link #defaultNodeId()}
+     * @param sessions       - the sessions of the node currently measured, by id
+     * @param aggregators    - where the counters are sent to
+     * @param intervalMillis - how often the sessions are read
+     */
+    public CostPublisher(String node, Supplier<? extends Map<String, CalculatingSession>> sessions,
+                         List<InetSocketAddress> aggregators, long intervalMillis) throws IOException {
+        this.node = node;
+        this.sessions = sessions;
+        this.aggregators = new ArrayList<>(aggregators);
+        this.channel = DatagramChannel.open();
+        //an empty floor tells the aggregators about the node before any session
+        state.merge(node, CostCounters.FLOOR, 0, 0, true);
+        publisher.scheduleWithFixedDelay(this::publishQuietly, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return process and host, and the start time - a restarted process is a new node with new sessions
+     */
+    public static String defaultNodeId() {
+        return ManagementFactory.getRuntimeMXBean().getName() + "/" + ManagementFactory.getRuntimeMXBean().getStartTime();
+    }
+
+    public String getNode() {
+        return node;
+    }
+
+    /**
+     * Publishes the final amounts of the sessions, ended, and stops publishing
+     */
+    @Override
+    public void close() throws IOException {
+        if (!channel.isOpen()) {
+            return;
+        }
+        publisher.shutdown();
+        try {
+            publisher.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            publish(true);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void publishQuietly() {
+        try {
+            publish();
+        } catch (IOException | RuntimeException e) {
+            //the next full state makes up for it
+            System.err.println("Publishing the cost to " + aggregators + " failed: " + e);
+        }
+    }
+
+    /**
+     * Reads the sessions and sends what changed, or a full state every {@link #FULL_STATE_EVERY} rounds
+     */
+    void publish() throws IOException {
+        publish(false);
+    }
+
+    /**
+     * @param closing - ends all sessions and sends everything
+     */
+    private synchronized void publish(boolean closing) throws IOException {
+        rounds++;
+        CostCounters changed = new CostCounters();
+        Map<String, CalculatingSession> current = sessions.get();
+        Map<CalculatingSession, Boolean> present = new IdentityHashMap<>();
+        for (Map.Entry<String, CalculatingSession> entry : current.entrySet()) {
+            CalculatingSession session = entry.getValue();
+            present.put(session, Boolean.TRUE);
+            Published counter = published.get(session);
+            if (counter == null) {
+                counter = open(entry.getKey(), session, AmountText.toCents(session.getInitialAmount()));
+            }
+            update(changed, counter, closing || !session.isRunning());
+        }
+        for (Iterator<Map.Entry<CalculatingSession, Published>> counters = published.entrySet().iterator();
+             counters.hasNext(); ) {
+            Map.Entry<CalculatingSession, Published> entry = counters.next();
+            if (!present.containsKey(entry.getKey())) {
+                update(changed, entry.getValue(), true);
+                counters.remove();
+            }
+        }
+        retire(changed);
+
+        CostCounters toSend;
+        if (closing) {
+            toSend = state;
+        } else if (rounds % FULL_STATE_EVERY == 0) {
+            toSend = state.slice(fullStateOffset, MAX_FULL_STATE_COUNTERS);
+            fullStateOffset += MAX_FULL_STATE_COUNTERS;
+        } else {
+            toSend = changed;
+        }
+        CostMessages.encode(toSend, buffer, datagram -> {
+            for (InetSocketAddress aggregator : aggregators) {
+                channel.send(datagram.duplicate(), aggregator);
+            }
+        });
+    }
+
+    /**
+     * @param baseCents - of the session counted elsewhere already
+     */
+    private Published open(String id, CalculatingSession session, long baseCents) {
+        long sequence = ++sequences;
+        Published counter = new Published(id + "#" + sequence, sequence, session, baseCents);
+        published.put(session, counter);
+        unretired.put(sequence, counter);
+        return counter;
+    }
+
+    private void update(CostCounters changed, Published counter, boolean end) {
+        if (counter.endedRound >= 0) {
+            return;
+        }
+        long cents = AmountText.toCents(counter.session.getAmount()) - counter.baseCents;
+        counter.cents = Math.max(counter.cents, cents);
+        if (end) {
+            counter.endedRound = rounds;
+            ended.add(counter);
+        }
+        if (state.merge(node, counter.name, counter.sequence, counter.cents, end)) {
+            changed.merge(node, counter.name, counter.sequence, counter.cents, end);
+        }
+    }
+
+    /**
+     * Folds the oldest counters that ended long enough ago into the floor. A running session that holds back
+     * counters ready to retire goes on in a new counter from its amount so far.
+     */
+    private void retire(CostCounters changed) {
+        boolean folded = false;
+        while (!unretired.isEmpty()) {
+            Published oldest = unretired.firstEntry().getValue();
+            if (oldest.endedRound < 0) {
+                if (isAnyReady()) {
+                    update(changed, oldest, true);
+                    Published next = open(oldest.name.substring(0, oldest.name.lastIndexOf('#')), oldest.session,
+                            oldest.baseCents + oldest.cents);
+                    update(changed, next, false);
+                }
+                break;
+            }
+            if (rounds - oldest.endedRound < RETIRE_AFTER_ROUNDS) {
+                break;
+            }
+            unretired.pollFirstEntry();
+            oldest.retired = true;
+            floorSequence = oldest.sequence;
+            floorCents += oldest.cents;
+            folded = true;
+        }
+        if (folded && state.merge(node, CostCounters.FLOOR, floorSequence, floorCents, true)) {
+            changed.merge(node, CostCounters.FLOOR, floorSequence, floorCents, true);
+        }
+    }
+
+    /**
+     * @return true if an ended counter waits for the ones before it only
+     */
+    private boolean isAnyReady() {
+        while (!ended.isEmpty() && ended.peekFirst().retired) {
+            ended.pollFirst();
+        }
+        return !ended.isEmpty() && rounds - ended.peekFirst().endedRound >= RETIRE_AFTER_ROUNDS;
+    }
+
+    /**
+     * @return the counters of this node as published so far
+     */
+    CostCounters getState() {
+        return state;
+    }
+
+    /**
+     * A counter of a session, as published
+     */
+    private static final class Published {
+        final String name;
+        final long sequence;
+        final CalculatingSession session;
+        /**
+         * The amount of the session counted by others - before a restart or by its earlier counters
+         */
+        final long baseCents;
+        long cents;
+        long endedRound = -1;
+        boolean retired;
+
+        Published(String name, long sequence, CalculatingSession session, long baseCents) {
+            this.name = name;
+            this.sequence = sequence;
+            this.session = session;
+            this.baseCents = baseCents;
+        }
+    }
+}
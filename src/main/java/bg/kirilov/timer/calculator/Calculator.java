@@ -8,6 +8,16 @@ package bg.kirilov.timer.calculator;
  */
 public interface Calculator {
 
+    /**
+     * Returned by {@link #secondsToReach(double)} for amounts that are never reached
+     */
+    long NEVER = Long.MAX_VALUE;
+
+    /**
+     * Amounts not reached in this many seconds (about 136 years) are never reached
+     */
+    long MAX_SECONDS_TO_REACH = 1L << 32;
+
     /**
      * Calculates pay
      *
@@ -15,4 +25,47 @@ public interface Calculator {
      * @return
      */
     double calculate(long hoursPassed);
+
+    /**
+     * The inverse of {@link #calculate(long)}: exponential search for a second with at least the amount,
+     * then binary search for the first one. Assumes the calculation never decreases with time.<br>
+     * A calculation that overflows is taken as more than any amount.
+     *
+     * @return the first whole second the amount is reached at, or {@link #NEVER}
+     */
+    default long secondsToReach(double amount) {
+        if (reaches(0, amount)) {
+            return 0;
+        }
+        long low = 0;
+        long high = 1;
+        while (!reaches(high, amount)) {
+            if (high >= MAX_SECONDS_TO_REACH) {
+                return NEVER;
+            }
+            low = high;
+            high *= 2;
+        }
+
+        while (high - low > 1) {
+            long middle = (low + high) >>> 1;
+            if (reaches(middle, amount)) {
+                high = middle;
+            } else {
+                low = middle;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * @return true if the calculation for the seconds is at least the amount
+     */
+    default boolean reaches(long secondsPassed, double amount) {
+        try {
+            return calculate(secondsPassed) >= amount;
+        } catch (ArithmeticException e) {
+            return true;
+        }
+    }
 }
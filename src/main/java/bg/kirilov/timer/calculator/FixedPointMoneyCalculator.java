@@ -0,0 +1,143 @@
+package bg.kirilov.timer.calculator;
+
+import bg.kirilov.timer.util.TimeConstants;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Calculator class which calculates secondsPassed * moneyRate exactly, in micro-units (millionths) of money.<br>
+ * The rate is converted to micro-units once. Every calculation is plain long arithmetic with an explicit
+ * rounding mode - there is no drift from binary fractions and no allocation per call.<br>
+ * Throws {@link ArithmeticException} when a result does not fit in a long instead of silently overflowing.
+ *
+ * @since 10/17/2026
+ */
+public class FixedPointMoneyCalculator implements Calculator {
+
+    public static final long MICROS_IN_A_UNIT = 1_000_000L;
+    private static final int MICROS_DIGITS = 6;
+
+    /**
+     * The multiplication of numberOfPeople by payRate, in micro-units per hour.
+     */
+    private final long microsPerHour;
+    private final RoundingMode roundingMode;
+
+    /**
+     * Rounds HALF_EVEN - the rounding used for displaying the amount
+     */
+    public FixedPointMoneyCalculator(int peopleCount, double payRatePerHourPerson) {
+        this(peopleCount, payRatePerHourPerson, RoundingMode.HALF_EVEN);
+    }
+
+    /**
+     * @param peopleCount          - number of participants
+     * @param payRatePerHourPerson - taken as the shortest decimal that represents the double, e.g. 0.1 is exactly 0.1
+     * @param roundingMode         - used for the rate and for every calculation
+     */
+    public FixedPointMoneyCalculator(int peopleCount, double payRatePerHourPerson, RoundingMode roundingMode) {
+        this(Math.multiplyExact(peopleCount, toMicros(payRatePerHourPerson, roundingMode)), roundingMode);
+    }
+
+    /**
+     * @param microsPerHour - the rate of all participants together, in micro-units per hour
+     * @param roundingMode  - used for every calculation
+     */
+    public FixedPointMoneyCalculator(long microsPerHour, RoundingMode roundingMode) {
+        this.microsPerHour = microsPerHour;
+        this.roundingMode = roundingMode;
+    }
+
+    /**
+     * Converts an amount to micro-units. Not meant for the tick path.
+     */
+    public static long toMicros(double amount, RoundingMode roundingMode) {
+        return BigDecimal.valueOf(amount)
+                .movePointRight(MICROS_DIGITS)
+                .setScale(0, roundingMode)
+                .longValueExact();
+    }
+
+    @Override
+    public double calculate(long secondsPassed) {
+        return (double) calculateMicros(secondsPassed) / MICROS_IN_A_UNIT;
+    }
+
+    /**
+     * Whole hours are multiplied exactly, only the rest of the hour is divided and rounded.
+     * That keeps the intermediate products small even for very long sessions.
+     *
+     * @return the amount in micro-units
+     * @throws ArithmeticException if the amount does not fit in a long
+     */
+    public long calculateMicros(long secondsPassed) {
+        long hours = secondsPassed / TimeConstants.SECONDS_IN_AN_HOUR;
+        long restOfHour = secondsPassed % TimeConstants.SECONDS_IN_AN_HOUR;
+
+        long wholeHours = Math.multiplyExact(microsPerHour, hours);
+        return divide(wholeHours, Math.multiplyExact(microsPerHour, restOfHour), TimeConstants.SECONDS_IN_AN_HOUR, roundingMode);
+    }
+
+    public long getMicrosPerHour() {
+        return microsPerHour;
+    }
+
+    public RoundingMode getRoundingMode() {
+        return roundingMode;
+    }
+
+    /**
+     * Integer division with the semantics of {@link RoundingMode}, without BigDecimal.
+     *
+     * @param divisor - positive
+     */
+    static long divide(long dividend, long divisor, RoundingMode roundingMode) {
+        return divide(0, dividend, divisor, roundingMode);
+    }
+
+    /**
+     * Rounds wholePart + dividend / divisor. HALF_EVEN looks at the parity of the whole result.
+     *
+     * @param wholePart - an exact integer part with the same sign as the dividend
+     * @param divisor   - positive
+     */
+    static long divide(long wholePart, long dividend, long divisor, RoundingMode roundingMode) {
+        long quotient = Math.addExact(wholePart, dividend / divisor);
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+
+        int sign = remainder < 0 ? -1 : 1;
+        long twiceRemainder = 2 * Math.abs(remainder);
+        boolean awayFromZero;
+        switch (roundingMode) {
+            case UP:
+                awayFromZero = true;
+                break;
+            case DOWN:
+                awayFromZero = false;
+                break;
+            case CEILING:
+                awayFromZero = sign > 0;
+                break;
+            case FLOOR:
+                awayFromZero = sign < 0;
+                break;
+            case HALF_UP:
+                awayFromZero = twiceRemainder >= divisor;
+                break;
+            case HALF_DOWN:
+                awayFromZero = twiceRemainder > divisor;
+                break;
+            case HALF_EVEN:
+                awayFromZero = twiceRemainder > divisor || (twiceRemainder == divisor && (quotient & 1) != 0);
+                break;
+            case UNNECESSARY:
+            default:
+                throw new ArithmeticException("Rounding necessary: " + dividend + " / " + divisor);
+        }
+        return awayFromZero ? Math.addExact(quotient, sign) : quotient;
+    }
+}
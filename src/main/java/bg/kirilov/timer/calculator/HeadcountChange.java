@@ -0,0 +1,31 @@
+package bg.kirilov.timer.calculator;
+
+/**
+ * Simple POJO.<br>
+ * The number of participants from a moment of the session on.
+ *
+ * @since 10/17/2026
+ */
+public class HeadcountChange {
+    private final long secondsPassed;
+    private final int peopleCount;
+
+    public HeadcountChange(long secondsPassed, int peopleCount) {
+        this.secondsPassed = secondsPassed;
+        this.peopleCount = peopleCount;
+    }
+
+    /**
+     * @return seconds of the session passed when the change happened
+     */
+    public long getSecondsPassed() {
+        return secondsPassed;
+    }
+
+    /**
+     * @return number of participants after the change
+     */
+    public int getPeopleCount() {
+        return peopleCount;
+    }
+}
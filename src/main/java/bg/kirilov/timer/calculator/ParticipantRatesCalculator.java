@@ -0,0 +1,118 @@
+package bg.kirilov.timer.calculator;
+
+import bg.kirilov.timer.util.TimeConstants;
+
+/**
+ * Calculator class for participants with different pay rates.<br>
+ * The rates are kept in a primitive array and summed once, so every calculation costs
+ * the same as with a single rate, however many participants there are.
+ *
+ * @since 10/17/2026
+ */
+public class ParticipantRatesCalculator implements Calculator {
+
+    private final double[] hourlyRates;
+    /**
+     * The sum of all hourly rates.
+     */
+    private final double ratePerHour;
+
+    /**
+     * @param hourlyRates - pay rate per hour of every participant. The array is copied.
+     */
+    public ParticipantRatesCalculator(double[] hourlyRates) {
+        this.hourlyRates = hourlyRates.clone();
+        this.ratePerHour = sum(this.hourlyRates, 0, this.hourlyRates.length);
+    }
+
+    /**
+     * Rates of participants grouped in salary bands.
+     *
+     * @param bandSizes       - number of participants in every band
+     * @param bandHourlyRates - pay rate per hour of a participant in the band
+     */
+    public ParticipantRatesCalculator(int[] bandSizes, double[] bandHourlyRates) {
+        this(expand(bandSizes, bandHourlyRates));
+    }
+
+    @Override
+    public double calculate(long secondsPassed) {
+        return (ratePerHour * secondsPassed) / TimeConstants.SECONDS_IN_AN_HOUR;
+    }
+
+    /**
+     * Calculates the amounts of many sessions with these participants at once.
+     *
+     * @param secondsPassed - elapsed seconds of every session
+     * @param amounts       - receives the amount of every session, at the same index
+     */
+    public void calculate(long[] secondsPassed, double[] amounts) {
+        if (amounts.length < secondsPassed.length) {
+            throw new IllegalArgumentException("Expected room for " + secondsPassed.length + " amounts but was " + amounts.length);
+        }
+        //the same expression as the single calculation - the amounts must not differ in the last bit
+        for (int i = 0; i < secondsPassed.length; i++) {
+            amounts[i] = (ratePerHour * secondsPassed[i]) / TimeConstants.SECONDS_IN_AN_HOUR;
+        }
+    }
+
+    public int getParticipantsCount() {
+        return hourlyRates.length;
+    }
+
+    public double getRatePerHour() {
+        return ratePerHour;
+    }
+
+    /**
+     * @return copy of the rates of all participants
+     */
+    public double[] getHourlyRates() {
+        return hourlyRates.clone();
+    }
+
+    /**
+     * Sums with 4 independent accumulators - no dependency between neighbouring iterations,
+     * so the JIT can pipeline or vectorize the loop.
+     */
+    static double sum(double[] values, int from, int to) {
+        double sum0 = 0;
+        double sum1 = 0;
+        double sum2 = 0;
+        double sum3 = 0;
+
+        int i = from;
+        for (; i + 3 < to; i += 4) {
+            sum0 += values[i];
+            sum1 += values[i + 1];
+            sum2 += values[i + 2];
+            sum3 += values[i + 3];
+        }
+        for (; i < to; i++) {
+            sum0 += values[i];
+        }
+        return (sum0 + sum1) + (sum2 + sum3);
+    }
+
+    private static double[] expand(int[] bandSizes, double[] bandHourlyRates) {
+        if (bandSizes.length != bandHourlyRates.length) {
+            throw new IllegalArgumentException("Expected a rate for every band: " + bandSizes.length + " != " + bandHourlyRates.length);
+        }
+        int total = 0;
+        for (int size : bandSizes) {
+            if (size < 0) {
+                throw new IllegalArgumentException("Negative band size: " + size);
+            }
+            total = Math.addExact(total, size);
+        }
+
+        double[] rates = new double[total];
+        int position = 0;
+        for (int band = 0; band < bandSizes.length; band++) {
+            for (int i = 0; i < bandSizes[band]; i++) {
+                rates[position++] = bandHourlyRates[band];
+            }
+        }
+        return rates;
+    }
+}
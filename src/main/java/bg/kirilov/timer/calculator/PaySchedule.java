@@ -0,0 +1,299 @@
+package bg.kirilov.timer.calculator;
+
+import bg.kirilov.timer.util.TimeConstants;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Pay that is not linear: overtime tiers after some hours of the session, multipliers in weekly windows of the wall
+ * clock (weekends, nights), an overhead load on top of every rate, and fixed fees.<br>
+ * A schedule is only a description - {@link #compile(Instant, ZoneId)} turns it, for a session starting at a given
+ * moment, into a {@link PiecewiseLinearCalculator}: a sorted array of linear segments. The rules are never looked at
+ * again while the session ticks.<br>
+ * <br>
+ * All multipliers that apply at the same time are multiplied, e.g. overtime 1.5 on a weekend 2.0 with an overhead
+ * of 1.2 is 3.6 times the base rate. Fees are not multiplied.
+ *
+ * @since 10/17/2026
+ */
+public class PaySchedule {
+
+    /**
+     * Sessions longer than this keep the windows they are in - see {@link #compile(Instant, ZoneId, long)}
+     */
+    public static final long DEFAULT_HORIZON_SECONDS = 366L * 24 * TimeConstants.SECONDS_IN_AN_HOUR;
+
+    private final double ratePerHour;
+    private double overhead = 1;
+    private final List<Tier> tiers = new ArrayList<>();
+    private final List<Window> windows = new ArrayList<>();
+    private final List<Fee> fees = new ArrayList<>();
+
+    /**
+     * @param peopleCount          - number of participants
+     * @param payRatePerHourPerson - the base rate, before any multiplier
+     */
+    public PaySchedule(int peopleCount, double payRatePerHourPerson) {
+        if (peopleCount < 0) {
+            throw new IllegalArgumentException("Negative number of participants: " + peopleCount);
+        }
+        this.ratePerHour = peopleCount * payRatePerHourPerson;
+    }
+
+    /**
+     * From the given running time of the session on, the rate is multiplied - e.g. 1.5 after 8 hours.
+     * A later tier replaces an earlier one.
+     *
+     * @return this, for chaining
+     */
+    public PaySchedule tier(long afterSeconds, double multiplier) {
+        checkMultiplier(multiplier);
+        if (afterSeconds < 0) {
+            throw new IllegalArgumentException("Negative running time: " + afterSeconds);
+        }
+        tiers.add(new Tier(afterSeconds, multiplier));
+        return this;
+    }
+
+    /**
+     * Every listed day from one time of the day until another one, the rate is multiplied.
+     * A window that ends at or before its start ends on the next day, e.g. 22:00 to 06:00.
+     *
+     * @return this, for chaining
+     */
+    public PaySchedule window(Set<DayOfWeek> days, LocalTime from, LocalTime to, double multiplier) {
+        checkMultiplier(multiplier);
+        windows.add(new Window(EnumSet.copyOf(days), from, to, multiplier));
+        return this;
+    }
+
+    /**
+     * All of Saturday and Sunday
+     *
+     * @return this, for chaining
+     */
+    public PaySchedule weekends(double multiplier) {
+        return window(EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY), LocalTime.MIDNIGHT, LocalTime.MIDNIGHT, multiplier);
+    }
+
+    /**
+     * Multiplies every rate, e.g. 1.25 for the overhead of the office on top of the salaries
+     *
+     * @return this, for chaining
+     */
+    public PaySchedule overhead(double load) {
+        checkMultiplier(load);
+        overhead *= load;
+        return this;
+    }
+
+    /**
+     * A fixed amount due when the session starts, e.g. the rent of the room
+     *
+     * @return this, for chaining
+     */
+    public PaySchedule fee(double amount) {
+        return fee(0, amount);
+    }
+
+    /**
+     * A fixed amount due once the session has run for the given time, e.g. catering after 2 hours
+     *
+     * @return this, for chaining
+     */
+    public PaySchedule fee(long afterSeconds, double amount) {
+        if (afterSeconds < 0) {
+            throw new IllegalArgumentException("Negative running time: " + afterSeconds);
+        }
+        fees.add(new Fee(afterSeconds, amount));
+        return this;
+    }
+
+    /**
+     * Compiles the schedule for a session starting at the given moment, for a year of running time
+     */
+    public PiecewiseLinearCalculator compile(Instant startedAt, ZoneId zone) {
+        return compile(startedAt, zone, DEFAULT_HORIZON_SECONDS);
+    }
+
+    /**
+     * The running time is taken as wall clock time from the start - a paused session is charged by its running time,
+     * as if it had not been paused.
+     *
+     * @param horizonSeconds - the windows are compiled for this much running time, then the multipliers of the windows
+     *                       open at its end go on. Tiers and fees apply whenever they are due.
+     */
+    public PiecewiseLinearCalculator compile(Instant startedAt, ZoneId zone, long horizonSeconds) {
+        if (horizonSeconds <= 0) {
+            throw new IllegalArgumentException("Horizon expected to be positive: " + horizonSeconds);
+        }
+        long[] boundaries = boundaries(startedAt, zone, horizonSeconds);
+
+        long[] since = new long[boundaries.length];
+        double[] startAmount = new double[boundaries.length];
+        double[] ratePerSecond = new double[boundaries.length];
+        int count = 0;
+        for (long boundary : boundaries) {
+            double amount = count == 0 ? 0
+                    : startAmount[count - 1] + ratePerSecond[count - 1] * (boundary - since[count - 1]);
+            double feesDue = feesAt(boundary);
+            double rate = ratePerHour * multiplierAt(boundary, startedAt, zone, horizonSeconds)
+                    / TimeConstants.SECONDS_IN_AN_HOUR;
+            //the same line goes on - no new segment
+            if (count > 0 && feesDue == 0 && rate == ratePerSecond[count - 1]) {
+                continue;
+            }
+            since[count] = boundary;
+            startAmount[count] = amount + feesDue;
+            ratePerSecond[count] = rate;
+            count++;
+        }
+        return new PiecewiseLinearCalculator(Arrays.copyOf(since, count), Arrays.copyOf(startAmount, count),
+                Arrays.copyOf(ratePerSecond, count));
+    }
+
+    /**
+     * @return sorted, distinct running times at which the rate may change or a fee is due - 0 first
+     */
+    private long[] boundaries(Instant startedAt, ZoneId zone, long horizonSeconds) {
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(0L);
+        for (Tier tier : tiers) {
+            boundaries.add(tier.afterSeconds);
+        }
+        for (Fee fee : fees) {
+            boundaries.add(fee.afterSeconds);
+        }
+        for (Window window : windows) {
+            for (long[] occurrence : window.occurrences(startedAt, zone, horizonSeconds)) {
+                for (long boundary : occurrence) {
+                    if (boundary >= 0 && boundary < horizonSeconds) {
+                        boundaries.add(boundary);
+                    }
+                }
+            }
+        }
+        return boundaries.stream()
+                .mapToLong(Long::longValue)
+                .sorted()
+                .distinct()
+                .toArray();
+    }
+
+    /**
+     * @param horizonSeconds - the windows are looked at until just before it
+     */
+    private double multiplierAt(long seconds, Instant startedAt, ZoneId zone, long horizonSeconds) {
+        double multiplier = overhead;
+        long latestTier = -1;
+        double tierMultiplier = 1;
+        for (Tier tier : tiers) {
+            if (tier.afterSeconds <= seconds && tier.afterSeconds >= latestTier) {
+                latestTier = tier.afterSeconds;
+                tierMultiplier = tier.multiplier;
+            }
+        }
+        multiplier *= tierMultiplier;
+        Instant windowMoment = startedAt.plusSeconds(Math.min(seconds, horizonSeconds - 1));
+        for (Window window : windows) {
+            if (window.contains(windowMoment, zone)) {
+                multiplier *= window.multiplier;
+            }
+        }
+        return multiplier;
+    }
+
+    private double feesAt(long seconds) {
+        double due = 0;
+        for (Fee fee : fees) {
+            if (fee.afterSeconds == seconds) {
+                due += fee.amount;
+            }
+        }
+        return due;
+    }
+
+    private static void checkMultiplier(double multiplier) {
+        if (!(multiplier >= 0) || Double.isInfinite(multiplier)) {
+            throw new IllegalArgumentException("Multiplier expected to be a non-negative number: " + multiplier);
+        }
+    }
+
+    private static final class Tier {
+        private final long afterSeconds;
+        private final double multiplier;
+
+        private Tier(long afterSeconds, double multiplier) {
+            this.afterSeconds = afterSeconds;
+            this.multiplier = multiplier;
+        }
+    }
+
+    private static final class Fee {
+        private final long afterSeconds;
+        private final double amount;
+
+        private Fee(long afterSeconds, double amount) {
+            this.afterSeconds = afterSeconds;
+            this.amount = amount;
+        }
+    }
+
+    private static final class Window {
+        private final Set<DayOfWeek> days;
+        private final LocalTime from;
+        private final LocalTime to;
+        private final double multiplier;
+
+        private Window(Set<DayOfWeek> days, LocalTime from, LocalTime to, double multiplier) {
+            this.days = days;
+            this.from = from;
+            this.to = to;
+            this.multiplier = multiplier;
+        }
+
+        /**
+         * @return [start, end) of every occurrence that overlaps the horizon, in running seconds of the session
+         */
+        private List<long[]> occurrences(Instant startedAt, ZoneId zone, long horizonSeconds) {
+            List<long[]> occurrences = new ArrayList<>();
+            //an overnight window of the day before may still be open at the start
+            LocalDate day = startedAt.atZone(zone).toLocalDate().minusDays(1);
+            LocalDate lastDay = startedAt.plusSeconds(horizonSeconds).atZone(zone).toLocalDate();
+            for (; !day.isAfter(lastDay); day = day.plusDays(1)) {
+                if (days.contains(day.getDayOfWeek())) {
+                    Instant start = day.atTime(from).atZone(zone).toInstant();
+                    Instant end = (to.isAfter(from) ? day : day.plusDays(1)).atTime(to).atZone(zone).toInstant();
+                    occurrences.add(new long[]{
+                            Duration.between(startedAt, start).getSeconds(),
+                            Duration.between(startedAt, end).getSeconds()});
+                }
+            }
+            return occurrences;
+        }
+
+        private boolean contains(Instant moment, ZoneId zone) {
+            LocalDate day = moment.atZone(zone).toLocalDate();
+            for (LocalDate candidate : new LocalDate[]{day.minusDays(1), day}) {
+                if (days.contains(candidate.getDayOfWeek())) {
+                    Instant start = candidate.atTime(from).atZone(zone).toInstant();
+                    Instant end = (to.isAfter(from) ? candidate : candidate.plusDays(1)).atTime(to).atZone(zone).toInstant();
+                    if (!moment.isBefore(start) && moment.isBefore(end)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package bg.kirilov.timer.calculator;
+
+/**
+ * Calculator class for a {@link PaySchedule} compiled for one session: a sorted array of linear segments, each with
+ * the running time it starts at, the amount at its start and its rate. The last segment goes on forever.<br>
+ * A calculation checks the segment of the previous one first - ticks move forward, so it is almost always the same
+ * segment or the next one - and finds it by binary search otherwise.<br>
+ * <br>
+ * Immutable apart from the remembered segment, which is only a hint: any thread may calculate at any time.
+ *
+ * @since 10/17/2026
+ */
+public class PiecewiseLinearCalculator implements Calculator {
+
+    private final long[] since;
+    private final double[] startAmount;
+    private final double[] ratePerSecond;
+
+    /**
+     * The segment of the last calculation. A stale value costs a binary search, never a wrong amount.
+     */
+    private int lastSegment;
+
+    /**
+     * @param since         - running seconds each segment starts at, ascending and starting with 0
+     * @param startAmount   - the amount at the start of each segment, fees included
+     * @param ratePerSecond - the rate of each segment
+     */
+    PiecewiseLinearCalculator(long[] since, double[] startAmount, double[] ratePerSecond) {
+        if (since.length == 0 || since[0] != 0) {
+            throw new IllegalArgumentException("The first segment is expected to start at 0");
+        }
+        this.since = since;
+        this.startAmount = startAmount;
+        this.ratePerSecond = ratePerSecond;
+    }
+
+    @Override
+    public double calculate(long secondsPassed) {
+        int segment = findSegment(secondsPassed);
+        return startAmount[segment] + ratePerSecond[segment] * (secondsPassed - since[segment]);
+    }
+
+    public int getSegmentsCount() {
+        return since.length;
+    }
+
+    private int findSegment(long secondsPassed) {
+        int last = since.length - 1;
+        int segment = lastSegment;
+        if (since[segment] <= secondsPassed) {
+            if (segment == last || secondsPassed < since[segment + 1]) {
+                return segment;
+            }
+            if (segment + 1 == last || secondsPassed < since[segment + 2]) {
+                lastSegment = segment + 1;
+                return segment + 1;
+            }
+        }
+
+        int low = 0;
+        int high = last;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (since[middle] <= secondsPassed) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        lastSegment = low;
+        return low;
+    }
+}
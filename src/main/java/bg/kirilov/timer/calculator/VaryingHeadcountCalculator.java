@@ -0,0 +1,200 @@
+package bg.kirilov.timer.calculator;
+
+import bg.kirilov.timer.util.TimeConstants;
+
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Calculator class for sessions that participants join and leave while the clock is ticking.<br>
+ * The cost is kept as a running integral: the exact cost up to the last change plus the current rate
+ * times the time since that change. Every calculation is O(1) no matter how many changes happened.
+ * Amounts are exact micro-units, like in {@link FixedPointMoneyCalculator}.<br>
+ * <br>
+ * Changes may come from one thread while another one calculates.
+ *
+ * @since 10/17/2026
+ */
+public class VaryingHeadcountCalculator implements Calculator {
+
+    private final long microsPerHourPerson;
+    private final RoundingMode roundingMode;
+
+    /**
+     * The segment since the last change. Replaced as a whole, so readers never see a half-made change.
+     */
+    private volatile Segment current;
+
+    //full history of the changes - guarded by this
+    private long[] changeSeconds = new long[8];
+    private int[] changePeople = new int[8];
+    private Segment[] changeSegments = new Segment[8];
+    private int changesCount;
+
+    public VaryingHeadcountCalculator(int peopleCount, double payRatePerHourPerson) {
+        this(peopleCount, payRatePerHourPerson, RoundingMode.HALF_EVEN);
+    }
+
+    public VaryingHeadcountCalculator(int peopleCount, double payRatePerHourPerson, RoundingMode roundingMode) {
+        checkPeopleCount(peopleCount);
+        this.microsPerHourPerson = FixedPointMoneyCalculator.toMicros(payRatePerHourPerson, roundingMode);
+        this.roundingMode = roundingMode;
+        this.current = new Segment(0, Math.multiplyExact(peopleCount, microsPerHourPerson), peopleCount, 0, 0);
+        record(current);
+    }
+
+    /**
+     * Replays the changes of a session, e.g. one recovered after a restart.
+     *
+     * @param history - the headcounts in the order of the changes, as returned by {@link #getHistory()}
+     */
+    public static VaryingHeadcountCalculator fromHistory(List<HeadcountChange> history, double payRatePerHourPerson) {
+        if (history.isEmpty()) {
+            throw new IllegalArgumentException("The history has no initial headcount");
+        }
+        VaryingHeadcountCalculator calculator = new VaryingHeadcountCalculator(history.get(0).getPeopleCount(), payRatePerHourPerson);
+        for (int i = 1; i < history.size(); i++) {
+            HeadcountChange change = history.get(i);
+            calculator.changeHeadcount(change.getSecondsPassed(), change.getPeopleCount());
+        }
+        return calculator;
+    }
+
+    /**
+     * @param secondsPassed - when in the session they joined. Not before the previous change.
+     * @param count         - how many joined
+     */
+    public synchronized void join(long secondsPassed, int count) {
+        changeHeadcount(secondsPassed, current.peopleCount + count);
+    }
+
+    /**
+     * @param secondsPassed - when in the session they left. Not before the previous change.
+     * @param count         - how many left
+     */
+    public synchronized void leave(long secondsPassed, int count) {
+        changeHeadcount(secondsPassed, current.peopleCount - count);
+    }
+
+    public int getPeopleCount() {
+        return current.peopleCount;
+    }
+
+    @Override
+    public double calculate(long secondsPassed) {
+        return (double) calculateMicros(secondsPassed) / FixedPointMoneyCalculator.MICROS_IN_A_UNIT;
+    }
+
+    /**
+     * @return the amount in micro-units
+     * @throws ArithmeticException if the amount does not fit in a long
+     */
+    public long calculateMicros(long secondsPassed) {
+        Segment segment = current;
+        if (secondsPassed < segment.since) {
+            //a late tick measured before the last change
+            segment = findSegment(secondsPassed);
+        }
+        return segment.costAt(secondsPassed, roundingMode);
+    }
+
+    /**
+     * @return every headcount, in the order of the changes - the first one is the initial headcount
+     */
+    public synchronized List<HeadcountChange> getHistory() {
+        List<HeadcountChange> history = new ArrayList<>(changesCount);
+        for (int i = 0; i < changesCount; i++) {
+            history.add(new HeadcountChange(changeSeconds[i], changePeople[i]));
+        }
+        return history;
+    }
+
+    private void changeHeadcount(long secondsPassed, int peopleCount) {
+        checkPeopleCount(peopleCount);
+        Segment last = current;
+        if (secondsPassed < last.since) {
+            throw new IllegalArgumentException("Change at " + secondsPassed + "s is before the previous one at " + last.since + "s");
+        }
+
+        current = last.next(secondsPassed, Math.multiplyExact(peopleCount, microsPerHourPerson), peopleCount);
+        record(current);
+    }
+
+    private synchronized Segment findSegment(long secondsPassed) {
+        int low = 0;
+        int high = changesCount - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (changeSeconds[middle] <= secondsPassed) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return changeSegments[low];
+    }
+
+    private synchronized void record(Segment segment) {
+        if (changesCount == changeSeconds.length) {
+            int capacity = changesCount * 2;
+            changeSeconds = Arrays.copyOf(changeSeconds, capacity);
+            changePeople = Arrays.copyOf(changePeople, capacity);
+            changeSegments = Arrays.copyOf(changeSegments, capacity);
+        }
+        changeSeconds[changesCount] = segment.since;
+        changePeople[changesCount] = segment.peopleCount;
+        changeSegments[changesCount] = segment;
+        changesCount++;
+    }
+
+    private static void checkPeopleCount(int peopleCount) {
+        if (peopleCount < 0) {
+            throw new IllegalArgumentException("Negative number of participants: " + peopleCount);
+        }
+    }
+
+    /**
+     * Constant rate from a moment on. The cost before it is kept exactly: whole micro-units
+     * plus a remainder in micro-units * seconds / hour.
+     */
+    private static final class Segment {
+        private final long since;
+        private final long microsPerHour;
+        private final int peopleCount;
+        private final long costMicros;
+        private final long costRemainder;
+
+        private Segment(long since, long microsPerHour, int peopleCount, long costMicros, long costRemainder) {
+            this.since = since;
+            this.microsPerHour = microsPerHour;
+            this.peopleCount = peopleCount;
+            this.costMicros = costMicros;
+            this.costRemainder = costRemainder;
+        }
+
+        private long costAt(long secondsPassed, RoundingMode roundingMode) {
+            long seconds = secondsPassed - since;
+            long hours = seconds / TimeConstants.SECONDS_IN_AN_HOUR;
+            long restOfHour = seconds % TimeConstants.SECONDS_IN_AN_HOUR;
+
+            long whole = Math.addExact(costMicros, Math.multiplyExact(microsPerHour, hours));
+            long numerator = Math.addExact(costRemainder, Math.multiplyExact(microsPerHour, restOfHour));
+            return FixedPointMoneyCalculator.divide(whole, numerator, TimeConstants.SECONDS_IN_AN_HOUR, roundingMode);
+        }
+
+        private Segment next(long secondsPassed, long newMicrosPerHour, int newPeopleCount) {
+            long seconds = secondsPassed - since;
+            long hours = seconds / TimeConstants.SECONDS_IN_AN_HOUR;
+            long restOfHour = seconds % TimeConstants.SECONDS_IN_AN_HOUR;
+
+            long whole = Math.addExact(costMicros, Math.multiplyExact(microsPerHour, hours));
+            long numerator = Math.addExact(costRemainder, Math.multiplyExact(microsPerHour, restOfHour));
+            whole = Math.addExact(whole, numerator / TimeConstants.SECONDS_IN_AN_HOUR);
+            numerator %= TimeConstants.SECONDS_IN_AN_HOUR;
+
+            return new Segment(secondsPassed, newMicrosPerHour, newPeopleCount, whole, numerator);
+        }
+    }
+}
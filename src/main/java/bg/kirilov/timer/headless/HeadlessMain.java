@@ -0,0 +1,180 @@
+package bg.kirilov.timer.headless;
+
+import bg.kirilov.timer.aggregation.CostAggregator;
+import bg.kirilov.timer.aggregation.CostPublisher;
+import bg.kirilov.timer.history.SessionHistory;
+import bg.kirilov.timer.http.HttpApi;
+import bg.kirilov.timer.journal.Journal;
+import bg.kirilov.timer.metrics.SessionsMetrics;
+import bg.kirilov.timer.metrics.TickMetrics;
+import bg.kirilov.timer.presenter.SessionListener;
+import bg.kirilov.timer.presenter.SessionRegistry;
+import bg.kirilov.timer.presenter.TickingEngine;
+import bg.kirilov.timer.presenter.Timekeeping;
+
+import javax.management.JMException;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Entry point for servers without a display. Never loads AWT or Swing.<br>
+ * <pre>
+ * java -cp ... bg.kirilov.timer.headless.HeadlessMain                 commands from stdin, records to stdout
+ * java -cp ... bg.kirilov.timer.headless.HeadlessMain --port 7070     commands from clients of a local socket
+ * </pre>
+ * With "--http-port PORT" the sessions are also served over local HTTP, with live server-sent events - see {@link HttpApi}.
+ * With "--history DIR" the completed sessions are kept for the "history" queries.
+ * With "--journal FILE" the sessions survive a restart; "--sync-millis N" sets how often the journal is forced
+ * to the disk (default 1000, 0 forces every event).
+ * With "--publish PORT" the cost of the sessions is published to the aggregator on that local UDP port;
+ * "--aggregate PORT" runs an aggregator there, gossiping with the aggregators of "--peer PORT" - see "spend".
+ * The tick latencies and the session counters are MBeans under "bg.kirilov.timer".
+ * See {@link HeadlessService} for the commands and the records.
+ *
+ * @since 10/17/2026
+ */
+public final class HeadlessMain {
+
+    private static final long DEFAULT_SYNC_INTERVAL_MILLIS = 1000;
+
+    private HeadlessMain() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = -1;
+        int httpPort = -1;
+        int publishPort = -1;
+        int aggregatePort = -1;
+        List<InetSocketAddress> peers = new ArrayList<>();
+        Path journalFile = null;
+        Path historyDirectory = null;
+        long syncIntervalMillis = DEFAULT_SYNC_INTERVAL_MILLIS;
+        for (int i = 0; i < args.length; i++) {
+            if ("--port".equals(args[i]) && i + 1 < args.length) {
+                port = Integer.parseInt(args[++i]);
+            } else if ("--http-port".equals(args[i]) && i + 1 < args.length) {
+                httpPort = Integer.parseInt(args[++i]);
+            } else if ("--publish".equals(args[i]) && i + 1 < args.length) {
+                publishPort = Integer.parseInt(args[++i]);
+            } else if ("--aggregate".equals(args[i]) && i + 1 < args.length) {
+                aggregatePort = Integer.parseInt(args[++i]);
+            } else if ("--peer".equals(args[i]) && i + 1 < args.length) {
+                peers.add(new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(args[++i])));
+            } else if ("--journal".equals(args[i]) && i + 1 < args.length) {
+                journalFile = Paths.get(args[++i]);
+            } else if ("--history".equals(args[i]) && i + 1 < args.length) {
+                historyDirectory = Paths.get(args[++i]);
+            } else if ("--sync-millis".equals(args[i]) && i + 1 < args.length) {
+                syncIntervalMillis = Long.parseLong(args[++i]);
+            } else {
+                System.err.println("Usage: HeadlessMain [--port PORT] [--http-port PORT] [--history DIR]"
+                        + " [--publish PORT] [--aggregate PORT [--peer PORT]...] [--journal FILE [--sync-millis MILLIS]]");
+                System.exit(1);
+            }
+        }
+
+        SessionListener listener = SessionListener.NONE;
+        SessionHistory history = null;
+        if (historyDirectory != null) {
+            history = SessionHistory.open(historyDirectory);
+            Runtime.getRuntime().addShutdownHook(new Thread(closing(history)));
+            listener = history;
+        }
+        Journal journal = null;
+        if (journalFile != null) {
+            journal = Journal.open(journalFile, syncIntervalMillis);
+            Runtime.getRuntime().addShutdownHook(new Thread(closing(journal)));
+            listener = SessionListener.both(journal, listener);
+        }
+
+        //records are meant for machines - same format everywhere
+        SessionRegistry registry = new SessionRegistry(TickingEngine.getDefault(), Locale.US, Timekeeping.MONOTONIC, listener);
+        CostAggregator aggregator = null;
+        if (aggregatePort >= 0) {
+            aggregator = new CostAggregator(aggregatePort, peers, CostAggregator.DEFAULT_GOSSIP_INTERVAL_MILLIS);
+            Runtime.getRuntime().addShutdownHook(new Thread(closing(aggregator)));
+        }
+        HeadlessService service = new HeadlessService(registry, history,
+                aggregator == null ? null : aggregator.getCounters());
+        registerMBeans(registry);
+        if (journal != null) {
+            service.restore(journal.getRecoveredSessions());
+        }
+        if (publishPort >= 0) {
+            CostPublisher publisher = new CostPublisher(CostPublisher.defaultNodeId(), registry::getSessionsById,
+                    Collections.singletonList(new InetSocketAddress(InetAddress.getLoopbackAddress(), publishPort)),
+                    CostPublisher.DEFAULT_INTERVAL_MILLIS);
+            Runtime.getRuntime().addShutdownHook(new Thread(closing(publisher)));
+        }
+        if (httpPort >= 0) {
+            HttpApi api = HttpApi.start(registry, httpPort);
+            Runtime.getRuntime().addShutdownHook(new Thread(closing(api)));
+        }
+
+        if (port < 0) {
+            Writer out = new OutputStreamWriter(System.out, StandardCharsets.UTF_8);
+            service.serve(new InputStreamReader(System.in, StandardCharsets.UTF_8), out);
+        } else {
+            serveClients(service, port);
+        }
+    }
+
+    /**
+     * Accepts clients on the loopback interface only. Every client gets its own command stream.
+     */
+    private static void serveClients(HeadlessService service, int port) throws IOException {
+        try (ServerSocket server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+            while (true) {
+                Socket client = server.accept();
+                Thread thread = new Thread(() -> serveClient(service, client), "money-timer-client-" + client.getPort());
+                thread.start();
+            }
+        }
+    }
+
+    private static void serveClient(HeadlessService service, Socket client) {
+        try (Socket socket = client) {
+            service.serve(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8),
+                    new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            System.err.println("Client " + client.getRemoteSocketAddress() + " failed: " + e.getMessage());
+        }
+    }
+
+    private static void registerMBeans(SessionRegistry registry) {
+        try {
+            TickMetrics.registerDefaultMBeans();
+            new SessionsMetrics(registry::getSessionsById).registerMBean(ManagementFactory.getPlatformMBeanServer());
+        } catch (JMException e) {
+            System.err.println("Metrics will not be seen over JMX: " + e);
+        }
+    }
+
+    /**
+     * Writes what is left on exit - e.g. the last events of the running sessions, to continue them on the next start
+     */
+    private static Runnable closing(Closeable closeable) {
+        return () -> {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                System.err.println(e.getMessage());
+            }
+        };
+    }
+}
@@ -0,0 +1,344 @@
+package bg.kirilov.timer.headless;
+
+import bg.kirilov.timer.aggregation.CostCounters;
+import bg.kirilov.timer.history.SessionHistory;
+import bg.kirilov.timer.metrics.SessionsMetrics;
+import bg.kirilov.timer.presenter.CalculatingSession;
+import bg.kirilov.timer.presenter.CalculatingView;
+import bg.kirilov.timer.presenter.RegisteredSession;
+import bg.kirilov.timer.presenter.SessionRegistry;
+import bg.kirilov.timer.presenter.SessionSnapshot;
+import bg.kirilov.timer.presenter.validator.InputValidator;
+import bg.kirilov.timer.presenter.validator.InputValidity;
+import bg.kirilov.timer.report.ReportExport;
+import bg.kirilov.timer.report.ReportFormat;
+import bg.kirilov.timer.report.SessionRecordSource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Manages sessions of a {@link SessionRegistry} from a stream of commands, one per line:
+ * <pre>
+ * start ID PEOPLE RATE    pause ID    resume ID    stop ID
+ * join ID COUNT           leave ID COUNT          budget ID AMOUNT...
+ * list                    export csv|jsonl FILE   metrics                 spend
+ * history weeks COUNT     history top COUNT       history export csv|jsonl FILE
+ * help                    quit
+ * </pre>
+ * Every command is answered with "OK command ..." or "ERR reason". Ticks of the sessions started
+ * from the stream are written to the same output as "C id clock" and "A id amount" records.
+ * "stop" also writes "R id clock amount people rate"; "list" writes "S id state clock amount people".<br>
+ * "budget" sets the amounts to alert about; a session started from the stream writes "B id budget clock" when it reaches one.<br>
+ * "spend" writes "T amount active-sessions" for the sessions of all nodes heard by the aggregator.<br>
+ * "metrics" writes "M name: count=N mean=Nus p50=Nus ..." for the tick latencies
+ * and "M id ticks=N pauses=N paused=HH:MM:SS" for every session.<br>
+ * The history of completed sessions answers with "W week-start amount" for the total cost of each of the last weeks
+ * (weeks start on Monday, UTC) and "H row start seconds people amount" for the most expensive sessions.<br>
+ * <br>
+ * When the command stream ends, the sessions it started are stopped.
+ * Sessions continued after a restart belong to no stream - any stream can list and stop them.
+ *
+ * @since 10/17/2026
+ */
+public class HeadlessService {
+
+    private static final long FLUSH_INTERVAL_MILLIS = 100;
+    private static final String HELP = "commands: start ID PEOPLE RATE | pause ID | resume ID | stop ID"
+            + " | join ID COUNT | leave ID COUNT | budget ID AMOUNT... | list | export csv|jsonl FILE | metrics | spend"
+            + " | history weeks COUNT | history top COUNT | history export csv|jsonl FILE | help | quit";
+    private static final long MILLIS_IN_A_WEEK = TimeUnit.DAYS.toMillis(7);
+
+    private final SessionRegistry registry;
+    private final SessionHistory history;
+    private final CostCounters organisation;
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "money-timer-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Clock and amount of sessions that belong to no stream
+     */
+    private static final CalculatingView NO_VIEW = new CalculatingView() {
+        @Override
+        public void setClock(String formattedClock) {
+        }
+
+        @Override
+        public void setAmount(String formattedAmount) {
+        }
+    };
+
+    /**
+     * Without a history of the completed sessions
+     */
+    public HeadlessService(SessionRegistry registry) {
+        this(registry, null);
+    }
+
+    /**
+     * @param history - completed sessions, for the "history" commands. May be null.
+     */
+    public HeadlessService(SessionRegistry registry, SessionHistory history) {
+        this(registry, history, null);
+    }
+
+    /**
+     * @param history      - completed sessions, for the "history" commands. May be null.
+     * @param organisation - the cost of the sessions of all nodes, for the "spend" command. May be null.
+     */
+    public HeadlessService(SessionRegistry registry, SessionHistory history, CostCounters organisation) {
+        this.registry = registry;
+        this.history = history;
+        this.organisation = organisation;
+    }
+
+    /**
+     * Continues sessions that were interrupted, e.g. by a restart.
+     */
+    public void restore(List<SessionSnapshot> snapshots) {
+        for (SessionSnapshot snapshot : snapshots) {
+            registry.restore(snapshot, NO_VIEW);
+        }
+    }
+
+    /**
+     * Executes commands until "quit" or the end of the stream.
+     *
+     * @param commands - one command per line
+     * @param output   - receives the answers and the records of the ticks
+     */
+    public void serve(Reader commands, Writer output) throws IOException {
+        LineRecordWriter writer = new LineRecordWriter(output);
+        ScheduledFuture<?> flushing = flusher.scheduleWithFixedDelay(writer::flush,
+                FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        Set<String> startedHere = new HashSet<>();
+
+        try {
+            BufferedReader reader = new BufferedReader(commands);
+            String line;
+            while ((line = reader.readLine()) != null && !writer.isFailed()) {
+                String[] arguments = line.trim().split("\\s+");
+                if (arguments[0].isEmpty()) {
+                    continue;
+                }
+                if ("quit".equals(arguments[0])) {
+                    writer.line("OK quit");
+                    break;
+                }
+                try {
+                    execute(arguments, writer, startedHere);
+                } catch (RuntimeException e) {
+                    writer.line("ERR " + e.getMessage());
+                }
+                writer.flush();
+            }
+        } finally {
+            flushing.cancel(false);
+            for (String id : startedHere) {
+                if (registry.get(id) != null) {
+                    registry.stop(id);
+                }
+            }
+            writer.flush();
+        }
+    }
+
+    private void execute(String[] arguments, LineRecordWriter writer, Set<String> startedHere) {
+        String command = arguments[0];
+        switch (command) {
+            case "start":
+                expectArguments(arguments, 4);
+                String id = arguments[1];
+                int people = (Integer) validate("People Count", new InputValidator().validateInt(arguments[2]));
+                double rate = (Double) validate("Pay Rate", new InputValidator().validateDouble(arguments[3]));
+                registry.start(id, people, rate, new RecordView(id, writer));
+                startedHere.add(id);
+                writer.line("OK start " + id);
+                break;
+            case "pause":
+                expectArguments(arguments, 2);
+                writer.line((registry.pause(arguments[1]) ? "OK pause " : "ERR not running ") + arguments[1]);
+                break;
+            case "resume":
+                expectArguments(arguments, 2);
+                writer.line((registry.resume(arguments[1]) ? "OK resume " : "ERR not paused ") + arguments[1]);
+                break;
+            case "stop":
+                expectArguments(arguments, 2);
+                RegisteredSession stopped = registry.stop(arguments[1]);
+                startedHere.remove(arguments[1]);
+                CalculatingSession session = stopped.getSession();
+                writer.line("R " + stopped.getId() + " " + session.getCurrentTimeFormatted() + " " + session.getFinalAmount()
+                        + " " + stopped.getPeopleCount() + " " + stopped.getPayRate());
+                writer.line("OK stop " + stopped.getId());
+                break;
+            case "join":
+                expectArguments(arguments, 3);
+                registry.join(arguments[1], (Integer) validate("Count", new InputValidator().validateInt(arguments[2])));
+                writer.line("OK join " + arguments[1]);
+                break;
+            case "leave":
+                expectArguments(arguments, 3);
+                registry.leave(arguments[1], (Integer) validate("Count", new InputValidator().validateInt(arguments[2])));
+                writer.line("OK leave " + arguments[1]);
+                break;
+            case "budget":
+                if (arguments.length < 3) {
+                    throw new IllegalArgumentException("budget expects an id and at least one amount");
+                }
+                double[] budgets = new double[arguments.length - 2];
+                for (int i = 0; i < budgets.length; i++) {
+                    budgets[i] = (Double) validate("Budget", new InputValidator().validateDouble(arguments[i + 2]));
+                }
+                registry.setBudgets(arguments[1], budgets);
+                writer.line("OK budget " + arguments[1]);
+                break;
+            case "list":
+                expectArguments(arguments, 1);
+                int count = 0;
+                for (RegisteredSession registered : registry.getSessions()) {
+                    CalculatingSession listed = registered.getSession();
+                    writer.line("S " + registered.getId() + " " + listed.getState() + " " + listed.getCurrentTimeFormatted()
+                            + " " + listed.getFinalAmount() + " " + registered.getPeopleCount());
+                    count++;
+                }
+                writer.line("OK list " + count);
+                break;
+            case "spend":
+                expectArguments(arguments, 1);
+                if (organisation == null) {
+                    throw new IllegalArgumentException("there is no aggregation");
+                }
+                writer.line("T " + BigDecimal.valueOf(organisation.getTotalCents(), 2).toPlainString()
+                        + " " + organisation.getActiveSessionsCount());
+                writer.line("OK spend");
+                break;
+            case "metrics":
+                expectArguments(arguments, 1);
+                writeMetrics(writer);
+                break;
+            case "export":
+                expectArguments(arguments, 3);
+                long exported = export(SessionRecordSource.of(registry.getSessions()), arguments[1], Paths.get(arguments[2]));
+                writer.line("OK export " + exported);
+                break;
+            case "history":
+                executeHistory(arguments, writer);
+                break;
+            case "help":
+                writer.line("OK " + HELP);
+                break;
+            default:
+                throw new IllegalArgumentException("unknown command " + command + "; " + HELP);
+        }
+    }
+
+    private void writeMetrics(LineRecordWriter writer) {
+        for (String line : registry.getEngine().getMetrics().toString().split("\n")) {
+            writer.line("M " + line);
+        }
+        for (RegisteredSession registered : registry.getSessions()) {
+            writer.line(SessionsMetrics.appendCounters(new StringBuilder("M ").append(registered.getId()).append(' '),
+                    registered.getSession()).toString());
+        }
+        writer.line("OK metrics");
+    }
+
+    private void executeHistory(String[] arguments, LineRecordWriter writer) {
+        if (history == null) {
+            throw new IllegalArgumentException("there is no history");
+        }
+        String query = arguments.length > 1 ? arguments[1] : "";
+        switch (query) {
+            case "weeks":
+                expectArguments(arguments, 3);
+                int weeks = (Integer) validate("Count", new InputValidator().validateInt(arguments[2]));
+                //Monday of the current week, 1970-01-01 was a Thursday
+                long currentWeek = Math.floorDiv(System.currentTimeMillis() + 3 * TimeUnit.DAYS.toMillis(1), MILLIS_IN_A_WEEK)
+                        * MILLIS_IN_A_WEEK - 3 * TimeUnit.DAYS.toMillis(1);
+                long from = currentWeek - (weeks - 1) * MILLIS_IN_A_WEEK;
+                long[] costs = history.costPerPeriod(from, MILLIS_IN_A_WEEK, weeks);
+                for (int i = 0; i < weeks; i++) {
+                    writer.line("W " + LocalDate.ofEpochDay(TimeUnit.MILLISECONDS.toDays(from + i * MILLIS_IN_A_WEEK))
+                            + " " + formatMicros(costs[i]));
+                }
+                writer.line("OK history weeks " + weeks);
+                break;
+            case "top":
+                expectArguments(arguments, 3);
+                int[] rows = history.mostExpensive((Integer) validate("Count", new InputValidator().validateInt(arguments[2])));
+                for (int row : rows) {
+                    writer.line("H " + row + " " + Instant.ofEpochMilli(history.getStartedAtMillis(row))
+                            + " " + history.getDurationSeconds(row) + " " + history.getPeopleCount(row)
+                            + " " + formatMicros(history.getAmountMicros(row)));
+                }
+                writer.line("OK history top " + rows.length);
+                break;
+            case "export":
+                expectArguments(arguments, 4);
+                long exported = export(history.sessionsBetween(Long.MIN_VALUE, Long.MAX_VALUE), arguments[2], Paths.get(arguments[3]));
+                writer.line("OK history export " + exported);
+                break;
+            default:
+                throw new IllegalArgumentException("unknown history query " + query + "; expected weeks, top or export");
+        }
+    }
+
+    private static String formatMicros(long micros) {
+        return BigDecimal.valueOf(micros, 6).setScale(2, RoundingMode.HALF_EVEN).toPlainString();
+    }
+
+    /**
+     * Writes the sessions to the file
+     */
+    private static long export(SessionRecordSource sessions, String formatName, Path file) {
+        ReportFormat format;
+        switch (formatName) {
+            case "csv":
+                format = ReportFormat.CSV;
+                break;
+            case "jsonl":
+                format = ReportFormat.JSON_LINES;
+                break;
+            default:
+                throw new IllegalArgumentException("unknown format " + formatName + "; expected csv or jsonl");
+        }
+        try {
+            return ReportExport.export(sessions, format, file);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("cannot export to " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static void expectArguments(String[] arguments, int expected) {
+        if (arguments.length != expected) {
+            throw new IllegalArgumentException(arguments[0] + " expects " + (expected - 1) + " argument(s)");
+        }
+    }
+
+    private static Number validate(String variableName, InputValidator validator) {
+        InputValidity<?> inputValidity = validator.validatePositiveNumber().getResult();
+        if (!inputValidity.isValid()) {
+            throw new IllegalArgumentException(variableName + " is invalid because: " + inputValidity.getInvalidReason());
+        }
+        return inputValidity.getValidNumber();
+    }
+}
@@ -0,0 +1,152 @@
+package bg.kirilov.timer.headless;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes line-delimited records from many threads into one output.<br>
+ * Records are collected in a reused buffer and only written out on {@link #flush()}, by the flushing thread,
+ * so a record of a tick allocates nothing, costs no system call and never waits for a slow output.<br>
+ * The buffer is bounded. Records that don't fit are coalesced until the next flush - only the latest one of each
+ * type and id is kept, e.g. the latest amount of a session - and written after the buffer. Other lines are kept in
+ * their order.<br>
+ * After the first failure of the output all records are dropped - ticking must not fail because a client left.
+ *
+ * @since 10/17/2026
+ */
+class LineRecordWriter implements Flushable {
+
+    /**
+     * A few flushes worth of ticks of a few hundred sessions
+     */
+    static final int MAX_PENDING_CHARS = 64 * 1024;
+
+    private final Writer out;
+    private final int maxPendingChars;
+    private volatile boolean failed;
+
+    //guarded by this
+    private char[] pending = new char[8192];
+    private int size;
+    /**
+     * What did not fit in the pending buffer, in order: the latest record by type and id, other lines by a sequence
+     */
+    private final Map<String, String> overflow = new LinkedHashMap<>();
+    private long overflowLines;
+
+    /**
+     * The buffer being written - swapped with the pending one. Guarded by the output.
+     */
+    private char[] written = new char[8192];
+
+    LineRecordWriter(Writer out) {
+        this(out, MAX_PENDING_CHARS);
+    }
+
+    LineRecordWriter(Writer out, int maxPendingChars) {
+        this.out = out;
+        this.maxPendingChars = maxPendingChars;
+    }
+
+    /**
+     * Writes "type id value"
+     */
+    synchronized void record(char type, String id, CharSequence value) {
+        if (failed) {
+            return;
+        }
+        int length = id.length() + value.length() + 4;
+        if (!overflow.isEmpty() || size + length > maxPendingChars) {
+            //a budget is an event of its own, the others only the latest state
+            String key = type == RecordView.BUDGET ? type + " " + id + " " + value : type + " " + id;
+            overflow.put(key, type + " " + id + " " + value + "\n");
+            return;
+        }
+        ensureCapacity(length);
+        append(type);
+        append(' ');
+        append(id);
+        append(' ');
+        append(value);
+        append('\n');
+    }
+
+    /**
+     * Writes a whole line. Lines are never coalesced nor dropped - they are the answers to the commands.
+     */
+    synchronized void line(CharSequence text) {
+        if (failed) {
+            return;
+        }
+        if (!overflow.isEmpty()) {
+            overflow.put(String.valueOf(overflowLines++), text + "\n");
+            return;
+        }
+        ensureCapacity(text.length() + 1);
+        append(text);
+        append('\n');
+    }
+
+    /**
+     * Writes out what was collected. May block on the output, but never the threads that record.
+     */
+    @Override
+    public void flush() {
+        synchronized (out) {
+            char[] toWrite;
+            int length;
+            List<String> overflowed = null;
+            synchronized (this) {
+                toWrite = pending;
+                length = size;
+                pending = written;
+                size = 0;
+                if (!overflow.isEmpty()) {
+                    overflowed = new ArrayList<>(overflow.values());
+                    overflow.clear();
+                }
+            }
+            written = toWrite;
+            if (failed) {
+                return;
+            }
+            try {
+                out.write(toWrite, 0, length);
+                if (overflowed != null) {
+                    for (String line : overflowed) {
+                        out.write(line);
+                    }
+                }
+                out.flush();
+            } catch (IOException e) {
+                failed = true;
+            }
+        }
+    }
+
+    boolean isFailed() {
+        return failed;
+    }
+
+    private void ensureCapacity(int length) {
+        if (size + length > pending.length) {
+            pending = Arrays.copyOf(pending, Math.max(pending.length * 2, size + length));
+        }
+    }
+
+    private void append(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            append(text.charAt(i));
+        }
+    }
+
+    private void append(char c) {
+        pending[size++] = c;
+    }
+}
@@ -0,0 +1,52 @@
+package bg.kirilov.timer.headless;
+
+import bg.kirilov.timer.presenter.CalculatingView;
+import bg.kirilov.timer.util.ClockText;
+
+/**
+ * Streams the changes of one session as records:<br>
+ * "C id HH:MM:SS" for the clock, "A id amount" for the amount and "B id budget HH:MM:SS" when a budget is reached.
+ *
+ * @since 10/17/2026
+ */
+class RecordView implements CalculatingView {
+
+    static final char CLOCK = 'C';
+    static final char AMOUNT = 'A';
+    static final char BUDGET = 'B';
+
+    private final String id;
+    private final LineRecordWriter writer;
+
+    RecordView(String id, LineRecordWriter writer) {
+        this.id = id;
+        this.writer = writer;
+    }
+
+    @Override
+    public void setClock(String formattedClock) {
+        writer.record(CLOCK, id, formattedClock);
+    }
+
+    @Override
+    public void setAmount(String formattedAmount) {
+        writer.record(AMOUNT, id, formattedAmount);
+    }
+
+    @Override
+    public void budgetReached(double budget, long secondsPassed) {
+        ClockText clock = new ClockText();
+        clock.set(secondsPassed);
+        writer.record(BUDGET, id, budget + " " + clock);
+    }
+
+    @Override
+    public void setClock(CharSequence formattedClock) {
+        writer.record(CLOCK, id, formattedClock);
+    }
+
+    @Override
+    public void setAmount(CharSequence formattedAmount) {
+        writer.record(AMOUNT, id, formattedAmount);
+    }
+}
@@ -0,0 +1,87 @@
+package bg.kirilov.timer.history;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A file of longs mapped into memory. The values stay in the page cache, not on the heap.<br>
+ * The file grows by doubling. Reads may run concurrently with one writer - a value written before a
+ * volatile publication (the row count of the history) is visible to readers that saw the publication.
+ *
+ * @since 10/17/2026
+ */
+final class LongColumn implements Closeable {
+
+    private static final int VALUE_SIZE = 8;
+    /**
+     * One mapping is limited to 2 GB
+     */
+    static final int MAX_VALUES = Integer.MAX_VALUE / VALUE_SIZE;
+
+    private final FileChannel channel;
+    private volatile MappedByteBuffer values;
+
+    LongColumn(Path file, int initialCapacity) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long existing = channel.size() / VALUE_SIZE;
+        values = map((int) Math.max(existing, initialCapacity));
+    }
+
+    long get(int index) {
+        return values.getLong(index * VALUE_SIZE);
+    }
+
+    /**
+     * Only one thread may write
+     */
+    void set(int index, long value) throws IOException {
+        MappedByteBuffer current = values;
+        if (index * (long) VALUE_SIZE >= current.capacity()) {
+            if (index >= MAX_VALUES) {
+                throw new IOException("The column is full: " + MAX_VALUES + " values");
+            }
+            current = map((int) Math.min(Math.max(index + 1L, current.capacity() / VALUE_SIZE * 2L), MAX_VALUES));
+            values = current;
+        }
+        current.putLong(index * VALUE_SIZE, value);
+    }
+
+    /**
+     * Locks the file against other processes until the column is closed
+     *
+     * @return false if another process, or this one, holds the lock already
+     */
+    boolean tryLock() throws IOException {
+        try {
+            return channel.tryLock() != null;
+        } catch (OverlappingFileLockException e) {
+            return false;
+        }
+    }
+
+    int capacity() {
+        return values.capacity() / VALUE_SIZE;
+    }
+
+    /**
+     * Writes the changed pages to the disk
+     */
+    void force() {
+        values.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private MappedByteBuffer map(int capacity) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * VALUE_SIZE);
+    }
+}
@@ -0,0 +1,483 @@
+package bg.kirilov.timer.history;
+
+import bg.kirilov.timer.calculator.FixedPointMoneyCalculator;
+import bg.kirilov.timer.presenter.SessionListener;
+import bg.kirilov.timer.report.SessionRecord;
+import bg.kirilov.timer.report.SessionRecordSource;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Persistent history of completed sessions, stored by column in memory-mapped files:
+ * start, duration, headcount, pay rate and amount - one file each. Money is kept in micro-units.<br>
+ * <br>
+ * Every block of {@value #BLOCK_SIZE} rows has a zone in the index: the smallest and largest start,
+ * the smallest and largest amount and the sum of the amounts. Time-range and cost-range queries skip
+ * the blocks whose zone is out of range and take the sums of whole blocks from the index,
+ * so they read only the rows at the edges of the range. Nothing is loaded on the heap.<br>
+ * <br>
+ * Sessions are appended by one thread at a time. Queries can run concurrently with appends -
+ * they see the rows appended before they began. Appends are written to the page cache and survive
+ * a crash of the JVM; they are forced to the disk on {@link #close()}. Only one process may open a history
+ * at a time.
+ *
+ * @since 10/17/2026
+ */
+public class SessionHistory implements SessionListener, Closeable {
+
+    static final int BLOCK_SIZE = 4096;
+    private static final int ZONE_MIN_START = 0;
+    private static final int ZONE_MAX_START = 1;
+    private static final int ZONE_MIN_AMOUNT = 2;
+    private static final int ZONE_MAX_AMOUNT = 3;
+    private static final int ZONE_SUM = 4;
+    private static final int ZONE_VALUES = 5;
+    /**
+     * The largest unsigned period - longer than the distance of any two longs, so one period holds them all
+     */
+    private static final long WHOLE_RANGE = -1L;
+
+    private final Path directory;
+    private final int maxRows;
+
+    private final LongColumn startedAtMillis;
+    private final LongColumn durationSeconds;
+    private final LongColumn peopleCount;
+    private final LongColumn payRateMicros;
+    private final LongColumn amountMicros;
+    /**
+     * ZONE_VALUES values per block
+     */
+    private final LongColumn zones;
+    /**
+     * The row count - only index 0. Written after the row, so a torn append is never counted.
+     */
+    private final LongColumn rows;
+    private volatile int size;
+
+    private SessionHistory(Path directory, int maxRows) throws IOException {
+        this.directory = directory;
+        this.maxRows = maxRows;
+        rows = new LongColumn(directory.resolve("rows.meta"), 1);
+        if (!rows.tryLock()) {
+            rows.close();
+            throw new IOException("The history " + directory + " is used by another process");
+        }
+        startedAtMillis = new LongColumn(directory.resolve("started.col"), BLOCK_SIZE);
+        durationSeconds = new LongColumn(directory.resolve("duration.col"), BLOCK_SIZE);
+        peopleCount = new LongColumn(directory.resolve("people.col"), BLOCK_SIZE);
+        payRateMicros = new LongColumn(directory.resolve("rate.col"), BLOCK_SIZE);
+        amountMicros = new LongColumn(directory.resolve("amount.col"), BLOCK_SIZE);
+        zones = new LongColumn(directory.resolve("zones.idx"), ZONE_VALUES);
+        size = (int) rows.get(0);
+
+        //the zone of the last block may hold a row that was not counted before a crash
+        rebuildZone(size / BLOCK_SIZE);
+    }
+
+    /**
+     * Opens the history in the directory, creating it if needed.
+     *
+     * @throws IOException if it cannot be read, or another process uses it
+     */
+    public static SessionHistory open(Path directory) throws IOException {
+        return open(directory, LongColumn.MAX_VALUES);
+    }
+
+    /**
+     * @param maxRows - appends fail once the history holds this many sessions
+     */
+    static SessionHistory open(Path directory, int maxRows) throws IOException {
+        Files.createDirectories(directory);
+        return new SessionHistory(directory, maxRows);
+    }
+
+    /**
+     * Records the session. A session that cannot be recorded is reported and left out -
+     * it is stopped already and the one who stopped it must not fail.
+     */
+    @Override
+    public void sessionCompleted(String id, long startedAtMillis, long elapsedSeconds, int peopleCount,
+                                 double payRate, double amount) {
+        try {
+            append(startedAtMillis, elapsedSeconds, peopleCount, payRate, amount);
+        } catch (IOException e) {
+            System.err.println("The session " + id + " will not be kept, the history " + directory + " failed: " + e);
+        }
+    }
+
+    /**
+     * Appends a completed session.
+     *
+     * @param payRate - pay rate per hour of a participant
+     * @throws IOException if the history is full or its files cannot grow
+     */
+    public synchronized void append(long startedAtMillis, long durationSeconds, int peopleCount, double payRate,
+                                    double amount) throws IOException {
+        int row = size;
+        if (row >= maxRows) {
+            throw new IOException("The history " + directory + " is full: " + maxRows + " sessions");
+        }
+        long amountInMicros = FixedPointMoneyCalculator.toMicros(amount, RoundingMode.HALF_EVEN);
+        this.startedAtMillis.set(row, startedAtMillis);
+        this.durationSeconds.set(row, durationSeconds);
+        this.peopleCount.set(row, peopleCount);
+        this.payRateMicros.set(row, FixedPointMoneyCalculator.toMicros(payRate, RoundingMode.HALF_EVEN));
+        this.amountMicros.set(row, amountInMicros);
+
+        int zone = row / BLOCK_SIZE * ZONE_VALUES;
+        if (row % BLOCK_SIZE == 0) {
+            zones.set(zone + ZONE_MIN_START, startedAtMillis);
+            zones.set(zone + ZONE_MAX_START, startedAtMillis);
+            zones.set(zone + ZONE_MIN_AMOUNT, amountInMicros);
+            zones.set(zone + ZONE_MAX_AMOUNT, amountInMicros);
+            zones.set(zone + ZONE_SUM, amountInMicros);
+        } else {
+            zones.set(zone + ZONE_MIN_START, Math.min(zones.get(zone + ZONE_MIN_START), startedAtMillis));
+            zones.set(zone + ZONE_MAX_START, Math.max(zones.get(zone + ZONE_MAX_START), startedAtMillis));
+            zones.set(zone + ZONE_MIN_AMOUNT, Math.min(zones.get(zone + ZONE_MIN_AMOUNT), amountInMicros));
+            zones.set(zone + ZONE_MAX_AMOUNT, Math.max(zones.get(zone + ZONE_MAX_AMOUNT), amountInMicros));
+            zones.set(zone + ZONE_SUM, zones.get(zone + ZONE_SUM) + amountInMicros);
+        }
+
+        rows.set(0, row + 1);
+        size = row + 1;
+    }
+
+    /**
+     * @return number of sessions in the history
+     */
+    public int size() {
+        return size;
+    }
+
+    public long getStartedAtMillis(int row) {
+        return startedAtMillis.get(checkRow(row));
+    }
+
+    public long getDurationSeconds(int row) {
+        return durationSeconds.get(checkRow(row));
+    }
+
+    public int getPeopleCount(int row) {
+        return (int) peopleCount.get(checkRow(row));
+    }
+
+    /**
+     * @return pay rate per hour of a participant, in micro-units
+     */
+    public long getPayRateMicros(int row) {
+        return payRateMicros.get(checkRow(row));
+    }
+
+    public long getAmountMicros(int row) {
+        return amountMicros.get(checkRow(row));
+    }
+
+    /**
+     * Total cost of the sessions started in each of consecutive periods, e.g. weeks.
+     *
+     * @param fromMillis   - start of the first period, epoch milliseconds
+     * @param periodMillis - length of a period
+     * @param periods      - how many periods. The ones past the largest epoch millisecond end there.
+     * @return the sums in micro-units, one per period
+     */
+    public long[] costPerPeriod(long fromMillis, long periodMillis, int periods) {
+        if (periodMillis <= 0 || periods < 0) {
+            throw new IllegalArgumentException("Invalid periods: " + periods + " x " + periodMillis + "ms");
+        }
+        long toMillis;
+        try {
+            toMillis = Math.addExact(fromMillis, Math.multiplyExact(periodMillis, periods));
+        } catch (ArithmeticException e) {
+            toMillis = Long.MAX_VALUE;
+        }
+        return costPerPeriod(fromMillis, toMillis, periodMillis, periods);
+    }
+
+    /**
+     * @return total cost of the sessions started in [fromMillis, toMillis), in micro-units
+     */
+    public long totalCost(long fromMillis, long toMillis) {
+        if (toMillis <= fromMillis) {
+            return 0;
+        }
+        return costPerPeriod(fromMillis, toMillis, WHOLE_RANGE, 1)[0];
+    }
+
+    /**
+     * @param toMillis     - the end of the last period, or earlier
+     * @param periodMillis - unsigned
+     */
+    private long[] costPerPeriod(long fromMillis, long toMillis, long periodMillis, int periods) {
+        long[] sums = new long[periods];
+        int count = size;
+        int fullBlocks = count / BLOCK_SIZE;
+
+        for (int block = 0; block * BLOCK_SIZE < count; block++) {
+            int zone = block * ZONE_VALUES;
+            long minStart = zones.get(zone + ZONE_MIN_START);
+            long maxStart = zones.get(zone + ZONE_MAX_START);
+            if (maxStart < fromMillis || minStart >= toMillis) {
+                continue;
+            }
+            if (block < fullBlocks && minStart >= fromMillis && maxStart < toMillis
+                    && period(minStart, fromMillis, periodMillis) == period(maxStart, fromMillis, periodMillis)) {
+                sums[period(minStart, fromMillis, periodMillis)] += zones.get(zone + ZONE_SUM);
+                continue;
+            }
+
+            int end = Math.min(count, (block + 1) * BLOCK_SIZE);
+            for (int row = block * BLOCK_SIZE; row < end; row++) {
+                long start = startedAtMillis.get(row);
+                if (start >= fromMillis && start < toMillis) {
+                    sums[period(start, fromMillis, periodMillis)] += amountMicros.get(row);
+                }
+            }
+        }
+        return sums;
+    }
+
+    /**
+     * @param start        - not before fromMillis. The distance may not fit in a long, but always fits in an unsigned one.
+     * @param periodMillis - unsigned
+     */
+    private static int period(long start, long fromMillis, long periodMillis) {
+        return (int) Long.divideUnsigned(start - fromMillis, periodMillis);
+    }
+
+    /**
+     * @return rows of the most expensive sessions, the most expensive first
+     */
+    public int[] mostExpensive(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Negative limit: " + limit);
+        }
+        int count = size;
+        if (limit == 0 || count == 0) {
+            return new int[0];
+        }
+        int blocks = (count + BLOCK_SIZE - 1) / BLOCK_SIZE;
+
+        //the blocks with the most expensive sessions first, so the rest can be skipped as soon as the top is full
+        long[] blocksByMaxAmount = new long[blocks];
+        for (int block = 0; block < blocks; block++) {
+            blocksByMaxAmount[block] = zones.get(block * ZONE_VALUES + ZONE_MAX_AMOUNT);
+        }
+        Integer[] order = new Integer[blocks];
+        for (int block = 0; block < blocks; block++) {
+            order[block] = block;
+        }
+        Arrays.sort(order, (first, second) -> Long.compare(blocksByMaxAmount[second], blocksByMaxAmount[first]));
+
+        TopRows top = new TopRows(Math.min(limit, count));
+        for (int block : order) {
+            if (top.isFull() && blocksByMaxAmount[block] <= top.minAmount()) {
+                break;
+            }
+            int end = Math.min(count, (block + 1) * BLOCK_SIZE);
+            for (int row = block * BLOCK_SIZE; row < end; row++) {
+                top.offer(row, amountMicros.get(row));
+            }
+        }
+        return top.sortedRows();
+    }
+
+    /**
+     * Calls the visitor with the rows of the sessions that cost in [minMicros, maxMicros], in the order they were appended.
+     *
+     * @return how many rows matched
+     */
+    public int costRange(long minMicros, long maxMicros, RowVisitor visitor) {
+        int count = size;
+        int matched = 0;
+        for (int block = 0; block * BLOCK_SIZE < count; block++) {
+            int zone = block * ZONE_VALUES;
+            if (zones.get(zone + ZONE_MAX_AMOUNT) < minMicros || zones.get(zone + ZONE_MIN_AMOUNT) > maxMicros) {
+                continue;
+            }
+            int end = Math.min(count, (block + 1) * BLOCK_SIZE);
+            for (int row = block * BLOCK_SIZE; row < end; row++) {
+                long amount = amountMicros.get(row);
+                if (amount >= minMicros && amount <= maxMicros) {
+                    visitor.visit(row);
+                    matched++;
+                }
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * @return the sessions started in [fromMillis, toMillis), for a report. The id of a session is its row number.
+     */
+    public SessionRecordSource sessionsBetween(long fromMillis, long toMillis) {
+        int count = size;
+        return new SessionRecordSource() {
+            private int row;
+
+            @Override
+            public boolean next(SessionRecord record) {
+                while (row < count) {
+                    if (row % BLOCK_SIZE == 0) {
+                        int zone = row / BLOCK_SIZE * ZONE_VALUES;
+                        if (zones.get(zone + ZONE_MAX_START) < fromMillis || zones.get(zone + ZONE_MIN_START) >= toMillis) {
+                            row += BLOCK_SIZE;
+                            continue;
+                        }
+                    }
+                    int current = row++;
+                    long start = startedAtMillis.get(current);
+                    if (start >= fromMillis && start < toMillis) {
+                        record.set(String.valueOf(current), start, (int) peopleCount.get(current),
+                                (double) payRateMicros.get(current) / FixedPointMoneyCalculator.MICROS_IN_A_UNIT,
+                                durationSeconds.get(current),
+                                (double) amountMicros.get(current) / FixedPointMoneyCalculator.MICROS_IN_A_UNIT);
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        startedAtMillis.close();
+        durationSeconds.close();
+        peopleCount.close();
+        payRateMicros.close();
+        amountMicros.close();
+        zones.close();
+        rows.close();
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row: " + row + ", size: " + size);
+        }
+        return row;
+    }
+
+    private void rebuildZone(int block) throws IOException {
+        int zone = block * ZONE_VALUES;
+        long minStart = Long.MAX_VALUE;
+        long maxStart = Long.MIN_VALUE;
+        long minAmount = Long.MAX_VALUE;
+        long maxAmount = Long.MIN_VALUE;
+        long sum = 0;
+        for (int row = block * BLOCK_SIZE; row < size; row++) {
+            long start = startedAtMillis.get(row);
+            long amount = amountMicros.get(row);
+            minStart = Math.min(minStart, start);
+            maxStart = Math.max(maxStart, start);
+            minAmount = Math.min(minAmount, amount);
+            maxAmount = Math.max(maxAmount, amount);
+            sum += amount;
+        }
+        zones.set(zone + ZONE_MIN_START, minStart);
+        zones.set(zone + ZONE_MAX_START, maxStart);
+        zones.set(zone + ZONE_MIN_AMOUNT, minAmount);
+        zones.set(zone + ZONE_MAX_AMOUNT, maxAmount);
+        zones.set(zone + ZONE_SUM, sum);
+    }
+
+    /**
+     * Receives the rows that match a query
+     */
+    public interface RowVisitor {
+        void visit(int row);
+    }
+
+    /**
+     * Min-heap of the rows with the largest amounts seen so far
+     */
+    private static final class TopRows {
+        private final int[] rows;
+        private final long[] amounts;
+        private int count;
+
+        private TopRows(int limit) {
+            rows = new int[limit];
+            amounts = new long[limit];
+        }
+
+        private boolean isFull() {
+            return count == rows.length;
+        }
+
+        private long minAmount() {
+            return amounts[0];
+        }
+
+        private void offer(int row, long amount) {
+            if (!isFull()) {
+                rows[count] = row;
+                amounts[count] = amount;
+                siftUp(count++);
+            } else if (rows.length > 0 && amount > amounts[0]) {
+                rows[0] = row;
+                amounts[0] = amount;
+                siftDown(0, count);
+            }
+        }
+
+        /**
+         * Empties the heap
+         */
+        private int[] sortedRows() {
+            int[] sorted = new int[count];
+            for (int i = count - 1; i >= 0; i--) {
+                sorted[i] = rows[0];
+                count--;
+                swap(0, count);
+                siftDown(0, count);
+            }
+            return sorted;
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (amounts[parent] <= amounts[index]) {
+                    return;
+                }
+                swap(parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index, int length) {
+            while (true) {
+                int smallest = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < length && amounts[left] < amounts[smallest]) {
+                    smallest = left;
+                }
+                if (right < length && amounts[right] < amounts[smallest]) {
+                    smallest = right;
+                }
+                if (smallest == index) {
+                    return;
+                }
+                swap(index, smallest);
+                index = smallest;
+            }
+        }
+
+        private void swap(int first, int second) {
+            int row = rows[first];
+            rows[first] = rows[second];
+            rows[second] = row;
+            long amount = amounts[first];
+            amounts[first] = amounts[second];
+            amounts[second] = amount;
+        }
+    }
+}
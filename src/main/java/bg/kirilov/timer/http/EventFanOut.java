@@ -0,0 +1,347 @@
+package bg.kirilov.timer.http;
+
+import bg.kirilov.timer.presenter.CalculatingSession;
+import bg.kirilov.timer.presenter.RegisteredSession;
+import bg.kirilov.timer.presenter.SessionRegistry;
+import bg.kirilov.timer.presenter.SessionState;
+import bg.kirilov.timer.util.AmountText;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams the changes of all sessions of a registry to any number of server-sent event subscribers.<br>
+ * One thread looks at the sessions a few times per tick, encodes the changes once and hands the same bytes
+ * to every subscriber - there is no encoding per subscriber. Changes between two looks are coalesced, so a subscriber
+ * always gets the latest state.<br>
+ * The looking thread never writes. Every subscriber keeps the bytes it has not been sent yet, and a pool of
+ * {@value #MAX_WRITERS} writer threads sends them, one event batch per turn, so a subscriber that stops reading holds
+ * up only itself. Once it falls more than a budget of bytes behind, it is dropped. The HTTP server can't abort a
+ * blocked write, so a writer stuck on a dropped subscriber is only freed when its connection fails - the threads stay
+ * bounded however many subscribers stall, but once all writers are stuck the others wait until they are freed.<br>
+ * Events:
+ * <pre>
+ * event: update
+ * data: {"id":"standup","state":"RUNNING",...,"seconds":62,"time":"00:01:02","amount":2.64}
+ *
+ * event: stopped
+ * data: {"id":"standup"}
+ * </pre>
+ * A new subscriber first gets an update of every session.
+ *
+ * @since 10/17/2026
+ */
+final class EventFanOut implements Closeable {
+
+    /**
+     * About ten seconds of updates of a few thousand sessions
+     */
+    static final long MAX_PENDING_BYTES = 4 << 20;
+    /**
+     * Subscribers written to at the same time - the others wait for their turn
+     */
+    static final int MAX_WRITERS = 8;
+    static final String WRITER_THREAD_NAME = "money-timer-events-writer";
+    private static final long KEEP_ALIVE_MILLIS = 15_000;
+    private static final byte[] KEEP_ALIVE = ": keep-alive\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final SessionRegistry registry;
+    private final ScheduledExecutorService looker = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "money-timer-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ThreadPoolExecutor writers = new ThreadPoolExecutor(MAX_WRITERS, MAX_WRITERS,
+            60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), task -> {
+        Thread thread = new Thread(task, WRITER_THREAD_NAME);
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Queue<HttpExchange> newSubscribers = new ConcurrentLinkedQueue<>();
+    /**
+     * New and streamed subscribers - the list of the looking thread is not read by others
+     */
+    private final AtomicInteger subscribersCount = new AtomicInteger();
+    private final long maxPendingBytes;
+    private volatile boolean closed;
+
+    //only touched by the looking thread
+
+    private final List<Subscriber> subscribers = new ArrayList<>();
+    private final Map<String, Sent> sent = new HashMap<>();
+    private final SessionJson json = new SessionJson();
+    private final StringBuilder events = new StringBuilder();
+    private long lastWriteMillis = System.currentTimeMillis();
+
+    /**
+     * @param intervalMillis - how often the sessions are looked at
+     */
+    EventFanOut(SessionRegistry registry, long intervalMillis) {
+        this(registry, intervalMillis, MAX_PENDING_BYTES);
+    }
+
+    /**
+     * @param maxPendingBytes - how far behind a subscriber may fall before it is dropped
+     */
+    EventFanOut(SessionRegistry registry, long intervalMillis, long maxPendingBytes) {
+        this.registry = registry;
+        this.maxPendingBytes = maxPendingBytes;
+        writers.allowCoreThreadTimeOut(true);
+        looker.scheduleWithFixedDelay(this::publish, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Streams to the exchange, after its response headers were sent. The exchange is closed with the stream.
+     */
+    void subscribe(HttpExchange exchange) {
+        subscribersCount.incrementAndGet();
+        newSubscribers.add(exchange);
+    }
+
+    /**
+     * @return subscribers being streamed to
+     */
+    int getSubscribersCount() {
+        return subscribersCount.get();
+    }
+
+    /**
+     * Looks at the sessions and writes what changed
+     */
+    private void publish() {
+        if (closed) {
+            return;
+        }
+        try {
+            events.setLength(0);
+            Map<String, RegisteredSession> sessions = new HashMap<>();
+            for (RegisteredSession registered : registry.getSessions()) {
+                sessions.put(registered.getId(), registered);
+                appendIfChanged(registered);
+            }
+            for (Iterator<String> ids = sent.keySet().iterator(); ids.hasNext(); ) {
+                String id = ids.next();
+                if (!sessions.containsKey(id)) {
+                    ids.remove();
+                    events.append("event: stopped\ndata: {\"id\":");
+                    SessionJson.appendString(events, id).append("}\n\n");
+                }
+            }
+
+            long now = System.currentTimeMillis();
+            if (events.length() > 0) {
+                writeAll(events.toString().getBytes(StandardCharsets.UTF_8));
+                lastWriteMillis = now;
+            } else if (now - lastWriteMillis >= KEEP_ALIVE_MILLIS) {
+                //finds the subscribers that went away
+                writeAll(KEEP_ALIVE);
+                lastWriteMillis = now;
+            }
+
+            HttpExchange exchange;
+            while ((exchange = newSubscribers.poll()) != null) {
+                Subscriber subscriber = new Subscriber(exchange);
+                if (subscriber.offer(snapshot(sessions))) {
+                    subscribers.add(subscriber);
+                } else {
+                    subscribersCount.decrementAndGet();
+                }
+            }
+        } catch (RuntimeException e) {
+            //keep streaming to the others
+            System.err.println("Publishing events failed: " + e);
+        }
+    }
+
+    private void appendIfChanged(RegisteredSession registered) {
+        CalculatingSession session = registered.getSession();
+        long seconds = session.getTickedSeconds();
+        long cents = AmountText.toCents(session.getAmount());
+        SessionState state = session.getState();
+        int peopleCount = registered.getPeopleCount();
+
+        Sent last = sent.get(registered.getId());
+        if (last == null) {
+            last = new Sent();
+            sent.put(registered.getId(), last);
+        } else if (last.seconds == seconds && last.cents == cents && last.state == state
+                && last.peopleCount == peopleCount) {
+            return;
+        }
+        last.seconds = seconds;
+        last.cents = cents;
+        last.state = state;
+        last.peopleCount = peopleCount;
+        appendUpdate(events, registered, last);
+    }
+
+    private byte[] snapshot(Map<String, RegisteredSession> sessions) {
+        StringBuilder all = new StringBuilder();
+        for (Map.Entry<String, Sent> entry : sent.entrySet()) {
+            appendUpdate(all, sessions.get(entry.getKey()), entry.getValue());
+        }
+        return all.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void appendUpdate(StringBuilder to, RegisteredSession registered, Sent state) {
+        to.append("event: update\ndata: ");
+        json.append(to, registered, state.seconds, state.cents).append("\n\n");
+    }
+
+    private void writeAll(byte[] bytes) {
+        for (Iterator<Subscriber> iterator = subscribers.iterator(); iterator.hasNext(); ) {
+            if (!iterator.next().offer(bytes)) {
+                iterator.remove();
+                subscribersCount.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Drops the subscribers on the looking thread, after the look in progress
+     */
+    @Override
+    public void close() {
+        closed = true;
+        looker.execute(this::dropAll);
+        looker.shutdown();
+        try {
+            looker.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void dropAll() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.drop();
+        }
+        subscribers.clear();
+        HttpExchange exchange;
+        while ((exchange = newSubscribers.poll()) != null) {
+            writers.execute(exchange::close);
+        }
+        subscribersCount.set(0);
+        writers.shutdown();
+    }
+
+    /**
+     * What the subscribers were last told about a session
+     */
+    private static final class Sent {
+        long seconds;
+        long cents;
+        SessionState state;
+        int peopleCount;
+    }
+
+    /**
+     * The bytes not sent to one subscriber yet - shared with the other subscribers - and its turn on the writers
+     */
+    private final class Subscriber implements Runnable {
+        final HttpExchange exchange;
+        final OutputStream body;
+
+        //guarded by this
+        private final ArrayDeque<byte[]> pending = new ArrayDeque<>();
+        /**
+         * Queued or being written
+         */
+        private long pendingBytes;
+        private boolean writing;
+        private boolean closed;
+
+        Subscriber(HttpExchange exchange) {
+            this.exchange = exchange;
+            this.body = exchange.getResponseBody();
+        }
+
+        /**
+         * Queues the bytes for a writer thread. Whatever was queued before is always accepted, however large.
+         *
+         * @return false if the subscriber went away or fell too far behind - it is closed then
+         */
+        synchronized boolean offer(byte[] bytes) {
+            if (closed) {
+                return false;
+            }
+            if (pendingBytes > 0 && pendingBytes + bytes.length > maxPendingBytes) {
+                drop();
+                return false;
+            }
+            pending.add(bytes);
+            pendingBytes += bytes.length;
+            if (!writing) {
+                writing = true;
+                writers.execute(this);
+            }
+            return true;
+        }
+
+        /**
+         * Forgets the pending bytes and closes the exchange on a writer thread - closing writes too
+         */
+        synchronized void drop() {
+            closed = true;
+            pending.clear();
+            if (!writing) {
+                writing = true;
+                writers.execute(exchange::close);
+            }
+            //else closed by the writer once its write returns
+        }
+
+        /**
+         * Writes the oldest pending bytes, then gives the writer to the next subscriber in line
+         */
+        @Override
+        public void run() {
+            byte[] bytes;
+            synchronized (this) {
+                bytes = pending.poll();
+            }
+            if (bytes != null) {
+                try {
+                    body.write(bytes);
+                    body.flush();
+                } catch (IOException e) {
+                    synchronized (this) {
+                        closed = true;
+                        pending.clear();
+                    }
+                }
+            }
+            synchronized (this) {
+                if (bytes != null) {
+                    pendingBytes -= bytes.length;
+                }
+                if (!closed) {
+                    if (pending.isEmpty()) {
+                        writing = false;
+                    } else {
+                        writers.execute(this);
+                    }
+                    return;
+                }
+            }
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package bg.kirilov.timer.http;
+
+import bg.kirilov.timer.presenter.CalculatingView;
+import bg.kirilov.timer.presenter.RegisteredSession;
+import bg.kirilov.timer.presenter.SessionRegistry;
+import bg.kirilov.timer.presenter.validator.InputValidator;
+import bg.kirilov.timer.presenter.validator.InputValidity;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A local HTTP API over the sessions of a {@link SessionRegistry}, bound to the loopback interface only:
+ * <pre>
+ * GET  /sessions                                   all sessions, as a JSON array
+ * GET  /sessions/ID                                one session
+ * POST /sessions/ID/start?people=COUNT&amp;rate=RATE  201, or 409 if there is such a session
+ * POST /sessions/ID/pause    POST /sessions/ID/resume    POST /sessions/ID/stop
+ * GET  /events                                     server-sent events of all sessions, see {@link EventFanOut}
+ * </pre>
+ * Sessions are answered as {"id":"standup","state":"RUNNING","participants":6,"payRate":25.5,
+ * "startedAt":1792238400000,"seconds":62,"time":"00:01:02","amount":2.64} and failures as {"error":"reason"}.<br>
+ * Requests must name a loopback host, and may only come from pages of one - so a web page elsewhere can neither
+ * post to the API nor read it through a DNS name rebound to the loopback address.
+ *
+ * @since 10/17/2026
+ */
+public final class HttpApi implements Closeable {
+
+    /**
+     * A few looks per tick keep the events close to the ticks
+     */
+    static final long EVENTS_INTERVAL_MILLIS = 250;
+    private static final String SESSIONS = "/sessions";
+    private static final Set<String> LOOPBACK_HOSTS = new HashSet<>(Arrays.asList("localhost", "127.0.0.1", "[::1]"));
+
+    /**
+     * Clock and amount of sessions started over HTTP are read by the events, not pushed
+     */
+    private static final CalculatingView NO_VIEW = new CalculatingView() {
+        @Override
+        public void setClock(String formattedClock) {
+        }
+
+        @Override
+        public void setAmount(String formattedAmount) {
+        }
+    };
+
+    private final SessionRegistry registry;
+    private final HttpServer server;
+    private final EventFanOut events;
+
+    private HttpApi(SessionRegistry registry, HttpServer server, EventFanOut events) {
+        this.registry = registry;
+        this.server = server;
+        this.events = events;
+        server.createContext(SESSIONS, this::handleSessions);
+        server.createContext("/events", this::handleEvents);
+    }
+
+    /**
+     * Starts serving
+     *
+     * @param port - on the loopback interface. 0 picks a free port, see {@link #getPort()}.
+     */
+    public static HttpApi start(SessionRegistry registry, int port) throws IOException {
+        return start(registry, port, EVENTS_INTERVAL_MILLIS);
+    }
+
+    static HttpApi start(SessionRegistry registry, int port, long eventsIntervalMillis) throws IOException {
+        return start(registry, port, eventsIntervalMillis, EventFanOut.MAX_PENDING_BYTES);
+    }
+
+    /**
+     * @param maxPendingBytes - how far behind an events subscriber may fall before it is dropped
+     */
+    static HttpApi start(SessionRegistry registry, int port, long eventsIntervalMillis, long maxPendingBytes)
+            throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 50);
+        HttpApi api = new HttpApi(registry, server, new EventFanOut(registry, eventsIntervalMillis, maxPendingBytes));
+        //requests are short - they are handled on the thread of the server
+        server.start();
+        return api;
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops serving and ends the event streams. The sessions keep running.
+     */
+    @Override
+    public void close() {
+        events.close();
+        server.stop(0);
+    }
+
+    private void handleSessions(HttpExchange exchange) throws IOException {
+        try {
+            expectLocal(exchange);
+            String[] path = exchange.getRequestURI().getPath().substring(SESSIONS.length()).split("/");
+            //"" or "/" lists, "/ID" gets, "/ID/operation" changes
+            if (path.length <= 1) {
+                expectMethod(exchange, "GET");
+                StringBuilder json = new StringBuilder("[");
+                SessionJson sessionJson = new SessionJson();
+                for (RegisteredSession registered : registry.getSessions()) {
+                    if (json.length() > 1) {
+                        json.append(',');
+                    }
+                    sessionJson.append(json, registered);
+                }
+                respond(exchange, 200, json.append(']'));
+            } else if (path.length == 2) {
+                expectMethod(exchange, "GET");
+                respond(exchange, 200, new SessionJson().append(new StringBuilder(), getExisting(path[1])));
+            } else if (path.length == 3) {
+                expectMethod(exchange, "POST");
+                operate(exchange, path[1], path[2]);
+            } else {
+                throw new HttpFailure(404, "no such resource");
+            }
+        } catch (HttpFailure e) {
+            respondError(exchange, e.status, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            respondError(exchange, 400, e.getMessage());
+        }
+    }
+
+    private void operate(HttpExchange exchange, String id, String operation) throws IOException {
+        switch (operation) {
+            case "start":
+                Map<String, String> parameters = parseQuery(exchange.getRequestURI().getRawQuery());
+                int people = (Integer) validate("People Count", new InputValidator().validateInt(
+                        parameters.getOrDefault("people", "")));
+                double rate = (Double) validate("Pay Rate", new InputValidator().validateDouble(
+                        parameters.getOrDefault("rate", "")));
+                if (registry.get(id) != null) {
+                    throw new HttpFailure(409, "session already exists: " + id);
+                }
+                RegisteredSession started = registry.start(id, people, rate, NO_VIEW);
+                respond(exchange, 201, new SessionJson().append(new StringBuilder(), started));
+                break;
+            case "pause":
+                getExisting(id);
+                if (!registry.pause(id)) {
+                    throw new HttpFailure(409, "not running: " + id);
+                }
+                respond(exchange, 200, new SessionJson().append(new StringBuilder(), getExisting(id)));
+                break;
+            case "resume":
+                getExisting(id);
+                if (!registry.resume(id)) {
+                    throw new HttpFailure(409, "not paused: " + id);
+                }
+                respond(exchange, 200, new SessionJson().append(new StringBuilder(), getExisting(id)));
+                break;
+            case "stop":
+                getExisting(id);
+                RegisteredSession stopped = registry.stop(id);
+                respond(exchange, 200, new SessionJson().append(new StringBuilder(), stopped));
+                break;
+            default:
+                throw new HttpFailure(404, "unknown operation " + operation + "; expected start, pause, resume or stop");
+        }
+    }
+
+    /**
+     * Sends the headers and leaves the exchange open to the events
+     */
+    private void handleEvents(HttpExchange exchange) throws IOException {
+        try {
+            expectLocal(exchange);
+            expectMethod(exchange, "GET");
+        } catch (HttpFailure e) {
+            respondError(exchange, e.status, e.getMessage());
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+        events.subscribe(exchange);
+    }
+
+    int getSubscribersCount() {
+        return events.getSubscribersCount();
+    }
+
+    private RegisteredSession getExisting(String id) {
+        RegisteredSession registered = registry.get(id);
+        if (registered == null) {
+            throw new HttpFailure(404, "unknown session: " + id);
+        }
+        return registered;
+    }
+
+    /**
+     * The Host names the loopback interface and the Origin, if any, is a page served from it
+     */
+    private static void expectLocal(HttpExchange exchange) {
+        String host = exchange.getRequestHeaders().getFirst("Host");
+        if (host == null || !isLoopback(host)) {
+            throw new HttpFailure(403, "host not allowed: " + host);
+        }
+        String origin = exchange.getRequestHeaders().getFirst("Origin");
+        if (origin != null && !(origin.startsWith("http://") && isLoopback(origin.substring("http://".length())))) {
+            throw new HttpFailure(403, "origin not allowed: " + origin);
+        }
+    }
+
+    /**
+     * @param authority - host and optional port
+     */
+    private static boolean isLoopback(String authority) {
+        int portStart = authority.lastIndexOf(':');
+        //the colons of [::1] are not a port
+        if (portStart > authority.lastIndexOf(']')) {
+            String port = authority.substring(portStart + 1);
+            if (port.isEmpty() || !port.chars().allMatch(Character::isDigit)) {
+                return false;
+            }
+            authority = authority.substring(0, portStart);
+        }
+        return LOOPBACK_HOSTS.contains(authority.toLowerCase(Locale.ROOT));
+    }
+
+    private static void expectMethod(HttpExchange exchange, String method) {
+        if (!method.equals(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().set("Allow", method);
+            throw new HttpFailure(405, method + " expected");
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) throws UnsupportedEncodingException {
+        Map<String, String> parameters = new HashMap<>();
+        if (rawQuery == null) {
+            return parameters;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                parameters.put(URLDecoder.decode(pair.substring(0, equals), "UTF-8"),
+                        URLDecoder.decode(pair.substring(equals + 1), "UTF-8"));
+            }
+        }
+        return parameters;
+    }
+
+    private static Number validate(String variableName, InputValidator validator) {
+        InputValidity<?> inputValidity = validator.validatePositiveNumber().getResult();
+        if (!inputValidity.isValid()) {
+            throw new IllegalArgumentException(variableName + " is invalid because: " + inputValidity.getInvalidReason());
+        }
+        return inputValidity.getValidNumber();
+    }
+
+    private static void respondError(HttpExchange exchange, int status, String reason) throws IOException {
+        StringBuilder json = new StringBuilder("{\"error\":");
+        respond(exchange, status, SessionJson.appendString(json, String.valueOf(reason)).append('}'));
+    }
+
+    private static void respond(HttpExchange exchange, int status, CharSequence json) throws IOException {
+        byte[] body = json.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * A request that cannot be served, with the status to answer
+     */
+    private static final class HttpFailure extends IllegalArgumentException {
+        private static final long serialVersionUID = 1L;
+
+        final int status;
+
+        HttpFailure(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
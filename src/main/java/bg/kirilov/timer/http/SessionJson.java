@@ -0,0 +1,72 @@
+package bg.kirilov.timer.http;
+
+import bg.kirilov.timer.presenter.CalculatingSession;
+import bg.kirilov.timer.presenter.RegisteredSession;
+import bg.kirilov.timer.util.AmountText;
+import bg.kirilov.timer.util.ClockText;
+
+/**
+ * Writes sessions as JSON objects:<br>
+ * {"id":"standup","state":"RUNNING","participants":6,"payRate":25.5,"startedAt":1792238400000,
+ * "seconds":62,"time":"00:01:02","amount":2.64}<br>
+ * Not thread-safe - the clock text is reused.
+ *
+ * @since 10/17/2026
+ */
+final class SessionJson {
+
+    private final ClockText clockText = new ClockText();
+
+    /**
+     * @param seconds - as of the last tick
+     * @param cents   - the amount for these seconds, in hundredths
+     */
+    StringBuilder append(StringBuilder json, RegisteredSession registered, long seconds, long cents) {
+        CalculatingSession session = registered.getSession();
+        json.append("{\"id\":");
+        appendString(json, registered.getId());
+        json.append(",\"state\":\"").append(session.getState()).append('"')
+                .append(",\"participants\":").append(registered.getPeopleCount())
+                .append(",\"payRate\":").append(registered.getPayRate())
+                .append(",\"startedAt\":").append(registered.getStartedAtMillis())
+                .append(",\"seconds\":").append(seconds);
+        clockText.set(seconds);
+        json.append(",\"time\":\"").append(clockText).append('"')
+                .append(",\"amount\":");
+        appendCents(json, cents);
+        return json.append('}');
+    }
+
+    /**
+     * The session as of its last tick
+     */
+    StringBuilder append(StringBuilder json, RegisteredSession registered) {
+        CalculatingSession session = registered.getSession();
+        long seconds = session.getTickedSeconds();
+        return append(json, registered, seconds, AmountText.toCents(session.getAmount()));
+    }
+
+    static StringBuilder appendCents(StringBuilder json, long cents) {
+        if (cents < 0) {
+            json.append('-');
+            cents = -cents;
+        }
+        long fraction = cents % 100;
+        return json.append(cents / 100).append('.').append(fraction < 10 ? "0" : "").append(fraction);
+    }
+
+    static StringBuilder appendString(StringBuilder json, CharSequence text) {
+        json.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append("\\u00").append(Character.forDigit(c >> 4, 16)).append(Character.forDigit(c & 0xF, 16));
+            } else {
+                json.append(c);
+            }
+        }
+        return json.append('"');
+    }
+}
@@ -0,0 +1,53 @@
+package bg.kirilov.timer.importer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A range of single-byte characters of a buffer seen as a {@link CharSequence}, without copying.<br>
+ * Moved over the lines of a chunk, so parsing a file allocates no strings.
+ *
+ * @since 10/17/2026
+ */
+final class ByteText implements CharSequence {
+
+    private final ByteBuffer bytes;
+    private int start;
+    private int length;
+
+    ByteText(ByteBuffer bytes) {
+        this.bytes = bytes;
+    }
+
+    /**
+     * @return this, now over the bytes from start (inclusive) to end (exclusive)
+     */
+    ByteText range(int start, int end) {
+        this.start = start;
+        this.length = end - start;
+        return this;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return (char) (bytes.get(start + index) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int from, int to) {
+        return new ByteText(bytes).range(start + from, start + to);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(charAt(i));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,195 @@
+package bg.kirilov.timer.importer;
+
+import bg.kirilov.timer.calculator.Calculator;
+import bg.kirilov.timer.importer.RowError.Column;
+import bg.kirilov.timer.presenter.validator.NumberParser;
+import bg.kirilov.timer.presenter.validator.ParseStatus;
+import bg.kirilov.timer.util.AmountText;
+
+import java.nio.ByteBuffer;
+import java.util.Locale;
+
+/**
+ * Parses the rows of one chunk of an import file: {@code people count,pay rate,duration}.<br>
+ * The duration is either seconds or H:MM:SS. Fields are validated like the fields of the UI -
+ * a positive whole people count and a positive pay rate.<br>
+ * Not thread-safe - one parser per chunk.
+ *
+ * @since 10/17/2026
+ */
+final class ChunkParser {
+
+    private static final String NOT_POSITIVE = "Positive number expected.";
+    private static final String NOT_A_DURATION = "Duration expected as seconds or H:MM:SS.";
+
+    /**
+     * The decimal separator is always '.', as ',' separates the fields
+     */
+    private final NumberParser parser = new NumberParser(Locale.ROOT);
+    private final SessionImporter.CalculatorFactory calculators;
+    private final int maxErrors;
+
+    private ChunkSummary summary;
+    private ByteText text;
+    private long durationSeconds;
+
+    ChunkParser(SessionImporter.CalculatorFactory calculators, int maxErrors) {
+        this.calculators = calculators;
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * @param bytes          - the chunk, from position to limit. Starts at the beginning of a line.
+     * @param mayStartHeader - whether the first line may be a header
+     * @return totals of the chunk, with error lines counted from 1 at the start of the chunk
+     */
+    ChunkSummary parse(ByteBuffer bytes, boolean mayStartHeader) {
+        summary = new ChunkSummary();
+        text = new ByteText(bytes);
+        int end = bytes.limit();
+        int lineStart = bytes.position();
+        while (lineStart < end) {
+            int lineEnd = lineStart;
+            while (lineEnd < end && bytes.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            summary.lines++;
+            int contentEnd = lineEnd > lineStart && bytes.get(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            boolean header = mayStartHeader && summary.lines == 1 && contentEnd > lineStart
+                    && Character.isLetter(bytes.get(lineStart));
+            if (!header && contentEnd > lineStart) {
+                parseRow(bytes, lineStart, contentEnd);
+            }
+            lineStart = lineEnd + 1;
+        }
+        return summary;
+    }
+
+    private void parseRow(ByteBuffer bytes, int start, int end) {
+        summary.rows++;
+        int firstComma = indexOf(bytes, ',', start, end);
+        int secondComma = firstComma < 0 ? -1 : indexOf(bytes, ',', firstComma + 1, end);
+        if (secondComma < 0 || indexOf(bytes, ',', secondComma + 1, end) >= 0) {
+            reject(Column.ROW, "Expected 3 fields: people count, pay rate, duration.");
+            return;
+        }
+
+        ParseStatus status = parser.parseInt(field(bytes, start, firstComma));
+        if (status != ParseStatus.OK) {
+            reject(Column.PEOPLE_COUNT, status);
+            return;
+        }
+        int peopleCount = parser.intValue();
+        if (peopleCount <= 0) {
+            reject(Column.PEOPLE_COUNT, NOT_POSITIVE);
+            return;
+        }
+
+        status = parser.parseDouble(field(bytes, firstComma + 1, secondComma));
+        if (status != ParseStatus.OK) {
+            reject(Column.PAY_RATE, status);
+            return;
+        }
+        double payRate = parser.doubleValue();
+        if (!(payRate > 0) || Double.isInfinite(payRate)) {
+            reject(Column.PAY_RATE, NOT_POSITIVE);
+            return;
+        }
+
+        if (!parseDuration(bytes, secondComma + 1, end)) {
+            return;
+        }
+
+        long cents;
+        try {
+            Calculator calculator = calculators.create(peopleCount, payRate);
+            cents = AmountText.toCents(calculator.calculate(durationSeconds));
+        } catch (ArithmeticException e) {
+            reject(Column.ROW, ParseStatus.OUT_OF_RANGE);
+            return;
+        }
+        summary.seconds += durationSeconds;
+        summary.cents += cents;
+    }
+
+    /**
+     * Parses [[H:]MM:]SS into {@link #durationSeconds}
+     *
+     * @return false if the row was rejected
+     */
+    private boolean parseDuration(ByteBuffer bytes, int start, int end) {
+        long seconds = 0;
+        int partStart = start;
+        int parts = 0;
+        while (true) {
+            int partEnd = indexOf(bytes, ':', partStart, end);
+            boolean last = partEnd < 0;
+            if (last) {
+                partEnd = end;
+            }
+            parts++;
+            ParseStatus status = parser.parseInt(field(bytes, partStart, partEnd));
+            if (status != ParseStatus.OK) {
+                reject(Column.DURATION, status);
+                return false;
+            }
+            int value = parser.intValue();
+            //every part after the first is at most 59 and each part multiplies the previous by 60
+            if (value < 0 || parts > 3 || (parts > 1 && value >= 60)) {
+                reject(Column.DURATION, NOT_A_DURATION);
+                return false;
+            }
+            seconds = seconds * 60 + value;
+            if (last) {
+                break;
+            }
+            partStart = partEnd + 1;
+        }
+        if (seconds <= 0) {
+            reject(Column.DURATION, NOT_POSITIVE);
+            return false;
+        }
+        durationSeconds = seconds;
+        return true;
+    }
+
+    private void reject(Column column, ParseStatus status) {
+        summary.invalid++;
+        if (summary.errors.size() < maxErrors) {
+            summary.errors.add(new RowError(summary.lines, column, status));
+        }
+    }
+
+    private void reject(Column column, String reason) {
+        summary.invalid++;
+        if (summary.errors.size() < maxErrors) {
+            summary.errors.add(new RowError(summary.lines, column, reason));
+        }
+    }
+
+    /**
+     * @return the field without surrounding spaces
+     */
+    private CharSequence field(ByteBuffer bytes, int start, int end) {
+        while (start < end && isBlank(bytes.get(start))) {
+            start++;
+        }
+        while (end > start && isBlank(bytes.get(end - 1))) {
+            end--;
+        }
+        return text.range(start, end);
+    }
+
+    private static boolean isBlank(byte b) {
+        return b == ' ' || b == '\t';
+    }
+
+    private static int indexOf(ByteBuffer bytes, char separator, int from, int end) {
+        for (int i = from; i < end; i++) {
+            if (bytes.get(i) == separator) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,45 @@
+package bg.kirilov.timer.importer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The totals of consecutive chunks of an import file.<br>
+ * Line numbers of errors are relative to the first of the chunks, so merging the summaries in file order
+ * only has to shift the errors of the later chunks.
+ *
+ * @since 10/17/2026
+ */
+final class ChunkSummary {
+
+    long lines;
+    long rows;
+    long invalid;
+    long seconds;
+    long cents;
+    final List<RowError> errors = new ArrayList<>();
+
+    /**
+     * Adds the summary of the chunks right after these
+     *
+     * @param maxErrors - errors beyond these are counted, but not kept
+     */
+    ChunkSummary append(ChunkSummary next, int maxErrors) {
+        for (RowError error : next.errors) {
+            if (errors.size() >= maxErrors) {
+                break;
+            }
+            errors.add(error.atLine(lines + error.getLine()));
+        }
+        lines += next.lines;
+        rows += next.rows;
+        invalid += next.invalid;
+        seconds += next.seconds;
+        cents += next.cents;
+        return this;
+    }
+
+    ImportResult toResult() {
+        return new ImportResult(rows, invalid, seconds, cents, errors);
+    }
+}
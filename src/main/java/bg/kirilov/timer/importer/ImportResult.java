@@ -0,0 +1,73 @@
+package bg.kirilov.timer.importer;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The summary of an import: how many planned sessions were read and what they cost together.
+ *
+ * @since 10/17/2026
+ */
+public class ImportResult {
+
+    private final long rowsCount;
+    private final long invalidCount;
+    private final long totalSeconds;
+    private final long totalCents;
+    private final List<RowError> errors;
+
+    ImportResult(long rowsCount, long invalidCount, long totalSeconds, long totalCents, List<RowError> errors) {
+        this.rowsCount = rowsCount;
+        this.invalidCount = invalidCount;
+        this.totalSeconds = totalSeconds;
+        this.totalCents = totalCents;
+        this.errors = Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * @return all rows, valid or not. The header and blank lines are not rows.
+     */
+    public long getRowsCount() {
+        return rowsCount;
+    }
+
+    public long getValidCount() {
+        return rowsCount - invalidCount;
+    }
+
+    public long getInvalidCount() {
+        return invalidCount;
+    }
+
+    /**
+     * @return the duration of all valid rows together
+     */
+    public long getTotalSeconds() {
+        return totalSeconds;
+    }
+
+    /**
+     * @return the cost of all valid rows together, in hundredths.
+     * Every row is rounded as it would be displayed, so the total does not depend on the order of summing.
+     */
+    public long getTotalCents() {
+        return totalCents;
+    }
+
+    public double getTotalAmount() {
+        return totalCents / 100.0;
+    }
+
+    /**
+     * @return the rejected rows in file order - at most as many as the importer keeps, see {@link #getInvalidCount()}
+     */
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportResult{rows=" + rowsCount + ", invalid=" + invalidCount + ", seconds=" + totalSeconds
+                + ", amount=" + getTotalAmount() + '}';
+    }
+}
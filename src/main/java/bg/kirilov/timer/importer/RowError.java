@@ -0,0 +1,75 @@
+package bg.kirilov.timer.importer;
+
+import bg.kirilov.timer.presenter.validator.ParseStatus;
+
+/**
+ * A row of an import that was rejected
+ *
+ * @since 10/17/2026
+ */
+public class RowError {
+
+    /**
+     * The columns of an import file
+     */
+    public enum Column {
+        PEOPLE_COUNT("People Count"),
+        PAY_RATE("Pay Rate"),
+        DURATION("Duration"),
+        /**
+         * The row as a whole, e.g. the number of columns
+         */
+        ROW("Row");
+
+        private final String title;
+
+        Column(String title) {
+            this.title = title;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+    }
+
+    private final long line;
+    private final Column column;
+    private final String reason;
+
+    RowError(long line, Column column, String reason) {
+        this.line = line;
+        this.column = column;
+        this.reason = reason;
+    }
+
+    RowError(long line, Column column, ParseStatus status) {
+        this(line, column, status.getReason());
+    }
+
+    /**
+     * @return line number in the file, the first line is 1
+     */
+    public long getLine() {
+        return line;
+    }
+
+    public Column getColumn() {
+        return column;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    /**
+     * @return the same row, at another line
+     */
+    RowError atLine(long line) {
+        return new RowError(line, column, reason);
+    }
+
+    @Override
+    public String toString() {
+        return "Line " + line + ": " + column.getTitle() + " is invalid because: " + reason;
+    }
+}
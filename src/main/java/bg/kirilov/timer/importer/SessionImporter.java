@@ -0,0 +1,184 @@
+package bg.kirilov.timer.importer;
+
+import bg.kirilov.timer.calculator.Calculator;
+import bg.kirilov.timer.calculator.FixedPointMoneyCalculator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Imports planned sessions in bulk from a CSV file - one {@code people count,pay rate,duration} per line,
+ * optionally after a header line - and sums up what they cost.<br>
+ * The file is memory-mapped and split in chunks that start at line beginnings. The chunks are parsed and costed
+ * in parallel on a fork/join pool and their summaries merged in file order, so the result and the line numbers
+ * of errors do not depend on the parallelism.
+ *
+ * @since 10/17/2026
+ */
+public class SessionImporter {
+
+    /**
+     * Creates the calculator that costs a row
+     */
+    public interface CalculatorFactory {
+        Calculator create(int peopleCount, double payRatePerHourPerson);
+    }
+
+    public static final int DEFAULT_MAX_ERRORS = 1000;
+
+    /**
+     * Smaller chunks cost more to schedule than to parse
+     */
+    static final int MIN_CHUNK_SIZE = 256 * 1024;
+    /**
+     * Chunks per worker, so that workers finishing early can steal the rest
+     */
+    private static final int CHUNKS_PER_WORKER = 4;
+    private static final int MAX_LINE_LOOKAHEAD = 64 * 1024;
+
+    private final CalculatorFactory calculators;
+    private final int maxErrors;
+    private final int minChunkSize;
+
+    /**
+     * Costs exactly, as the money timer does
+     */
+    public SessionImporter() {
+        this(FixedPointMoneyCalculator::new, DEFAULT_MAX_ERRORS);
+    }
+
+    /**
+     * @param maxErrors - errors kept for the result. All errors are counted.
+     */
+    public SessionImporter(CalculatorFactory calculators, int maxErrors) {
+        this(calculators, maxErrors, MIN_CHUNK_SIZE);
+    }
+
+    SessionImporter(CalculatorFactory calculators, int maxErrors, int minChunkSize) {
+        if (maxErrors < 0 || minChunkSize <= 0) {
+            throw new IllegalArgumentException("maxErrors must not be negative and minChunkSize must be positive");
+        }
+        this.calculators = calculators;
+        this.maxErrors = maxErrors;
+        this.minChunkSize = minChunkSize;
+    }
+
+    /**
+     * Imports on the common fork/join pool
+     */
+    public ImportResult importFile(Path file) throws IOException {
+        return importFile(file, ForkJoinPool.commonPool());
+    }
+
+    public ImportResult importFile(Path file, ForkJoinPool pool) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] bounds = chunkBounds(channel, pool.getParallelism());
+            try {
+                return pool.invoke(new ChunkTask(channel, bounds, 0, bounds.length - 1)).toResult();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * @return offsets where chunks start, and the file size last. Every chunk but the first starts after a '\n'.
+     */
+    long[] chunkBounds(FileChannel channel, int parallelism) throws IOException {
+        long size = channel.size();
+        long chunkSize = Math.max(minChunkSize, size / Math.max(1, parallelism * CHUNKS_PER_WORKER));
+        //a chunk is mapped at once, so it must fit in a buffer
+        chunkSize = Math.min(chunkSize, Integer.MAX_VALUE - MAX_LINE_LOOKAHEAD);
+
+        List<Long> starts = new ArrayList<>();
+        starts.add(0L);
+        ByteBuffer lookahead = ByteBuffer.allocate(Math.min(MAX_LINE_LOOKAHEAD, minChunkSize));
+        long position = chunkSize;
+        while (position < size) {
+            long lineStart = nextLineStart(channel, position, lookahead);
+            if (lineStart >= size) {
+                break;
+            }
+            starts.add(lineStart);
+            position = lineStart + chunkSize;
+        }
+
+        long[] bounds = new long[starts.size() + 1];
+        for (int i = 0; i < starts.size(); i++) {
+            bounds[i] = starts.get(i);
+        }
+        bounds[starts.size()] = size;
+        return bounds;
+    }
+
+    /**
+     * @return the offset after the first '\n' at or after the position, or the file size if there is none
+     */
+    private static long nextLineStart(FileChannel channel, long position, ByteBuffer lookahead) throws IOException {
+        while (true) {
+            lookahead.clear();
+            int read = channel.read(lookahead, position);
+            if (read <= 0) {
+                return channel.size();
+            }
+            for (int i = 0; i < read; i++) {
+                if (lookahead.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+    }
+
+    /**
+     * Parses the chunks from first (inclusive) to last (exclusive), splitting them in halves while there are many
+     */
+    private final class ChunkTask extends RecursiveTask<ChunkSummary> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel channel;
+        private final long[] bounds;
+        private final int first;
+        private final int last;
+
+        ChunkTask(FileChannel channel, long[] bounds, int first, int last) {
+            this.channel = channel;
+            this.bounds = bounds;
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected ChunkSummary compute() {
+            if (last - first == 1) {
+                return parseChunk();
+            }
+            int middle = (first + last) >>> 1;
+            ChunkTask later = new ChunkTask(channel, bounds, middle, last);
+            later.fork();
+            ChunkSummary summary = new ChunkTask(channel, bounds, first, middle).compute();
+            return summary.append(later.join(), maxErrors);
+        }
+
+        private ChunkSummary parseChunk() {
+            long start = bounds[first];
+            long size = bounds[last] - start;
+            try {
+                MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+                return new ChunkParser(calculators, maxErrors).parse(bytes, first == 0);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,497 @@
+package bg.kirilov.timer.journal;
+
+import bg.kirilov.timer.calculator.HeadcountChange;
+import bg.kirilov.timer.presenter.SessionListener;
+import bg.kirilov.timer.presenter.SessionSnapshot;
+import bg.kirilov.timer.presenter.SessionState;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of the sessions, so running sessions and their cost survive a crash or an exit.<br>
+ * <br>
+ * The events are queued without locks and written by a single writer thread, which takes everything queued
+ * so far, writes it with one call to the {@link FileChannel} and forces it to the disk once for the whole group.
+ * Sessions are never blocked by the journal, not even by a failing disk.<br>
+ * While sessions are running, the writer also notes every second that they still are, so a crash loses
+ * at most that much of their running time.<br>
+ * <br>
+ * On {@link #open(Path, long)} the journal is replayed to find the sessions that were not stopped -
+ * see {@link #getRecoveredSessions()} - and rewritten to contain only them. The writer rewrites it the same way
+ * whenever it grows past {@link #DEFAULT_COMPACT_ABOVE_BYTES}, so a process that runs for months keeps a small file.<br>
+ * Only one process may use a journal at a time: it is locked through a ".lock" file next to it, since rewriting
+ * replaces the journal file itself.
+ *
+ * @since 10/17/2026
+ */
+public class Journal implements SessionListener, Closeable {
+
+    /**
+     * Forces every group of events to the disk before the next one is written
+     */
+    public static final long SYNC_EVERY_COMMIT = 0;
+
+    static final long DEFAULT_ALIVE_INTERVAL_MILLIS = 1000;
+    /**
+     * A day of running sessions noted every second
+     */
+    static final long DEFAULT_COMPACT_ABOVE_BYTES = 4 * 1024 * 1024;
+    /**
+     * Replaying maps the journal a part at a time - a mapping holds 2 GB at most
+     */
+    static final int MAX_MAPPED_BYTES = 64 * 1024 * 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte[] NO_ID = new byte[0];
+
+    private final Path file;
+    private final FileChannel lock;
+    private final long syncIntervalNanos;
+    private final long aliveIntervalNanos;
+    private final long compactAboveBytes;
+    private final List<SessionSnapshot> recoveredSessions;
+
+    private final Queue<Event> queue = new ConcurrentLinkedQueue<>();
+    private final Thread writer;
+    private volatile boolean closed;
+    private volatile IOException failure;
+
+    //WRITER thread only
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CRC32 crc = new CRC32();
+    private final Set<String> runningSessions = new HashSet<>();
+    private final List<CountDownLatch> waitingForSync = new ArrayList<>();
+    /**
+     * The sessions as replaying the journal would find them now - what a rewrite keeps
+     */
+    private final JournalRecovery live;
+    private final JournalRecord written = new JournalRecord();
+    /**
+     * Replaced on every rewrite. Closed by {@link #close()} once the writer ended.
+     */
+    private FileChannel channel;
+    private long size;
+    private long nextCompactionSize;
+
+    private Journal(Path file, FileChannel lock, FileChannel channel, long syncIntervalMillis,
+                    long aliveIntervalMillis, long compactAboveBytes, List<SessionSnapshot> recoveredSessions,
+                    JournalRecovery live) throws IOException {
+        this.file = file;
+        this.lock = lock;
+        this.channel = channel;
+        this.syncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(syncIntervalMillis);
+        this.aliveIntervalNanos = TimeUnit.MILLISECONDS.toNanos(aliveIntervalMillis);
+        this.compactAboveBytes = compactAboveBytes;
+        this.live = live;
+        this.size = channel.size();
+        this.nextCompactionSize = size + compactAboveBytes;
+        this.recoveredSessions = Collections.unmodifiableList(recoveredSessions);
+        for (SessionSnapshot snapshot : recoveredSessions) {
+            if (snapshot.getState() == SessionState.RUNNING) {
+                runningSessions.add(snapshot.getId());
+            }
+        }
+
+        writer = new Thread(this::writeLoop, "money-timer-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Opens the journal, creating it if needed, and recovers the sessions that were not stopped.
+     *
+     * @throws IOException if it cannot be read, or another process uses it
+     * @param syncIntervalMillis - how often written events are forced to the disk. The events reach the operating system
+     *                           immediately and survive a crash of the JVM, this only matters if the whole machine fails.
+     *                           {@link #SYNC_EVERY_COMMIT} forces every group of events.
+     */
+    public static Journal open(Path file, long syncIntervalMillis) throws IOException {
+        return open(file, syncIntervalMillis, DEFAULT_ALIVE_INTERVAL_MILLIS, DEFAULT_COMPACT_ABOVE_BYTES);
+    }
+
+    static Journal open(Path file, long syncIntervalMillis, long aliveIntervalMillis) throws IOException {
+        return open(file, syncIntervalMillis, aliveIntervalMillis, DEFAULT_COMPACT_ABOVE_BYTES);
+    }
+
+    /**
+     * @param compactAboveBytes - the journal is rewritten whenever it grows by that much
+     */
+    static Journal open(Path file, long syncIntervalMillis, long aliveIntervalMillis, long compactAboveBytes)
+            throws IOException {
+        if (syncIntervalMillis < 0) {
+            throw new IllegalArgumentException("Negative sync interval: " + syncIntervalMillis);
+        }
+        if (compactAboveBytes <= 0) {
+            throw new IllegalArgumentException("Invalid compaction size: " + compactAboveBytes);
+        }
+        FileChannel lock = lock(file);
+        FileChannel channel = null;
+        try {
+            List<SessionSnapshot> recovered = recover(file, MAX_MAPPED_BYTES).getSessions();
+            compact(file, recovered);
+            //the downtime before the rewrite is not charged - replay the rewritten one
+            JournalRecovery live = recover(file, MAX_MAPPED_BYTES);
+            channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            return new Journal(file, lock, channel, syncIntervalMillis, aliveIntervalMillis, compactAboveBytes,
+                    recovered, live);
+        } catch (IOException | RuntimeException e) {
+            if (channel != null) {
+                channel.close();
+            }
+            lock.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the sessions that were running or paused when the journal was last closed or the JVM died
+     */
+    public List<SessionSnapshot> getRecoveredSessions() {
+        return recoveredSessions;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public void sessionStarted(String id, long startedAtMillis, int peopleCount, double payRate) {
+        append(new Event(JournalRecord.START, startedAtMillis, id, 0, peopleCount, payRate));
+    }
+
+    @Override
+    public void sessionPaused(String id, long elapsedNanos) {
+        append(new Event(JournalRecord.PAUSE, System.currentTimeMillis(), id, elapsedNanos, 0, 0));
+    }
+
+    @Override
+    public void sessionResumed(String id, long elapsedNanos) {
+        append(new Event(JournalRecord.RESUME, System.currentTimeMillis(), id, elapsedNanos, 0, 0));
+    }
+
+    @Override
+    public void sessionStopped(String id, long elapsedNanos) {
+        append(new Event(JournalRecord.STOP, System.currentTimeMillis(), id, elapsedNanos, 0, 0));
+    }
+
+    @Override
+    public void headcountChanged(String id, long secondsPassed, int peopleCount) {
+        append(new Event(JournalRecord.HEADCOUNT, System.currentTimeMillis(), id, secondsPassed, peopleCount, 0));
+    }
+
+    /**
+     * Waits until all events appended so far by this thread are forced to the disk.
+     *
+     * @throws IOException if the journal could not be written
+     */
+    public void sync() throws IOException, InterruptedException {
+        CountDownLatch synced = new CountDownLatch(1);
+        append(new Event(synced));
+        while (!synced.await(100, TimeUnit.MILLISECONDS) && writer.isAlive()) {
+            //the journal could have been closed before the event was taken
+        }
+        checkFailure();
+    }
+
+    /**
+     * Writes and forces all appended events and stops the writer. The sessions still running are recovered
+     * on the next {@link #open(Path, long)}.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            channel.close();
+        } finally {
+            lock.close();
+        }
+        checkFailure();
+    }
+
+    private void append(Event event) {
+        queue.offer(event);
+        LockSupport.unpark(writer);
+    }
+
+    private void checkFailure() throws IOException {
+        IOException currentFailure = failure;
+        if (currentFailure != null) {
+            throw new IOException("The journal " + file + " could not be written", currentFailure);
+        }
+    }
+
+    private void writeLoop() {
+        long lastSync = System.nanoTime();
+        long nextAlive = lastSync + aliveIntervalNanos;
+        boolean unsynced = false;
+
+        while (true) {
+            boolean closing = closed;
+
+            Event event;
+            while ((event = queue.poll()) != null) {
+                if (event.synced != null) {
+                    waitingForSync.add(event.synced);
+                } else {
+                    put(event);
+                    unsynced = true;
+                }
+            }
+
+            long now = System.nanoTime();
+            if (now - nextAlive >= 0 || closing) {
+                if (!runningSessions.isEmpty()) {
+                    put(JournalRecord.ALIVE, System.currentTimeMillis(), 0, 0, 0, NO_ID, "");
+                    unsynced = true;
+                }
+                nextAlive = now + aliveIntervalNanos;
+            }
+
+            writeBuffer();
+            if (size >= nextCompactionSize && !closing) {
+                compactRunning();
+                unsynced = false;
+            }
+            if (unsynced && (closing || !waitingForSync.isEmpty() || now - lastSync >= syncIntervalNanos)) {
+                force();
+                lastSync = now;
+                unsynced = false;
+            }
+            for (CountDownLatch synced : waitingForSync) {
+                synced.countDown();
+            }
+            waitingForSync.clear();
+
+            if (closing && queue.isEmpty()) {
+                return;
+            }
+
+            long waitNanos = nextAlive - now;
+            if (unsynced) {
+                waitNanos = Math.min(waitNanos, lastSync + syncIntervalNanos - now);
+            }
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(this, waitNanos);
+            }
+        }
+    }
+
+    private void put(Event event) {
+        put(event.type, event.wallMillis, event.value, event.peopleCount, event.payRate, event.id, event.idText);
+        switch (event.type) {
+            case JournalRecord.START:
+            case JournalRecord.RESUME:
+                runningSessions.add(event.idText);
+                break;
+            case JournalRecord.PAUSE:
+            case JournalRecord.STOP:
+                runningSessions.remove(event.idText);
+                break;
+            default:
+        }
+    }
+
+    private void put(byte type, long wallMillis, long value, int peopleCount, double payRate, byte[] id,
+                     String idText) {
+        if (buffer.remaining() < JournalRecord.size(id)) {
+            writeBuffer();
+        }
+        JournalRecord.write(buffer, crc, type, wallMillis, value, peopleCount, payRate, id);
+        //replayed as written
+        written.type = type;
+        written.wallMillis = wallMillis;
+        written.value = value;
+        written.peopleCount = peopleCount;
+        written.payRate = payRate;
+        written.id = idText;
+        live.apply(written);
+    }
+
+    /**
+     * Rewrites the journal to hold only the sessions not stopped, as {@link #open} does, and goes on writing to it.
+     * If that fails, the old one is kept and grows until the next try.
+     */
+    private void compactRunning() {
+        if (failure != null) {
+            return;
+        }
+        try {
+            compact(file, live.getSessions());
+            FileChannel compacted = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            channel.close();
+            channel = compacted;
+            size = compacted.size();
+        } catch (IOException e) {
+            System.err.println("Compacting the journal " + file + " failed: " + e);
+        }
+        nextCompactionSize = size + compactAboveBytes;
+    }
+
+    private void writeBuffer() {
+        buffer.flip();
+        try {
+            if (failure == null) {
+                while (buffer.hasRemaining()) {
+                    size += channel.write(buffer);
+                }
+            }
+        } catch (IOException e) {
+            failure = e;
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    private void force() {
+        if (failure == null) {
+            try {
+                channel.force(false);
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+    }
+
+    /**
+     * Replays the journal a part at a time, each part from the first record not replayed yet
+     *
+     * @param mappedBytes - the most to map at once, far more than a record
+     */
+    static JournalRecovery recover(Path file, int mappedBytes) throws IOException {
+        JournalRecovery recovery = new JournalRecovery();
+        if (Files.exists(file)) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long fileSize = channel.size();
+                long offset = 0;
+                while (offset < fileSize) {
+                    long length = Math.min(fileSize - offset, mappedBytes);
+                    boolean last = offset + length == fileSize;
+                    MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+                    recovery.replay(data);
+                    offset += recovery.getValidLength();
+                    if (last || recovery.getValidLength() == 0) {
+                        //the rest is torn
+                        break;
+                    }
+                }
+            }
+        }
+        return recovery;
+    }
+
+    /**
+     * @return the open channel of the lock file, which holds the lock until it is closed
+     */
+    private static FileChannel lock(Path file) throws IOException {
+        Path lockFile = file.toAbsolutePath().resolveSibling(file.getFileName() + ".lock");
+        FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            if (channel.tryLock() != null) {
+                return channel;
+            }
+        } catch (OverlappingFileLockException e) {
+            //locked by this process already
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        channel.close();
+        throw new IOException("The journal " + file + " is used by another process");
+    }
+
+    /**
+     * Replaces the journal with one that holds only the recovered sessions. The old one stays until the new one is complete.
+     */
+    private static void compact(Path file, List<SessionSnapshot> sessions) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Path compacted = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(compacted, StandardOpenOption.WRITE)) {
+            long nowMillis = System.currentTimeMillis();
+            CRC32 crc = new CRC32();
+            for (SessionSnapshot session : sessions) {
+                byte[] id = JournalRecord.encodeId(session.getId());
+                List<HeadcountChange> history = session.getHeadcountHistory();
+                ByteBuffer records = ByteBuffer.allocate(JournalRecord.size(id) * (history.size() + 1));
+
+                JournalRecord.write(records, crc, JournalRecord.START, session.getStartedAtMillis(), 0,
+                        history.get(0).getPeopleCount(), session.getPayRate(), id);
+                for (int i = 1; i < history.size(); i++) {
+                    HeadcountChange change = history.get(i);
+                    JournalRecord.write(records, crc, JournalRecord.HEADCOUNT, nowMillis, change.getSecondsPassed(),
+                            change.getPeopleCount(), 0, id);
+                }
+                byte state = session.getState() == SessionState.PAUSED ? JournalRecord.PAUSE : JournalRecord.RESUME;
+                JournalRecord.write(records, crc, state, nowMillis, session.getElapsedNanos(), 0, 0, id);
+
+                records.flip();
+                while (records.hasRemaining()) {
+                    channel.write(records);
+                }
+            }
+            channel.force(true);
+        } catch (IOException e) {
+            Files.deleteIfExists(compacted);
+            throw e;
+        }
+        Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static final class Event {
+        private final byte type;
+        private final long wallMillis;
+        private final String idText;
+        private final byte[] id;
+        private final long value;
+        private final int peopleCount;
+        private final double payRate;
+        private final CountDownLatch synced;
+
+        private Event(byte type, long wallMillis, String id, long value, int peopleCount, double payRate) {
+            this.type = type;
+            this.wallMillis = wallMillis;
+            this.idText = id;
+            this.id = JournalRecord.encodeId(id);
+            this.value = value;
+            this.peopleCount = peopleCount;
+            this.payRate = payRate;
+            this.synced = null;
+        }
+
+        private Event(CountDownLatch synced) {
+            this.type = 0;
+            this.wallMillis = 0;
+            this.idText = null;
+            this.id = null;
+            this.value = 0;
+            this.peopleCount = 0;
+            this.payRate = 0;
+            this.synced = synced;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package bg.kirilov.timer.journal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * Binary layout of a journal record:
+ * <pre>
+ * int    length of the payload
+ * int    CRC32 of the payload
+ * --- payload ---
+ * byte   type
+ * long   wall clock time, epoch milliseconds
+ * long   running time in nanoseconds - or seconds passed for HEADCOUNT
+ * int    number of participants
+ * double pay rate per hour of a participant
+ * short  length of the session id
+ * byte[] session id, UTF-8
+ * </pre>
+ * A record whose length or checksum doesn't match was torn by a crash - it and everything after it are ignored.
+ *
+ * @since 10/17/2026
+ */
+final class JournalRecord {
+
+    static final byte START = 1;
+    static final byte PAUSE = 2;
+    static final byte RESUME = 3;
+    static final byte STOP = 4;
+    static final byte HEADCOUNT = 5;
+    /**
+     * Written periodically while sessions are running - proves they were running until then
+     */
+    static final byte ALIVE = 6;
+
+    static final int HEADER_SIZE = 8;
+    static final int FIXED_PAYLOAD_SIZE = 1 + 8 + 8 + 4 + 8 + 2;
+    static final int MAX_ID_SIZE = Short.MAX_VALUE;
+
+    byte type;
+    long wallMillis;
+    long value;
+    int peopleCount;
+    double payRate;
+    String id;
+
+    /**
+     * @return the encoded session id
+     * @throws IllegalArgumentException if the id is too long for a record
+     */
+    static byte[] encodeId(String id) {
+        byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_ID_SIZE) {
+            throw new IllegalArgumentException("Session id is too long for the journal: " + bytes.length + " bytes");
+        }
+        return bytes;
+    }
+
+    static int size(byte[] id) {
+        return HEADER_SIZE + FIXED_PAYLOAD_SIZE + id.length;
+    }
+
+    /**
+     * Puts a whole record at the position of the buffer. There must be {@link #size(byte[])} bytes remaining.
+     */
+    static void write(ByteBuffer buffer, CRC32 crc, byte type, long wallMillis, long value, int peopleCount,
+                      double payRate, byte[] id) {
+        int start = buffer.position();
+        buffer.position(start + HEADER_SIZE);
+        buffer.put(type)
+                .putLong(wallMillis)
+                .putLong(value)
+                .putInt(peopleCount)
+                .putDouble(payRate)
+                .putShort((short) id.length)
+                .put(id);
+        int end = buffer.position();
+
+        ByteBuffer payload = buffer.duplicate();
+        payload.position(start + HEADER_SIZE).limit(end);
+        crc.reset();
+        crc.update(payload);
+
+        buffer.putInt(start, end - start - HEADER_SIZE);
+        buffer.putInt(start + 4, (int) crc.getValue());
+    }
+
+    /**
+     * Reads the record at the position of the buffer into this one and moves past it.
+     *
+     * @return false if there is no whole, intact record - the buffer is not moved then
+     */
+    boolean read(ByteBuffer buffer, CRC32 crc) {
+        int start = buffer.position();
+        if (buffer.remaining() < HEADER_SIZE + FIXED_PAYLOAD_SIZE) {
+            return false;
+        }
+        int length = buffer.getInt(start);
+        int checksum = buffer.getInt(start + 4);
+        if (length < FIXED_PAYLOAD_SIZE || length > buffer.remaining() - HEADER_SIZE) {
+            return false;
+        }
+
+        ByteBuffer payload = buffer.duplicate();
+        payload.position(start + HEADER_SIZE).limit(start + HEADER_SIZE + length);
+        crc.reset();
+        crc.update(payload);
+        if ((int) crc.getValue() != checksum) {
+            return false;
+        }
+
+        buffer.position(start + HEADER_SIZE);
+        type = buffer.get();
+        wallMillis = buffer.getLong();
+        value = buffer.getLong();
+        peopleCount = buffer.getInt();
+        payRate = buffer.getDouble();
+        int idLength = buffer.getShort();
+        if (idLength < 0 || idLength != length - FIXED_PAYLOAD_SIZE) {
+            buffer.position(start);
+            return false;
+        }
+        byte[] idBytes = new byte[idLength];
+        buffer.get(idBytes);
+        id = new String(idBytes, StandardCharsets.UTF_8);
+        return true;
+    }
+}
@@ -0,0 +1,117 @@
+package bg.kirilov.timer.journal;
+
+import bg.kirilov.timer.calculator.HeadcountChange;
+import bg.kirilov.timer.presenter.SessionSnapshot;
+import bg.kirilov.timer.presenter.SessionState;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Replays the records of a journal to find the sessions that were not stopped.<br>
+ * A session that was running at the end keeps the time until the last record of the journal -
+ * the downtime after it is not charged.
+ *
+ * @since 10/17/2026
+ */
+final class JournalRecovery {
+
+    private static final long NANOS_IN_A_MILLI = 1_000_000L;
+
+    private final Map<String, Replayed> sessions = new LinkedHashMap<>();
+    private long lastSeenMillis;
+    private int validLength;
+
+    /**
+     * Replays the intact records from the position of the buffer to the first torn one.
+     */
+    void replay(ByteBuffer data) {
+        int start = data.position();
+        CRC32 crc = new CRC32();
+        JournalRecord record = new JournalRecord();
+        while (record.read(data, crc)) {
+            apply(record);
+        }
+        validLength = data.position() - start;
+    }
+
+    /**
+     * @return bytes of intact records of the last replay, the rest was torn or cut off
+     */
+    int getValidLength() {
+        return validLength;
+    }
+
+    /**
+     * @return the sessions that were running or paused, in the order they were started
+     */
+    List<SessionSnapshot> getSessions() {
+        List<SessionSnapshot> snapshots = new ArrayList<>(sessions.size());
+        for (Map.Entry<String, Replayed> entry : sessions.entrySet()) {
+            Replayed replayed = entry.getValue();
+            long elapsedNanos = replayed.elapsedNanos;
+            if (replayed.state == SessionState.RUNNING) {
+                elapsedNanos += Math.max(0, lastSeenMillis - replayed.runningSinceMillis) * NANOS_IN_A_MILLI;
+            }
+            snapshots.add(new SessionSnapshot(entry.getKey(), replayed.payRate, replayed.startedAtMillis,
+                    replayed.state, elapsedNanos, replayed.history));
+        }
+        return snapshots;
+    }
+
+    /**
+     * Applies one record, e.g. as it is written
+     */
+    void apply(JournalRecord record) {
+        lastSeenMillis = Math.max(lastSeenMillis, record.wallMillis);
+        if (record.type == JournalRecord.START) {
+            sessions.put(record.id, new Replayed(record));
+            return;
+        }
+
+        Replayed replayed = sessions.get(record.id);
+        if (replayed == null) {
+            //ALIVE or a session already compacted away
+            return;
+        }
+        switch (record.type) {
+            case JournalRecord.PAUSE:
+                replayed.state = SessionState.PAUSED;
+                replayed.elapsedNanos = record.value;
+                break;
+            case JournalRecord.RESUME:
+                replayed.state = SessionState.RUNNING;
+                replayed.elapsedNanos = record.value;
+                replayed.runningSinceMillis = record.wallMillis;
+                break;
+            case JournalRecord.STOP:
+                sessions.remove(record.id);
+                break;
+            case JournalRecord.HEADCOUNT:
+                replayed.history.add(new HeadcountChange(record.value, record.peopleCount));
+                break;
+            default:
+                //unknown record from a newer version
+        }
+    }
+
+    private static final class Replayed {
+        private final double payRate;
+        private final long startedAtMillis;
+        private final List<HeadcountChange> history = new ArrayList<>();
+        private SessionState state = SessionState.RUNNING;
+        private long elapsedNanos;
+        private long runningSinceMillis;
+
+        private Replayed(JournalRecord start) {
+            payRate = start.payRate;
+            startedAtMillis = start.wallMillis;
+            runningSinceMillis = start.wallMillis;
+            history.add(new HeadcountChange(0, start.peopleCount));
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package bg.kirilov.timer.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts durations in fixed buckets - cheap enough for the tick path.<br>
+ * Recording is a few atomic increments: no locks and no allocation. The buckets are in microseconds,
+ * four per power of two, so every percentile is within 25% of the real value, from 1 microsecond up to days.
+ * Can be recorded to from any number of threads.
+ *
+ * @since 10/17/2026
+ */
+public final class LatencyHistogram implements LatencyHistogramMXBean {
+
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    /**
+     * Durations of 2^40 microseconds (about 12 days) and more are all in the last bucket
+     */
+    private static final int MAX_EXPONENT = 40;
+    static final int BUCKETS = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS) * SUB_BUCKETS;
+    private static final long NANOS_IN_A_MICRO = 1000;
+
+    private final String name;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * @param name - shown in the text snapshot, e.g. "tick lateness"
+     */
+    public LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @param nanos - negative durations are counted as 0
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        counts.incrementAndGet(bucketOf(nanos / NANOS_IN_A_MICRO));
+        totalNanos.addAndGet(nanos);
+        long max = maxNanos.get();
+        while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+            max = maxNanos.get();
+        }
+    }
+
+    @Override
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    @Override
+    public double getMeanMicros() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) totalNanos.get() / count / NANOS_IN_A_MICRO;
+    }
+
+    @Override
+    public long getMaxMicros() {
+        return maxNanos.get() / NANOS_IN_A_MICRO;
+    }
+
+    @Override
+    public long getP50Micros() {
+        return getPercentileMicros(50);
+    }
+
+    @Override
+    public long getP90Micros() {
+        return getPercentileMicros(90);
+    }
+
+    @Override
+    public long getP99Micros() {
+        return getPercentileMicros(99);
+    }
+
+    @Override
+    public long getP999Micros() {
+        return getPercentileMicros(99.9);
+    }
+
+    /**
+     * @param percentile - from 0 to 100
+     * @return the upper bound of the bucket with the percentile, but not more than the maximum. 0 if nothing was recorded.
+     */
+    public long getPercentileMicros(double percentile) {
+        long count = getCount();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), getMaxMicros());
+            }
+        }
+        return getMaxMicros();
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        totalNanos.set(0);
+        maxNanos.set(0);
+    }
+
+    /**
+     * Appends "name: count=N mean=Nus p50=Nus p90=Nus p99=Nus p99.9=Nus max=Nus"
+     */
+    public StringBuilder appendTo(StringBuilder text) {
+        return text.append(name)
+                .append(": count=").append(getCount())
+                .append(" mean=").append(Math.round(getMeanMicros())).append("us")
+                .append(" p50=").append(getP50Micros()).append("us")
+                .append(" p90=").append(getP90Micros()).append("us")
+                .append(" p99=").append(getP99Micros()).append("us")
+                .append(" p99.9=").append(getP999Micros()).append("us")
+                .append(" max=").append(getMaxMicros()).append("us");
+    }
+
+    @Override
+    public String toString() {
+        return appendTo(new StringBuilder()).toString();
+    }
+
+    /**
+     * The first buckets hold one value each, then every power of two is split in four
+     */
+    static int bucketOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if (exponent >= MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * @return the largest duration in the bucket, in microseconds
+     */
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        if (bucket == BUCKETS - 1) {
+            return Long.MAX_VALUE;
+        }
+        int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+        long subBucket = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+}
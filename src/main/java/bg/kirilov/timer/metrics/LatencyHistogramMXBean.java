@@ -0,0 +1,28 @@
+package bg.kirilov.timer.metrics;
+
+/**
+ * A {@link LatencyHistogram} as seen over JMX. Percentiles are the upper bounds of their buckets.
+ *
+ * @since 10/17/2026
+ */
+public interface LatencyHistogramMXBean {
+
+    long getCount();
+
+    double getMeanMicros();
+
+    long getMaxMicros();
+
+    long getP50Micros();
+
+    long getP90Micros();
+
+    long getP99Micros();
+
+    long getP999Micros();
+
+    /**
+     * Starts counting from zero, e.g. after a deployment
+     */
+    void reset();
+}
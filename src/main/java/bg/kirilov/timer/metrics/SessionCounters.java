@@ -0,0 +1,24 @@
+package bg.kirilov.timer.metrics;
+
+/**
+ * What a session counts about itself
+ *
+ * @since 10/17/2026
+ */
+public interface SessionCounters {
+
+    /**
+     * @return how many times the clock and the amount were updated
+     */
+    long getTicksCount();
+
+    /**
+     * @return how many times the session was paused
+     */
+    long getPausesCount();
+
+    /**
+     * @return time spent paused, including the current pause
+     */
+    long getPausedNanos();
+}
@@ -0,0 +1,31 @@
+package bg.kirilov.timer.metrics;
+
+/**
+ * Counters of the sessions currently measured, as seen over JMX
+ *
+ * @since 10/17/2026
+ */
+public interface SessionsMXBean {
+
+    int getSessionsCount();
+
+    /**
+     * @return ticks of all sessions together
+     */
+    long getTicksCount();
+
+    /**
+     * @return pauses of all sessions together
+     */
+    long getPausesCount();
+
+    /**
+     * @return time all sessions spent paused together, including the current pauses
+     */
+    long getPausedMillis();
+
+    /**
+     * @return a line per session - "id ticks=N pauses=N paused=HH:MM:SS"
+     */
+    String[] getSessionCounters();
+}
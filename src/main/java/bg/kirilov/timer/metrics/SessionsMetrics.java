@@ -0,0 +1,96 @@
+package bg.kirilov.timer.metrics;
+
+import bg.kirilov.timer.util.ClockText;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The counters of the sessions of an application: ticks, pauses and time spent paused.
+ * Read from the sessions when asked - counting costs the sessions nothing extra.
+ *
+ * @since 10/17/2026
+ */
+public final class SessionsMetrics implements SessionsMXBean {
+
+    private final Supplier<? extends Map<String, ? extends SessionCounters>> sessions;
+
+    /**
+     * @param sessions - the sessions currently measured, by id
+     */
+    public SessionsMetrics(Supplier<? extends Map<String, ? extends SessionCounters>> sessions) {
+        this.sessions = sessions;
+    }
+
+    /**
+     * Registers as "bg.kirilov.timer:type=Sessions", replacing the sessions registered before
+     */
+    public void registerMBean(MBeanServer server) throws JMException {
+        ObjectName objectName = new ObjectName(TickMetrics.DOMAIN + ":type=Sessions");
+        if (server.isRegistered(objectName)) {
+            server.unregisterMBean(objectName);
+        }
+        server.registerMBean(this, objectName);
+    }
+
+    @Override
+    public int getSessionsCount() {
+        return sessions.get().size();
+    }
+
+    @Override
+    public long getTicksCount() {
+        long ticks = 0;
+        for (SessionCounters session : sessions.get().values()) {
+            ticks += session.getTicksCount();
+        }
+        return ticks;
+    }
+
+    @Override
+    public long getPausesCount() {
+        long pauses = 0;
+        for (SessionCounters session : sessions.get().values()) {
+            pauses += session.getPausesCount();
+        }
+        return pauses;
+    }
+
+    @Override
+    public long getPausedMillis() {
+        long pausedNanos = 0;
+        for (SessionCounters session : sessions.get().values()) {
+            pausedNanos += session.getPausedNanos();
+        }
+        return TimeUnit.NANOSECONDS.toMillis(pausedNanos);
+    }
+
+    @Override
+    public String[] getSessionCounters() {
+        Map<String, ? extends SessionCounters> current = sessions.get();
+        String[] lines = new String[current.size()];
+        int i = 0;
+        StringBuilder line = new StringBuilder();
+        for (Map.Entry<String, ? extends SessionCounters> entry : current.entrySet()) {
+            line.setLength(0);
+            line.append(entry.getKey()).append(' ');
+            lines[i++] = appendCounters(line, entry.getValue()).toString();
+        }
+        return lines;
+    }
+
+    /**
+     * Appends "ticks=N pauses=N paused=HH:MM:SS"
+     */
+    public static StringBuilder appendCounters(StringBuilder text, SessionCounters session) {
+        ClockText paused = new ClockText();
+        paused.set(TimeUnit.NANOSECONDS.toSeconds(session.getPausedNanos()));
+        return text.append("ticks=").append(session.getTicksCount())
+                .append(" pauses=").append(session.getPausesCount())
+                .append(" paused=").append(paused);
+    }
+}
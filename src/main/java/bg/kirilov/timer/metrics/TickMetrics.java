@@ -0,0 +1,84 @@
+package bg.kirilov.timer.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * How late the ticks are and how long updating the views takes:<br>
+ * - tick lateness - from when a tick was due until it started<br>
+ * - update duration - of calculating and formatting the clock and the amount of a tick<br>
+ * - EDT delay - from when new values were published until they were rendered on the Event Dispatch Thread
+ *
+ * @since 10/17/2026
+ */
+public final class TickMetrics {
+
+    public static final String DOMAIN = "bg.kirilov.timer";
+
+    private final LatencyHistogram tickLateness = new LatencyHistogram("tick lateness");
+    private final LatencyHistogram updateDuration = new LatencyHistogram("update duration");
+    private final LatencyHistogram edtDelay = new LatencyHistogram("EDT delay");
+
+    /**
+     * @return the metrics shared by all engines, threads and renderers of the JVM
+     */
+    public static TickMetrics getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    public LatencyHistogram getTickLateness() {
+        return tickLateness;
+    }
+
+    public LatencyHistogram getUpdateDuration() {
+        return updateDuration;
+    }
+
+    public LatencyHistogram getEdtDelay() {
+        return edtDelay;
+    }
+
+    /**
+     * Registers the histograms as "bg.kirilov.timer:type=Latency,name=TickLateness|UpdateDuration|EdtDelay".
+     * Histograms already registered are kept.
+     */
+    public void registerMBeans(MBeanServer server) throws JMException {
+        register(server, "TickLateness", tickLateness);
+        register(server, "UpdateDuration", updateDuration);
+        register(server, "EdtDelay", edtDelay);
+    }
+
+    /**
+     * Registers the default metrics with the platform MBean server
+     */
+    public static void registerDefaultMBeans() throws JMException {
+        getDefault().registerMBeans(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    /**
+     * Appends a line per histogram
+     */
+    public StringBuilder appendTo(StringBuilder text) {
+        tickLateness.appendTo(text).append('\n');
+        updateDuration.appendTo(text).append('\n');
+        return edtDelay.appendTo(text);
+    }
+
+    @Override
+    public String toString() {
+        return appendTo(new StringBuilder()).toString();
+    }
+
+    private static void register(MBeanServer server, String name, LatencyHistogram histogram) throws JMException {
+        ObjectName objectName = new ObjectName(DOMAIN + ":type=Latency,name=" + name);
+        if (!server.isRegistered(objectName)) {
+            server.registerMBean(histogram, objectName);
+        }
+    }
+
+    private static final class DefaultHolder {
+        private static final TickMetrics INSTANCE = new TickMetrics();
+    }
+}
@@ -0,0 +1,562 @@
+package bg.kirilov.timer.presenter;
+
+import bg.kirilov.timer.calculator.Calculator;
+import bg.kirilov.timer.metrics.SessionCounters;
+import bg.kirilov.timer.util.AmountText;
+import bg.kirilov.timer.util.ClockText;
+import bg.kirilov.timer.util.Formatters;
+import bg.kirilov.timer.util.TimeConstants;
+import bg.kirilov.timer.util.TimeSource;
+import org.joda.time.Duration;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The state of a single clock that measures time and calculates the amount spent.<br>
+ * A session owns no thread. It is advanced either by a shared {@link TickingEngine}
+ * or by a dedicated {@link CalculatingThread}.<br>
+ * <br>
+ * The {@link SessionState} changes only by compare-and-set, so start, pause, resume and stop
+ * can be called from any thread. Once a session is stopped it cannot be reused.
+ *
+ * @since 10/17/2026
+ */
+public class CalculatingSession implements SessionCounters {
+
+    private static final long NANOS_IN_A_MILLI = 1_000_000L;
+    private static final long NANOS_IN_A_SECOND = 1_000_000_000L;
+    /**
+     * An ADAPTIVE session that doesn't show the clock still wakes up at least once in this many seconds
+     */
+    private static final long ADAPTIVE_HORIZON_SECONDS = 4096;
+
+    /**
+     * The state together with the running time. Replaced as a whole on every transition.
+     */
+    private final AtomicReference<SessionPhase> phase = new AtomicReference<>(SessionPhase.NEW);
+    /*
+     * The amount to be displayed is stored here.
+     */
+    private volatile double amount;
+    /**
+     * The amount the session continued from, see {@link #start(TickingEngine, long)}
+     */
+    private volatile double initialAmount;
+
+    /*
+     * The interval to update view and recalculate amount
+     */
+    private final long tickingIntervalInMillis;
+
+    //HELPER fields
+
+    /**
+     * Counts the milliseconds that have passed in actual running.
+     */
+    private volatile long elapsedMillis;
+    /**
+     * Written only by the ticking thread
+     */
+    private volatile long ticksCount;
+    /**
+     * Reused texts of the clock and the amount - only touched by the ticking thread
+     */
+    private final ClockText clockText = new ClockText();
+    private final AmountText amountText;
+    private boolean viewInitialized;
+    /**
+     * The view which is going to be updated on every tick
+     */
+    private final CalculatingView view;
+    /*
+     * used to calculate the amount
+     */
+    private final Calculator paymentCalculator;
+    /**
+     * The locale of the panel is used to display the data.
+     */
+    private final Locale locale;
+    /**
+     * How the passed time is measured
+     */
+    private final Timekeeping timekeeping;
+    /**
+     * Measures the real running time in MONOTONIC timekeeping
+     */
+    private final TimeSource timeSource;
+
+    //ENGINE bookkeeping - only touched by TickingEngine
+
+    private volatile TickingEngine engine;
+    /**
+     * Token of the chain of ticks that owns the session - odd while one does, see {@link TickingEngine#schedule}
+     */
+    final AtomicLong tickChain = new AtomicLong();
+    /**
+     * Held while the session is updated by the engine
+     */
+    final Object tickLock = new Object();
+    volatile ScheduledFuture<?> pendingTick;
+    /**
+     * Monotonic time the pending tick is due at
+     */
+    volatile long tickDueNanos;
+
+    //BUDGETS - guarded by the session, never touched on the tick path
+
+    private double[] budgets = new double[0];
+    /**
+     * The first budget not reached yet
+     */
+    private int nextBudget;
+    private ScheduledFuture<?> pendingAlert;
+    /**
+     * Identifies the only alert that may still notify - older ones were cancelled too late
+     */
+    private long alertGeneration;
+
+    CalculatingSession(CalculatingView view, Locale locale, Calculator paymentCalculator, long tickingIntervalInMillis,
+                       Timekeeping timekeeping, TimeSource timeSource) {
+        this.view = view;
+        this.locale = locale;
+        this.amountText = new AmountText(Formatters.getNumberFormatter(locale));
+        this.paymentCalculator = paymentCalculator;
+        this.tickingIntervalInMillis = tickingIntervalInMillis;
+        this.timekeeping = timekeeping;
+        this.timeSource = timeSource;
+    }
+
+    /**
+     * Default locale and 1-second interval
+     *
+     * @param view
+     * @param paymentCalculator
+     */
+    public CalculatingSession(CalculatingView view, Calculator paymentCalculator) {
+        this(view, paymentCalculator, TimeConstants.ONE_SECOND_IN_MILLIS);
+    }
+
+    /**
+     * Default locale
+     *
+     * @param view
+     * @param paymentCalculator
+     */
+    public CalculatingSession(CalculatingView view, Calculator paymentCalculator, long tickingIntervalInMillis) {
+        this(view, paymentCalculator, tickingIntervalInMillis, Timekeeping.FIXED_INCREMENT);
+    }
+
+    /**
+     * Default locale and system time source
+     *
+     * @param view
+     * @param paymentCalculator
+     * @param timekeeping       - how the passed time is measured
+     */
+    public CalculatingSession(CalculatingView view, Calculator paymentCalculator, long tickingIntervalInMillis, Timekeeping timekeeping) {
+        this(view, paymentCalculator, tickingIntervalInMillis, timekeeping, TimeSource.SYSTEM);
+    }
+
+    /**
+     * Default locale
+     *
+     * @param view
+     * @param paymentCalculator
+     * @param timekeeping       - how the passed time is measured
+     * @param timeSource        - monotonic time used in MONOTONIC timekeeping
+     */
+    public CalculatingSession(CalculatingView view, Calculator paymentCalculator, long tickingIntervalInMillis,
+                              Timekeeping timekeeping, TimeSource timeSource) {
+        this(view, Locale.getDefault(), paymentCalculator, tickingIntervalInMillis, timekeeping, timeSource);
+    }
+
+    /**
+     * Marks the session as running. Called by whoever drives the ticks.
+     *
+     * @throws IllegalStateException if the session was already started
+     */
+    void start(TickingEngine engine) {
+        start(engine, 0);
+    }
+
+    /**
+     * Marks the session as running, as if it had already been running for a while - e.g. before a restart.
+     *
+     * @param initialElapsedNanos - running time to continue from
+     * @throws IllegalStateException if the session was already started
+     */
+    void start(TickingEngine engine, long initialElapsedNanos) {
+        if (initialElapsedNanos < 0) {
+            throw new IllegalArgumentException("Negative running time: " + initialElapsedNanos);
+        }
+        if (!transition((current, now) -> current.start(now - initialElapsedNanos))) {
+            throw new IllegalStateException("Session is already started");
+        }
+        elapsedMillis = initialElapsedNanos / NANOS_IN_A_MILLI;
+        if (initialElapsedNanos > 0) {
+            initialAmount = paymentCalculator.calculate(initialElapsedNanos / NANOS_IN_A_SECOND);
+        }
+        this.engine = engine;
+        rescheduleAlert();
+    }
+
+    /**
+     * Stops the session. Doesn't matter if it's paused or not.
+     *
+     * @return true if the session was running or paused
+     */
+    public boolean stop() {
+        if (!transition(SessionPhase::stop)) {
+            return false;
+        }
+
+        TickingEngine currentEngine = engine;
+        if (currentEngine != null) {
+            currentEngine.cancel(this);
+        }
+        cancelAlert();
+        return true;
+    }
+
+    /**
+     * @return true if the session was running
+     */
+    public boolean pause() {
+        if (!transition(SessionPhase::pause)) {
+            return false;
+        }
+        cancelAlert();
+        return true;
+    }
+
+    /**
+     * @return true if the session was paused
+     */
+    public boolean resume() {
+        if (!transition(SessionPhase::resume)) {
+            return false;
+        }
+
+        TickingEngine currentEngine = engine;
+        if (currentEngine != null) {
+            currentEngine.schedule(this, 0);
+        }
+        rescheduleAlert();
+        return true;
+    }
+
+    public SessionState getState() {
+        return phase.get().state;
+    }
+
+    /**
+     * @return boolean - true if the session is currently paused
+     */
+    public boolean isPaused() {
+        return getState() == SessionState.PAUSED;
+    }
+
+    /**
+     * @return boolean - true if the session was started and not yet stopped
+     */
+    public boolean isRunning() {
+        SessionState state = getState();
+        return state == SessionState.RUNNING || state == SessionState.PAUSED;
+    }
+
+    /**
+     * @return true if ticks should currently be applied
+     */
+    boolean isTicking() {
+        return getState() == SessionState.RUNNING;
+    }
+
+    public long getTickingIntervalInMillis() {
+        return tickingIntervalInMillis;
+    }
+
+    public Timekeeping getTimekeeping() {
+        return timekeeping;
+    }
+
+    /**
+     * @return whole seconds the session has been running so far
+     */
+    public long getElapsedSeconds() {
+        long millis = timekeeping == Timekeeping.FIXED_INCREMENT
+                ? elapsedMillis
+                : elapsedNanos() / NANOS_IN_A_MILLI;
+        return millis / TimeConstants.ONE_SECOND_IN_MILLIS;
+    }
+
+    @Override
+    public long getTicksCount() {
+        return ticksCount;
+    }
+
+    @Override
+    public long getPausesCount() {
+        return phase.get().pauses;
+    }
+
+    @Override
+    public long getPausedNanos() {
+        return phase.get().pausedNanos(timeSource.nanoTime());
+    }
+
+    /**
+     * @return whole seconds of running time as of the last tick - the second {@link #getAmount()} is for
+     */
+    public long getTickedSeconds() {
+        return elapsedMillis / TimeConstants.ONE_SECOND_IN_MILLIS;
+    }
+
+    /**
+     * @return running time so far, in nanoseconds. Millisecond precision in FIXED_INCREMENT timekeeping.
+     */
+    public long getElapsedNanos() {
+        return timekeeping == Timekeeping.FIXED_INCREMENT
+                ? elapsedMillis * NANOS_IN_A_MILLI
+                : elapsedNanos();
+    }
+
+    /**
+     * In MONOTONIC timekeeping the next tick is aligned to the next interval boundary of the real elapsed time,
+     * so an overrun tick is coalesced with the ones it delayed instead of falling behind.<br>
+     * In ADAPTIVE timekeeping the next tick is when one of the displayed texts changes.
+     *
+     * @return how long to wait before the next tick, in nanoseconds
+     */
+    long nextTickDelayNanos() {
+        switch (timekeeping) {
+            case FIXED_INCREMENT:
+                return tickingIntervalInMillis * NANOS_IN_A_MILLI;
+            case ADAPTIVE:
+                return nanosUntilNextChange(elapsedNanos());
+            default:
+                long intervalNanos = tickingIntervalInMillis * NANOS_IN_A_MILLI;
+                return intervalNanos - elapsedNanos() % intervalNanos;
+        }
+    }
+
+    /**
+     * Puts the session back in the schedule now. Needed when the next tick was computed for
+     * a calculator that has changed since, e.g. after a change of the headcount.
+     */
+    public void refresh() {
+        TickingEngine currentEngine = engine;
+        if (currentEngine != null) {
+            currentEngine.reschedule(this);
+        }
+        rescheduleAlert();
+    }
+
+    /**
+     * Sets the amounts the view is told about once they are reached, see {@link CalculatingView#budgetReached}.<br>
+     * Nothing is checked on the ticks: the calculator is inverted to find the second the next budget is reached at,
+     * and a single alert is scheduled for it on the engine. The alert is moved on pause, resume and
+     * {@link #refresh()}. Budgets already reached are not reported.<br>
+     * Only sessions ticked by a {@link TickingEngine} raise alerts.
+     *
+     * @param budgets - in any order
+     */
+    public void setBudgets(double... budgets) {
+        double[] sorted = budgets.clone();
+        Arrays.sort(sorted);
+        synchronized (this) {
+            this.budgets = sorted;
+            nextBudget = 0;
+            long passedSeconds = getElapsedSeconds();
+            while (nextBudget < sorted.length && paymentCalculator.reaches(passedSeconds, sorted[nextBudget])) {
+                nextBudget++;
+            }
+        }
+        rescheduleAlert();
+    }
+
+    /**
+     * @return the budgets, in ascending order
+     */
+    public synchronized double[] getBudgets() {
+        return budgets.clone();
+    }
+
+    /**
+     * Replaces the pending alert with one for the next budget, at the time the current calculator reaches it
+     */
+    private synchronized void rescheduleAlert() {
+        cancelAlert();
+        TickingEngine currentEngine = engine;
+        if (currentEngine == null || !isTicking() || nextBudget >= budgets.length) {
+            return;
+        }
+        long second = paymentCalculator.secondsToReach(budgets[nextBudget]);
+        if (second == Calculator.NEVER) {
+            return;
+        }
+        long delayNanos = Math.max(0, second * NANOS_IN_A_SECOND - getElapsedNanos());
+        long generation = alertGeneration;
+        pendingAlert = currentEngine.scheduleAlert(() -> alert(generation), delayNanos);
+    }
+
+    private synchronized void cancelAlert() {
+        alertGeneration++;
+        if (pendingAlert != null) {
+            pendingAlert.cancel(false);
+            pendingAlert = null;
+        }
+    }
+
+    /**
+     * Tells the view about the budgets reached by now and schedules the alert for the next one
+     */
+    private void alert(long generation) {
+        int firstReached;
+        int lastReached;
+        long passedSeconds;
+        double[] reachedBudgets;
+        synchronized (this) {
+            if (generation != alertGeneration) {
+                return;
+            }
+            reachedBudgets = budgets;
+            passedSeconds = getElapsedSeconds();
+            firstReached = nextBudget;
+            while (nextBudget < budgets.length && paymentCalculator.reaches(passedSeconds, budgets[nextBudget])) {
+                nextBudget++;
+            }
+            lastReached = nextBudget;
+            //an early wake-up just waits again
+            rescheduleAlert();
+        }
+        for (int i = firstReached; i < lastReached; i++) {
+            view.budgetReached(reachedBudgets[i], passedSeconds);
+        }
+    }
+
+    /**
+     * The clock changes at the next whole second - if the view shows it.
+     * The amount changes at the first second its cents differ from the displayed ones.
+     */
+    private long nanosUntilNextChange(long elapsedNanos) {
+        long passedSeconds = elapsedNanos / NANOS_IN_A_SECOND;
+        long nextChangeSecond = view.showsClock()
+                ? passedSeconds + 1
+                : secondOfNextAmountChange(passedSeconds);
+        return nextChangeSecond * NANOS_IN_A_SECOND - elapsedNanos;
+    }
+
+    /**
+     * Exponential search for a second with different cents, then binary search for the first one.
+     * Assumes the calculator never decreases. Looks at most {@link #ADAPTIVE_HORIZON_SECONDS} ahead.
+     */
+    private long secondOfNextAmountChange(long passedSeconds) {
+        long cents = AmountText.toCents(paymentCalculator.calculate(passedSeconds));
+
+        long low = passedSeconds;
+        long high = passedSeconds + 1;
+        long step = 1;
+        while (AmountText.toCents(paymentCalculator.calculate(high)) == cents) {
+            if (step >= ADAPTIVE_HORIZON_SECONDS) {
+                return high;
+            }
+            low = high;
+            step *= 2;
+            high = passedSeconds + step;
+        }
+
+        while (high - low > 1) {
+            long middle = (low + high) >>> 1;
+            if (AmountText.toCents(paymentCalculator.calculate(middle)) == cents) {
+                low = middle;
+            } else {
+                high = middle;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * @return the amount calculated on the last tick
+     */
+    public double getAmount() {
+        return amount;
+    }
+
+    /**
+     * @return the amount of the running time the session was started with - 0 unless it continues from before
+     * a restart
+     */
+    public double getInitialAmount() {
+        return initialAmount;
+    }
+
+    /**
+     * Returns the final amount to be payed for the session.
+     *
+     * @return String - formatted accordingly
+     */
+    public String getFinalAmount() {
+        return Formatters.formatNumber(amount, locale);
+    }
+
+    public String getCurrentTimeFormatted() {
+        return Formatters.getPeriodFormatter(locale).print(new Duration(elapsedMillis).toPeriod());
+    }
+
+    /**
+     * Update all data after the specified time interval has elapsed - clock and amount to pay.<br>
+     * The view is called only for the texts that changed. Allocates nothing in steady state.<br>
+     * Must not be called concurrently for the same session.
+     */
+    void updateState() {
+        long millis;
+        if (timekeeping == Timekeeping.FIXED_INCREMENT) {
+            millis = elapsedMillis + tickingIntervalInMillis;
+        } else {
+            millis = elapsedNanos() / NANOS_IN_A_MILLI;
+        }
+        elapsedMillis = millis;
+        ticksCount++;
+
+        long passedSeconds = millis / TimeConstants.ONE_SECOND_IN_MILLIS;
+        if (clockText.set(passedSeconds) || !viewInitialized) {
+            view.setClock(clockText);
+        }
+
+        double currentAmount = paymentCalculator.calculate(passedSeconds);
+        amount = currentAmount;
+        if (amountText.set(currentAmount) || !viewInitialized) {
+            view.setAmount(amountText);
+        }
+        viewInitialized = true;
+    }
+
+    /**
+     * @return real running time, without the pauses
+     */
+    private long elapsedNanos() {
+        return phase.get().elapsedNanos(timeSource.nanoTime());
+    }
+
+    private boolean transition(Transition transition) {
+        while (true) {
+            SessionPhase current = phase.get();
+            SessionPhase next = transition.apply(current, timeSource.nanoTime());
+            if (next == null) {
+                return false;
+            }
+            if (phase.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    private interface Transition {
+        SessionPhase apply(SessionPhase phase, long now);
+    }
+}
@@ -1,11 +1,10 @@
 package bg.kirilov.timer.presenter;
 
 import bg.kirilov.timer.calculator.Calculator;
-import bg.kirilov.timer.util.Formatters;
+import bg.kirilov.timer.metrics.TickMetrics;
 import bg.kirilov.timer.util.TimeConstants;
-import org.joda.time.Duration;
 
-import java.text.NumberFormat;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * A class for starting, stopping, pausing a clock while calculating something.<br>
@@ -13,68 +12,41 @@ import java.text.NumberFormat;
  * was spent for the time based on number of participants and pay rate.<br>
  * <br>
  * Once a clock is stopped it cannot be reused. The thread has finished its job.
- * The update time interval is customizable
+ * The update time interval is customizable.<br>
+ * <br>
+ * Uses a whole thread for a single {@link CalculatingSession}. Prefer a shared {@link TickingEngine}
+ * when many sessions are measured at once.<br>
+ * Pause, resume and stop change the state of the session and unpark the thread, so they take effect
+ * immediately and can be called from any thread.<br>
+ * Ticks are recorded to the default {@link TickMetrics}.
  *
  * @author Leni Kirilov
  * @version 2014-April
  * @since 2010-February
  */
-//TODO split this class into 2 - 1 for ticking and another one for updating UI when ticks are applied
 public class CalculatingThread extends Thread {
 
-    /**
-     * Determines whether the thread should pauseThread its process.
-     */
-    private boolean paused;
-    /**
-     * Determines if the run method is still going on.
-     */
-    private boolean running;
-    /*
-     * The amount to be displayed is stored here.
-     */
-    private double amount;
-
-    /*
-     * The interval to update view and recalculate amount
-     */
-    private long tickingIntervalInMillis;
-
-    //HELPER fields
+    private final CalculatingSession session;
+    private final TickMetrics metrics = TickMetrics.getDefault();
 
     /**
-     * Counts the seconds that have passed in actual running.
-     */
-    private Duration duration;
-    /**
-     * The view which is going to be updated per second
-     */
-    private CalculatingView view;
-    /*
-     * used to calculate the amount
-     */
-    private final Calculator paymentCalculator;
-    /**
-     * The formatter of the panel is used to display the data.
+     * Default number formatter and 1-second interval
+     *
+     * @param view
+     * @param paymentCalculator
      */
-    private NumberFormat formatter;
-
-    private CalculatingThread(CalculatingView view, NumberFormat formatter, Calculator paymentCalculator, long tickingIntervalInMillis) {
-        this.duration = new Duration(Duration.ZERO);
-        this.view = view;
-        this.formatter = formatter;
-        this.paymentCalculator = paymentCalculator;
-        this.tickingIntervalInMillis = tickingIntervalInMillis;
+    public CalculatingThread(CalculatingView view, Calculator paymentCalculator) {
+        this(view, paymentCalculator, TimeConstants.ONE_SECOND_IN_MILLIS);
     }
 
     /**
-     * Default number formatter and 1-second interval
+     * Default number formatter
      *
      * @param view
      * @param paymentCalculator
      */
-    public CalculatingThread(CalculatingView view, Calculator paymentCalculator) {
-        this(view, Formatters.getNumberFormatter(), paymentCalculator, TimeConstants.ONE_SECOND_IN_MILLIS);
+    public CalculatingThread(CalculatingView view, Calculator paymentCalculator, long tickingIntervalInMillis) {
+        this(view, paymentCalculator, tickingIntervalInMillis, Timekeeping.FIXED_INCREMENT);
     }
 
     /**
@@ -82,50 +54,55 @@ public class CalculatingThread extends Thread {
      *
      * @param view
      * @param paymentCalculator
+     * @param timekeeping       - how the passed time is measured
      */
-    public CalculatingThread(CalculatingView view, Calculator paymentCalculator, long tickingIntervalInMillis) {
-        this(view, Formatters.getNumberFormatter(), paymentCalculator, tickingIntervalInMillis);
+    public CalculatingThread(CalculatingView view, Calculator paymentCalculator, long tickingIntervalInMillis, Timekeeping timekeeping) {
+        this.session = new CalculatingSession(view, paymentCalculator, tickingIntervalInMillis, timekeeping);
     }
 
     @Override
     public void start() {
-        running = true;
+        session.start(null);
         super.start();
     }
 
     /**
      * Simulates the work of an actual clock. Can be paused, resumed and stopped.
+     * An interrupt stops the clock.
      */
     @Override
-    @SuppressWarnings("SleepWhileHoldingLock")
     public void run() {
-        try {
-
-            while (running) {
-
-                if (isPaused()) {
-                    //paused thread waits to be resumed
-                    synchronized (this) {
-                        this.wait();
-                    }
-
-                } else {//updates if running and not paused
-                    updateState();
-                    Thread.sleep(tickingIntervalInMillis);
-                }
+        //the first tick and the first after a pause are due when the thread gets to them
+        long dueNanos = System.nanoTime();
+        while (!isInterrupted()) {
+            SessionState state = session.getState();
+
+            if (state == SessionState.STOPPED) {
+                return;
+            } else if (state == SessionState.PAUSED) {
+                //paused thread waits to be resumed - an unpark before the park is not lost
+                LockSupport.park(this);
+                dueNanos = System.nanoTime();
+            } else {//updates if running and not paused
+                long startedAt = System.nanoTime();
+                metrics.getTickLateness().record(startedAt - dueNanos);
+                session.updateState();
+                metrics.getUpdateDuration().record(System.nanoTime() - startedAt);
+
+                long delayNanos = session.nextTickDelayNanos();
+                dueNanos = System.nanoTime() + delayNanos;
+                sleepUntilNextTick(dueNanos, delayNanos);
             }
-
-        } catch (InterruptedException ex) {
-            ex.printStackTrace();
         }
+        session.stop();
     }
 
     /**
      * Stops the current thread. Doesn't matter if it's paused or not.
      */
     public void stopThread() {
-        resumeThread();
-        running = false;
+        session.stop();
+        LockSupport.unpark(this);
     }
 
     /**
@@ -134,41 +111,48 @@ public class CalculatingThread extends Thread {
      * @return String - formatted accordingly
      */
     public String getFinalAmount() {
-        return formatter.format(amount);
+        return session.getFinalAmount();
     }
 
     /**
      * @return boolean - true if the thread is currently paused
      */
     public boolean isPaused() {
-        return paused;
+        return session.isPaused();
     }
 
     public void resumeThread() {
-        paused = false;
-        synchronized (this) {
-            notify();
+        if (session.resume()) {
+            LockSupport.unpark(this);
         }
     }
 
     public void pauseThread() {
-        this.paused = true;
+        if (session.pause()) {
+            //stops waiting for the next tick and parks until resumed
+            LockSupport.unpark(this);
+        }
+    }
+
+    public String getCurrentTimeFormatted() {
+        return session.getCurrentTimeFormatted();
     }
 
     /**
-     * Update all data after the specified time interval has elapsed - clock and amount to pay.
+     * @return the state advanced by this thread
      */
-    private void updateState() {
-        duration = duration.plus(tickingIntervalInMillis);
-        view.setClock(getCurrentTimeFormatted());
-
-        int passedSeconds = duration.toStandardSeconds().getSeconds();
-        amount = paymentCalculator.calculate(passedSeconds);
-
-        view.setAmount(getFinalAmount());
+    public CalculatingSession getSession() {
+        return session;
     }
 
-    public String getCurrentTimeFormatted() {
-        return Formatters.getPeriodFormatter().print(duration.toPeriod());
+    /**
+     * Parks until the next tick is due. Returns early if the session is no longer running.
+     */
+    private void sleepUntilNextTick(long deadline, long delayNanos) {
+        long remaining = delayNanos;
+        while (remaining > 0 && session.getState() == SessionState.RUNNING && !isInterrupted()) {
+            LockSupport.parkNanos(this, remaining);
+            remaining = deadline - System.nanoTime();
+        }
     }
-}
\ No newline at end of file
+}
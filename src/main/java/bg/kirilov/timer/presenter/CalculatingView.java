@@ -13,5 +13,51 @@ public interface CalculatingView {
 
     void setAmount(String formattedAmount);
 
+    /**
+     * Called from the tick path only when the displayed clock changed.<br>
+     * The text is a reused buffer - valid only during the call. Override to avoid copying it to a String.
+     *
+     * @param formattedClock - HH:MM:SS
+     */
+    default void setClock(CharSequence formattedClock) {
+        setClock(formattedClock.toString());
+    }
+
+    /**
+     * Called from the tick path only when the displayed amount changed.<br>
+     * The text is a reused buffer - valid only during the call. Override to avoid copying it to a String.
+     *
+     * @param formattedAmount - amount with 2 digits after the decimal separator
+     */
+    default void setAmount(CharSequence formattedAmount) {
+        setAmount(formattedAmount.toString());
+    }
+
+    /**
+     * Sessions with ADAPTIVE timekeeping don't wake up for clock changes of views that don't show the clock.
+     *
+     * @return true if the view shows the clock
+     */
+    default boolean showsClock() {
+        return true;
+    }
+
+    /**
+     * The amount of the session reached one of its budgets, see {@link CalculatingSession#setBudgets(double...)}.<br>
+     * Called once per budget, on a ticking thread - not necessarily the one updating the clock.
+     *
+     * @param budget        - the budget reached
+     * @param secondsPassed - running time of the session when it was reached
+     */
+    default void budgetReached(double budget, long secondsPassed) {
+    }
+
+    /**
+     * Drops updates not shown yet, so they don't overwrite a reset view.<br>
+     * Called after the session is stopped. Views that show updates immediately have nothing to drop.
+     */
+    default void clear() {
+    }
+
     //TODO seems like setPayRate and setNumberOfPeople are relevant for this interface. and not the Ticking one
 }
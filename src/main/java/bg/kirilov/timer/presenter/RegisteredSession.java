@@ -0,0 +1,66 @@
+package bg.kirilov.timer.presenter;
+
+import bg.kirilov.timer.calculator.HeadcountChange;
+import bg.kirilov.timer.calculator.VaryingHeadcountCalculator;
+
+import java.util.List;
+
+/**
+ * A session of a {@link SessionRegistry} together with the input it was started with.
+ *
+ * @since 10/17/2026
+ */
+public class RegisteredSession {
+
+    private final String id;
+    private final CalculatingSession session;
+    private final VaryingHeadcountCalculator calculator;
+    private final double payRate;
+    private final long startedAtMillis;
+
+    RegisteredSession(String id, CalculatingSession session, VaryingHeadcountCalculator calculator,
+                      double payRate, long startedAtMillis) {
+        this.id = id;
+        this.session = session;
+        this.calculator = calculator;
+        this.payRate = payRate;
+        this.startedAtMillis = startedAtMillis;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public CalculatingSession getSession() {
+        return session;
+    }
+
+    /**
+     * @return the current number of participants
+     */
+    public int getPeopleCount() {
+        return calculator.getPeopleCount();
+    }
+
+    /**
+     * @return pay rate per hour of a participant
+     */
+    public double getPayRate() {
+        return payRate;
+    }
+
+    /**
+     * @return wall clock time of the start, in epoch milliseconds
+     */
+    public long getStartedAtMillis() {
+        return startedAtMillis;
+    }
+
+    public List<HeadcountChange> getHeadcountHistory() {
+        return calculator.getHistory();
+    }
+
+    VaryingHeadcountCalculator getCalculator() {
+        return calculator;
+    }
+}
@@ -0,0 +1,106 @@
+package bg.kirilov.timer.presenter;
+
+/**
+ * Told about every change of a session that matters for its cost, e.g. to journal it.<br>
+ * Called on the thread that made the change - never on the ticking threads - and must neither block nor throw.
+ *
+ * @since 10/17/2026
+ */
+public interface SessionListener {
+
+    /**
+     * Listens to nothing
+     */
+    SessionListener NONE = new SessionListener() {
+    };
+
+    /**
+     * @param startedAtMillis - wall clock time of the start, in epoch milliseconds
+     * @param peopleCount     - initial number of participants
+     * @param payRate         - pay rate per hour of a participant
+     */
+    default void sessionStarted(String id, long startedAtMillis, int peopleCount, double payRate) {
+    }
+
+    /**
+     * @param elapsedNanos - running time when it was paused
+     */
+    default void sessionPaused(String id, long elapsedNanos) {
+    }
+
+    /**
+     * @param elapsedNanos - running time when it was resumed
+     */
+    default void sessionResumed(String id, long elapsedNanos) {
+    }
+
+    /**
+     * @param elapsedNanos - final running time
+     */
+    default void sessionStopped(String id, long elapsedNanos) {
+    }
+
+    /**
+     * Called after {@link #sessionStopped(String, long)} with the final numbers of the session.
+     *
+     * @param startedAtMillis - wall clock time of the start, in epoch milliseconds
+     * @param elapsedSeconds  - final running time
+     * @param peopleCount     - number of participants at the end
+     * @param payRate         - pay rate per hour of a participant
+     * @param amount          - final amount
+     */
+    default void sessionCompleted(String id, long startedAtMillis, long elapsedSeconds, int peopleCount,
+                                  double payRate, double amount) {
+    }
+
+    /**
+     * @param secondsPassed - when in the session the headcount changed
+     * @param peopleCount   - the new number of participants
+     */
+    default void headcountChanged(String id, long secondsPassed, int peopleCount) {
+    }
+
+    /**
+     * @return a listener that tells both, the first one first
+     */
+    static SessionListener both(SessionListener first, SessionListener second) {
+        return new SessionListener() {
+            @Override
+            public void sessionStarted(String id, long startedAtMillis, int peopleCount, double payRate) {
+                first.sessionStarted(id, startedAtMillis, peopleCount, payRate);
+                second.sessionStarted(id, startedAtMillis, peopleCount, payRate);
+            }
+
+            @Override
+            public void sessionPaused(String id, long elapsedNanos) {
+                first.sessionPaused(id, elapsedNanos);
+                second.sessionPaused(id, elapsedNanos);
+            }
+
+            @Override
+            public void sessionResumed(String id, long elapsedNanos) {
+                first.sessionResumed(id, elapsedNanos);
+                second.sessionResumed(id, elapsedNanos);
+            }
+
+            @Override
+            public void sessionStopped(String id, long elapsedNanos) {
+                first.sessionStopped(id, elapsedNanos);
+                second.sessionStopped(id, elapsedNanos);
+            }
+
+            @Override
+            public void sessionCompleted(String id, long startedAtMillis, long elapsedSeconds, int peopleCount,
+                                         double payRate, double amount) {
+                first.sessionCompleted(id, startedAtMillis, elapsedSeconds, peopleCount, payRate, amount);
+                second.sessionCompleted(id, startedAtMillis, elapsedSeconds, peopleCount, payRate, amount);
+            }
+
+            @Override
+            public void headcountChanged(String id, long secondsPassed, int peopleCount) {
+                first.headcountChanged(id, secondsPassed, peopleCount);
+                second.headcountChanged(id, secondsPassed, peopleCount);
+            }
+        };
+    }
+}
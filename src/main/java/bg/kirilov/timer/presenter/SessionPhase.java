@@ -0,0 +1,88 @@
+package bg.kirilov.timer.presenter;
+
+/**
+ * Immutable snapshot of the state of a session together with its monotonic running time.<br>
+ * Sessions replace the whole snapshot with a compare-and-set, so the state and the paused
+ * intervals always change together - no locks and no torn updates between them.
+ *
+ * @since 10/17/2026
+ */
+final class SessionPhase {
+
+    static final SessionPhase NEW = new SessionPhase(SessionState.NEW, 0, 0, 0, 0);
+
+    final SessionState state;
+    /**
+     * Monotonic time of the start
+     */
+    final long startedAt;
+    /**
+     * Monotonic time when the current pause (or the stop) began
+     */
+    final long pausedAt;
+    /**
+     * Sum of the finished pauses
+     */
+    final long pausedTotal;
+    /**
+     * Number of pauses so far, including the current one
+     */
+    final long pauses;
+
+    private SessionPhase(SessionState state, long startedAt, long pausedAt, long pausedTotal, long pauses) {
+        this.state = state;
+        this.startedAt = startedAt;
+        this.pausedAt = pausedAt;
+        this.pausedTotal = pausedTotal;
+        this.pauses = pauses;
+    }
+
+    /**
+     * @return the next phase or null if the transition is not allowed from this state
+     */
+    SessionPhase start(long now) {
+        return state == SessionState.NEW ? new SessionPhase(SessionState.RUNNING, now, 0, 0, 0) : null;
+    }
+
+    SessionPhase pause(long now) {
+        return state == SessionState.RUNNING ? new SessionPhase(SessionState.PAUSED, startedAt, now, pausedTotal, pauses + 1) : null;
+    }
+
+    SessionPhase resume(long now) {
+        return state == SessionState.PAUSED
+                ? new SessionPhase(SessionState.RUNNING, startedAt, 0, pausedTotal + now - pausedAt, pauses)
+                : null;
+    }
+
+    SessionPhase stop(long now) {
+        switch (state) {
+            case RUNNING:
+                return new SessionPhase(SessionState.STOPPED, startedAt, now, pausedTotal, pauses);
+            case PAUSED:
+                return new SessionPhase(SessionState.STOPPED, startedAt, pausedAt, pausedTotal, pauses);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @return running time since start, without the paused intervals
+     */
+    long elapsedNanos(long now) {
+        switch (state) {
+            case NEW:
+                return 0;
+            case RUNNING:
+                return now - startedAt - pausedTotal;
+            default:
+                return pausedAt - startedAt - pausedTotal;
+        }
+    }
+
+    /**
+     * @return time spent paused, including the current pause
+     */
+    long pausedNanos(long now) {
+        return state == SessionState.PAUSED ? pausedTotal + now - pausedAt : pausedTotal;
+    }
+}
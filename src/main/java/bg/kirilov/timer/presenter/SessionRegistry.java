@@ -0,0 +1,211 @@
+package bg.kirilov.timer.presenter;
+
+import bg.kirilov.timer.calculator.VaryingHeadcountCalculator;
+import bg.kirilov.timer.util.TimeConstants;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Many named sessions ticked by one {@link TickingEngine}.<br>
+ * Used where there is no TickingView - the registry has no dependency on Swing or AWT.
+ * All operations can be called from any thread.
+ *
+ * @since 10/17/2026
+ */
+public class SessionRegistry {
+
+    private final TickingEngine engine;
+    private final Locale locale;
+    private final Timekeeping timekeeping;
+    private final SessionListener listener;
+    private final ConcurrentMap<String, RegisteredSession> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * Monotonic one-second ticks, formatted for the default locale
+     */
+    public SessionRegistry(TickingEngine engine) {
+        this(engine, Locale.getDefault(), Timekeeping.MONOTONIC);
+    }
+
+    public SessionRegistry(TickingEngine engine, Locale locale, Timekeeping timekeeping) {
+        this(engine, locale, timekeeping, SessionListener.NONE);
+    }
+
+    /**
+     * @param listener - told about every start, pause, resume, stop and change of the headcount
+     */
+    public SessionRegistry(TickingEngine engine, Locale locale, Timekeeping timekeeping, SessionListener listener) {
+        this.engine = engine;
+        this.locale = locale;
+        this.timekeeping = timekeeping;
+        this.listener = listener;
+    }
+
+    /**
+     * Starts a new session.
+     *
+     * @param id         - unique among the sessions in the registry
+     * @param peopleCount - number of participants
+     * @param payRate    - pay rate per hour of a participant
+     * @param view       - updated by the ticking threads
+     * @throws IllegalArgumentException if there is already a session with that id
+     */
+    public RegisteredSession start(String id, int peopleCount, double payRate, CalculatingView view) {
+        RegisteredSession registered = register(id, new VaryingHeadcountCalculator(peopleCount, payRate),
+                payRate, System.currentTimeMillis(), view);
+        listener.sessionStarted(id, registered.getStartedAtMillis(), peopleCount, payRate);
+        engine.start(registered.getSession());
+        return registered;
+    }
+
+    /**
+     * Continues an interrupted session where it was left. The listener is not told - the session is not new.
+     *
+     * @param view - updated by the ticking threads
+     * @throws IllegalArgumentException if there is already a session with that id
+     */
+    public RegisteredSession restore(SessionSnapshot snapshot, CalculatingView view) {
+        RegisteredSession registered = register(snapshot.getId(),
+                VaryingHeadcountCalculator.fromHistory(snapshot.getHeadcountHistory(), snapshot.getPayRate()),
+                snapshot.getPayRate(), snapshot.getStartedAtMillis(), view);
+        engine.start(registered.getSession(), snapshot.getElapsedNanos());
+        if (snapshot.getState() == SessionState.PAUSED) {
+            registered.getSession().pause();
+        }
+        return registered;
+    }
+
+    /**
+     * @return the session or null if there is no such session
+     */
+    public RegisteredSession get(String id) {
+        return sessions.get(id);
+    }
+
+    /**
+     * @return true if the session was running
+     */
+    public boolean pause(String id) {
+        CalculatingSession session = getExisting(id).getSession();
+        if (!session.pause()) {
+            return false;
+        }
+        listener.sessionPaused(id, session.getElapsedNanos());
+        return true;
+    }
+
+    /**
+     * @return true if the session was paused
+     */
+    public boolean resume(String id) {
+        CalculatingSession session = getExisting(id).getSession();
+        if (!session.resume()) {
+            return false;
+        }
+        listener.sessionResumed(id, session.getElapsedNanos());
+        return true;
+    }
+
+    /**
+     * Stops the session and removes it from the registry.
+     *
+     * @return the stopped session, for a report
+     */
+    public RegisteredSession stop(String id) {
+        RegisteredSession registered = sessions.remove(id);
+        if (registered == null) {
+            throw new IllegalArgumentException("Unknown session: " + id);
+        }
+        CalculatingSession session = registered.getSession();
+        if (session.stop()) {
+            listener.sessionStopped(id, session.getElapsedNanos());
+            listener.sessionCompleted(id, registered.getStartedAtMillis(), session.getElapsedSeconds(),
+                    registered.getPeopleCount(), registered.getPayRate(), session.getAmount());
+        }
+        return registered;
+    }
+
+    /**
+     * Participants joined the session. The cost so far is kept.
+     */
+    public void join(String id, int count) {
+        RegisteredSession registered = getExisting(id);
+        long secondsPassed = registered.getSession().getElapsedSeconds();
+        registered.getCalculator().join(secondsPassed, count);
+        registered.getSession().refresh();
+        listener.headcountChanged(id, secondsPassed, registered.getPeopleCount());
+    }
+
+    /**
+     * Participants left the session. The cost so far is kept.
+     */
+    public void leave(String id, int count) {
+        RegisteredSession registered = getExisting(id);
+        long secondsPassed = registered.getSession().getElapsedSeconds();
+        registered.getCalculator().leave(secondsPassed, count);
+        registered.getSession().refresh();
+        listener.headcountChanged(id, secondsPassed, registered.getPeopleCount());
+    }
+
+    /**
+     * Sets the amounts the view of the session is alerted about, see {@link CalculatingSession#setBudgets(double...)}
+     */
+    public void setBudgets(String id, double... budgets) {
+        getExisting(id).getSession().setBudgets(budgets);
+    }
+
+    /**
+     * @return snapshot of the sessions in the registry
+     */
+    public Collection<RegisteredSession> getSessions() {
+        return new ArrayList<>(sessions.values());
+    }
+
+    /**
+     * @return the engine ticking the sessions
+     */
+    public TickingEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * @return snapshot of the sessions in the registry, by id
+     */
+    public Map<String, CalculatingSession> getSessionsById() {
+        Map<String, CalculatingSession> byId = new HashMap<>();
+        for (RegisteredSession registered : sessions.values()) {
+            byId.put(registered.getId(), registered.getSession());
+        }
+        return byId;
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    private RegisteredSession register(String id, VaryingHeadcountCalculator calculator, double payRate,
+                                       long startedAtMillis, CalculatingView view) {
+        CalculatingSession session = new CalculatingSession(view, locale, calculator,
+                TimeConstants.ONE_SECOND_IN_MILLIS, timekeeping, engine.getTimeSource());
+        RegisteredSession registered = new RegisteredSession(id, session, calculator, payRate, startedAtMillis);
+
+        if (sessions.putIfAbsent(id, registered) != null) {
+            throw new IllegalArgumentException("Session already exists: " + id);
+        }
+        return registered;
+    }
+
+    private RegisteredSession getExisting(String id) {
+        RegisteredSession registered = sessions.get(id);
+        if (registered == null) {
+            throw new IllegalArgumentException("Unknown session: " + id);
+        }
+        return registered;
+    }
+}
@@ -0,0 +1,78 @@
+package bg.kirilov.timer.presenter;
+
+import bg.kirilov.timer.calculator.HeadcountChange;
+
+import java.util.List;
+
+/**
+ * Everything needed to continue a session that was interrupted, e.g. by a restart.
+ *
+ * @since 10/17/2026
+ */
+public class SessionSnapshot {
+
+    private final String id;
+    private final double payRate;
+    private final long startedAtMillis;
+    private final SessionState state;
+    private final long elapsedNanos;
+    private final List<HeadcountChange> headcountHistory;
+
+    /**
+     * @param state            - RUNNING or PAUSED
+     * @param elapsedNanos     - running time to continue from
+     * @param headcountHistory - the headcounts in the order of the changes, the first one is the initial headcount
+     */
+    public SessionSnapshot(String id, double payRate, long startedAtMillis, SessionState state, long elapsedNanos,
+                           List<HeadcountChange> headcountHistory) {
+        if (state != SessionState.RUNNING && state != SessionState.PAUSED) {
+            throw new IllegalArgumentException("Only running or paused sessions can be continued: " + state);
+        }
+        if (headcountHistory.isEmpty()) {
+            throw new IllegalArgumentException("The history has no initial headcount");
+        }
+        this.id = id;
+        this.payRate = payRate;
+        this.startedAtMillis = startedAtMillis;
+        this.state = state;
+        this.elapsedNanos = elapsedNanos;
+        this.headcountHistory = headcountHistory;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return pay rate per hour of a participant
+     */
+    public double getPayRate() {
+        return payRate;
+    }
+
+    /**
+     * @return wall clock time of the start, in epoch milliseconds
+     */
+    public long getStartedAtMillis() {
+        return startedAtMillis;
+    }
+
+    public SessionState getState() {
+        return state;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public List<HeadcountChange> getHeadcountHistory() {
+        return headcountHistory;
+    }
+
+    /**
+     * @return the number of participants at the end of the history
+     */
+    public int getPeopleCount() {
+        return headcountHistory.get(headcountHistory.size() - 1).getPeopleCount();
+    }
+}
@@ -0,0 +1,26 @@
+package bg.kirilov.timer.presenter;
+
+/**
+ * The states of a {@link CalculatingSession}.<br>
+ * NEW -> RUNNING <-> PAUSED, and RUNNING or PAUSED -> STOPPED. STOPPED is final.
+ *
+ * @since 10/17/2026
+ */
+public enum SessionState {
+    /**
+     * Created but not started yet
+     */
+    NEW,
+    /**
+     * The clock is ticking
+     */
+    RUNNING,
+    /**
+     * The clock waits to be resumed
+     */
+    PAUSED,
+    /**
+     * The session is over - it cannot be used again
+     */
+    STOPPED
+}
@@ -0,0 +1,51 @@
+package bg.kirilov.timer.presenter;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Real time: a small, fixed pool of daemon ticker threads and {@link System#nanoTime()}
+ *
+ * @since 10/17/2026
+ */
+class ThreadPoolTickScheduler implements TickScheduler {
+
+    private final ScheduledThreadPoolExecutor executor;
+
+    ThreadPoolTickScheduler(int tickerThreads) {
+        if (tickerThreads <= 0) {
+            throw new IllegalArgumentException("At least one ticker thread expected: " + tickerThreads);
+        }
+        executor = new ScheduledThreadPoolExecutor(tickerThreads, new TickerThreadFactory());
+        executor.setRemoveOnCancelPolicy(true);
+    }
+
+    @Override
+    public long nanoTime() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable task, long delayNanos) {
+        return executor.schedule(task, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static final class TickerThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "money-timer-ticker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
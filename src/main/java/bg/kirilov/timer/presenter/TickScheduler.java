@@ -0,0 +1,28 @@
+package bg.kirilov.timer.presenter;
+
+import bg.kirilov.timer.util.TimeSource;
+
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Where a {@link TickingEngine} schedules the ticks and the alerts of its sessions, and the clock they are due by.<br>
+ * The sessions of the engine measure their time with the same clock, so a scheduler with a virtual clock
+ * (see {@link VirtualTickScheduler}) runs them faster than real time.
+ *
+ * @since 10/17/2026
+ */
+public interface TickScheduler extends TimeSource {
+
+    /**
+     * Runs the task once, after the delay
+     *
+     * @param delayNanos - by {@link #nanoTime()}
+     * @return cancels the task if it has not started yet
+     */
+    ScheduledFuture<?> schedule(Runnable task, long delayNanos);
+
+    /**
+     * Drops the scheduled tasks. Nothing is run anymore.
+     */
+    void shutdown();
+}
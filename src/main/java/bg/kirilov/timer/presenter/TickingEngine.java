@@ -0,0 +1,204 @@
+package bg.kirilov.timer.presenter;
+
+import bg.kirilov.timer.metrics.TickMetrics;
+import bg.kirilov.timer.util.TimeSource;
+
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Drives any number of {@link CalculatingSession}s with a small, fixed pool of ticker threads.<br>
+ * Memory and context switching grow with the number of ticker threads, not with the number of sessions.<br>
+ * <br>
+ * Every session is owned by at most one chain of ticks at a time, each tick scheduling the next one. Replacing the
+ * chain, e.g. on {@link CalculatingSession#refresh()}, retires the old one by its token rather than by cancelling
+ * its pending tick, which may already be running. Updates of a session are never concurrent.
+ * A paused session simply drops out of the schedule and is put back when resumed.<br>
+ * <br>
+ * The ticks are scheduled on a {@link TickScheduler}, by default real time on a pool of ticker threads.
+ * An engine on a {@link VirtualTickScheduler} runs its sessions in virtual time, as fast as they can be computed -
+ * sessions created for it should measure their time with {@link #getTimeSource()}.
+ *
+ * @since 10/17/2026
+ */
+public class TickingEngine {
+
+    private final TickScheduler scheduler;
+    private final TickMetrics metrics;
+
+    /**
+     * One ticker thread per available core
+     */
+    public TickingEngine() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Records to the default metrics
+     */
+    public TickingEngine(int tickerThreads) {
+        this(tickerThreads, TickMetrics.getDefault());
+    }
+
+    /**
+     * @param metrics - receives the lateness of every tick and the duration of every update
+     */
+    public TickingEngine(int tickerThreads, TickMetrics metrics) {
+        this(new ThreadPoolTickScheduler(tickerThreads), metrics);
+    }
+
+    /**
+     * @param scheduler - runs the ticks, e.g. in virtual time
+     * @param metrics   - receives the lateness of every tick and the duration of every update
+     */
+    public TickingEngine(TickScheduler scheduler, TickMetrics metrics) {
+        this.scheduler = scheduler;
+        this.metrics = metrics;
+    }
+
+    /**
+     * @return the engine shared by the whole JVM. Its threads are daemons.
+     */
+    public static TickingEngine getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * Starts ticking the session. It is updated immediately and then once per its ticking interval.
+     *
+     * @param session - a new session
+     * @return the same session, for chaining
+     * @throws IllegalStateException if the session was already started
+     */
+    public CalculatingSession start(CalculatingSession session) {
+        session.start(this);
+        schedule(session, 0);
+        return session;
+    }
+
+    /**
+     * Continues a session that had already been running for a while, e.g. before a restart.
+     *
+     * @param session             - a new session
+     * @param initialElapsedNanos - running time to continue from
+     * @return the same session, for chaining
+     * @throws IllegalStateException if the session was already started
+     */
+    public CalculatingSession start(CalculatingSession session, long initialElapsedNanos) {
+        session.start(this, initialElapsedNanos);
+        schedule(session, 0);
+        return session;
+    }
+
+    /**
+     * @return where the ticks are recorded
+     */
+    public TickMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @return the clock the ticks are due by - the sessions of the engine should measure their time with it
+     */
+    public TimeSource getTimeSource() {
+        return scheduler;
+    }
+
+    /**
+     * Stops all ticker threads. Sessions still running will not be updated anymore.
+     */
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+
+    /**
+     * Puts the session back in the schedule, unless a tick chain already owns it.
+     */
+    void schedule(CalculatingSession session, long delayNanos) {
+        long chain = session.tickChain.get();
+        if (session.isTicking() && !isOwned(chain) && session.tickChain.compareAndSet(chain, chain + 1)) {
+            scheduleTick(session, chain + 1, delayNanos);
+        }
+    }
+
+    /**
+     * Replaces the tick chain of the session with a new one that ticks immediately.<br>
+     * The old chain ends at its next tick, also one that is already running: it no longer owns the session.
+     * Cancelling its pending tick only saves that wake-up.
+     */
+    void reschedule(CalculatingSession session) {
+        while (true) {
+            long chain = session.tickChain.get();
+            if (!isOwned(chain)) {
+                schedule(session, 0);
+                return;
+            }
+            if (session.tickChain.compareAndSet(chain, chain + 2)) {
+                cancel(session);
+                scheduleTick(session, chain + 2, 0);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Runs the alert of a session once, on a ticker thread
+     */
+    ScheduledFuture<?> scheduleAlert(Runnable alert, long delayNanos) {
+        return scheduler.schedule(alert, delayNanos);
+    }
+
+    void cancel(CalculatingSession session) {
+        ScheduledFuture<?> pendingTick = session.pendingTick;
+        if (pendingTick != null) {
+            pendingTick.cancel(false);
+        }
+    }
+
+    private void tick(CalculatingSession session, long chain) {
+        if (session.tickChain.get() != chain) {
+            //replaced by a newer chain
+            return;
+        }
+        if (session.isTicking()) {
+            metrics.getTickLateness().record(scheduler.nanoTime() - session.tickDueNanos);
+            //the work itself takes real time, also in virtual time
+            long startedAt = System.nanoTime();
+            try {
+                synchronized (session.tickLock) {
+                    //the last tick of a replaced chain may still be running
+                    if (session.tickChain.get() == chain) {
+                        session.updateState();
+                    }
+                }
+            } finally {
+                metrics.getUpdateDuration().record(System.nanoTime() - startedAt);
+                if (session.tickChain.get() == chain) {
+                    scheduleTick(session, chain, session.nextTickDelayNanos());
+                }
+            }
+            return;
+        }
+
+        //the chain ends, unless it was replaced in the meantime
+        if (session.tickChain.compareAndSet(chain, chain + 1)) {
+            //the session could have been resumed while the chain still owned it
+            schedule(session, 0);
+        }
+    }
+
+    private void scheduleTick(CalculatingSession session, long chain, long delayNanos) {
+        session.tickDueNanos = scheduler.nanoTime() + delayNanos;
+        session.pendingTick = scheduler.schedule(() -> tick(session, chain), delayNanos);
+    }
+
+    /**
+     * @return true for the odd values of the chain counter - a chain of ticks owns the session
+     */
+    private static boolean isOwned(long chain) {
+        return (chain & 1) != 0;
+    }
+
+    private static final class DefaultHolder {
+        private static final TickingEngine INSTANCE = new TickingEngine();
+    }
+}
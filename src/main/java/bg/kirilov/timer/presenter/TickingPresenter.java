@@ -1,12 +1,16 @@
 package bg.kirilov.timer.presenter;
 
-import bg.kirilov.timer.calculator.Calculator;
-import bg.kirilov.timer.calculator.MoneyPerSecondCalculator;
+import bg.kirilov.timer.calculator.VaryingHeadcountCalculator;
+import bg.kirilov.timer.metrics.SessionsMetrics;
 import bg.kirilov.timer.presenter.validator.InputValidator;
 import bg.kirilov.timer.presenter.validator.InputValidity;
 import bg.kirilov.timer.ui.MoneyReport;
 import bg.kirilov.timer.ui.TickingView;
+import bg.kirilov.timer.util.TimeConstants;
 
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
 import java.util.function.Consumer;
 
 /**
@@ -17,49 +21,162 @@ import java.util.function.Consumer;
  */
 public class TickingPresenter {
 
+    /**
+     * The id of the session in the journal - there is only one at a time
+     */
+    public static final String SESSION_ID = "main";
+
     private int numberPeople;
     private double payRate;
-    private boolean clockTicking;
-    private CalculatingThread tickerThread;
+    /**
+     * Applied to every session started or restored from now on
+     */
+    private double[] budgets = new double[0];
+    private long startedAtMillis;
+    /**
+     * Also read by monitoring threads
+     */
+    private volatile CalculatingSession session;
+    private VaryingHeadcountCalculator headcountCalculator;
     private TickingView view;
+    private final CalculatingView calculatingView;
+    private final TickingEngine engine;
+    private final SessionListener listener;
 
+    /**
+     * The view is updated directly by the ticking threads
+     *
+     * @param view - must also be a CalculatingView
+     */
     public TickingPresenter(TickingView view) {
+        this(view, (CalculatingView) view, TickingEngine.getDefault());
+    }
+
+    /**
+     * @param view            - the view of the controls
+     * @param calculatingView - updated by the ticking threads with the clock and the amount
+     * @param engine          - ticks the sessions
+     */
+    public TickingPresenter(TickingView view, CalculatingView calculatingView, TickingEngine engine) {
+        this(view, calculatingView, engine, SessionListener.NONE);
+    }
+
+    /**
+     * @param view            - the view of the controls
+     * @param calculatingView - updated by the ticking threads with the clock and the amount
+     * @param engine          - ticks the sessions
+     * @param listener        - told about every change of the session, as {@link #SESSION_ID}
+     */
+    public TickingPresenter(TickingView view, CalculatingView calculatingView, TickingEngine engine, SessionListener listener) {
         this.view = view;
+        this.calculatingView = calculatingView;
+        this.engine = engine;
+        this.listener = listener;
     }
 
+    /**
+     * Sets the amounts to alert about with {@link CalculatingView#budgetReached} - for the current session too.
+     */
+    public void setBudgets(double... budgets) {
+        this.budgets = budgets.clone();
+        if (session != null) {
+            session.setBudgets(this.budgets);
+        }
+    }
+
+    /**
+     * @return true if a session is running or paused
+     */
     public boolean isClockTicking() {
-        return clockTicking;
+        return session != null && session.isRunning();
+    }
+
+    /**
+     * @return the state of the current session - NEW if there is none
+     */
+    public SessionState getClockState() {
+        return session == null ? SessionState.NEW : session.getState();
+    }
+
+    /**
+     * @return the current session or null if the clock was not started since the last reset
+     */
+    public CalculatingSession getSession() {
+        return session;
+    }
+
+    /**
+     * @return the current session as {@link #SESSION_ID}, or nothing if the clock was not started since the last reset
+     */
+    public Map<String, CalculatingSession> getSessionsById() {
+        CalculatingSession current = session;
+        return current == null
+                ? Collections.<String, CalculatingSession>emptyMap()
+                : Collections.singletonMap(SESSION_ID, current);
+    }
+
+    /**
+     * Measures the time by the clock of the engine
+     */
+    private CalculatingSession newSession() {
+        return new CalculatingSession(calculatingView, Locale.getDefault(), headcountCalculator,
+                TimeConstants.ONE_SECOND_IN_MILLIS, Timekeeping.MONOTONIC, engine.getTimeSource());
     }
 
     private void startClock() {
-        clockTicking = true;
+        headcountCalculator = new VaryingHeadcountCalculator(numberPeople, payRate);
+        startedAtMillis = System.currentTimeMillis();
+        listener.sessionStarted(SESSION_ID, startedAtMillis, numberPeople, payRate);
+        session = engine.start(newSession());
+        session.setBudgets(budgets);
+
+        //update view
+        view.startClock();
+    }
 
-        Calculator calculator = new MoneyPerSecondCalculator(numberPeople, payRate);
-        tickerThread = new CalculatingThread((CalculatingView) view, calculator);
-        tickerThread.start();
+    /**
+     * Continues an interrupted session where it was left, e.g. after a restart.<br>
+     * Any current session is dropped.
+     */
+    public void restoreClock(SessionSnapshot snapshot) {
+        headcountCalculator = VaryingHeadcountCalculator.fromHistory(snapshot.getHeadcountHistory(), snapshot.getPayRate());
+        numberPeople = snapshot.getPeopleCount();
+        payRate = snapshot.getPayRate();
+        startedAtMillis = snapshot.getStartedAtMillis();
+        session = engine.start(newSession(), snapshot.getElapsedNanos());
+        session.setBudgets(budgets);
 
         //update view
+        view.setNumberPeople(numberPeople);
+        view.setPayRate(payRate);
         view.startClock();
+        if (snapshot.getState() == SessionState.PAUSED) {
+            session.pause();
+            view.pauseClock();
+        }
     }
 
     private void stopClock() {
-        clockTicking = false;
-        tickerThread.stopThread();
+        session.stop();
+        listener.sessionStopped(SESSION_ID, session.getElapsedNanos());
+        listener.sessionCompleted(SESSION_ID, startedAtMillis, session.getElapsedSeconds(), numberPeople, payRate,
+                session.getAmount());
 
         //updating view
         view.stopClock();
     }
 
     private void resumeClock() {
-        clockTicking = true;
-        tickerThread.resumeThread();
+        session.resume();
+        listener.sessionResumed(SESSION_ID, session.getElapsedNanos());
 
         //updating view
         view.resumeClock();
     }
 
     private void pauseClock() {
-        tickerThread.pauseThread();
+        session.pause();
+        listener.sessionPaused(SESSION_ID, session.getElapsedNanos());
         view.pauseClock();
     }
 
@@ -68,11 +185,13 @@ public class TickingPresenter {
      * Usually used after stopClock().
      */
     private void resetClock() {
-        tickerThread = null;
+        session = null;
+        headcountCalculator = null;
         numberPeople = 0;
         payRate = 0.0;
 
         //update view
+        calculatingView.clear();
         view.setNumberPeople(numberPeople);
         view.setPayRate(payRate);
         view.resetClock();
@@ -89,21 +208,68 @@ public class TickingPresenter {
         MoneyReport moneyReport = new MoneyReport();
         moneyReport.buildReport(numberPeople,
                 payRate,
-                tickerThread.getCurrentTimeFormatted(),
-                tickerThread.getFinalAmount());
+                session.getCurrentTimeFormatted(),
+                session.getFinalAmount(),
+                headcountCalculator.getHistory());
+        moneyReport.addDiagnostics(SessionsMetrics.appendCounters(new StringBuilder(), session),
+                engine.getMetrics().appendTo(new StringBuilder()));
 
         return moneyReport;
     }
 
+    /**
+     * Participants joined the session while the clock is ticking or paused.<br>
+     * The cost so far is kept - only the rate from now on changes.
+     *
+     * @param count - how many joined
+     */
+    public void participantsJoined(int count) {
+        changeHeadcount(count);
+    }
+
+    /**
+     * Participants left the session while the clock is ticking or paused.<br>
+     * The cost so far is kept - only the rate from now on changes.
+     *
+     * @param count - how many left
+     */
+    public void participantsLeft(int count) {
+        changeHeadcount(-count);
+    }
+
+    private void changeHeadcount(int difference) {
+        if (!isClockTicking()) {
+            throw new IllegalStateException("Headcount can only change in a running session");
+        }
+
+        long secondsPassed = session.getElapsedSeconds();
+        if (difference >= 0) {
+            headcountCalculator.join(secondsPassed, difference);
+        } else {
+            headcountCalculator.leave(secondsPassed, -difference);
+        }
+        numberPeople = headcountCalculator.getPeopleCount();
+        session.refresh();
+        listener.headcountChanged(SESSION_ID, secondsPassed, numberPeople);
+
+        //update view
+        view.setNumberPeople(numberPeople);
+    }
+
     /**
      * The actions that are done when the "PAUSE"/"RESUME" button is clicked.<br>
      * They depend on the current state of the clock - RUNNING/PAUSED/STOPPED.
      */
     public void pauseButtonActionPerformed() {
-        if (tickerThread.isPaused()) {
-            resumeClock();
-        } else {
-            pauseClock();
+        switch (getClockState()) {
+            case PAUSED:
+                resumeClock();
+                break;
+            case RUNNING:
+                pauseClock();
+                break;
+            default:
+                //nothing to pause or resume
         }
     }
 
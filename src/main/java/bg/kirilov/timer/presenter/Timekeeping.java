@@ -0,0 +1,31 @@
+package bg.kirilov.timer.presenter;
+
+/**
+ * How a {@link CalculatingSession} measures the time that passed.
+ *
+ * @since 10/17/2026
+ */
+public enum Timekeeping {
+
+    /**
+     * Every tick adds exactly one ticking interval to the clock.
+     * Late ticks (GC pauses, suspend, a busy host) make the clock fall behind real time.
+     */
+    FIXED_INCREMENT,
+
+    /**
+     * The clock is derived from a monotonic baseline minus the paused intervals.
+     * Late ticks are coalesced: the next tick is aligned to the next interval boundary
+     * and shows the real elapsed time, never a burst of catch-up updates.<br>
+     * With an interval below a second the clock is smooth - it shows the new second right when it starts,
+     * while the view still gets only the texts that really changed.
+     */
+    MONOTONIC,
+
+    /**
+     * Monotonic like MONOTONIC, but ticks only when a displayed text changes: the clock at the next
+     * whole second, the amount at the first second its cents change. A view that doesn't show the clock
+     * of a low-rate meeting is woken up far less than once a second. The ticking interval is not used.
+     */
+    ADAPTIVE
+}
@@ -0,0 +1,149 @@
+package bg.kirilov.timer.presenter;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A clock that moves only when told to, and runs the tasks that become due on the way.<br>
+ * No thread of its own: {@link #advanceBy(long)} and {@link #runUntil(long)} run the due tasks on the calling thread,
+ * in the order of their due time, and set the clock to the due time of each task before running it. A tick
+ * scheduled by a tick is run in the same call if it is due before the deadline - a session that ticks every second
+ * for an hour is 3600 ticks in a row, as fast as they can be computed.<br>
+ * <br>
+ * Tasks can be scheduled from any thread, but only one thread should advance the clock.
+ *
+ * @since 10/17/2026
+ */
+public class VirtualTickScheduler implements TickScheduler {
+
+    //guarded by the scheduler
+    private final PriorityQueue<VirtualTask> tasks = new PriorityQueue<>();
+    private long sequence;
+    private boolean shutdown;
+
+    private volatile long now;
+    private volatile long tasksRun;
+
+    /**
+     * The clock starts at 0
+     */
+    public VirtualTickScheduler() {
+        this(0);
+    }
+
+    public VirtualTickScheduler(long startNanos) {
+        this.now = startNanos;
+    }
+
+    @Override
+    public long nanoTime() {
+        return now;
+    }
+
+    @Override
+    public synchronized ScheduledFuture<?> schedule(Runnable task, long delayNanos) {
+        if (shutdown) {
+            throw new RejectedExecutionException("Scheduler is shut down");
+        }
+        VirtualTask scheduled = new VirtualTask(task, now + Math.max(0, delayNanos), sequence++);
+        tasks.add(scheduled);
+        return scheduled;
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        shutdown = true;
+        tasks.clear();
+    }
+
+    /**
+     * Moves the clock forward, running the tasks due until then
+     *
+     * @return the number of tasks run
+     */
+    public long advanceBy(long nanos) {
+        if (nanos < 0) {
+            throw new IllegalArgumentException("The clock cannot go back: " + nanos);
+        }
+        return runUntil(now + nanos);
+    }
+
+    /**
+     * Runs the tasks due until the deadline, then sets the clock to it. A deadline in the past runs nothing.
+     *
+     * @return the number of tasks run
+     */
+    public long runUntil(long deadlineNanos) {
+        long run = 0;
+        VirtualTask task;
+        while ((task = nextDue(deadlineNanos)) != null) {
+            now = task.dueNanos;
+            //failures are kept in the task, like in a ScheduledExecutorService
+            task.run();
+            run++;
+        }
+        if (deadlineNanos > now) {
+            now = deadlineNanos;
+        }
+        tasksRun += run;
+        return run;
+    }
+
+    /**
+     * @return the tasks scheduled and not run yet, including cancelled ones not dropped yet
+     */
+    public synchronized int getPendingCount() {
+        return tasks.size();
+    }
+
+    /**
+     * @return the tasks run since the scheduler was created
+     */
+    public long getTasksRun() {
+        return tasksRun;
+    }
+
+    private synchronized VirtualTask nextDue(long deadlineNanos) {
+        VirtualTask next;
+        while ((next = tasks.peek()) != null && next.dueNanos <= deadlineNanos) {
+            tasks.poll();
+            if (!next.isCancelled()) {
+                return next;
+            }
+        }
+        return null;
+    }
+
+    private final class VirtualTask extends FutureTask<Object> implements ScheduledFuture<Object> {
+        private final long dueNanos;
+        private final long sequence;
+
+        VirtualTask(Runnable task, long dueNanos, long sequence) {
+            super(task, null);
+            this.dueNanos = dueNanos;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueNanos - now, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Due time first, then the order of scheduling
+         */
+        @Override
+        public int compareTo(Delayed other) {
+            if (other instanceof VirtualTask) {
+                VirtualTask task = (VirtualTask) other;
+                int byDueTime = Long.compare(dueNanos, task.dueNanos);
+                return byDueTime != 0 ? byDueTime : Long.compare(sequence, task.sequence);
+            }
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+}
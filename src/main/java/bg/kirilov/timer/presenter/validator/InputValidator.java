@@ -1,28 +1,54 @@
 package bg.kirilov.timer.presenter.validator;
 
-import java.util.function.Function;
+import java.util.Locale;
 
 /**
  * Generic class for parsing raw input</br>
  * It can be used as a Builder pattern and getting the final validation result at the end.
  * If the input can be parsed it will be saved in validNumber field.<br>
- * Otherwise the flag isValid will be false and a "invalidReason" will contain message.
+ * Otherwise the flag isValid will be false and a "invalidReason" will contain message.<br>
+ * <br>
+ * A thin wrapper over {@link NumberParser} - parsing throws no exceptions and results of invalid input are shared.
  */
 //TODO search for a validation library
 public class InputValidator {
 
+    private static final InputValidity<?> EMPTY = invalid(ParseStatus.EMPTY);
+    private static final InputValidity<?> MALFORMED = invalid(ParseStatus.MALFORMED);
+    private static final InputValidity<?> OUT_OF_RANGE = invalid(ParseStatus.OUT_OF_RANGE);
+    private static final InputValidity<?> NOT_POSITIVE = new InputValidity<>(false, "Positive number expected.", null);
+
+    private final NumberParser parser;
     private InputValidity<?> inputValidity;
 
+    /**
+     * Decimal separator of the default locale - '.' is always accepted too
+     */
+    public InputValidator() {
+        this(new NumberParser());
+    }
+
+    public InputValidator(Locale locale) {
+        this(new NumberParser(locale));
+    }
+
+    /**
+     * @param parser - reused by this validator, e.g. for many rows of an import
+     */
+    public InputValidator(NumberParser parser) {
+        this.parser = parser;
+    }
+
     /**
      * Validates inputString is a valid Integer
      *
      * @param rawInput - String representation
      * @return validator for further validation of input
      */
-    public InputValidator validateInt(String rawInput) {
-        return validate(rawInput, (String input) -> {
-            return Integer.parseInt(input);
-        });
+    public InputValidator validateInt(CharSequence rawInput) {
+        ParseStatus status = rawInput == null ? ParseStatus.EMPTY : parser.parseInt(rawInput);
+        inputValidity = status == ParseStatus.OK ? new InputValidity<>(true, parser.intValue()) : invalidity(status);
+        return this;
     }
 
     /**
@@ -31,22 +57,9 @@ public class InputValidator {
      * @param rawInput - String representation
      * @return validator for further validation of input
      */
-    public InputValidator validateDouble(String rawInput) {
-        return validate(rawInput, (String input) -> {
-            return Double.parseDouble(input);
-        });
-    }
-
-    private InputValidator validate(String rawInput, Function<String, Number> parser) {
-        InputValidity inputValidity = null;
-
-        try {
-            inputValidity = new InputValidity(true, parser.apply(rawInput));
-        } catch (Exception e) {
-            inputValidity = new InputValidity(false, "Input string is not a valid number", null);
-        }
-
-        this.inputValidity = inputValidity;
+    public InputValidator validateDouble(CharSequence rawInput) {
+        ParseStatus status = rawInput == null ? ParseStatus.EMPTY : parser.parseDouble(rawInput);
+        inputValidity = status == ParseStatus.OK ? new InputValidity<>(true, parser.doubleValue()) : invalidity(status);
         return this;
     }
 
@@ -69,10 +82,10 @@ public class InputValidator {
      * @return validator for further validation of input
      */
     InputValidator validatePositiveNumber(Number n) {
-        if (n.doubleValue() <= 0) {
-            inputValidity = new InputValidity(false, "Positive number expected.", null);
-        } else {
-            inputValidity = new InputValidity(true, n);
+        if (!(n.doubleValue() > 0)) {
+            inputValidity = NOT_POSITIVE;
+        } else if (inputValidity == null || inputValidity.getValidNumber() != n) {
+            inputValidity = new InputValidity<>(true, n);
         }
         return this;
     }
@@ -85,4 +98,19 @@ public class InputValidator {
     public InputValidity getResult() {
         return inputValidity;
     }
+
+    private static InputValidity<?> invalidity(ParseStatus status) {
+        switch (status) {
+            case EMPTY:
+                return EMPTY;
+            case OUT_OF_RANGE:
+                return OUT_OF_RANGE;
+            default:
+                return MALFORMED;
+        }
+    }
+
+    private static InputValidity<?> invalid(ParseStatus status) {
+        return new InputValidity<>(false, status.getReason(), null);
+    }
 }
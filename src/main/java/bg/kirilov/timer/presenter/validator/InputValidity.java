@@ -2,12 +2,12 @@ package bg.kirilov.timer.presenter.validator;
 
 /**
  * Simple POJO.<br>
- * Result of validating a input
+ * Result of validating a input. Immutable, so results of invalid input can be shared.
  */
 public class InputValidity<T extends Number> {
-    private boolean isValid;
-    private String invalidReason;
-    private T validNumber;
+    private final boolean isValid;
+    private final String invalidReason;
+    private final T validNumber;
 
     public InputValidity(boolean isValid, String reason, T number) {
         this.isValid = isValid;
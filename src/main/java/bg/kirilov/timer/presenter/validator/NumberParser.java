@@ -0,0 +1,242 @@
+package bg.kirilov.timer.presenter.validator;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Parses numbers straight from a {@link CharSequence} without throwing and without allocating.<br>
+ * The result of the last parse is kept in the parser and the outcome is returned as a {@link ParseStatus},
+ * so a bulk import can reject any number of bad rows cheaply.<br>
+ * <br>
+ * Integers: an optional sign and decimal digits, like {@link Integer#parseInt(String)}.<br>
+ * Decimals: an optional sign, digits with at most one decimal separator and an optional exponent, e.g. "-1.5e3".
+ * Both '.' and the decimal separator of the locale are accepted. Surrounding whitespace is ignored.
+ * NaN, Infinity and hexadecimal notation are not numbers here. Rounding is the same as {@link Double#parseDouble(String)}.<br>
+ * <br>
+ * Not thread-safe - use one parser per thread.
+ *
+ * @since 10/17/2026
+ */
+public final class NumberParser {
+
+    /**
+     * Integers up to 2^53 are exact doubles
+     */
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    /**
+     * Powers of ten that are exact doubles
+     */
+    private static final double[] EXACT_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final int MAX_SIGNIFICANT_DIGITS = 18;
+    private static final int MAX_EXPONENT_DIGITS_VALUE = 100_000;
+    /**
+     * Looking up the symbols of a locale costs more than parsing
+     */
+    private static final ConcurrentMap<Locale, Character> DECIMAL_SEPARATORS = new ConcurrentHashMap<>();
+
+    private final char decimalSeparator;
+    private int intValue;
+    private double doubleValue;
+
+    /**
+     * Decimal separator of the default locale
+     */
+    public NumberParser() {
+        this(Locale.getDefault(Locale.Category.FORMAT));
+    }
+
+    public NumberParser(Locale locale) {
+        this.decimalSeparator = DECIMAL_SEPARATORS.computeIfAbsent(locale,
+                key -> DecimalFormatSymbols.getInstance(key).getDecimalSeparator());
+    }
+
+    /**
+     * @return the integer of the last successful {@link #parseInt(CharSequence)}
+     */
+    public int intValue() {
+        return intValue;
+    }
+
+    /**
+     * @return the number of the last successful {@link #parseDouble(CharSequence)}
+     */
+    public double doubleValue() {
+        return doubleValue;
+    }
+
+    public ParseStatus parseInt(CharSequence text) {
+        return parseInt(text, 0, text.length());
+    }
+
+    /**
+     * Parses the characters from start (inclusive) to end (exclusive)
+     */
+    public ParseStatus parseInt(CharSequence text, int start, int end) {
+        if (start >= end) {
+            return ParseStatus.EMPTY;
+        }
+
+        boolean negative = false;
+        int position = start;
+        char first = text.charAt(position);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            position++;
+            if (position == end) {
+                return ParseStatus.MALFORMED;
+            }
+        }
+
+        //accumulated negatively, so Integer.MIN_VALUE fits
+        int limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        int multiplicationLimit = limit / 10;
+        int result = 0;
+        boolean overflow = false;
+        for (; position < end; position++) {
+            int digit = text.charAt(position) - '0';
+            if (digit < 0 || digit > 9) {
+                return ParseStatus.MALFORMED;
+            }
+            if (overflow || result < multiplicationLimit || result * 10 < limit + digit) {
+                overflow = true;
+            } else {
+                result = result * 10 - digit;
+            }
+        }
+        if (overflow) {
+            return ParseStatus.OUT_OF_RANGE;
+        }
+
+        intValue = negative ? result : -result;
+        return ParseStatus.OK;
+    }
+
+    public ParseStatus parseDouble(CharSequence text) {
+        return parseDouble(text, 0, text.length());
+    }
+
+    /**
+     * Parses the characters from start (inclusive) to end (exclusive)
+     */
+    public ParseStatus parseDouble(CharSequence text, int start, int end) {
+        while (start < end && Character.isWhitespace(text.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+        if (start == end) {
+            return ParseStatus.EMPTY;
+        }
+
+        int position = start;
+        boolean negative = false;
+        char first = text.charAt(position);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            position++;
+        }
+
+        long mantissa = 0;
+        int significantDigits = 0;
+        int digitsCount = 0;
+        int exponent = 0;
+        boolean separatorSeen = false;
+        boolean inexact = false;
+        for (; position < end; position++) {
+            char c = text.charAt(position);
+            if (c >= '0' && c <= '9') {
+                digitsCount++;
+                if (mantissa == 0 && c == '0') {
+                    //leading zeros are not significant
+                    if (separatorSeen) {
+                        exponent--;
+                    }
+                } else if (significantDigits < MAX_SIGNIFICANT_DIGITS) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    significantDigits++;
+                    if (separatorSeen) {
+                        exponent--;
+                    }
+                } else {
+                    //more digits than a long holds - only their count matters for the fast path
+                    inexact |= c != '0';
+                    if (!separatorSeen) {
+                        exponent++;
+                    }
+                }
+            } else if ((c == '.' || c == decimalSeparator) && !separatorSeen) {
+                separatorSeen = true;
+            } else {
+                break;
+            }
+        }
+        if (digitsCount == 0) {
+            return ParseStatus.MALFORMED;
+        }
+
+        int mantissaEnd = position;
+        if (position < end) {
+            char c = text.charAt(position);
+            if (c != 'e' && c != 'E') {
+                return ParseStatus.MALFORMED;
+            }
+            position++;
+            boolean negativeExponent = false;
+            if (position < end && (text.charAt(position) == '-' || text.charAt(position) == '+')) {
+                negativeExponent = text.charAt(position) == '-';
+                position++;
+            }
+            if (position == end) {
+                return ParseStatus.MALFORMED;
+            }
+            int exponentValue = 0;
+            for (; position < end; position++) {
+                int digit = text.charAt(position) - '0';
+                if (digit < 0 || digit > 9) {
+                    return ParseStatus.MALFORMED;
+                }
+                if (exponentValue < MAX_EXPONENT_DIGITS_VALUE) {
+                    exponentValue = exponentValue * 10 + digit;
+                }
+            }
+            exponent += negativeExponent ? -exponentValue : exponentValue;
+        }
+
+        double value;
+        if (mantissa == 0) {
+            value = 0;
+        } else if (!inexact && mantissa <= MAX_EXACT_MANTISSA && exponent >= -22 && exponent <= 22) {
+            //both operands are exact, so one correctly rounded operation gives the correctly rounded result
+            value = exponent >= 0
+                    ? mantissa * EXACT_POWERS_OF_TEN[exponent]
+                    : mantissa / EXACT_POWERS_OF_TEN[-exponent];
+        } else {
+            //rare - the syntax is already checked, so this doesn't throw
+            value = Math.abs(Double.parseDouble(normalized(text, start, mantissaEnd, end)));
+        }
+        if (Double.isInfinite(value)) {
+            return ParseStatus.OUT_OF_RANGE;
+        }
+
+        doubleValue = negative ? -value : value;
+        return ParseStatus.OK;
+    }
+
+    /**
+     * @return the number in the syntax of {@link Double#parseDouble(String)}
+     */
+    private String normalized(CharSequence text, int start, int mantissaEnd, int end) {
+        StringBuilder builder = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            builder.append(i < mantissaEnd && c == decimalSeparator ? '.' : c);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,26 @@
+package bg.kirilov.timer.presenter.validator;
+
+/**
+ * Outcome of parsing a number with {@link NumberParser}
+ *
+ * @since 10/17/2026
+ */
+public enum ParseStatus {
+    OK(""),
+    EMPTY("nothing entered"),
+    MALFORMED("Input string is not a valid number"),
+    OUT_OF_RANGE("too large");
+
+    private final String reason;
+
+    ParseStatus(String reason) {
+        this.reason = reason;
+    }
+
+    /**
+     * @return why the input was rejected, empty if it was not
+     */
+    public String getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,42 @@
+package bg.kirilov.timer.replay;
+
+import bg.kirilov.timer.history.SessionHistory;
+import bg.kirilov.timer.presenter.Timekeeping;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Replays the sessions of a history in virtual time and prints the totals and the throughput - see {@link SessionReplay}.
+ * "--adaptive" replays with ADAPTIVE timekeeping instead of a tick every second.
+ *
+ * @since 10/17/2026
+ */
+public final class ReplayMain {
+
+    private ReplayMain() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        String directory = null;
+        Timekeeping timekeeping = Timekeeping.MONOTONIC;
+        for (String arg : args) {
+            if ("--adaptive".equals(arg)) {
+                timekeeping = Timekeeping.ADAPTIVE;
+            } else if (directory == null && !arg.startsWith("--")) {
+                directory = arg;
+            } else {
+                directory = null;
+                break;
+            }
+        }
+        if (directory == null) {
+            System.err.println("Usage: ReplayMain [--adaptive] HISTORY_DIR");
+            System.exit(1);
+        }
+
+        try (SessionHistory history = SessionHistory.open(Paths.get(directory))) {
+            System.out.println(new SessionReplay(timekeeping).replay(history.sessionsBetween(Long.MIN_VALUE, Long.MAX_VALUE)));
+        }
+    }
+}
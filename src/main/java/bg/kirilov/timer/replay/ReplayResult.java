@@ -0,0 +1,92 @@
+package bg.kirilov.timer.replay;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The totals of a replay and how fast it ran.
+ *
+ * @since 10/17/2026
+ */
+public class ReplayResult {
+
+    private final int sessionsCount;
+    private final long recordedCents;
+    private final long replayedCents;
+    private final int mismatchedCount;
+    private final long ticksCount;
+    private final long virtualNanos;
+    private final long wallNanos;
+
+    ReplayResult(int sessionsCount, long recordedCents, long replayedCents, int mismatchedCount, long ticksCount,
+                 long virtualNanos, long wallNanos) {
+        this.sessionsCount = sessionsCount;
+        this.recordedCents = recordedCents;
+        this.replayedCents = replayedCents;
+        this.mismatchedCount = mismatchedCount;
+        this.ticksCount = ticksCount;
+        this.virtualNanos = virtualNanos;
+        this.wallNanos = wallNanos;
+    }
+
+    public int getSessionsCount() {
+        return sessionsCount;
+    }
+
+    /**
+     * @return the recorded amounts together, in hundredths
+     */
+    public long getRecordedCents() {
+        return recordedCents;
+    }
+
+    /**
+     * @return the amounts the replayed sessions ended with together, in hundredths
+     */
+    public long getReplayedCents() {
+        return replayedCents;
+    }
+
+    /**
+     * @return sessions that ended with another amount than the recorded one
+     */
+    public int getMismatchedCount() {
+        return mismatchedCount;
+    }
+
+    public long getTicksCount() {
+        return ticksCount;
+    }
+
+    /**
+     * @return from the start of the first session to the end of the last one
+     */
+    public long getVirtualNanos() {
+        return virtualNanos;
+    }
+
+    /**
+     * @return how long the replay took
+     */
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    public double getTicksPerSecond() {
+        return wallNanos == 0 ? 0 : ticksCount * (double) TimeUnit.SECONDS.toNanos(1) / wallNanos;
+    }
+
+    /**
+     * @return how many times faster than real time the sessions ran
+     */
+    public double getSpeedup() {
+        return wallNanos == 0 ? 0 : (double) virtualNanos / wallNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "ReplayResult{sessions=" + sessionsCount + ", recorded=" + recordedCents / 100.0
+                + ", replayed=" + replayedCents / 100.0 + ", mismatched=" + mismatchedCount + ", ticks=" + ticksCount
+                + ", wallMillis=" + TimeUnit.NANOSECONDS.toMillis(wallNanos)
+                + ", ticksPerSecond=" + Math.round(getTicksPerSecond()) + ", speedup=" + Math.round(getSpeedup()) + '}';
+    }
+}
@@ -0,0 +1,166 @@
+package bg.kirilov.timer.replay;
+
+import bg.kirilov.timer.metrics.TickMetrics;
+import bg.kirilov.timer.presenter.CalculatingView;
+import bg.kirilov.timer.presenter.SessionListener;
+import bg.kirilov.timer.presenter.SessionRegistry;
+import bg.kirilov.timer.presenter.TickingEngine;
+import bg.kirilov.timer.presenter.Timekeeping;
+import bg.kirilov.timer.presenter.VirtualTickScheduler;
+import bg.kirilov.timer.report.SessionRecord;
+import bg.kirilov.timer.report.SessionRecordSource;
+import bg.kirilov.timer.util.AmountText;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs recorded sessions again through a {@link SessionRegistry} and a {@link TickingEngine} in virtual time:
+ * every session starts at the same offset from the first one as it was recorded, is ticked with the same calculator
+ * and timekeeping as a live session, and is stopped after its recorded duration. A year of sessions takes as long as
+ * computing its ticks.<br>
+ * The amounts the sessions end with are compared to the recorded ones. A session whose headcount changed is
+ * recorded only with its final headcount, so it is replayed with that one and may end with a different amount.
+ *
+ * @since 10/17/2026
+ */
+public class SessionReplay {
+
+    private static final long NANOS_IN_A_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long NANOS_IN_A_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static final CalculatingView NO_VIEW = new CalculatingView() {
+        @Override
+        public void setClock(String formattedClock) {
+        }
+
+        @Override
+        public void setAmount(String formattedAmount) {
+        }
+    };
+
+    private final Timekeeping timekeeping;
+
+    /**
+     * Ticks every second like the registry of the headless mode
+     */
+    public SessionReplay() {
+        this(Timekeeping.MONOTONIC);
+    }
+
+    /**
+     * @param timekeeping - ADAPTIVE ticks far less often, MONOTONIC every second
+     */
+    public SessionReplay(Timekeeping timekeeping) {
+        this.timekeeping = timekeeping;
+    }
+
+    /**
+     * Replays the sessions on the calling thread
+     *
+     * @param recorded - in any order
+     */
+    public ReplayResult replay(SessionRecordSource recorded) {
+        Recording recording = Recording.read(recorded);
+        int count = recording.size;
+
+        VirtualTickScheduler scheduler = new VirtualTickScheduler();
+        TickMetrics metrics = new TickMetrics();
+        long[] replayedCents = new long[count];
+        SessionListener completions = new SessionListener() {
+            @Override
+            public void sessionCompleted(String id, long startedAtMillis, long elapsedSeconds, int peopleCount,
+                                         double payRate, double amount) {
+                replayedCents[Integer.parseInt(id)] = AmountText.toCents(amount);
+            }
+        };
+        SessionRegistry registry = new SessionRegistry(new TickingEngine(scheduler, metrics), Locale.ROOT,
+                timekeeping, completions);
+
+        long firstStart = count == 0 ? 0 : recording.startedAtMillis[recording.order[0]];
+        long lastEndNanos = 0;
+        for (int i = 0; i < count; i++) {
+            int session = recording.order[i];
+            String id = String.valueOf(session);
+            long startNanos = (recording.startedAtMillis[session] - firstStart) * NANOS_IN_A_MILLI;
+            //stopped right after the tick of the last second
+            long durationNanos = recording.durationSeconds[session] * NANOS_IN_A_SECOND + 1;
+            lastEndNanos = Math.max(lastEndNanos, startNanos + durationNanos);
+            scheduler.schedule(() -> {
+                registry.start(id, recording.peopleCount[session], recording.payRate[session], NO_VIEW);
+                scheduler.schedule(() -> registry.stop(id), durationNanos);
+            }, startNanos);
+        }
+
+        long startedAt = System.nanoTime();
+        scheduler.runUntil(lastEndNanos);
+        long wallNanos = System.nanoTime() - startedAt;
+        scheduler.shutdown();
+
+        long recordedTotal = 0;
+        long replayedTotal = 0;
+        int mismatched = 0;
+        for (int session = 0; session < count; session++) {
+            recordedTotal += recording.cents[session];
+            replayedTotal += replayedCents[session];
+            if (recording.cents[session] != replayedCents[session]) {
+                mismatched++;
+            }
+        }
+        return new ReplayResult(count, recordedTotal, replayedTotal, mismatched,
+                metrics.getUpdateDuration().getCount(), lastEndNanos, wallNanos);
+    }
+
+    /**
+     * The recorded sessions in columns, and their order by start
+     */
+    private static final class Recording {
+        private int size;
+        private long[] startedAtMillis = new long[16];
+        private long[] durationSeconds = new long[16];
+        private int[] peopleCount = new int[16];
+        private double[] payRate = new double[16];
+        private long[] cents = new long[16];
+        private int[] order;
+
+        static Recording read(SessionRecordSource source) {
+            Recording recording = new Recording();
+            SessionRecord record = new SessionRecord();
+            while (source.next(record)) {
+                recording.add(record);
+            }
+            recording.sortByStart();
+            return recording;
+        }
+
+        private void add(SessionRecord record) {
+            if (size == cents.length) {
+                int capacity = size * 2;
+                startedAtMillis = Arrays.copyOf(startedAtMillis, capacity);
+                durationSeconds = Arrays.copyOf(durationSeconds, capacity);
+                peopleCount = Arrays.copyOf(peopleCount, capacity);
+                payRate = Arrays.copyOf(payRate, capacity);
+                cents = Arrays.copyOf(cents, capacity);
+            }
+            startedAtMillis[size] = record.getStartedAtMillis();
+            durationSeconds[size] = record.getElapsedSeconds();
+            peopleCount[size] = record.getPeopleCount();
+            payRate[size] = record.getPayRate();
+            cents[size] = AmountText.toCents(record.getAmount());
+            size++;
+        }
+
+        private void sortByStart() {
+            Integer[] boxed = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                boxed[i] = i;
+            }
+            Arrays.sort(boxed, (first, second) -> Long.compare(startedAtMillis[first], startedAtMillis[second]));
+            order = new int[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = boxed[i];
+            }
+        }
+    }
+}
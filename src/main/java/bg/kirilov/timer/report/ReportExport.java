@@ -0,0 +1,67 @@
+package bg.kirilov.timer.report;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Exports reports to files in the background, so a large export never holds up the EDT.
+ *
+ * @since 10/17/2026
+ */
+public final class ReportExport {
+
+    private ReportExport() {
+    }
+
+    /**
+     * Exports on a background thread shared by all exports, one export at a time.
+     *
+     * @return completes with the number of exported sessions, or with the failure
+     */
+    public static CompletableFuture<Long> exportAsync(SessionRecordSource source, ReportFormat format, Path file) {
+        return exportAsync(source, format, file, ExporterHolder.INSTANCE);
+    }
+
+    /**
+     * @param executor - runs the export. The source is only used there.
+     * @return completes with the number of exported sessions, or with the failure
+     */
+    public static CompletableFuture<Long> exportAsync(SessionRecordSource source, ReportFormat format, Path file,
+                                                      Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return export(source, format, file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Exports on the calling thread, replacing the file.
+     *
+     * @return the number of exported sessions
+     */
+    public static long export(SessionRecordSource source, ReportFormat format, Path file) throws IOException {
+        try (ReportWriter writer = new ReportWriter(FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE), format)) {
+            return writer.writeAll(source);
+        }
+    }
+
+    private static final class ExporterHolder {
+        private static final ExecutorService INSTANCE = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "money-timer-export");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+}
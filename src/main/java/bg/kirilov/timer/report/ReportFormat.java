@@ -0,0 +1,17 @@
+package bg.kirilov.timer.report;
+
+/**
+ * Formats of the exported reports
+ *
+ * @since 10/17/2026
+ */
+public enum ReportFormat {
+    /**
+     * Comma separated values with a header row, RFC 4180 quoting
+     */
+    CSV,
+    /**
+     * One JSON object per line
+     */
+    JSON_LINES
+}
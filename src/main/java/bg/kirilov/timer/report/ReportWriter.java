@@ -0,0 +1,374 @@
+package bg.kirilov.timer.report;
+
+import bg.kirilov.timer.calculator.FixedPointMoneyCalculator;
+import bg.kirilov.timer.util.AmountText;
+import bg.kirilov.timer.util.ClockText;
+import bg.kirilov.timer.util.TimeConstants;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streams session records as CSV or JSON Lines, UTF-8 encoded.<br>
+ * Every row is rendered straight into one reused buffer, which is written to the channel whenever it fills up -
+ * memory stays the same no matter how many rows are written, and a row allocates nothing.<br>
+ * <br>
+ * Columns: id, start (ISO-8601, UTC), participants, pay rate, seconds, time (HH:MM:SS), amount.
+ * The amount is rounded to cents like on the clock. Not thread-safe.
+ *
+ * @since 10/17/2026
+ */
+public class ReportWriter implements Flushable, Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte[] CSV_HEADER = ascii("id,started_at,participants,pay_rate,seconds,time,amount\n");
+    private static final byte[] JSON_ID = ascii("{\"id\":");
+    private static final byte[] JSON_STARTED_AT = ascii(",\"startedAt\":");
+    private static final byte[] JSON_PARTICIPANTS = ascii(",\"participants\":");
+    private static final byte[] JSON_PAY_RATE = ascii(",\"payRate\":");
+    private static final byte[] JSON_SECONDS = ascii(",\"seconds\":");
+    private static final byte[] JSON_TIME = ascii(",\"time\":");
+    private static final byte[] JSON_AMOUNT = ascii(",\"amount\":");
+    private static final byte[] HEX_DIGITS = ascii("0123456789abcdef");
+    private static final long MILLIS_IN_A_DAY = TimeConstants.SECONDS_IN_AN_HOUR * 24 * TimeConstants.ONE_SECOND_IN_MILLIS;
+
+    private final WritableByteChannel channel;
+    private final ReportFormat format;
+    private final ByteBuffer buffer;
+    private final ClockText time = new ClockText();
+    /**
+     * Sessions mostly share a few pay rates - the last conversion is kept
+     */
+    private double lastPayRate = Double.NaN;
+    private long lastPayRateMicros;
+    private long rowsCount;
+
+    public ReportWriter(OutputStream out, ReportFormat format) {
+        this(Channels.newChannel(out), format);
+    }
+
+    public ReportWriter(WritableByteChannel channel, ReportFormat format) {
+        this(channel, format, BUFFER_SIZE);
+    }
+
+    ReportWriter(WritableByteChannel channel, ReportFormat format, int bufferSize) {
+        this.channel = channel;
+        this.format = format;
+        this.buffer = ByteBuffer.allocate(bufferSize);
+        if (format == ReportFormat.CSV) {
+            buffer.put(CSV_HEADER);
+        }
+    }
+
+    /**
+     * Writes all records of the source.
+     *
+     * @return how many were written
+     */
+    public long writeAll(SessionRecordSource source) throws IOException {
+        SessionRecord record = new SessionRecord();
+        long written = 0;
+        while (source.next(record)) {
+            write(record);
+            written++;
+        }
+        return written;
+    }
+
+    public void write(SessionRecord record) throws IOException {
+        time.set(record.getElapsedSeconds());
+        if (format == ReportFormat.CSV) {
+            writeCsv(record);
+        } else {
+            writeJson(record);
+        }
+        rowsCount++;
+    }
+
+    /**
+     * @return rows written so far, without the header
+     */
+    public long getRowsCount() {
+        return rowsCount;
+    }
+
+    /**
+     * Writes the buffered rows to the channel
+     */
+    @Override
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Flushes and closes the channel
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void writeCsv(SessionRecord record) throws IOException {
+        putCsvText(record.getId());
+        put(',');
+        putDateTime(record.getStartedAtMillis());
+        put(',');
+        putLong(record.getPeopleCount());
+        put(',');
+        putPayRate(record.getPayRate());
+        put(',');
+        putLong(record.getElapsedSeconds());
+        put(',');
+        putText(time);
+        put(',');
+        putCents(AmountText.toCents(record.getAmount()));
+        put('\n');
+    }
+
+    private void writeJson(SessionRecord record) throws IOException {
+        put(JSON_ID);
+        putJsonText(record.getId());
+        put(JSON_STARTED_AT);
+        put('"');
+        putDateTime(record.getStartedAtMillis());
+        put('"');
+        put(JSON_PARTICIPANTS);
+        putLong(record.getPeopleCount());
+        put(JSON_PAY_RATE);
+        putPayRate(record.getPayRate());
+        put(JSON_SECONDS);
+        putLong(record.getElapsedSeconds());
+        put(JSON_TIME);
+        put('"');
+        putText(time);
+        put('"');
+        put(JSON_AMOUNT);
+        putCents(AmountText.toCents(record.getAmount()));
+        put('}');
+        put('\n');
+    }
+
+    /**
+     * Quoted only if needed, doubling the quotes inside
+     */
+    private void putCsvText(CharSequence text) throws IOException {
+        boolean quoted = false;
+        for (int i = 0; i < text.length() && !quoted; i++) {
+            char c = text.charAt(i);
+            quoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quoted) {
+            putText(text);
+            return;
+        }
+
+        put('"');
+        int i = 0;
+        while (i < text.length()) {
+            if (text.charAt(i) == '"') {
+                put('"');
+            }
+            i += putChar(text, i);
+        }
+        put('"');
+    }
+
+    private void putJsonText(CharSequence text) throws IOException {
+        put('"');
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                put('\\');
+                put(c);
+                i++;
+            } else if (c < 0x20) {
+                put('\\');
+                put('u');
+                put('0');
+                put('0');
+                put(HEX_DIGITS[c >> 4]);
+                put(HEX_DIGITS[c & 0xF]);
+                i++;
+            } else {
+                i += putChar(text, i);
+            }
+        }
+        put('"');
+    }
+
+    private void putText(CharSequence text) throws IOException {
+        int i = 0;
+        while (i < text.length()) {
+            i += putChar(text, i);
+        }
+    }
+
+    /**
+     * Encodes the character at the index - with the next one, if they are a surrogate pair - as UTF-8.
+     * A broken surrogate pair is written as '?'.
+     *
+     * @return how many chars were encoded
+     */
+    private int putChar(CharSequence text, int index) throws IOException {
+        int c = text.charAt(index);
+        int length = 1;
+        if (Character.isHighSurrogate((char) c) && index + 1 < text.length()
+                && Character.isLowSurrogate(text.charAt(index + 1))) {
+            c = Character.toCodePoint((char) c, text.charAt(index + 1));
+            length = 2;
+        } else if (Character.isSurrogate((char) c)) {
+            c = '?';
+        }
+
+        if (c < 0x80) {
+            put((byte) c);
+        } else if (c < 0x800) {
+            put((byte) (0xC0 | c >> 6));
+            put((byte) (0x80 | c & 0x3F));
+        } else if (c < 0x10000) {
+            put((byte) (0xE0 | c >> 12));
+            put((byte) (0x80 | c >> 6 & 0x3F));
+            put((byte) (0x80 | c & 0x3F));
+        } else {
+            put((byte) (0xF0 | c >> 18));
+            put((byte) (0x80 | c >> 12 & 0x3F));
+            put((byte) (0x80 | c >> 6 & 0x3F));
+            put((byte) (0x80 | c & 0x3F));
+        }
+        return length;
+    }
+
+    /**
+     * yyyy-MM-ddTHH:mm:ssZ in UTC, for years 0 to 9999
+     */
+    private void putDateTime(long epochMillis) throws IOException {
+        long days = Math.floorDiv(epochMillis, MILLIS_IN_A_DAY);
+        long secondOfDay = Math.floorMod(epochMillis, MILLIS_IN_A_DAY) / TimeConstants.ONE_SECOND_IN_MILLIS;
+
+        //days to the civil date, counting from 0000-03-01 so the leap day is the last one of a year
+        long shifted = days + 719468;
+        long era = Math.floorDiv(shifted, 146097);
+        long dayOfEra = shifted - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        long day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        long month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        putDigits(year, 4);
+        put('-');
+        putDigits(month, 2);
+        put('-');
+        putDigits(day, 2);
+        put('T');
+        putDigits(secondOfDay / TimeConstants.SECONDS_IN_AN_HOUR, 2);
+        put(':');
+        putDigits(secondOfDay / TimeConstants.SECONDS_IN_A_MINUTE % TimeConstants.MINUTES_IN_AN_HOUR, 2);
+        put(':');
+        putDigits(secondOfDay % TimeConstants.SECONDS_IN_A_MINUTE, 2);
+        put('Z');
+    }
+
+    /**
+     * At least two decimals, at most six - as exact as the calculators take it
+     */
+    private void putPayRate(double payRate) throws IOException {
+        if (Double.doubleToLongBits(payRate) != Double.doubleToLongBits(lastPayRate)) {
+            lastPayRateMicros = FixedPointMoneyCalculator.toMicros(payRate, RoundingMode.HALF_EVEN);
+            lastPayRate = payRate;
+        }
+        long micros = lastPayRateMicros;
+        if (micros < 0) {
+            put('-');
+            micros = -micros;
+        }
+        putLong(micros / FixedPointMoneyCalculator.MICROS_IN_A_UNIT);
+        put('.');
+
+        long fraction = micros % FixedPointMoneyCalculator.MICROS_IN_A_UNIT;
+        int digits = 6;
+        while (digits > 2 && fraction % 10 == 0) {
+            fraction /= 10;
+            digits--;
+        }
+        putDigits(fraction, digits);
+    }
+
+    private void putCents(long cents) throws IOException {
+        if (cents < 0) {
+            put('-');
+            cents = -cents;
+        }
+        putLong(cents / 100);
+        put('.');
+        putDigits(cents % 100, 2);
+    }
+
+    /**
+     * @param value - not Long.MIN_VALUE
+     */
+    private void putLong(long value) throws IOException {
+        if (value < 0) {
+            put('-');
+            value = -value;
+        }
+        long divisor = 1;
+        while (divisor <= value / 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            put((byte) ('0' + value / divisor % 10));
+        }
+    }
+
+    /**
+     * Exactly that many digits, with leading zeros
+     */
+    private void putDigits(long value, int digits) throws IOException {
+        long divisor = 1;
+        for (int i = 1; i < digits; i++) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            put((byte) ('0' + value / divisor % 10));
+        }
+    }
+
+    private void put(char asciiChar) throws IOException {
+        put((byte) asciiChar);
+    }
+
+    private void put(byte[] bytes) throws IOException {
+        for (byte b : bytes) {
+            put(b);
+        }
+    }
+
+    private void put(byte b) throws IOException {
+        if (!buffer.hasRemaining()) {
+            flush();
+        }
+        buffer.put(b);
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,78 @@
+package bg.kirilov.timer.report;
+
+import bg.kirilov.timer.presenter.RegisteredSession;
+
+/**
+ * One finished (or running) session as it appears in a report - the data of a {@link bg.kirilov.timer.ui.MoneyReport}
+ * plus the id and the start of the session.<br>
+ * Mutable, so a {@link SessionRecordSource} can fill the same instance for every row.
+ *
+ * @since 10/17/2026
+ */
+public class SessionRecord {
+
+    private String id;
+    private long startedAtMillis;
+    private int peopleCount;
+    private double payRate;
+    private long elapsedSeconds;
+    private double amount;
+
+    /**
+     * @return this, for chaining
+     */
+    public SessionRecord set(String id, long startedAtMillis, int peopleCount, double payRate, long elapsedSeconds,
+                             double amount) {
+        this.id = id;
+        this.startedAtMillis = startedAtMillis;
+        this.peopleCount = peopleCount;
+        this.payRate = payRate;
+        this.elapsedSeconds = elapsedSeconds;
+        this.amount = amount;
+        return this;
+    }
+
+    /**
+     * Takes the current state of a session of a registry.
+     *
+     * @return this, for chaining
+     */
+    public SessionRecord set(RegisteredSession registered) {
+        return set(registered.getId(), registered.getStartedAtMillis(), registered.getPeopleCount(),
+                registered.getPayRate(), registered.getSession().getElapsedSeconds(),
+                registered.getSession().getAmount());
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return wall clock time of the start, in epoch milliseconds
+     */
+    public long getStartedAtMillis() {
+        return startedAtMillis;
+    }
+
+    /**
+     * @return the number of participants at the end
+     */
+    public int getPeopleCount() {
+        return peopleCount;
+    }
+
+    /**
+     * @return pay rate per hour of a participant
+     */
+    public double getPayRate() {
+        return payRate;
+    }
+
+    public long getElapsedSeconds() {
+        return elapsedSeconds;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+}
@@ -0,0 +1,34 @@
+package bg.kirilov.timer.report;
+
+import bg.kirilov.timer.presenter.RegisteredSession;
+
+import java.util.Iterator;
+
+/**
+ * Cursor over the sessions of a report. Fills one reused record per row, so going through
+ * any number of sessions allocates nothing per session.
+ *
+ * @since 10/17/2026
+ */
+public interface SessionRecordSource {
+
+    /**
+     * @param record - receives the next session
+     * @return false if there are no more sessions - the record is left unchanged then
+     */
+    boolean next(SessionRecord record);
+
+    /**
+     * @return the current state of the sessions, in the order of the iterable
+     */
+    static SessionRecordSource of(Iterable<RegisteredSession> sessions) {
+        Iterator<RegisteredSession> iterator = sessions.iterator();
+        return record -> {
+            if (!iterator.hasNext()) {
+                return false;
+            }
+            record.set(iterator.next());
+            return true;
+        };
+    }
+}
@@ -0,0 +1,255 @@
+package bg.kirilov.timer.ui;
+
+import bg.kirilov.timer.presenter.CalculatingView;
+import bg.kirilov.timer.presenter.RegisteredSession;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The sessions of a {@link SessionDashboard}, one row each.<br>
+ * Every row is the {@link CalculatingView} of its session: a tick only stores the new text in the row and sets
+ * the dirty bit of the row - no event is posted to the EDT. Once a frame the EDT calls {@link #flushFrame(int, int)},
+ * which clears the bits and tells the table only about the visible rows that changed, one event per contiguous run
+ * of rows. Rows that are not visible are painted with their latest texts when they are scrolled to.<br>
+ * Rows are added and removed on the EDT only; the ticking threads never wait for the EDT or for each other.
+ *
+ * @since 10/17/2026
+ */
+public class DashboardTableModel extends AbstractTableModel {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int SESSION_COLUMN = 0;
+    public static final int PEOPLE_COLUMN = 1;
+    public static final int PAY_RATE_COLUMN = 2;
+    public static final int CLOCK_COLUMN = 3;
+    public static final int AMOUNT_COLUMN = 4;
+
+    private static final String[] COLUMN_NAMES = {"Session", "People", "Pay rate", "Time", "Amount"};
+    private static final int MIN_CAPACITY = 64;
+
+    //EDT only
+    private final List<Row> rows = new ArrayList<>();
+    private final Map<String, Row> rowsById = new HashMap<>();
+
+    /**
+     * One bit per row index. Replaced by a bigger one on the EDT - a bit set in the old one is made up for
+     * by marking all rows dirty in the new one.
+     */
+    private volatile AtomicLongArray dirtyRows = new AtomicLongArray(MIN_CAPACITY / Long.SIZE);
+    private final AtomicBoolean anyDirty = new AtomicBoolean();
+
+    /**
+     * Adds a row for a session that is about to start. Called on the EDT.
+     *
+     * @return the view to start the session with, see {@link #setSession(String, RegisteredSession)}
+     * @throws IllegalArgumentException if there is already a row with that id
+     */
+    public CalculatingView addRow(String id) {
+        if (rowsById.containsKey(id)) {
+            throw new IllegalArgumentException("Session already exists: " + id);
+        }
+        Row row = new Row(this, id, rows.size());
+        rows.add(row);
+        rowsById.put(id, row);
+        if (rows.size() > dirtyRows.length() * Long.SIZE) {
+            dirtyRows = allDirty(Math.max(MIN_CAPACITY, rows.size() * 2));
+            anyDirty.set(true);
+        }
+        fireTableRowsInserted(row.index, row.index);
+        return row;
+    }
+
+    /**
+     * Shows the headcount and the pay rate of the session in its row. Called on the EDT.
+     */
+    public void setSession(String id, RegisteredSession session) {
+        Row row = rowsById.get(id);
+        if (row != null) {
+            row.session = session;
+            fireTableRowsUpdated(row.index, row.index);
+        }
+    }
+
+    /**
+     * Called on the EDT
+     *
+     * @return true if there was such a row
+     */
+    public boolean removeRow(String id) {
+        Row removed = rowsById.remove(id);
+        if (removed == null) {
+            return false;
+        }
+        rows.remove(removed.index);
+        for (int i = removed.index; i < rows.size(); i++) {
+            rows.get(i).index = i;
+        }
+        //ticks that set the bit of the old index are seen on the next frame
+        markDirty(removed.index, rows.size());
+        fireTableRowsDeleted(removed.index, removed.index);
+        return true;
+    }
+
+    /**
+     * @return the session of the row, null until it is set
+     */
+    public RegisteredSession getSession(int rowIndex) {
+        return rows.get(rowIndex).session;
+    }
+
+    /**
+     * @return the id of the session of the row
+     */
+    public String getId(int rowIndex) {
+        return rows.get(rowIndex).id;
+    }
+
+    /**
+     * Tells the table about the changed rows between the given ones, as few events as possible. Called on the EDT
+     * once a frame.
+     *
+     * @param firstVisible - index of the first row on the screen
+     * @param lastVisible  - index of the last row on the screen, inclusive
+     * @return the number of events fired
+     */
+    public int flushFrame(int firstVisible, int lastVisible) {
+        if (!anyDirty.getAndSet(false)) {
+            return 0;
+        }
+        AtomicLongArray dirty = dirtyRows;
+        int last = Math.min(lastVisible, rows.size() - 1);
+        int events = 0;
+        int runStart = -1;
+        int runEnd = -2;
+        for (int word = 0; word < dirty.length(); word++) {
+            long bits = dirty.get(word) == 0 ? 0 : dirty.getAndSet(word, 0);
+            while (bits != 0) {
+                int index = word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (index < firstVisible || index > last) {
+                    continue;
+                }
+                if (index != runEnd + 1) {
+                    if (runStart >= 0) {
+                        fireTableRowsUpdated(runStart, runEnd);
+                        events++;
+                    }
+                    runStart = index;
+                }
+                runEnd = index;
+            }
+        }
+        if (runStart >= 0) {
+            fireTableRowsUpdated(runStart, runEnd);
+            events++;
+        }
+        return events;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int columnIndex) {
+        return columnIndex == PEOPLE_COLUMN ? Integer.class : String.class;
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        Row row = rows.get(rowIndex);
+        RegisteredSession session = row.session;
+        switch (columnIndex) {
+            case SESSION_COLUMN:
+                return row.id;
+            case PEOPLE_COLUMN:
+                return session == null ? null : session.getPeopleCount();
+            case PAY_RATE_COLUMN:
+                return session == null ? null : String.valueOf(session.getPayRate());
+            case CLOCK_COLUMN:
+                return row.clock;
+            case AMOUNT_COLUMN:
+                return row.amount;
+            default:
+                throw new IndexOutOfBoundsException("No column " + columnIndex);
+        }
+    }
+
+    private void markDirty(int index) {
+        AtomicLongArray dirty = dirtyRows;
+        int word = index / Long.SIZE;
+        if (word < dirty.length()) {
+            long bit = 1L << index;
+            //most ticks find the word already changed in this frame
+            if ((dirty.get(word) & bit) == 0) {
+                dirty.getAndAccumulate(word, bit, (bits, mask) -> bits | mask);
+            }
+        }
+        if (!anyDirty.get()) {
+            anyDirty.set(true);
+        }
+    }
+
+    private void markDirty(int from, int to) {
+        for (int i = from; i < to; i++) {
+            markDirty(i);
+        }
+    }
+
+    private static AtomicLongArray allDirty(int capacity) {
+        AtomicLongArray dirty = new AtomicLongArray((capacity + Long.SIZE - 1) / Long.SIZE);
+        for (int word = 0; word < dirty.length(); word++) {
+            dirty.set(word, -1L);
+        }
+        return dirty;
+    }
+
+    /**
+     * A row and the view of its session. The texts are written by the ticking threads and read on the EDT.
+     */
+    private static final class Row implements CalculatingView {
+        private final DashboardTableModel model;
+        private final String id;
+        private volatile int index;
+        private volatile RegisteredSession session;
+        private volatile String clock = "";
+        private volatile String amount = "";
+
+        Row(DashboardTableModel model, String id, int index) {
+            this.model = model;
+            this.id = id;
+            this.index = index;
+        }
+
+        @Override
+        public void setClock(String formattedClock) {
+            clock = formattedClock;
+            //read after the text - a row moved since is marked dirty by the EDT
+            model.markDirty(index);
+        }
+
+        @Override
+        public void setAmount(String formattedAmount) {
+            amount = formattedAmount;
+            model.markDirty(index);
+        }
+    }
+}
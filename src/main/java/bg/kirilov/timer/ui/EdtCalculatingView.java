@@ -0,0 +1,100 @@
+package bg.kirilov.timer.ui;
+
+import bg.kirilov.timer.presenter.CalculatingView;
+
+import javax.swing.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bridge between a ticking thread and a Swing {@link CalculatingView}.<br>
+ * The ticking thread only publishes the latest clock and amount into lock-free slots.
+ * An {@link EdtRenderer} later hands them to the target view on the Event Dispatch Thread.
+ * Values replaced before they were rendered are dropped.
+ *
+ * @since 10/17/2026
+ */
+public class EdtCalculatingView implements CalculatingView {
+
+    private final CalculatingView target;
+    private final EdtRenderer renderer;
+
+    private final AtomicReference<String> pendingClock = new AtomicReference<>();
+    private final AtomicReference<String> pendingAmount = new AtomicReference<>();
+    private final AtomicBoolean renderRequested = new AtomicBoolean();
+    /**
+     * When the values waiting for the render were published, for the EDT delay
+     */
+    private volatile long renderRequestedNanos;
+
+    /**
+     * Uses the shared renderer
+     *
+     * @param target - a view to be updated only on the EDT
+     */
+    public EdtCalculatingView(CalculatingView target) {
+        this(target, EdtRenderer.getDefault());
+    }
+
+    public EdtCalculatingView(CalculatingView target, EdtRenderer renderer) {
+        this.target = target;
+        this.renderer = renderer;
+    }
+
+    @Override
+    public void setClock(String formattedClock) {
+        pendingClock.set(formattedClock);
+        requestRender();
+    }
+
+    @Override
+    public void setAmount(String formattedAmount) {
+        pendingAmount.set(formattedAmount);
+        requestRender();
+    }
+
+    /**
+     * Alerts are rare - each one is handed to the target on the EDT right away
+     */
+    @Override
+    public void budgetReached(double budget, long secondsPassed) {
+        SwingUtilities.invokeLater(() -> target.budgetReached(budget, secondsPassed));
+    }
+
+    /**
+     * Drops the values not rendered yet. Called on the EDT when the clock is reset.
+     */
+    @Override
+    public void clear() {
+        pendingClock.set(null);
+        pendingAmount.set(null);
+    }
+
+    long getRenderRequestedNanos() {
+        return renderRequestedNanos;
+    }
+
+    /**
+     * Hands the latest values to the target. Called on the EDT.
+     */
+    void flush() {
+        //new values from now on need a new render
+        renderRequested.set(false);
+
+        String clock = pendingClock.getAndSet(null);
+        if (clock != null) {
+            target.setClock(clock);
+        }
+        String amount = pendingAmount.getAndSet(null);
+        if (amount != null) {
+            target.setAmount(amount);
+        }
+    }
+
+    private void requestRender() {
+        if (renderRequested.compareAndSet(false, true)) {
+            renderRequestedNanos = System.nanoTime();
+            renderer.requestRender(this);
+        }
+    }
+}
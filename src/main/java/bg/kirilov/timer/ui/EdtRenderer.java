@@ -0,0 +1,101 @@
+package bg.kirilov.timer.ui;
+
+import bg.kirilov.timer.metrics.TickMetrics;
+
+import javax.swing.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Renders the latest values of any number of {@link EdtCalculatingView}s on the Event Dispatch Thread.<br>
+ * Views with new values queue themselves here. At most one drain of the queue is posted to the EDT
+ * at a time, and drains are at least one frame apart - the EDT work is bounded however short the
+ * ticking intervals are or however many panels are open.
+ *
+ * @since 10/17/2026
+ */
+public class EdtRenderer {
+
+    /**
+     * 60 frames per second
+     */
+    public static final long DEFAULT_FRAME_NANOS = TimeUnit.SECONDS.toNanos(1) / 60;
+
+    private final long frameNanos;
+    private final TickMetrics metrics;
+    private final ConcurrentLinkedQueue<EdtCalculatingView> dirtyViews = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+    //EDT only
+    private long lastDrainNanos;
+    private Timer frameTimer;
+
+    public EdtRenderer() {
+        this(DEFAULT_FRAME_NANOS);
+    }
+
+    /**
+     * Records to the default metrics
+     */
+    public EdtRenderer(long frameNanos) {
+        this(frameNanos, TickMetrics.getDefault());
+    }
+
+    /**
+     * @param metrics - receives how long the values of every view waited for the EDT
+     */
+    public EdtRenderer(long frameNanos, TickMetrics metrics) {
+        this.frameNanos = frameNanos;
+        this.metrics = metrics;
+        this.lastDrainNanos = System.nanoTime() - frameNanos;
+    }
+
+    /**
+     * @return the renderer shared by all views of the JVM
+     */
+    public static EdtRenderer getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * Queues a view with new values. Called by the view at most once until it is flushed.
+     */
+    void requestRender(EdtCalculatingView view) {
+        dirtyViews.offer(view);
+        if (drainScheduled.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::drain);
+        }
+    }
+
+    private void drain() {
+        long sinceLastDrain = System.nanoTime() - lastDrainNanos;
+        if (sinceLastDrain < frameNanos) {
+            waitForNextFrame(frameNanos - sinceLastDrain);
+            return;
+        }
+        lastDrainNanos = System.nanoTime();
+
+        //views queued from now on need a new drain
+        drainScheduled.set(false);
+        EdtCalculatingView view;
+        while ((view = dirtyViews.poll()) != null) {
+            metrics.getEdtDelay().record(System.nanoTime() - view.getRenderRequestedNanos());
+            view.flush();
+        }
+    }
+
+    private void waitForNextFrame(long remainingNanos) {
+        int delayMillis = (int) Math.max(1, TimeUnit.NANOSECONDS.toMillis(remainingNanos));
+        if (frameTimer == null) {
+            frameTimer = new Timer(delayMillis, event -> drain());
+            frameTimer.setRepeats(false);
+        }
+        frameTimer.setInitialDelay(delayMillis);
+        frameTimer.restart();
+    }
+
+    private static final class DefaultHolder {
+        private static final EdtRenderer INSTANCE = new EdtRenderer();
+    }
+}
@@ -1,7 +1,11 @@
 package bg.kirilov.timer.ui;
 
+import bg.kirilov.timer.calculator.HeadcountChange;
+import bg.kirilov.timer.util.ClockText;
+
 import javax.swing.*;
 import java.awt.*;
+import java.util.List;
 
 /**
  * Class for building and displaying a report
@@ -23,6 +27,39 @@ public class MoneyReport extends Component {
                 .append("Total cost: ").append(totalAmount);
     }
 
+    /**
+     * Also lists how the number of participants changed during the session.
+     *
+     * @param headcountHistory - the first entry is the initial headcount
+     */
+    public void buildReport(int peopleCount, double payRate, String timePassed, String totalAmount,
+                            List<HeadcountChange> headcountHistory) {
+        buildReport(peopleCount, payRate, timePassed, totalAmount);
+        if (headcountHistory.size() <= 1) {
+            return;
+        }
+
+        ClockText time = new ClockText();
+        report.append("\n--------\n")
+                .append("Participants during the session:");
+        for (HeadcountChange change : headcountHistory) {
+            time.set(change.getSecondsPassed());
+            report.append("\n").append(time).append(" - ").append(change.getPeopleCount());
+        }
+    }
+
+    /**
+     * Adds how the clock itself did - for finding out why a clock looked slow
+     *
+     * @param sessionCounters - ticks, pauses and paused time of the session
+     * @param timings         - a line per measured latency
+     */
+    public void addDiagnostics(CharSequence sessionCounters, CharSequence timings) {
+        report.append("\n--------\n")
+                .append("Diagnostics: ").append(sessionCounters).append("\n")
+                .append(timings);
+    }
+
     String getReport() {
         return report.toString();
     }
@@ -18,13 +18,16 @@ public class MoneyTimerExitHandler implements WindowListener {
 
     /**
      * Exit method to give option to cancel exit operation.<br>
-     * Can be used in WindowListeners to override default close operation.
+     * Can be used in WindowListeners to override default close operation.<br>
+     * A running session is not stopped - the journal continues it on the next start.
      */
     @Override
     public void windowClosing(WindowEvent e) {
         int result = JOptionPane.showConfirmDialog(tickingPanel,
                 "Are you sure you want to close the program?\n"
-                        + (tickingPanel.presenter.isClockTicking() ? "No report for the meeting will be generated!" : ""),
+                        + (tickingPanel.presenter.isClockTicking()
+                        ? "No report for the meeting will be generated now - the clock will continue on the next start."
+                        : ""),
                 "Exit ?", JOptionPane.YES_NO_OPTION
         );
         if (result == JOptionPane.YES_OPTION) {
@@ -0,0 +1,143 @@
+package bg.kirilov.timer.ui;
+
+import bg.kirilov.timer.presenter.CalculatingView;
+import bg.kirilov.timer.presenter.RegisteredSession;
+import bg.kirilov.timer.presenter.SessionRegistry;
+import bg.kirilov.timer.report.ReportExport;
+import bg.kirilov.timer.report.ReportFormat;
+import bg.kirilov.timer.report.SessionRecordSource;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableCellRenderer;
+import java.awt.*;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JPanel with a table of all sessions of a {@link SessionRegistry}, e.g. the meetings of every room.<br>
+ * <br>
+ * All sessions are ticked by the one engine of the registry. The ticks never post to the EDT: a Swing timer
+ * fires once a frame while the panel is shown and asks the {@link DashboardTableModel} to repaint the visible rows
+ * whose clock or amount changed since the last frame. The JTable paints only the rows on the screen, so the EDT work
+ * per frame depends on the height of the window, not on the number of sessions.<br>
+ * <br>
+ * All operations must be executed on the Event Dispatch Thread.
+ *
+ * @since 10/17/2026
+ */
+public class SessionDashboard extends JPanel {
+
+    private static final long serialVersionUID = 1L;
+
+    private final SessionRegistry registry;
+    private final DashboardTableModel model = new DashboardTableModel();
+    private final JTable table = new JTable(model);
+    private final Timer frameTimer;
+
+    /**
+     * Repaints at 60 frames per second
+     */
+    public SessionDashboard(SessionRegistry registry) {
+        this(registry, EdtRenderer.DEFAULT_FRAME_NANOS);
+    }
+
+    public SessionDashboard(SessionRegistry registry, long frameNanos) {
+        super(new BorderLayout());
+        this.registry = registry;
+
+        //no sorter - it would sort all rows again on every update event
+        table.setAutoCreateRowSorter(false);
+        table.setFillsViewportHeight(true);
+        DefaultTableCellRenderer right = new DefaultTableCellRenderer();
+        right.setHorizontalAlignment(SwingConstants.RIGHT);
+        table.getColumnModel().getColumn(DashboardTableModel.PAY_RATE_COLUMN).setCellRenderer(right);
+        table.getColumnModel().getColumn(DashboardTableModel.CLOCK_COLUMN).setCellRenderer(right);
+        table.getColumnModel().getColumn(DashboardTableModel.AMOUNT_COLUMN).setCellRenderer(right);
+        add(new JScrollPane(table), BorderLayout.CENTER);
+
+        int frameMillis = (int) Math.max(1, TimeUnit.NANOSECONDS.toMillis(frameNanos));
+        frameTimer = new Timer(frameMillis, event -> flushFrame());
+        frameTimer.setCoalesce(true);
+    }
+
+    /**
+     * Starts a session in the registry and shows it in a new row
+     *
+     * @throws IllegalArgumentException if there is already a session with that id
+     */
+    public RegisteredSession start(String id, int peopleCount, double payRate) {
+        CalculatingView row = model.addRow(id);
+        RegisteredSession started;
+        try {
+            started = registry.start(id, peopleCount, payRate, row);
+        } catch (RuntimeException e) {
+            model.removeRow(id);
+            throw e;
+        }
+        model.setSession(id, started);
+        return started;
+    }
+
+    /**
+     * Stops the session and removes its row
+     *
+     * @return the stopped session, for a report
+     * @throws IllegalArgumentException if there is no such session
+     */
+    public RegisteredSession stop(String id) {
+        RegisteredSession stopped = registry.stop(id);
+        model.removeRow(id);
+        return stopped;
+    }
+
+    /**
+     * Exports the sessions shown now to the file, on a background thread - the EDT is not held up.
+     *
+     * @return completes with the number of exported sessions, or with the failure - not on the EDT
+     */
+    public CompletableFuture<Long> export(ReportFormat format, Path file) {
+        return ReportExport.exportAsync(SessionRecordSource.of(registry.getSessions()), format, file);
+    }
+
+    /**
+     * @return the ids of the selected sessions
+     */
+    public List<String> getSelectedIds() {
+        List<String> ids = new ArrayList<>();
+        for (int row : table.getSelectedRows()) {
+            ids.add(model.getId(row));
+        }
+        return ids;
+    }
+
+    public DashboardTableModel getModel() {
+        return model;
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        frameTimer.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        frameTimer.stop();
+        super.removeNotify();
+    }
+
+    private void flushFrame() {
+        Rectangle visible = table.getVisibleRect();
+        int first = table.rowAtPoint(visible.getLocation());
+        if (first < 0) {
+            //nothing on the screen, the bits are still cleared
+            model.flushFrame(0, -1);
+            return;
+        }
+        int last = table.rowAtPoint(new Point(visible.x, visible.y + visible.height - 1));
+        model.flushFrame(first, last < 0 ? model.getRowCount() - 1 : last);
+    }
+}
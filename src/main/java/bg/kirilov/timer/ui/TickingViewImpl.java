@@ -2,9 +2,11 @@ package bg.kirilov.timer.ui;
 
 import bg.kirilov.timer.presenter.CalculatingView;
 import bg.kirilov.timer.presenter.TickingPresenter;
+import bg.kirilov.timer.util.ClockText;
 import bg.kirilov.timer.util.Formatters;
 
 import javax.swing.*;
+import java.awt.*;
 
 /**
  * JPanel that contains a clock that measures the time and calculates
@@ -16,10 +18,10 @@ import javax.swing.*;
  * reset.<br>
  * <br>
  * TickingViewImpl contains means to pauseThread the clock and display results page when
- * wanted by the user. The execution of the clock creates and starts a new thread.<br>
+ * wanted by the user. The clock is ticked by the shared TickingEngine.<br>
  * <br>
- * All operations are thread-safe since they are never meant to be executed by
- * more than one CalculatingThread-clock.
+ * All operations must be executed on the Event Dispatch Thread. Wrap the panel in an
+ * EdtCalculatingView before handing it to a ticking session.
  *
  * @author Leni Kirilov
  * @version 2014.04
@@ -61,8 +63,6 @@ public class TickingViewImpl extends javax.swing.JPanel implements CalculatingVi
         setInput(false);
     }
 
-    //TODO try to create an ENUM with the states of the panel (in the presenter of course) and try to reduce the boolean variables
-
     public void stopClock() {
         resumeClock();
         pauseButton.setEnabled(false);
@@ -102,6 +102,8 @@ public class TickingViewImpl extends javax.swing.JPanel implements CalculatingVi
     public void resetClock() {
         clockLabel.setText("00:00:00");
         amountLabel.setText("0.00");
+        amountLabel.setForeground(amountNameLabel.getForeground());
+        amountLabel.setToolTipText(null);
         setInput(true);
     }
 
@@ -119,6 +121,17 @@ public class TickingViewImpl extends javax.swing.JPanel implements CalculatingVi
         amountLabel.setText(formattedAmount);
     }
 
+    /**
+     * Turns the amount red, with the budget in its tooltip
+     */
+    @Override
+    public void budgetReached(double budget, long secondsPassed) {
+        ClockText time = new ClockText();
+        time.set(secondsPassed);
+        amountLabel.setForeground(Color.RED);
+        amountLabel.setToolTipText("Budget of " + budget + " reached at " + time);
+    }
+
     //TODO rework this generated UI layout
     @SuppressWarnings("unchecked")
     private void initComponents() {
@@ -0,0 +1,166 @@
+package bg.kirilov.timer.util;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+
+/**
+ * Reusable, mutable text of an amount with exactly 2 digits after the decimal separator.<br>
+ * Prints the same as the {@link NumberFormat} it is created from - same separators, grouping
+ * and HALF_EVEN rounding - but writes into its own buffer, so updating it on every tick allocates nothing.<br>
+ * <br>
+ * Not thread-safe. Copy it with {@link #toString()} before handing it to another thread.
+ *
+ * @since 10/17/2026
+ */
+public final class AmountText implements CharSequence {
+
+    private static final int FRACTION_DIGITS = 2;
+    private static final double SCALE = 100.0;
+    //2^27 + 1 - splits a double in two halves of 26 bits
+    private static final double SPLITTER = 134217729.0;
+    //above this the cents don't fit in a long any more
+    private static final double MAX_FAST_AMOUNT = Long.MAX_VALUE / SCALE / 2;
+
+    private final NumberFormat fallbackFormat;
+    private final char decimalSeparator;
+    private final char groupingSeparator;
+    private final char minusSign;
+    private final int groupingSize;
+
+    private final char[] buffer = new char[64];
+    private int start = buffer.length;
+    private long cents = Long.MIN_VALUE;
+    private String fallbackText;
+
+    /**
+     * Uses the separators of the given format. The format itself is only used for amounts too big for a long.
+     *
+     * @param format - number format with 2 fraction digits
+     */
+    public AmountText(NumberFormat format) {
+        this.fallbackFormat = (NumberFormat) format.clone();
+        DecimalFormatSymbols symbols = format instanceof DecimalFormat
+                ? ((DecimalFormat) format).getDecimalFormatSymbols()
+                : DecimalFormatSymbols.getInstance();
+        int size = format instanceof DecimalFormat ? ((DecimalFormat) format).getGroupingSize() : 3;
+
+        this.decimalSeparator = symbols.getDecimalSeparator();
+        this.groupingSeparator = symbols.getGroupingSeparator();
+        this.minusSign = symbols.getMinusSign();
+        this.groupingSize = format.isGroupingUsed() ? size : 0;
+        set(0.0);
+    }
+
+    /**
+     * @param amount - the amount to display
+     * @return true if the text changed
+     */
+    public boolean set(double amount) {
+        if (Double.isNaN(amount) || Double.isInfinite(amount) || Math.abs(amount) >= MAX_FAST_AMOUNT) {
+            String text = fallbackFormat.format(amount);
+            boolean changed = !text.equals(fallbackText);
+            fallbackText = text;
+            cents = Long.MIN_VALUE;
+            return changed;
+        }
+
+        long newCents = toCents(amount);
+        if (newCents == cents && fallbackText == null) {
+            return false;
+        }
+        fallbackText = null;
+        cents = newCents;
+        write(newCents);
+        return true;
+    }
+
+    /**
+     * @return the amount currently displayed, in hundredths
+     */
+    public long getCents() {
+        return cents;
+    }
+
+    /**
+     * @return the amount in hundredths, rounded like the displayed text
+     */
+    public static long toCents(double amount) {
+        double scaled = amount * SCALE;
+        double floor = Math.floor(scaled);
+        if (scaled - floor == 0.5) {
+            //a tie after scaling may not be a tie of the exact binary value - decide by the rounding error of the product
+            double error = multiplicationError(amount, scaled);
+            if (error > 0) {
+                return (long) floor + 1;
+            } else if (error < 0) {
+                return (long) floor;
+            }
+        }
+        return (long) Math.rint(scaled);
+    }
+
+    /**
+     * Dekker's exact product: amount * SCALE == product + error, exactly.
+     * SCALE is a small integer, so it needs no splitting.
+     */
+    private static double multiplicationError(double amount, double product) {
+        double split = SPLITTER * amount;
+        double high = split - (split - amount);
+        double low = amount - high;
+        return (high * SCALE - product) + low * SCALE;
+    }
+
+    private void write(long value) {
+        boolean negative = value < 0;
+        long remaining = Math.abs(value);
+
+        int position = buffer.length;
+        for (int i = 0; i < FRACTION_DIGITS; i++) {
+            buffer[--position] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+        buffer[--position] = decimalSeparator;
+
+        int digits = 0;
+        do {
+            if (groupingSize > 0 && digits > 0 && digits % groupingSize == 0) {
+                buffer[--position] = groupingSeparator;
+            }
+            buffer[--position] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+            digits++;
+        } while (remaining > 0);
+
+        if (negative) {
+            buffer[--position] = minusSign;
+        }
+        start = position;
+    }
+
+    @Override
+    public int length() {
+        return fallbackText != null ? fallbackText.length() : buffer.length - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (fallbackText != null) {
+            return fallbackText.charAt(index);
+        }
+        if (index < 0 || index >= length()) {
+            throw new IndexOutOfBoundsException("Index: " + index);
+        }
+        return buffer[start + index];
+    }
+
+    @Override
+    public CharSequence subSequence(int from, int to) {
+        return toString().substring(from, to);
+    }
+
+    @Override
+    public String toString() {
+        return fallbackText != null ? fallbackText : new String(buffer, start, length());
+    }
+}
@@ -0,0 +1,93 @@
+package bg.kirilov.timer.util;
+
+/**
+ * Reusable, mutable HH:MM:SS text of a clock.<br>
+ * Prints the same as {@link Formatters#getPeriodFormatter()} but writes into its own buffer,
+ * so updating it on every tick allocates nothing.<br>
+ * <br>
+ * Not thread-safe. Copy it with {@link #toString()} before handing it to another thread.
+ *
+ * @since 10/17/2026
+ */
+public final class ClockText implements CharSequence {
+
+    //enough for the hours of Long.MAX_VALUE seconds
+    private final char[] buffer = new char[24];
+    private int start = buffer.length;
+    private long totalSeconds = -1;
+
+    public ClockText() {
+        set(0);
+    }
+
+    /**
+     * @param totalSeconds - non-negative amount of seconds to display
+     * @return true if the text changed
+     */
+    public boolean set(long totalSeconds) {
+        if (totalSeconds == this.totalSeconds) {
+            return false;
+        }
+        if (totalSeconds < 0) {
+            throw new IllegalArgumentException("Negative time: " + totalSeconds);
+        }
+        this.totalSeconds = totalSeconds;
+
+        long hours = totalSeconds / TimeConstants.SECONDS_IN_AN_HOUR;
+        int minutes = (int) (totalSeconds / TimeConstants.SECONDS_IN_A_MINUTE % TimeConstants.MINUTES_IN_AN_HOUR);
+        int seconds = (int) (totalSeconds % TimeConstants.SECONDS_IN_A_MINUTE);
+
+        int position = buffer.length;
+        position = writeTwoDigits(seconds, position);
+        buffer[--position] = ':';
+        position = writeTwoDigits(minutes, position);
+        buffer[--position] = ':';
+        if (hours < 10) {
+            buffer[--position] = (char) ('0' + hours);
+            buffer[--position] = '0';
+        } else {
+            do {
+                buffer[--position] = (char) ('0' + hours % 10);
+                hours /= 10;
+            } while (hours > 0);
+        }
+        start = position;
+        return true;
+    }
+
+    /**
+     * @return the seconds currently displayed
+     */
+    public long getTotalSeconds() {
+        return totalSeconds;
+    }
+
+    private int writeTwoDigits(int value, int position) {
+        buffer[--position] = (char) ('0' + value % 10);
+        buffer[--position] = (char) ('0' + value / 10);
+        return position;
+    }
+
+    @Override
+    public int length() {
+        return buffer.length - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length()) {
+            throw new IndexOutOfBoundsException("Index: " + index);
+        }
+        return buffer[start + index];
+    }
+
+    @Override
+    public CharSequence subSequence(int from, int to) {
+        return toString().substring(from, to);
+    }
+
+    @Override
+    public String toString() {
+        return new String(buffer, start, length());
+    }
+}
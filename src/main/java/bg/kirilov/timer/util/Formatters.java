@@ -5,17 +5,37 @@ import org.joda.time.format.PeriodFormatterBuilder;
 
 import java.text.NumberFormat;
 import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
- * Util class for managing stateless String formatters
+ * Util class for managing String formatters.<br>
+ * Formatters are cached per locale. Period formatters are immutable and shared.
+ * Number formatters are not thread-safe, so every thread gets its own instance - lookups take no lock.
  *
  * @author Leni Kirilov
  * @since 4/13/2014
  */
 public class Formatters {
 
-    private static NumberFormat formatter;
-    private static PeriodFormatter periodFormatter;
+    private static final int FRACTION_DIGITS = 2;
+
+    private static final PeriodFormatter PERIOD_FORMATTER = new PeriodFormatterBuilder()
+            .printZeroAlways()
+            .minimumPrintedDigits(2)
+            .appendHours()
+            .appendSeparator(":")
+            .printZeroAlways()
+            .minimumPrintedDigits(2)
+            .appendMinutes()
+            .appendSeparator(":")
+            .printZeroAlways()
+            .minimumPrintedDigits(2)
+            .appendSeconds()
+            .toFormatter();
+
+    private static final ConcurrentMap<Locale, ThreadLocal<NumberFormat>> numberFormatters = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Locale, PeriodFormatter> periodFormatters = new ConcurrentHashMap<>();
 
     private Formatters() {
     }
@@ -28,32 +48,47 @@ public class Formatters {
         return getNumberFormatter(Locale.getDefault());
     }
 
+    /**
+     * Produces nice formatting of numbers with floating point for the locale.<br>
+     * 2 characters after the floating point.<br>
+     * The instance is confined to the calling thread - it must not be handed to other threads.
+     */
     public static NumberFormat getNumberFormatter(Locale locale) {
-        if (formatter == null) {
-            formatter = NumberFormat.getInstance(locale);
-            formatter.setMaximumFractionDigits(2);
-            formatter.setMinimumFractionDigits(2);
+        ThreadLocal<NumberFormat> perThread = numberFormatters.get(locale);
+        if (perThread == null) {
+            perThread = numberFormatters.computeIfAbsent(locale,
+                    key -> ThreadLocal.withInitial(() -> createNumberFormatter(key)));
         }
-        return formatter;
+        return perThread.get();
+    }
+
+    /**
+     * Formats the number with 2 characters after the floating point. Safe to call from any thread.
+     */
+    public static String formatNumber(double number, Locale locale) {
+        return getNumberFormatter(locale).format(number);
     }
 
     //Returns 00:00:00 time format
     public static PeriodFormatter getPeriodFormatter() {
-        if (periodFormatter == null) {
-            periodFormatter = new PeriodFormatterBuilder()
-                    .printZeroAlways()
-                    .minimumPrintedDigits(2)
-                    .appendHours()
-                    .appendSeparator(":")
-                    .printZeroAlways()
-                    .minimumPrintedDigits(2)
-                    .appendMinutes()
-                    .appendSeparator(":")
-                    .printZeroAlways()
-                    .minimumPrintedDigits(2)
-                    .appendSeconds()
-                    .toFormatter();
+        return PERIOD_FORMATTER;
+    }
+
+    /**
+     * Returns 00:00:00 time format for the locale. The formatter is immutable and can be shared.
+     */
+    public static PeriodFormatter getPeriodFormatter(Locale locale) {
+        PeriodFormatter formatter = periodFormatters.get(locale);
+        if (formatter == null) {
+            formatter = periodFormatters.computeIfAbsent(locale, PERIOD_FORMATTER::withLocale);
         }
-        return periodFormatter;
+        return formatter;
+    }
+
+    private static NumberFormat createNumberFormatter(Locale locale) {
+        NumberFormat formatter = NumberFormat.getInstance(locale);
+        formatter.setMaximumFractionDigits(FRACTION_DIGITS);
+        formatter.setMinimumFractionDigits(FRACTION_DIGITS);
+        return formatter;
     }
-}
\ No newline at end of file
+}
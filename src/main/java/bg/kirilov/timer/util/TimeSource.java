@@ -0,0 +1,19 @@
+package bg.kirilov.timer.util;
+
+/**
+ * Source of monotonic time. Can be replaced in tests to drive clocks by hand.
+ *
+ * @since 10/17/2026
+ */
+public interface TimeSource {
+
+    /**
+     * Uses {@link System#nanoTime()}
+     */
+    TimeSource SYSTEM = System::nanoTime;
+
+    /**
+     * @return current value of a monotonic clock, in nanoseconds. Only differences between values are meaningful.
+     */
+    long nanoTime();
+}
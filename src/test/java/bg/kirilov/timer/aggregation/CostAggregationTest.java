@@ -0,0 +1,347 @@
+package bg.kirilov.timer.aggregation;
+
+import bg.kirilov.timer.calculator.MoneyPerSecondCalculator;
+import bg.kirilov.timer.presenter.CalculatingSession;
+import bg.kirilov.timer.presenter.CalculatingView;
+import bg.kirilov.timer.presenter.TickingEngine;
+import bg.kirilov.timer.presenter.Timekeeping;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * @date 10/17/2026
+ */
+public class CostAggregationTest {
+
+    private static final long HOUR_MILLIS = TimeUnit.HOURS.toMillis(1);
+    private static final long TICK_MILLIS = 10;
+
+    private final AtomicLong now = new AtomicLong();
+    private TickingEngine engine;
+    private final List<AutoCloseable> closeables = new ArrayList<>();
+
+    @Before
+    public void init() {
+        engine = new TickingEngine(1);
+    }
+
+    @After
+    public void cleanUp() throws Exception {
+        for (AutoCloseable closeable : closeables) {
+            closeable.close();
+        }
+        engine.shutdown();
+    }
+
+    @Test
+    public void duplicatedAndReorderedUpdatesGiveTheSameTotals() {
+        List<Object[]> updates = new ArrayList<>();
+        for (int node = 0; node < 3; node++) {
+            for (int session = 0; session < 5; session++) {
+                for (long cents = 0; cents <= 1000; cents += 100) {
+                    updates.add(new Object[]{"node" + node, "s" + session, session + 1L, cents,
+                            cents == 1000 && session % 2 == 0});
+                }
+            }
+        }
+        Random random = new Random(42);
+        for (int run = 0; run < 5; run++) {
+            List<Object[]> delivered = new ArrayList<>(updates);
+            //every update may come twice, in any order
+            delivered.addAll(updates.subList(0, random.nextInt(updates.size())));
+            Collections.shuffle(delivered, random);
+            CostCounters counters = new CostCounters();
+            for (Object[] update : delivered) {
+                counters.merge((String) update[0], (String) update[1], (Long) update[2], (Long) update[3],
+                        (Boolean) update[4]);
+            }
+
+            Assert.assertEquals(15 * 1000, counters.getTotalCents());
+            Assert.assertEquals(3 * 2, counters.getActiveSessionsCount());
+            Assert.assertEquals(5 * 1000, counters.getNodeCents("node1"));
+            Assert.assertEquals(15, counters.size());
+        }
+
+        //merging is idempotent, commutative and associative
+        CostCounters first = new CostCounters();
+        first.merge("a", "x", 1, 300, false);
+        first.merge("b", "y", 1, 100, true);
+        CostCounters second = new CostCounters();
+        second.merge("a", "x", 1, 200, true);
+        second.merge("c", "z", 1, 50, false);
+        first.mergeAll(second);
+        first.mergeAll(second);
+        second.mergeAll(first);
+        Assert.assertEquals(450, first.getTotalCents());
+        Assert.assertEquals(first.getTotalCents(), second.getTotalCents());
+        Assert.assertEquals(1, first.getActiveSessionsCount());
+        Assert.assertEquals(300, second.getCents("a", "x"));
+        Assert.assertEquals(-1, second.getCents("a", "y"));
+
+        //a floor replaces the counters it covers, late updates of them change nothing
+        CostCounters folded = new CostCounters();
+        folded.merge("a", "x", 1, 300, false);
+        folded.merge("a", "y", 2, 100, false);
+        Assert.assertTrue(folded.merge("a", CostCounters.FLOOR, 1, 350, true));
+        Assert.assertFalse(folded.merge("a", "x", 1, 400, true));
+        Assert.assertFalse(folded.merge("a", CostCounters.FLOOR, 0, 0, true));
+        Assert.assertEquals(450, folded.getTotalCents());
+        Assert.assertEquals(450, folded.getNodeCents("a"));
+        Assert.assertEquals(1, folded.size());
+        Assert.assertEquals(1, folded.getActiveSessionsCount());
+        Assert.assertEquals(-1, folded.getCents("a", "x"));
+    }
+
+    @Test
+    public void messagesRoundTripAndGarbageIsIgnored() throws IOException {
+        CostCounters counters = new CostCounters();
+        for (int i = 0; i < 5000; i++) {
+            counters.merge("node-é", "session-" + i, i + 1, i, i % 3 == 0);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(CostMessages.MAX_DATAGRAM_SIZE);
+        CostCounters received = new CostCounters();
+        List<ByteBuffer> datagrams = new ArrayList<>();
+        int sent = CostMessages.encode(counters, buffer, datagram -> {
+            ByteBuffer copy = ByteBuffer.allocate(datagram.remaining());
+            copy.put(datagram.duplicate()).flip();
+            datagrams.add(copy);
+        });
+        Assert.assertTrue(sent > 1);
+        Assert.assertEquals(sent, datagrams.size());
+        for (ByteBuffer datagram : datagrams) {
+            Assert.assertTrue(CostMessages.decode(datagram.duplicate(), received) > 0);
+        }
+        Assert.assertEquals(counters.getTotalCents(), received.getTotalCents());
+        Assert.assertEquals(counters.getActiveSessionsCount(), received.getActiveSessionsCount());
+
+        //a truncated datagram is rejected as a whole
+        ByteBuffer truncated = datagrams.get(0).duplicate();
+        truncated.limit(truncated.limit() - 3);
+        CostCounters untouched = new CostCounters();
+        Assert.assertEquals(-1, CostMessages.decode(truncated, untouched));
+        Assert.assertEquals(0, untouched.size());
+        Assert.assertEquals(-1, CostMessages.decode(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5, 6, 7}), untouched));
+
+        //slices go round all counters
+        CostCounters sliced = new CostCounters();
+        for (int offset = 0; offset < 5000; offset += 1000) {
+            CostCounters slice = counters.slice(offset, 1000);
+            Assert.assertEquals(1000, slice.size());
+            sliced.mergeAll(slice);
+        }
+        Assert.assertEquals(counters.getTotalCents(), sliced.getTotalCents());
+        Assert.assertEquals(5000, sliced.size());
+    }
+
+    @Test(timeout = 20_000)
+    public void aggregatesTheNodesOfTheCompany() throws Exception {
+        CostAggregator aggregator = aggregator(0, Collections.<InetSocketAddress>emptyList());
+        List<InetSocketAddress> target = Collections.singletonList(address(aggregator.getPort()));
+
+        Map<String, CalculatingSession> first = new HashMap<>();
+        Map<String, CalculatingSession> second = new HashMap<>();
+        //36.00 and 72.00 per hour
+        first.put("standup", start(36));
+        second.put("planning", start(72));
+        second.put("retro", start(36));
+        CostPublisher firstNode = publisher("first", first, target);
+        CostPublisher secondNode = publisher("second", second, target);
+
+        advanceTo(100, first, second);
+        firstNode.publish();
+        secondNode.publish();
+        //1.00 + 2.00 + 1.00
+        awaitTrue(() -> aggregator.getCounters().getTotalCents() == 400);
+        Assert.assertEquals(3, aggregator.getCounters().getActiveSessionsCount());
+        Assert.assertEquals(100, aggregator.getCounters().getNodeCents("first"));
+
+        //a stopped session stays in the total with its final amount, the id can be used again
+        advanceTo(200, first, second);
+        second.remove("retro").stop();
+        second.put("retro", start(36));
+        firstNode.publish();
+        secondNode.publish();
+        //2.00 + 4.00 + 2.00 + 0
+        awaitTrue(() -> aggregator.getCounters().getTotalCents() == 800);
+        Assert.assertEquals(3, aggregator.getCounters().getActiveSessionsCount());
+        Assert.assertEquals(4, aggregator.getCounters().size());
+        Assert.assertEquals(0, aggregator.getMalformedCount());
+    }
+
+    @Test(timeout = 20_000)
+    public void convergesAfterPartitions() throws Exception {
+        int firstPort = freePort();
+        int secondPort = freePort();
+        Map<String, CalculatingSession> sessions = new HashMap<>();
+        sessions.put("standup", start(36));
+        //the node publishes to the first aggregator only, and before it even runs
+        CostPublisher node = publisher("node", sessions, Collections.singletonList(address(firstPort)));
+        advanceTo(100, sessions);
+        node.publish();
+
+        CostAggregator firstAggregator = aggregator(firstPort, Collections.singletonList(address(secondPort)));
+        //the changes since are sent - nothing changed, nothing is heard
+        node.publish();
+        Assert.assertEquals(0, firstAggregator.getCounters().size());
+
+        //the full state catches up
+        for (int i = 0; i < CostPublisher.FULL_STATE_EVERY; i++) {
+            node.publish();
+        }
+        awaitTrue(() -> firstAggregator.getCounters().getTotalCents() == 100);
+
+        //the second aggregator hears about the node from the first one
+        CostAggregator secondAggregator = aggregator(secondPort, Collections.singletonList(address(firstPort)));
+        secondAggregator.getCounters().merge("other", "s", 1, 500, true);
+        awaitTrue(() -> secondAggregator.getCounters().getTotalCents() == 600
+                && firstAggregator.getCounters().getTotalCents() == 600);
+        Assert.assertEquals(1, secondAggregator.getCounters().getActiveSessionsCount());
+    }
+
+    @Test(timeout = 20_000)
+    public void restartedNodeCountsOnlyWhatItAdds() throws Exception {
+        CostAggregator aggregator = aggregator(0, Collections.<InetSocketAddress>emptyList());
+        List<InetSocketAddress> target = Collections.singletonList(address(aggregator.getPort()));
+        Map<String, CalculatingSession> before = new HashMap<>();
+        before.put("standup", start(36));
+        CostPublisher beforeRestart = publisher("before", before, target);
+        advanceTo(100, before);
+        beforeRestart.publish();
+        awaitTrue(() -> aggregator.getCounters().getTotalCents() == 100);
+
+        //closing ends the sessions of the node
+        beforeRestart.close();
+        awaitTrue(() -> aggregator.getCounters().getActiveSessionsCount() == 0);
+        Assert.assertEquals(100, aggregator.getCounters().getTotalCents());
+
+        //the session goes on in the new process from its 100 seconds
+        Map<String, CalculatingSession> after = new HashMap<>();
+        after.put("standup", engine.start(new CalculatingSession(new CalculatingView() {
+            @Override
+            public void setClock(String formattedClock) {
+            }
+
+            @Override
+            public void setAmount(String formattedAmount) {
+            }
+        }, new MoneyPerSecondCalculator(1, 36), TICK_MILLIS, Timekeeping.MONOTONIC, now::get),
+                TimeUnit.SECONDS.toNanos(100)));
+        CostPublisher afterRestart = publisher("after", after, target);
+        advanceTo(150, after);
+        afterRestart.publish();
+        //1.00 before the restart and 0.50 after
+        awaitTrue(() -> aggregator.getCounters().getNodeCents("after") == 50);
+        Assert.assertEquals(150, aggregator.getCounters().getTotalCents());
+        Assert.assertEquals(1, aggregator.getCounters().getActiveSessionsCount());
+    }
+
+    @Test(timeout = 20_000)
+    public void endedCountersAreFoldedIntoTheFloor() throws Exception {
+        CostAggregator aggregator = aggregator(0, Collections.<InetSocketAddress>emptyList());
+        Map<String, CalculatingSession> sessions = new HashMap<>();
+        sessions.put("all-day", start(36));
+        advanceTo(100, sessions);
+        for (int i = 0; i < 10; i++) {
+            sessions.put("meeting-" + i, start(36));
+        }
+        CostPublisher node = publisher("node", sessions, Collections.singletonList(address(aggregator.getPort())));
+        advanceTo(200, sessions);
+        node.publish();
+        //2.00 + 10 x 1.00
+        awaitTrue(() -> aggregator.getCounters().getTotalCents() == 1200);
+        Assert.assertEquals(11, aggregator.getCounters().size());
+
+        for (int i = 0; i < 10; i++) {
+            sessions.remove("meeting-" + i).stop();
+        }
+        //the session that runs all day goes on in a new counter, then the ended ones are folded
+        for (int i = 0; i <= 2 * CostPublisher.RETIRE_AFTER_ROUNDS; i++) {
+            node.publish();
+            Assert.assertEquals(1200, node.getState().getTotalCents());
+        }
+        Assert.assertEquals(1, node.getState().size());
+        awaitTrue(() -> aggregator.getCounters().size() == 1);
+        Assert.assertEquals(1200, aggregator.getCounters().getTotalCents());
+        Assert.assertEquals(1, aggregator.getCounters().getActiveSessionsCount());
+
+        advanceTo(300, sessions);
+        node.publish();
+        awaitTrue(() -> aggregator.getCounters().getTotalCents() == 1300);
+    }
+
+    private CalculatingSession start(double payRate) {
+        return engine.start(new CalculatingSession(new CalculatingView() {
+            @Override
+            public void setClock(String formattedClock) {
+            }
+
+            @Override
+            public void setAmount(String formattedAmount) {
+            }
+        }, new MoneyPerSecondCalculator(1, payRate), TICK_MILLIS, Timekeeping.MONOTONIC, now::get));
+    }
+
+    /**
+     * The amounts are published as calculated on the ticks - waits for a tick at the new time
+     */
+    @SafeVarargs
+    private final void advanceTo(long seconds, Map<String, CalculatingSession>... nodes) throws InterruptedException {
+        now.set(TimeUnit.SECONDS.toNanos(seconds));
+        for (Map<String, CalculatingSession> sessions : nodes) {
+            for (CalculatingSession session : sessions.values()) {
+                long ticks = session.getTicksCount();
+                awaitTrue(() -> session.getTicksCount() > ticks + 1);
+            }
+        }
+    }
+
+    /**
+     * Publishes only when asked to, after the first round
+     */
+    private CostPublisher publisher(String node, Map<String, CalculatingSession> sessions,
+                                    List<InetSocketAddress> aggregators) throws IOException {
+        CostPublisher publisher = new CostPublisher(node, () -> sessions, aggregators, HOUR_MILLIS);
+        closeables.add(publisher);
+        return publisher;
+    }
+
+    private CostAggregator aggregator(int port, List<InetSocketAddress> peers) throws IOException {
+        CostAggregator aggregator = new CostAggregator(port, peers, 20);
+        closeables.add(aggregator);
+        return aggregator;
+    }
+
+    private static InetSocketAddress address(int port) {
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+    }
+
+    private static int freePort() throws IOException {
+        try (DatagramChannel channel = DatagramChannel.open()) {
+            channel.bind(address(0));
+            return ((InetSocketAddress) channel.getLocalAddress()).getPort();
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        while (!condition.getAsBoolean()) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package bg.kirilov.timer.calculator;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * @date 10/17/2026
+ */
+public class FixedPointMoneyCalculatorTest {
+
+    @Test
+    public void testPositive_simpleCalculation() {
+        FixedPointMoneyCalculator calculator = new FixedPointMoneyCalculator(1, 1.0);
+
+        Assert.assertEquals(0, calculator.calculateMicros(0L));
+        Assert.assertEquals(1_000_000, calculator.calculateMicros(3600L));
+        Assert.assertEquals(1, calculator.calculate(3600L), 0.0);
+    }
+
+    @Test
+    public void exactOverLongSessions() {
+        int people = 7_000;
+        double rate = 0.1;
+        long seconds = 3600L * 24 * 365;
+        FixedPointMoneyCalculator calculator = new FixedPointMoneyCalculator(people, rate);
+
+        long expected = new BigDecimal("0.1").multiply(BigDecimal.valueOf(people)).multiply(BigDecimal.valueOf(seconds))
+                .divide(BigDecimal.valueOf(3600)).movePointRight(6).longValueExact();
+        Assert.assertEquals(expected, calculator.calculateMicros(seconds));
+    }
+
+    @Test
+    public void roundingModes() {
+        //1 micro per hour - every second is 1/3600 of a micro
+        Assert.assertEquals(1, new FixedPointMoneyCalculator(1, RoundingMode.HALF_UP).calculateMicros(1800));
+        Assert.assertEquals(0, new FixedPointMoneyCalculator(1, RoundingMode.HALF_DOWN).calculateMicros(1800));
+        Assert.assertEquals(0, new FixedPointMoneyCalculator(1, RoundingMode.HALF_EVEN).calculateMicros(1800));
+        Assert.assertEquals(2, new FixedPointMoneyCalculator(1, RoundingMode.HALF_EVEN).calculateMicros(3600 + 1800));
+        Assert.assertEquals(1, new FixedPointMoneyCalculator(1, RoundingMode.UP).calculateMicros(1));
+        Assert.assertEquals(0, new FixedPointMoneyCalculator(1, RoundingMode.DOWN).calculateMicros(3599));
+        Assert.assertEquals(1, new FixedPointMoneyCalculator(1, RoundingMode.CEILING).calculateMicros(1));
+        Assert.assertEquals(0, new FixedPointMoneyCalculator(1, RoundingMode.FLOOR).calculateMicros(3599));
+    }
+
+    @Test
+    public void divideMatchesBigDecimal() {
+        long[] dividends = {-7201, -5400, -1800, -1, 1, 1799, 1800, 1801, 5400, 7199};
+        for (RoundingMode mode : RoundingMode.values()) {
+            if (mode == RoundingMode.UNNECESSARY) {
+                continue;
+            }
+            for (long dividend : dividends) {
+                long expected = BigDecimal.valueOf(dividend).divide(BigDecimal.valueOf(3600), 0, mode).longValueExact();
+                Assert.assertEquals(mode + " " + dividend, expected, FixedPointMoneyCalculator.divide(dividend, 3600, mode));
+            }
+        }
+    }
+
+    @Test
+    public void halfEvenLooksAtWholeResult() {
+        RoundingMode mode = RoundingMode.HALF_EVEN;
+        for (long seconds = 0; seconds < 5 * 3600; seconds += 900) {
+            long expected = BigDecimal.valueOf(seconds).divide(BigDecimal.valueOf(3600), 0, mode).longValueExact();
+            Assert.assertEquals("Seconds: " + seconds, expected, new FixedPointMoneyCalculator(1, mode).calculateMicros(seconds));
+        }
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void unnecessaryRounding() {
+        new FixedPointMoneyCalculator(1, RoundingMode.UNNECESSARY).calculateMicros(1);
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void overflowIsDetected() {
+        new FixedPointMoneyCalculator(Long.MAX_VALUE / 2, RoundingMode.HALF_EVEN).calculateMicros(3L * 3600);
+    }
+}
@@ -23,4 +23,19 @@ public class MoneyPerSecondCalculatorTest {
         Assert.assertEquals(0, calculator.calculate(0L), 0.2);
         Assert.assertEquals(1, calculator.calculate(3600L), 0.2);
     }
+
+    @Test
+    public void secondsToReachInvertsCalculate() {
+        MoneyPerSecondCalculator calculator = new MoneyPerSecondCalculator(6, 25.5);
+
+        for (double amount : new double[]{0, 0.01, 1, 500, 1000, 5000, 123456.78}) {
+            long seconds = calculator.secondsToReach(amount);
+            Assert.assertTrue(calculator.calculate(seconds) >= amount);
+            if (seconds > 0) {
+                Assert.assertTrue(calculator.calculate(seconds - 1) < amount);
+            }
+        }
+        Assert.assertEquals(Calculator.NEVER, new MoneyPerSecondCalculator(0, 25.5).secondsToReach(1));
+        Assert.assertEquals(23530, calculator.secondsToReach(1000));
+    }
 }
@@ -0,0 +1,72 @@
+package bg.kirilov.timer.calculator;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @date 10/17/2026
+ */
+public class ParticipantRatesCalculatorTest {
+
+    @Test
+    public void testConstructor() {
+        new ParticipantRatesCalculator(new double[0]);
+    }
+
+    @Test
+    public void sameRatesAsMoneyPerSecond() {
+        ParticipantRatesCalculator calculator = new ParticipantRatesCalculator(new double[]{10, 10, 10});
+        MoneyPerSecondCalculator flat = new MoneyPerSecondCalculator(3, 10);
+
+        Assert.assertEquals(flat.calculate(1234L), calculator.calculate(1234L), 1e-9);
+    }
+
+    @Test
+    public void mixedRates() {
+        ParticipantRatesCalculator calculator = new ParticipantRatesCalculator(new double[]{10, 20, 30, 40, 50});
+
+        Assert.assertEquals(150, calculator.getRatePerHour(), 0);
+        Assert.assertEquals(75, calculator.calculate(1800L), 1e-9);
+    }
+
+    @Test
+    public void bands() {
+        ParticipantRatesCalculator calculator = new ParticipantRatesCalculator(new int[]{2, 0, 3}, new double[]{50, 70, 20});
+
+        Assert.assertEquals(5, calculator.getParticipantsCount());
+        Assert.assertEquals(160, calculator.getRatePerHour(), 0);
+    }
+
+    @Test
+    public void manyParticipants() {
+        double[] rates = new double[30_001];
+        double expected = 0;
+        for (int i = 0; i < rates.length; i++) {
+            rates[i] = 10 + i % 7;
+            expected += rates[i];
+        }
+
+        Assert.assertEquals(expected, new ParticipantRatesCalculator(rates).getRatePerHour(), 1e-6);
+    }
+
+    @Test
+    public void bulkCalculation() {
+        ParticipantRatesCalculator calculator = new ParticipantRatesCalculator(new double[]{12.5, 7.3, 33.1});
+        long[] seconds = new long[100_000];
+        for (int i = 0; i < seconds.length; i++) {
+            seconds[i] = i * 7L;
+        }
+        double[] amounts = new double[seconds.length];
+
+        calculator.calculate(seconds, amounts);
+
+        for (int i = 0; i < seconds.length; i++) {
+            Assert.assertEquals("Seconds " + seconds[i], calculator.calculate(seconds[i]), amounts[i], 0);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void bulkCalculation_noRoom() {
+        new ParticipantRatesCalculator(new double[]{1}).calculate(new long[2], new double[1]);
+    }
+}
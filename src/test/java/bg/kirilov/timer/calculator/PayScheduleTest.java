@@ -0,0 +1,177 @@
+package bg.kirilov.timer.calculator;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.EnumSet;
+import java.util.Random;
+
+/**
+ * @date 10/17/2026
+ */
+public class PayScheduleTest {
+
+    private static final long HOUR = 3600;
+    //a Friday
+    private static final Instant FRIDAY_EVENING = LocalDateTime.of(2026, 10, 16, 20, 0).toInstant(ZoneOffset.UTC);
+
+    @Test
+    public void flatScheduleIsOneLine() {
+        PiecewiseLinearCalculator calculator = new PaySchedule(7, 33.3).compile(FRIDAY_EVENING, ZoneOffset.UTC);
+        MoneyPerSecondCalculator linear = new MoneyPerSecondCalculator(7, 33.3);
+
+        Assert.assertEquals(1, calculator.getSegmentsCount());
+        for (long seconds = 0; seconds < 20_000; seconds += 37) {
+            Assert.assertEquals(linear.calculate(seconds), calculator.calculate(seconds), 1e-9);
+        }
+    }
+
+    @Test
+    public void overtimeAfterEightHours() {
+        PiecewiseLinearCalculator calculator = new PaySchedule(1, 36.0)
+                .tier(8 * HOUR, 1.5)
+                .compile(FRIDAY_EVENING, ZoneOffset.UTC);
+
+        Assert.assertEquals(2, calculator.getSegmentsCount());
+        Assert.assertEquals(36.0 * 8, calculator.calculate(8 * HOUR), 1e-9);
+        Assert.assertEquals(36.0 * 8 + 54.0 * 2, calculator.calculate(10 * HOUR), 1e-9);
+    }
+
+    @Test
+    public void weekendsRepeatEveryWeek() {
+        PiecewiseLinearCalculator calculator = new PaySchedule(1, 10.0)
+                .weekends(2)
+                .compile(FRIDAY_EVENING, ZoneOffset.UTC);
+
+        Assert.assertEquals(40, calculator.calculate(4 * HOUR), 1e-9);
+        Assert.assertEquals(40 + 40, calculator.calculate(6 * HOUR), 1e-9);
+        //48 hours of weekend and 120 hours of week days
+        Assert.assertEquals(48 * 20 + 120 * 10, calculator.calculate(7 * 24 * HOUR), 1e-9);
+        Assert.assertEquals(2 * (48 * 20 + 120 * 10), calculator.calculate(14 * 24 * HOUR), 1e-9);
+    }
+
+    @Test
+    public void multipliersAreMultiplied() {
+        PiecewiseLinearCalculator calculator = new PaySchedule(1, 10.0)
+                .tier(2 * HOUR, 1.5)
+                .weekends(2)
+                .overhead(1.2)
+                .compile(FRIDAY_EVENING, ZoneOffset.UTC);
+
+        //12 an hour until 22:00, 18 until midnight, 36 on Saturday
+        Assert.assertEquals(24, calculator.calculate(2 * HOUR), 1e-9);
+        Assert.assertEquals(24 + 36, calculator.calculate(4 * HOUR), 1e-9);
+        Assert.assertEquals(24 + 36 + 36, calculator.calculate(5 * HOUR), 1e-9);
+    }
+
+    @Test
+    public void feesAreNotMultiplied() {
+        PiecewiseLinearCalculator calculator = new PaySchedule(1, 10.0)
+                .fee(50)
+                .fee(2 * HOUR, 20)
+                .overhead(1.25)
+                .compile(FRIDAY_EVENING, ZoneOffset.UTC);
+
+        Assert.assertEquals(50, calculator.calculate(0), 1e-9);
+        Assert.assertEquals(50 + 12.5, calculator.calculate(HOUR), 1e-9);
+        Assert.assertEquals(50 + 25 - 12.5 / HOUR, calculator.calculate(2 * HOUR - 1), 1e-9);
+        Assert.assertEquals(50 + 25 + 20, calculator.calculate(2 * HOUR), 1e-9);
+    }
+
+    @Test
+    public void nightWindowAcrossDaylightSavingTime() {
+        ZoneId sofia = ZoneId.of("Europe/Sofia");
+        //the clocks go forward at 03:00 on Sunday, 29 March 2026 - the night is 7 hours long
+        Instant saturdayEvening = LocalDateTime.of(2026, 3, 28, 20, 0).atZone(sofia).toInstant();
+        PiecewiseLinearCalculator calculator = new PaySchedule(1, 3600.0)
+                .window(EnumSet.allOf(DayOfWeek.class), LocalTime.of(22, 0), LocalTime.of(6, 0), 2)
+                .compile(saturdayEvening, sofia);
+
+        Assert.assertEquals(2 * HOUR + 2 * 7 * HOUR, calculator.calculate(9 * HOUR), 1e-6);
+        Assert.assertEquals(2 * HOUR + 2 * 7 * HOUR + 3 * HOUR, calculator.calculate(12 * HOUR), 1e-6);
+    }
+
+    @Test
+    public void windowOpenAtTheStart() {
+        Instant saturdayNoon = FRIDAY_EVENING.plusSeconds(16 * HOUR);
+        PiecewiseLinearCalculator calculator = new PaySchedule(1, 10.0)
+                .weekends(3)
+                .compile(saturdayNoon, ZoneOffset.UTC);
+
+        Assert.assertEquals(30, calculator.calculate(HOUR), 1e-9);
+    }
+
+    @Test
+    public void lastRateGoesOnAfterTheHorizon() {
+        PiecewiseLinearCalculator calculator = new PaySchedule(1, 10.0)
+                .weekends(2)
+                .compile(FRIDAY_EVENING, ZoneOffset.UTC, 24 * HOUR);
+
+        Assert.assertEquals(40 + 20 * 20, calculator.calculate(24 * HOUR), 1e-9);
+        Assert.assertEquals(40 + 20 * 20 + 20 * 48, calculator.calculate(72 * HOUR), 1e-9);
+    }
+
+    @Test
+    public void tiersAndFeesApplyAfterTheHorizon() {
+        long twoYears = 2 * 365 * 24 * HOUR;
+        PiecewiseLinearCalculator withFee = new PaySchedule(1, 3600.0)
+                .fee(twoYears, 1000)
+                .compile(FRIDAY_EVENING, ZoneOffset.UTC);
+        Assert.assertEquals(twoYears + 1000, withFee.calculate(twoYears), 1e-6);
+
+        //1.00 a second, 2.00 from the 10th second
+        PiecewiseLinearCalculator withTier = new PaySchedule(1, 3600.0)
+                .tier(10, 2)
+                .weekends(3)
+                .compile(FRIDAY_EVENING, ZoneOffset.UTC, 5);
+        Assert.assertEquals(30, withTier.calculate(20), 1e-9);
+        //the weekend was not reached within the horizon
+        Assert.assertEquals(10 + 2 * (5 * 24 * HOUR - 10), withTier.calculate(5 * 24 * HOUR), 1e-6);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void horizonMustBePositive() {
+        new PaySchedule(1, 10.0).compile(FRIDAY_EVENING, ZoneOffset.UTC, 0);
+    }
+
+    @Test
+    public void sameAmountsInAnyOrder() {
+        PaySchedule schedule = new PaySchedule(3, 41.7)
+                .tier(8 * HOUR, 1.5)
+                .tier(12 * HOUR, 2)
+                .weekends(2)
+                .fee(3 * HOUR, 15);
+        PiecewiseLinearCalculator inOrder = schedule.compile(FRIDAY_EVENING, ZoneOffset.UTC);
+        PiecewiseLinearCalculator shuffled = schedule.compile(FRIDAY_EVENING, ZoneOffset.UTC);
+
+        double[] expected = new double[30 * 24];
+        for (int hour = 0; hour < expected.length; hour++) {
+            expected[hour] = inOrder.calculate(hour * HOUR);
+        }
+        Random random = new Random(7);
+        for (int i = 0; i < 10_000; i++) {
+            int hour = random.nextInt(expected.length);
+            Assert.assertEquals(expected[hour], shuffled.calculate(hour * HOUR), 0);
+        }
+    }
+
+    @Test
+    public void secondsToReachAcrossTiers() {
+        PiecewiseLinearCalculator calculator = new PaySchedule(1, 36.0)
+                .tier(8 * HOUR, 1.5)
+                .compile(FRIDAY_EVENING, ZoneOffset.UTC);
+
+        Assert.assertEquals(10 * HOUR, calculator.secondsToReach(36.0 * 8 + 54.0 * 2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeMultiplier() {
+        new PaySchedule(1, 10.0).tier(HOUR, -1);
+    }
+}
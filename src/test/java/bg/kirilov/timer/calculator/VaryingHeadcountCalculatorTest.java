@@ -0,0 +1,81 @@
+package bg.kirilov.timer.calculator;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+/**
+ * @date 10/17/2026
+ */
+public class VaryingHeadcountCalculatorTest {
+
+    @Test
+    public void sameAsFixedPointWithoutChanges() {
+        VaryingHeadcountCalculator calculator = new VaryingHeadcountCalculator(7, 33.3);
+        FixedPointMoneyCalculator fixed = new FixedPointMoneyCalculator(7, 33.3);
+
+        for (long seconds = 0; seconds < 20_000; seconds += 37) {
+            Assert.assertEquals(fixed.calculateMicros(seconds), calculator.calculateMicros(seconds));
+        }
+    }
+
+    @Test
+    public void costSoFarIsKeptOnChanges() {
+        VaryingHeadcountCalculator calculator = new VaryingHeadcountCalculator(2, 36.0);
+
+        calculator.join(1800, 2);   //2 people for half an hour = 36
+        calculator.leave(3600, 3);  //4 people for half an hour = 72
+
+        Assert.assertEquals(1, calculator.getPeopleCount());
+        Assert.assertEquals(36.0 + 72.0, calculator.calculate(3600), 0);
+        Assert.assertEquals(36.0 + 72.0 + 36.0, calculator.calculate(7200), 0);
+    }
+
+    @Test
+    public void lateTickBeforeTheLastChange() {
+        VaryingHeadcountCalculator calculator = new VaryingHeadcountCalculator(1, 3600.0);
+        calculator.join(10, 9);
+        calculator.leave(20, 5);
+
+        Assert.assertEquals(5, calculator.calculate(5), 0);
+        Assert.assertEquals(10 + 9 * 10, calculator.calculate(19), 0);
+    }
+
+    @Test
+    public void remaindersAreNotLostBetweenChanges() {
+        //1 micro per hour - each segment alone rounds to nothing
+        VaryingHeadcountCalculator calculator = new VaryingHeadcountCalculator(1, 0.000001);
+        for (int i = 1; i <= 4; i++) {
+            calculator.join(i * 900, 0);
+        }
+
+        Assert.assertEquals(1, calculator.calculateMicros(3600));
+    }
+
+    @Test
+    public void history() {
+        VaryingHeadcountCalculator calculator = new VaryingHeadcountCalculator(3, 10.0);
+        for (int i = 1; i <= 20; i++) {
+            calculator.join(i * 60, 1);
+        }
+
+        List<HeadcountChange> history = calculator.getHistory();
+        Assert.assertEquals(21, history.size());
+        Assert.assertEquals(3, history.get(0).getPeopleCount());
+        Assert.assertEquals(1200, history.get(20).getSecondsPassed());
+        Assert.assertEquals(23, history.get(20).getPeopleCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void changesMustBeInOrder() {
+        VaryingHeadcountCalculator calculator = new VaryingHeadcountCalculator(3, 10.0);
+        calculator.join(100, 1);
+        calculator.join(99, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotLeaveMoreThanPresent() {
+        new VaryingHeadcountCalculator(3, 10.0).leave(1, 4);
+    }
+}
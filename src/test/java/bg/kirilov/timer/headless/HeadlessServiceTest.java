@@ -0,0 +1,183 @@
+package bg.kirilov.timer.headless;
+
+import bg.kirilov.timer.presenter.SessionRegistry;
+import bg.kirilov.timer.presenter.TickingEngine;
+import bg.kirilov.timer.presenter.Timekeeping;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @date 10/17/2026
+ */
+public class HeadlessServiceTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private TickingEngine engine;
+    private SessionRegistry registry;
+    private HeadlessService service;
+
+    @Before
+    public void init() {
+        engine = new TickingEngine(1);
+        registry = new SessionRegistry(engine, Locale.US, Timekeeping.MONOTONIC);
+        service = new HeadlessService(registry);
+    }
+
+    @After
+    public void cleanUp() {
+        engine.shutdown();
+    }
+
+    @Test
+    public void answersEveryCommand() throws IOException {
+        String output = serve("start room1 3 10\n"
+                + "pause room1\n"
+                + "resume room1\n"
+                + "join room1 2\n"
+                + "leave room1 1\n"
+                + "list\n"
+                + "stop room1\n"
+                + "quit\n");
+
+        Assert.assertTrue(output, output.contains("OK start room1\n"));
+        Assert.assertTrue(output, output.contains("OK pause room1\n"));
+        Assert.assertTrue(output, output.contains("OK resume room1\n"));
+        Assert.assertTrue(output, output.contains("OK join room1\n"));
+        Assert.assertTrue(output, output.contains("OK leave room1\n"));
+        Assert.assertTrue(output, output.contains("S room1 RUNNING 00:00:0"));
+        Assert.assertTrue(output, output.contains("OK list 1\n"));
+        Assert.assertTrue(output, output.contains("R room1 00:00:0"));
+        Assert.assertTrue(output, output.contains(" 4 10.0\n"));
+        Assert.assertTrue(output, output.endsWith("OK stop room1\nOK quit\n"));
+        Assert.assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void writesTickRecords() throws InterruptedException {
+        StringWriter output = new StringWriter();
+        LineRecordWriter writer = new LineRecordWriter(output);
+        registry.start("a", 1, 3600, new RecordView("a", writer));
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!output.toString().contains("A a ") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            writer.flush();
+        }
+
+        Assert.assertTrue(output.toString(), output.toString().contains("C a 00:00:00\n"));
+        Assert.assertTrue(output.toString(), output.toString().contains("A a 0.00\n"));
+    }
+
+    @Test(timeout = 10_000)
+    public void stalledOutputDoesNotBlockTheTicks() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch released = new CountDownLatch(1);
+        StringWriter written = new StringWriter();
+        Writer stalled = new Writer() {
+            @Override
+            public void write(char[] buffer, int offset, int length) throws IOException {
+                writing.countDown();
+                try {
+                    released.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                written.write(buffer, offset, length);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        LineRecordWriter writer = new LineRecordWriter(stalled, 1024);
+        writer.record(RecordView.AMOUNT, "a", "1.00");
+        Thread flusher = new Thread(writer::flush);
+        flusher.start();
+        Assert.assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        //the output is stuck - recording goes on
+        for (int i = 0; i < 100_000; i++) {
+            writer.record(RecordView.AMOUNT, "s" + i % 100, String.valueOf(i));
+        }
+        writer.line("OK list 100");
+        released.countDown();
+        flusher.join();
+        writer.flush();
+
+        String output = written.toString();
+        Assert.assertTrue(output, output.startsWith("A a 1.00\n"));
+        //the latest amount of every session, and the answer after them
+        Assert.assertTrue(output, output.contains("A s99 99999\n"));
+        Assert.assertTrue(output, output.endsWith("\nOK list 100\n"));
+        Assert.assertTrue(output.length() < 1024 + 100 * 20);
+    }
+
+    @Test
+    public void exportsTheSessions() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("sessions.csv");
+
+        String output = serve("start a 3 10\nstart b 2 20\nexport csv " + file + "\nexport xml " + file + "\n");
+
+        Assert.assertTrue(output, output.contains("OK export 2\n"));
+        Assert.assertTrue(output, output.contains("ERR unknown format xml"));
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        Assert.assertEquals(3, lines.size());
+        Assert.assertTrue(lines.get(1), lines.get(1).startsWith("a,") || lines.get(1).startsWith("b,"));
+    }
+
+    @Test
+    public void rejectsInvalidCommands() throws IOException {
+        String output = serve("start a 0 10\n"
+                + "start a 1 x\n"
+                + "stop missing\n"
+                + "pause\n"
+                + "dance\n"
+                + "\n"
+                + "list\n");
+
+        String[] lines = output.split("\n");
+        Assert.assertEquals(output, 6, lines.length);
+        for (int i = 0; i < 5; i++) {
+            Assert.assertTrue(lines[i], lines[i].startsWith("ERR "));
+        }
+        Assert.assertEquals("OK list 0", lines[5]);
+    }
+
+    @Test
+    public void stopsItsSessionsWhenTheStreamEnds() throws IOException {
+        registry.start("other", 1, 1, new RecordView("other", new LineRecordWriter(new StringWriter())));
+
+        serve("start a 1 10\nstart b 1 10\n");
+
+        Assert.assertEquals(1, registry.size());
+        Assert.assertNotNull(registry.get("other"));
+    }
+
+    private String serve(String commands) throws IOException {
+        StringWriter output = new StringWriter();
+        service.serve(new StringReader(commands), output);
+        return output.toString();
+    }
+}
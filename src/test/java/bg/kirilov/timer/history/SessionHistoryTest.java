@@ -0,0 +1,230 @@
+package bg.kirilov.timer.history;
+
+import bg.kirilov.timer.presenter.CalculatingView;
+import bg.kirilov.timer.presenter.SessionRegistry;
+import bg.kirilov.timer.presenter.SessionState;
+import bg.kirilov.timer.presenter.TickingEngine;
+import bg.kirilov.timer.presenter.Timekeeping;
+import bg.kirilov.timer.report.SessionRecord;
+import bg.kirilov.timer.report.SessionRecordSource;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * @date 10/17/2026
+ */
+public class SessionHistoryTest {
+
+    private static final long DAY = 24 * 3600 * 1000L;
+    private static final long YEAR_2026 = 1767225600000L;
+    private static final int ROWS = 3 * SessionHistory.BLOCK_SIZE + 123;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path directory;
+    private SessionHistory history;
+    private long[] starts;
+    private long[] amounts;
+
+    @Before
+    public void init() throws IOException {
+        directory = folder.getRoot().toPath().resolve("history");
+        history = SessionHistory.open(directory);
+
+        //sessions of about a year, mostly in order of the start
+        Random random = new Random(15);
+        starts = new long[ROWS];
+        amounts = new long[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            starts[i] = YEAR_2026 + i * (365 * DAY / ROWS) + random.nextInt(3600_000);
+            amounts[i] = random.nextInt(1_000_000) * 10_000L;
+            history.append(starts[i], 1800, 1 + random.nextInt(20), 25.5, amounts[i] / 1_000_000.0);
+        }
+    }
+
+    @After
+    public void cleanUp() throws IOException {
+        history.close();
+    }
+
+    @Test
+    public void keepsTheSessions() throws IOException {
+        history.close();
+        history = SessionHistory.open(directory);
+
+        Assert.assertEquals(ROWS, history.size());
+        Assert.assertEquals(starts[42], history.getStartedAtMillis(42));
+        Assert.assertEquals(amounts[ROWS - 1], history.getAmountMicros(ROWS - 1));
+        Assert.assertEquals(1800, history.getDurationSeconds(7));
+        Assert.assertEquals(25_500_000, history.getPayRateMicros(7));
+    }
+
+    @Test
+    public void sumsCostPerWeek() {
+        long from = YEAR_2026 + 3 * DAY + 12345;
+        long week = 7 * DAY;
+        long[] costs = history.costPerPeriod(from, week, 40);
+
+        long[] expected = new long[40];
+        for (int i = 0; i < ROWS; i++) {
+            if (starts[i] >= from && starts[i] < from + 40 * week) {
+                expected[(int) ((starts[i] - from) / week)] += amounts[i];
+            }
+        }
+        Assert.assertArrayEquals(expected, costs);
+        Assert.assertEquals(Arrays.stream(amounts).sum(), history.totalCost(Long.MIN_VALUE / 2, Long.MAX_VALUE / 2));
+    }
+
+    @Test
+    public void sumsOverTheWholeTimeRange() {
+        long total = Arrays.stream(amounts).sum();
+        Assert.assertEquals(total, history.totalCost(Long.MIN_VALUE, Long.MAX_VALUE));
+        //periods past the largest time end there
+        Assert.assertArrayEquals(new long[]{total, 0, 0}, history.costPerPeriod(0, Long.MAX_VALUE / 2, 3));
+        Assert.assertArrayEquals(new long[]{0, total}, history.costPerPeriod(Long.MIN_VALUE, Long.MAX_VALUE, 2));
+        Assert.assertArrayEquals(new long[]{total}, history.costPerPeriod(YEAR_2026, Long.MAX_VALUE, 1));
+        Assert.assertEquals(0, history.totalCost(Long.MAX_VALUE, Long.MIN_VALUE));
+    }
+
+    @Test
+    public void anotherProcessCannotOpenTheHistory() throws IOException {
+        try {
+            SessionHistory.open(directory);
+            Assert.fail("The history is in use");
+        } catch (IOException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("used by another process"));
+        }
+        Assert.assertEquals(ROWS, history.size());
+
+        history.close();
+        history = SessionHistory.open(directory);
+        Assert.assertEquals(ROWS, history.size());
+    }
+
+    @Test
+    public void findsTheMostExpensive() {
+        int[] top = history.mostExpensive(100);
+
+        long[] sorted = amounts.clone();
+        Arrays.sort(sorted);
+        Assert.assertEquals(100, top.length);
+        for (int i = 0; i < top.length; i++) {
+            Assert.assertEquals(sorted[ROWS - 1 - i], history.getAmountMicros(top[i]));
+        }
+        Assert.assertEquals(ROWS, history.mostExpensive(ROWS + 10).length);
+        Assert.assertEquals(0, history.mostExpensive(0).length);
+    }
+
+    @Test
+    public void findsCostRange() {
+        List<Integer> rows = new ArrayList<>();
+        int matched = history.costRange(1_000_000_000L, 1_100_000_000L, rows::add);
+
+        int expected = 0;
+        for (long amount : amounts) {
+            if (amount >= 1_000_000_000L && amount <= 1_100_000_000L) {
+                expected++;
+            }
+        }
+        Assert.assertEquals(expected, matched);
+        Assert.assertEquals(expected, rows.size());
+        for (int row : rows) {
+            Assert.assertTrue(history.getAmountMicros(row) >= 1_000_000_000L);
+        }
+    }
+
+    @Test
+    public void readsSessionsForAReport() {
+        long from = starts[100];
+        long to = starts[200];
+        SessionRecordSource source = history.sessionsBetween(from, to);
+        SessionRecord record = new SessionRecord();
+
+        int count = 0;
+        while (source.next(record)) {
+            Assert.assertTrue(record.getStartedAtMillis() >= from && record.getStartedAtMillis() < to);
+            count++;
+        }
+        Assert.assertEquals(100, count);
+    }
+
+    @Test
+    public void ignoresARowThatWasNotCounted() throws IOException {
+        history.append(YEAR_2026, 60, 1, 1, 1_000_000);
+        history.close();
+        //as if the JVM died after writing the row, before counting it
+        try (FileChannel rows = FileChannel.open(directory.resolve("rows.meta"), StandardOpenOption.WRITE)) {
+            rows.write((ByteBuffer) ByteBuffer.allocate(8).putLong(0, ROWS).rewind(), 0);
+        }
+
+        history = SessionHistory.open(directory);
+        Assert.assertEquals(ROWS, history.size());
+        Assert.assertEquals(Arrays.stream(amounts).sum(), history.totalCost(Long.MIN_VALUE / 2, Long.MAX_VALUE / 2));
+        Assert.assertEquals(amounts[history.mostExpensive(1)[0]], history.getAmountMicros(history.mostExpensive(1)[0]));
+    }
+
+    @Test
+    public void recordsSessionsCompletedInARegistry() throws IOException {
+        TickingEngine engine = new TickingEngine(1);
+        try {
+            SessionRegistry registry = new SessionRegistry(engine, Locale.US, Timekeeping.MONOTONIC, history);
+            registry.start("a", 3, 10, new NoView());
+            registry.stop("a");
+        } finally {
+            engine.shutdown();
+        }
+
+        Assert.assertEquals(ROWS + 1, history.size());
+        Assert.assertEquals(3, history.getPeopleCount(ROWS));
+        Assert.assertEquals(10_000_000, history.getPayRateMicros(ROWS));
+    }
+
+    @Test
+    public void stoppingWorksWhenTheHistoryIsFull() throws IOException {
+        history.close();
+        history = SessionHistory.open(directory, ROWS);
+        TickingEngine engine = new TickingEngine(1);
+        try {
+            SessionRegistry registry = new SessionRegistry(engine, Locale.US, Timekeeping.MONOTONIC, history);
+            registry.start("a", 3, 10, new NoView());
+            Assert.assertEquals(SessionState.STOPPED, registry.stop("a").getSession().getState());
+            Assert.assertEquals(0, registry.size());
+        } finally {
+            engine.shutdown();
+        }
+
+        Assert.assertEquals(ROWS, history.size());
+        try {
+            history.append(YEAR_2026, 60, 1, 1, 1);
+            Assert.fail("The history is full");
+        } catch (IOException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("is full"));
+        }
+    }
+
+    private static class NoView implements CalculatingView {
+        @Override
+        public void setClock(String formattedClock) {
+        }
+
+        @Override
+        public void setAmount(String formattedAmount) {
+        }
+    }
+}
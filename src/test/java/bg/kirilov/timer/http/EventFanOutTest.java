@@ -0,0 +1,199 @@
+package bg.kirilov.timer.http;
+
+import bg.kirilov.timer.presenter.CalculatingView;
+import bg.kirilov.timer.presenter.SessionRegistry;
+import bg.kirilov.timer.presenter.TickingEngine;
+import bg.kirilov.timer.presenter.Timekeeping;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpContext;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpPrincipal;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @date 10/17/2026
+ */
+public class EventFanOutTest {
+
+    private TickingEngine engine;
+    private SessionRegistry registry;
+
+    @Before
+    public void init() {
+        engine = new TickingEngine(1);
+        registry = new SessionRegistry(engine, Locale.US, Timekeeping.MONOTONIC);
+        registry.start("retro", 2, 3600, new CalculatingView() {
+            @Override
+            public void setClock(String formattedClock) {
+            }
+
+            @Override
+            public void setAmount(String formattedAmount) {
+            }
+        });
+    }
+
+    @After
+    public void cleanUp() {
+        engine.shutdown();
+    }
+
+    @Test(timeout = 30_000)
+    public void stalledSubscribersTakeBoundedThreads() throws Exception {
+        int count = 50 * EventFanOut.MAX_WRITERS;
+        CountDownLatch stuck = new CountDownLatch(EventFanOut.MAX_WRITERS);
+        CountDownLatch released = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(count);
+        Set<Thread> writerThreads = ConcurrentHashMap.newKeySet();
+
+        EventFanOut fanOut = new EventFanOut(registry, 10);
+        try {
+            for (int i = 0; i < count; i++) {
+                fanOut.subscribe(new StalledExchange(new OutputStream() {
+                    private boolean first = true;
+
+                    @Override
+                    public void write(int b) {
+                        write(new byte[]{(byte) b}, 0, 1);
+                    }
+
+                    @Override
+                    public void write(byte[] bytes, int offset, int length) {
+                        writerThreads.add(Thread.currentThread());
+                        stuck.countDown();
+                        try {
+                            released.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        if (first) {
+                            first = false;
+                            written.countDown();
+                        }
+                    }
+                }));
+            }
+            Assert.assertEquals(count, fanOut.getSubscribersCount());
+
+            //every writer is stuck and nobody else gets a thread
+            stuck.await();
+            Assert.assertFalse(written.await(200, TimeUnit.MILLISECONDS));
+            Assert.assertEquals(EventFanOut.MAX_WRITERS, writerThreads.size());
+
+            released.countDown();
+            written.await();
+            Assert.assertTrue(writerThreads.toString(), writerThreads.size() <= EventFanOut.MAX_WRITERS);
+            Assert.assertEquals(count, fanOut.getSubscribersCount());
+        } finally {
+            released.countDown();
+            fanOut.close();
+        }
+        Assert.assertEquals(0, fanOut.getSubscribersCount());
+    }
+
+    /**
+     * An exchange whose client reads only what the stream lets through
+     */
+    private static final class StalledExchange extends HttpExchange {
+        private final OutputStream body;
+
+        StalledExchange(OutputStream body) {
+            this.body = body;
+        }
+
+        @Override
+        public Headers getRequestHeaders() {
+            return new Headers();
+        }
+
+        @Override
+        public Headers getResponseHeaders() {
+            return new Headers();
+        }
+
+        @Override
+        public URI getRequestURI() {
+            return URI.create("/events");
+        }
+
+        @Override
+        public String getRequestMethod() {
+            return "GET";
+        }
+
+        @Override
+        public HttpContext getHttpContext() {
+            return null;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public InputStream getRequestBody() {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+
+        @Override
+        public OutputStream getResponseBody() {
+            return body;
+        }
+
+        @Override
+        public void sendResponseHeaders(int code, long length) {
+        }
+
+        @Override
+        public InetSocketAddress getRemoteAddress() {
+            return null;
+        }
+
+        @Override
+        public int getResponseCode() {
+            return 200;
+        }
+
+        @Override
+        public InetSocketAddress getLocalAddress() {
+            return null;
+        }
+
+        @Override
+        public String getProtocol() {
+            return "HTTP/1.1";
+        }
+
+        @Override
+        public Object getAttribute(String name) {
+            return null;
+        }
+
+        @Override
+        public void setAttribute(String name, Object value) {
+        }
+
+        @Override
+        public void setStreams(InputStream input, OutputStream output) {
+        }
+
+        @Override
+        public HttpPrincipal getPrincipal() {
+            return null;
+        }
+    }
+}
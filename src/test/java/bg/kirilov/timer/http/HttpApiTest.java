@@ -0,0 +1,223 @@
+package bg.kirilov.timer.http;
+
+import bg.kirilov.timer.presenter.CalculatingView;
+import bg.kirilov.timer.presenter.SessionRegistry;
+import bg.kirilov.timer.presenter.TickingEngine;
+import bg.kirilov.timer.presenter.Timekeeping;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * @date 10/17/2026
+ */
+public class HttpApiTest {
+
+    private TickingEngine engine;
+    private SessionRegistry registry;
+    private HttpApi api;
+
+    @Before
+    public void init() throws IOException {
+        engine = new TickingEngine(1);
+        registry = new SessionRegistry(engine, Locale.US, Timekeeping.MONOTONIC);
+        api = HttpApi.start(registry, 0, 20);
+    }
+
+    @After
+    public void cleanUp() {
+        api.close();
+        engine.shutdown();
+    }
+
+    @Test
+    public void operatesSessions() throws IOException {
+        Assert.assertEquals("[]", request("GET", "/sessions", 200));
+
+        String started = request("POST", "/sessions/standup/start?people=6&rate=25.5", 201);
+        Assert.assertTrue(started, started.startsWith("{\"id\":\"standup\",\"state\":\"RUNNING\",\"participants\":6,"
+                + "\"payRate\":25.5,"));
+
+        Assert.assertTrue(request("POST", "/sessions/standup/pause", 200).contains("\"state\":\"PAUSED\""));
+        Assert.assertTrue(request("POST", "/sessions/standup/resume", 200).contains("\"state\":\"RUNNING\""));
+        Assert.assertTrue(request("GET", "/sessions", 200).startsWith("[{\"id\":\"standup\""));
+        Assert.assertTrue(request("POST", "/sessions/standup/stop", 200).contains("\"state\":\"STOPPED\""));
+        Assert.assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void answersFailures() throws IOException {
+        request("POST", "/sessions/a/start?people=1&rate=1", 201);
+
+        Assert.assertEquals("{\"error\":\"session already exists: a\"}",
+                request("POST", "/sessions/a/start?people=1&rate=1", 409));
+        Assert.assertEquals("{\"error\":\"not paused: a\"}", request("POST", "/sessions/a/resume", 409));
+        Assert.assertEquals("{\"error\":\"unknown session: b\"}", request("POST", "/sessions/b/stop", 404));
+        Assert.assertEquals("{\"error\":\"People Count is invalid because: Positive number expected.\"}",
+                request("POST", "/sessions/c/start?people=-1&rate=1", 400));
+        Assert.assertEquals("{\"error\":\"POST expected\"}", request("GET", "/sessions/a/stop", 405));
+    }
+
+    @Test
+    public void refusesForeignHostsAndOrigins() throws IOException {
+        String local = "127.0.0.1:" + api.getPort();
+        Assert.assertTrue(rawRequest("POST /sessions/a/start?people=1&rate=1", "Host: " + local)
+                .startsWith("HTTP/1.1 201"));
+        Assert.assertTrue(rawRequest("GET /sessions", "Host: localhost:" + api.getPort(),
+                "Origin: http://localhost:8080").startsWith("HTTP/1.1 200"));
+
+        //a DNS name rebound to the loopback address
+        String rebound = rawRequest("GET /sessions", "Host: attacker.example:" + api.getPort());
+        Assert.assertTrue(rebound, rebound.startsWith("HTTP/1.1 403"));
+        Assert.assertTrue(rawRequest("GET /events", "Host: attacker.example").startsWith("HTTP/1.1 403"));
+        //a page elsewhere posting to the loopback address
+        Assert.assertTrue(rawRequest("POST /sessions/a/stop", "Host: " + local, "Origin: http://attacker.example")
+                .startsWith("HTTP/1.1 403"));
+        Assert.assertTrue(rawRequest("POST /sessions/a/stop", "Host: " + local, "Origin: null")
+                .startsWith("HTTP/1.1 403"));
+        Assert.assertEquals(1, registry.size());
+    }
+
+    @Test(timeout = 10_000)
+    public void streamsEventsToAllSubscribers() throws Exception {
+        registry.start("retro", 2, 3600, new CalculatingView() {
+            @Override
+            public void setClock(String formattedClock) {
+            }
+
+            @Override
+            public void setAmount(String formattedAmount) {
+            }
+        });
+        List<BufferedReader> subscribers = new ArrayList<>();
+        List<HttpURLConnection> connections = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            HttpURLConnection connection = open("GET", "/events");
+            Assert.assertEquals(200, connection.getResponseCode());
+            Assert.assertEquals("text/event-stream; charset=utf-8", connection.getContentType());
+            connections.add(connection);
+            subscribers.add(new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8)));
+        }
+
+        for (BufferedReader subscriber : subscribers) {
+            Assert.assertEquals("event: update", subscriber.readLine());
+            Assert.assertTrue(subscriber.readLine().startsWith("data: {\"id\":\"retro\",\"state\":\"RUNNING\""));
+            Assert.assertEquals("", subscriber.readLine());
+        }
+
+        registry.stop("retro");
+        for (BufferedReader subscriber : subscribers) {
+            //updates of the last ticks may come before the stop
+            String event;
+            do {
+                event = subscriber.readLine();
+            } while (!"event: stopped".equals(event));
+            Assert.assertEquals("data: {\"id\":\"retro\"}", subscriber.readLine());
+        }
+        Assert.assertEquals(3, api.getSubscribersCount());
+
+        for (HttpURLConnection connection : connections) {
+            connection.disconnect();
+        }
+    }
+
+    @Test(timeout = 30_000)
+    public void slowSubscriberHoldsUpOnlyItself() throws Exception {
+        CalculatingView noView = new CalculatingView() {
+            @Override
+            public void setClock(String formattedClock) {
+            }
+
+            @Override
+            public void setAmount(String formattedAmount) {
+            }
+        };
+        //hundreds of kilobytes of updates every second
+        for (int i = 0; i < 3000; i++) {
+            registry.start("session-" + i, 2, 3600, noView);
+        }
+        HttpApi budgeted = HttpApi.start(registry, 0, 20, 64 * 1024);
+        try (Socket stalled = new Socket()) {
+            stalled.setReceiveBufferSize(4096);
+            stalled.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), budgeted.getPort()));
+            //subscribes and never reads
+            stalled.getOutputStream().write(("GET /events HTTP/1.1\r\nHost: 127.0.0.1:" + budgeted.getPort()
+                    + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+
+            HttpURLConnection connection = (HttpURLConnection) new URL("http://127.0.0.1:" + budgeted.getPort()
+                    + "/events").openConnection();
+            BufferedReader healthy = new BufferedReader(new InputStreamReader(connection.getInputStream(),
+                    StandardCharsets.UTF_8));
+            long started = System.currentTimeMillis();
+            long lastRead = started;
+            long longestGap = 0;
+            while (lastRead - started < 5000) {
+                Assert.assertNotNull(healthy.readLine());
+                long now = System.currentTimeMillis();
+                longestGap = Math.max(longestGap, now - lastRead);
+                lastRead = now;
+            }
+            Assert.assertTrue("Events stalled for " + longestGap + " ms", longestGap < 2000);
+
+            while (budgeted.getSubscribersCount() > 1) {
+                healthy.readLine();
+            }
+            connection.disconnect();
+        } finally {
+            budgeted.close();
+        }
+    }
+
+    /**
+     * With headers HttpURLConnection would not send
+     *
+     * @return the status line
+     */
+    private String rawRequest(String requestLine, String... headers) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), api.getPort())) {
+            StringBuilder request = new StringBuilder(requestLine).append(" HTTP/1.1\r\n");
+            for (String header : headers) {
+                request.append(header).append("\r\n");
+            }
+            request.append("Connection: close\r\n\r\n");
+            socket.getOutputStream().write(request.toString().getBytes(StandardCharsets.US_ASCII));
+            return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII))
+                    .readLine();
+        }
+    }
+
+    private HttpURLConnection open(String method, String path) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://127.0.0.1:" + api.getPort() + path).openConnection();
+        connection.setRequestMethod(method);
+        return connection;
+    }
+
+    private String request(String method, String path, int expectedStatus) throws IOException {
+        HttpURLConnection connection = open(method, path);
+        Assert.assertEquals(expectedStatus, connection.getResponseCode());
+        try (InputStream body = expectedStatus < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+            StringBuilder text = new StringBuilder();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                text.append(line);
+            }
+            return text.toString();
+        }
+    }
+}
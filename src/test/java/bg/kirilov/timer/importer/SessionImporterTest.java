@@ -0,0 +1,144 @@
+package bg.kirilov.timer.importer;
+
+import bg.kirilov.timer.calculator.FixedPointMoneyCalculator;
+import bg.kirilov.timer.util.AmountText;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * @date 10/17/2026
+ */
+public class SessionImporterTest {
+
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("sessions", ".csv");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void sumsValidRows() throws IOException {
+        write("people,rate,duration\r\n"
+                + "6,25.5,3600\r\n"
+                + "\n"
+                + " 2 , 10 , 1:30:00\r\n"
+                + "1,0.1,0:01");
+
+        ImportResult result = new SessionImporter().importFile(file);
+
+        Assert.assertEquals(3, result.getRowsCount());
+        Assert.assertEquals(3, result.getValidCount());
+        Assert.assertEquals(3600 + 5400 + 1, result.getTotalSeconds());
+        //153.00 + 30.00 + 0.0000277.. rounded to 0.00
+        Assert.assertEquals(18300, result.getTotalCents());
+        Assert.assertTrue(result.getErrors().isEmpty());
+    }
+
+    @Test
+    public void reportsErrorsWithLines() throws IOException {
+        write("6,25.5,60\n"
+                + "0,25.5,60\n"
+                + "six,25.5,60\n"
+                + "6,,60\n"
+                + "6,-1,60\n"
+                + "6,25.5,1:60\n"
+                + "6,25.5\n"
+                + "6,25.5,0\n");
+
+        ImportResult result = new SessionImporter().importFile(file);
+
+        Assert.assertEquals(8, result.getRowsCount());
+        Assert.assertEquals(1, result.getValidCount());
+        Assert.assertEquals(7, result.getInvalidCount());
+        String[] expected = {
+                "Line 2: People Count is invalid because: Positive number expected.",
+                "Line 3: People Count is invalid because: Input string is not a valid number",
+                "Line 4: Pay Rate is invalid because: nothing entered",
+                "Line 5: Pay Rate is invalid because: Positive number expected.",
+                "Line 6: Duration is invalid because: Duration expected as seconds or H:MM:SS.",
+                "Line 7: Row is invalid because: Expected 3 fields: people count, pay rate, duration.",
+                "Line 8: Duration is invalid because: Positive number expected."};
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals(expected[i], result.getErrors().get(i).toString());
+        }
+    }
+
+    @Test
+    public void keepsLimitedErrorsButCountsAll() throws IOException {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            csv.append("0,1,1\n");
+        }
+        write(csv.toString());
+
+        ImportResult result = new SessionImporter(FixedPointMoneyCalculator::new, 10, 1024)
+                .importFile(file, new ForkJoinPool(4));
+
+        Assert.assertEquals(5000, result.getInvalidCount());
+        Assert.assertEquals(10, result.getErrors().size());
+        Assert.assertEquals(10, result.getErrors().get(9).getLine());
+    }
+
+    @Test
+    public void resultDoesNotDependOnChunks() throws IOException {
+        Random random = new Random(17);
+        StringBuilder csv = new StringBuilder("people,rate,duration\n");
+        long expectedCents = 0;
+        for (int i = 0; i < 20000; i++) {
+            int people = 1 + random.nextInt(20);
+            double rate = random.nextInt(100000) / 100.0;
+            int seconds = random.nextInt(36000);
+            if (i % 997 == 0) {
+                csv.append(people).append(",").append(rate).append(",oops\n");
+                continue;
+            }
+            csv.append(people).append(',').append(rate).append(',').append(seconds).append('\n');
+            if (seconds > 0 && rate > 0) {
+                expectedCents += AmountText.toCents(new FixedPointMoneyCalculator(people, rate).calculate(seconds));
+            }
+        }
+        write(csv.toString());
+
+        ImportResult whole = new SessionImporter().importFile(file, new ForkJoinPool(1));
+        ImportResult chunked = new SessionImporter(FixedPointMoneyCalculator::new, 1000, 4096)
+                .importFile(file, new ForkJoinPool(8));
+
+        Assert.assertEquals(expectedCents, whole.getTotalCents());
+        Assert.assertEquals(whole.getTotalCents(), chunked.getTotalCents());
+        Assert.assertEquals(whole.getTotalSeconds(), chunked.getTotalSeconds());
+        Assert.assertEquals(whole.getRowsCount(), chunked.getRowsCount());
+        Assert.assertEquals(whole.getErrors().size(), chunked.getErrors().size());
+        for (int i = 0; i < whole.getErrors().size(); i++) {
+            Assert.assertEquals(whole.getErrors().get(i).toString(), chunked.getErrors().get(i).toString());
+        }
+        //the first error is the row with i == 0, right after the header
+        Assert.assertEquals(2, chunked.getErrors().get(0).getLine());
+    }
+
+    @Test
+    public void importsEmptyFile() throws IOException {
+        ImportResult result = new SessionImporter().importFile(file);
+
+        Assert.assertEquals(0, result.getRowsCount());
+        Assert.assertEquals(0, result.getTotalCents());
+    }
+
+    private void write(String csv) throws IOException {
+        Files.write(file, csv.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,244 @@
+package bg.kirilov.timer.journal;
+
+import bg.kirilov.timer.calculator.HeadcountChange;
+import bg.kirilov.timer.presenter.CalculatingView;
+import bg.kirilov.timer.presenter.RegisteredSession;
+import bg.kirilov.timer.presenter.SessionRegistry;
+import bg.kirilov.timer.presenter.SessionSnapshot;
+import bg.kirilov.timer.presenter.SessionState;
+import bg.kirilov.timer.presenter.TickingEngine;
+import bg.kirilov.timer.presenter.Timekeeping;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * @date 10/17/2026
+ */
+public class JournalTest {
+
+    private static final long NANOS_IN_A_SECOND = 1_000_000_000L;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path file;
+    private TickingEngine engine;
+
+    @Before
+    public void init() {
+        file = folder.getRoot().toPath().resolve("journal.bin");
+        engine = new TickingEngine(1);
+    }
+
+    @After
+    public void cleanUp() {
+        engine.shutdown();
+    }
+
+    @Test
+    public void recoversSessionsThatWereNotStopped() throws Exception {
+        try (Journal journal = Journal.open(file, Journal.SYNC_EVERY_COMMIT)) {
+            Assert.assertTrue(journal.getRecoveredSessions().isEmpty());
+
+            journal.sessionStarted("a", 1000, 3, 10);
+            journal.headcountChanged("a", 60, 5);
+            journal.sessionStarted("b", 2000, 2, 20);
+            journal.sessionPaused("b", 5 * NANOS_IN_A_SECOND);
+            journal.sessionStarted("c", 3000, 1, 30);
+            journal.sessionStopped("c", NANOS_IN_A_SECOND);
+            journal.sync();
+        }
+
+        try (Journal journal = Journal.open(file, Journal.SYNC_EVERY_COMMIT)) {
+            List<SessionSnapshot> sessions = journal.getRecoveredSessions();
+            Assert.assertEquals(2, sessions.size());
+
+            SessionSnapshot a = sessions.get(0);
+            Assert.assertEquals("a", a.getId());
+            Assert.assertEquals(SessionState.RUNNING, a.getState());
+            Assert.assertEquals(10, a.getPayRate(), 0);
+            Assert.assertEquals(1000, a.getStartedAtMillis());
+            Assert.assertEquals(5, a.getPeopleCount());
+            List<HeadcountChange> history = a.getHeadcountHistory();
+            Assert.assertEquals(2, history.size());
+            Assert.assertEquals(60, history.get(1).getSecondsPassed());
+
+            SessionSnapshot b = sessions.get(1);
+            Assert.assertEquals(SessionState.PAUSED, b.getState());
+            Assert.assertEquals(5 * NANOS_IN_A_SECOND, b.getElapsedNanos());
+            Assert.assertEquals(2, b.getPeopleCount());
+        }
+    }
+
+    @Test
+    public void runningTimeCountsUntilTheLastRecord() throws Exception {
+        try (Journal journal = Journal.open(file, Journal.SYNC_EVERY_COMMIT, 10)) {
+            journal.sessionStarted("a", System.currentTimeMillis(), 1, 10);
+            journal.sessionPaused("a", NANOS_IN_A_SECOND);
+            journal.sessionResumed("a", NANOS_IN_A_SECOND);
+            Thread.sleep(200);
+        }
+
+        try (Journal journal = Journal.open(file, Journal.SYNC_EVERY_COMMIT)) {
+            long elapsedNanos = journal.getRecoveredSessions().get(0).getElapsedNanos();
+            Assert.assertTrue(String.valueOf(elapsedNanos), elapsedNanos >= NANOS_IN_A_SECOND + 150_000_000L);
+            Assert.assertTrue(String.valueOf(elapsedNanos), elapsedNanos < 2 * NANOS_IN_A_SECOND);
+        }
+    }
+
+    @Test
+    public void ignoresTornRecords() throws Exception {
+        try (Journal journal = Journal.open(file, Journal.SYNC_EVERY_COMMIT)) {
+            journal.sessionStarted("a", 1000, 3, 10);
+            journal.sessionStarted("b", 2000, 2, 20);
+            journal.sync();
+        }
+        //cut the second record short, as a crash in the middle of a write would
+        int recordSize = JournalRecord.size(JournalRecord.encodeId("a"));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(recordSize + 10);
+            channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3}), channel.size());
+        }
+
+        try (Journal journal = Journal.open(file, Journal.SYNC_EVERY_COMMIT)) {
+            Assert.assertEquals(1, journal.getRecoveredSessions().size());
+            Assert.assertEquals("a", journal.getRecoveredSessions().get(0).getId());
+            journal.sessionStarted("c", 3000, 1, 30);
+        }
+
+        try (Journal journal = Journal.open(file, Journal.SYNC_EVERY_COMMIT)) {
+            Assert.assertEquals(2, journal.getRecoveredSessions().size());
+            Assert.assertEquals("c", journal.getRecoveredSessions().get(1).getId());
+        }
+    }
+
+    @Test
+    public void keepsOnlyUnfinishedSessions() throws Exception {
+        try (Journal journal = Journal.open(file, 1000)) {
+            for (int i = 0; i < 1000; i++) {
+                journal.sessionStarted("s" + i, i, 1, 10);
+                journal.sessionStopped("s" + i, i);
+            }
+            journal.sessionStarted("last", 1, 1, 10);
+        }
+        long sizeWithHistory = Files.size(file);
+
+        Journal.open(file, 1000).close();
+
+        Assert.assertTrue(Files.size(file) < sizeWithHistory / 100);
+    }
+
+    @Test
+    public void compactsWhileRunning() throws Exception {
+        try (Journal journal = Journal.open(file, 1000, 1, 16 * 1024)) {
+            journal.sessionStarted("kept", 1000, 3, 10);
+            journal.headcountChanged("kept", 60, 5);
+            for (int i = 0; i < 5000; i++) {
+                journal.sessionStarted("s" + i, i, 1, 10);
+                journal.sessionStopped("s" + i, i);
+                if (i % 100 == 0) {
+                    journal.sync();
+                }
+            }
+            journal.sync();
+            //far less than the 5000 sessions written
+            Assert.assertTrue(String.valueOf(Files.size(file)), Files.size(file) < 32 * 1024);
+        }
+
+        try (Journal journal = Journal.open(file, Journal.SYNC_EVERY_COMMIT)) {
+            Assert.assertEquals(1, journal.getRecoveredSessions().size());
+            SessionSnapshot kept = journal.getRecoveredSessions().get(0);
+            Assert.assertEquals("kept", kept.getId());
+            Assert.assertEquals(5, kept.getPeopleCount());
+            Assert.assertEquals(1000, kept.getStartedAtMillis());
+        }
+    }
+
+    @Test
+    public void replaysAPartAtATime() throws Exception {
+        try (Journal journal = Journal.open(file, 1000)) {
+            for (int i = 0; i < 300; i++) {
+                journal.sessionStarted("s" + i, i, 1, 10);
+                if (i % 3 != 0) {
+                    journal.sessionStopped("s" + i, i);
+                }
+            }
+        }
+        //a few records per part, cut in the middle of one
+        int partSize = 3 * JournalRecord.size(JournalRecord.encodeId("s100")) + 7;
+        List<SessionSnapshot> whole = Journal.recover(file, Journal.MAX_MAPPED_BYTES).getSessions();
+        List<SessionSnapshot> inParts = Journal.recover(file, partSize).getSessions();
+        Assert.assertEquals(100, whole.size());
+        Assert.assertEquals(whole.size(), inParts.size());
+        Assert.assertEquals("s297", inParts.get(99).getId());
+    }
+
+    @Test
+    public void anotherProcessCannotUseTheJournal() throws Exception {
+        try (Journal journal = Journal.open(file, Journal.SYNC_EVERY_COMMIT)) {
+            journal.sessionStarted("a", 1000, 3, 10);
+            try {
+                Journal.open(file, Journal.SYNC_EVERY_COMMIT);
+                Assert.fail("The journal is in use");
+            } catch (IOException e) {
+                Assert.assertTrue(e.getMessage(), e.getMessage().contains("used by another process"));
+            }
+        }
+
+        try (Journal journal = Journal.open(file, Journal.SYNC_EVERY_COMMIT)) {
+            Assert.assertEquals(1, journal.getRecoveredSessions().size());
+        }
+    }
+
+    @Test
+    public void registryContinuesRecoveredSessions() throws Exception {
+        try (Journal journal = Journal.open(file, Journal.SYNC_EVERY_COMMIT)) {
+            SessionRegistry registry = new SessionRegistry(engine, Locale.US, Timekeeping.MONOTONIC, journal);
+            registry.start("a", 2, 3600, new NoView());
+            registry.join("a", 1);
+            registry.pause("a");
+            registry.start("b", 1, 10, new NoView());
+            registry.stop("b");
+        }
+
+        try (Journal journal = Journal.open(file, Journal.SYNC_EVERY_COMMIT)) {
+            SessionRegistry registry = new SessionRegistry(engine, Locale.US, Timekeeping.MONOTONIC, journal);
+            Assert.assertEquals(1, journal.getRecoveredSessions().size());
+
+            RegisteredSession restored = registry.restore(journal.getRecoveredSessions().get(0), new NoView());
+            Assert.assertEquals(SessionState.PAUSED, restored.getSession().getState());
+            Assert.assertEquals(3, restored.getPeopleCount());
+            Assert.assertEquals(2, restored.getHeadcountHistory().size());
+
+            registry.resume("a");
+            registry.stop("a");
+        }
+
+        try (Journal journal = Journal.open(file, Journal.SYNC_EVERY_COMMIT)) {
+            Assert.assertTrue(journal.getRecoveredSessions().isEmpty());
+        }
+    }
+
+    private static class NoView implements CalculatingView {
+        @Override
+        public void setClock(String formattedClock) {
+        }
+
+        @Override
+        public void setAmount(String formattedAmount) {
+        }
+    }
+}
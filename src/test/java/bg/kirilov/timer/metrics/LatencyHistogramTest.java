@@ -0,0 +1,97 @@
+package bg.kirilov.timer.metrics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @date 10/17/2026
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void bucketsCoverAllDurations() {
+        long previousUpperBound = -1;
+        for (int bucket = 0; bucket < LatencyHistogram.BUCKETS; bucket++) {
+            long upperBound = LatencyHistogram.upperBoundOf(bucket);
+            Assert.assertTrue(upperBound > previousUpperBound);
+            Assert.assertEquals(bucket, LatencyHistogram.bucketOf(previousUpperBound + 1));
+            if (bucket < LatencyHistogram.BUCKETS - 1) {
+                Assert.assertEquals(bucket, LatencyHistogram.bucketOf(upperBound));
+                //a bucket is at most a quarter of the durations in it
+                Assert.assertTrue(upperBound - previousUpperBound <= Math.max(1, (previousUpperBound + 1) / 4));
+            }
+            previousUpperBound = upperBound;
+        }
+        Assert.assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.bucketOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void percentilesAreWithinTheirBuckets() {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        for (int micros = 1; micros <= 1000; micros++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(micros));
+        }
+        histogram.record(-5);
+
+        Assert.assertEquals(1001, histogram.getCount());
+        Assert.assertEquals(1000, histogram.getMaxMicros());
+        Assert.assertEquals(500500.0 / 1001, histogram.getMeanMicros(), 0.001);
+        assertWithinQuarter(500, histogram.getP50Micros());
+        assertWithinQuarter(900, histogram.getP90Micros());
+        assertWithinQuarter(990, histogram.getP99Micros());
+        Assert.assertEquals(1000, histogram.getP999Micros());
+        Assert.assertEquals(0, histogram.getPercentileMicros(0));
+
+        histogram.reset();
+        Assert.assertEquals(0, histogram.getCount());
+        Assert.assertEquals(0, histogram.getP99Micros());
+    }
+
+    @Test
+    public void exposesMBeans() throws Exception {
+        MBeanServer server = MBeanServerFactory.newMBeanServer();
+        TickMetrics metrics = new TickMetrics();
+        metrics.getTickLateness().record(TimeUnit.MILLISECONDS.toNanos(3));
+        metrics.registerMBeans(server);
+        metrics.registerMBeans(server);
+        SessionsMetrics sessions = new SessionsMetrics(() -> Collections.singletonMap("standup", new FixedCounters()));
+        sessions.registerMBean(server);
+
+        ObjectName lateness = new ObjectName("bg.kirilov.timer:type=Latency,name=TickLateness");
+        Assert.assertEquals(1L, server.getAttribute(lateness, "Count"));
+        Assert.assertEquals(3000L, server.getAttribute(lateness, "MaxMicros"));
+        ObjectName counters = new ObjectName("bg.kirilov.timer:type=Sessions");
+        Assert.assertEquals(7L, server.getAttribute(counters, "TicksCount"));
+        Assert.assertEquals(61_000L, server.getAttribute(counters, "PausedMillis"));
+        Assert.assertArrayEquals(new String[]{"standup ticks=7 pauses=2 paused=00:01:01"},
+                (String[]) server.getAttribute(counters, "SessionCounters"));
+        Assert.assertTrue(metrics.toString().startsWith("tick lateness: count=1 mean=3000us p50=3000us"));
+    }
+
+    private static void assertWithinQuarter(long expected, long actual) {
+        Assert.assertTrue(expected + " expected, but was " + actual, actual >= expected && actual <= expected * 5 / 4);
+    }
+
+    private static class FixedCounters implements SessionCounters {
+        @Override
+        public long getTicksCount() {
+            return 7;
+        }
+
+        @Override
+        public long getPausesCount() {
+            return 2;
+        }
+
+        @Override
+        public long getPausedNanos() {
+            return TimeUnit.SECONDS.toNanos(61);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package bg.kirilov.timer.presenter;
+
+import bg.kirilov.timer.calculator.MoneyPerSecondCalculator;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Locale;
+
+/**
+ * @date 10/17/2026
+ */
+public class CalculatingSessionTest {
+
+    private static final long MILLI = 1_000_000L;
+    private static final long SECOND = 1000 * MILLI;
+
+    private long now;
+    private RecordingView view;
+    private CalculatingSession session;
+
+    @Before
+    public void init() {
+        now = 5 * SECOND;
+        view = new RecordingView();
+        session = new CalculatingSession(view, Locale.US, new MoneyPerSecondCalculator(1, 3600.0), 1000,
+                Timekeeping.MONOTONIC, () -> now);
+        session.start(null);
+    }
+
+    @Test
+    public void clockFollowsRealTime_notTicksCount() {
+        now += 2500 * MILLI;
+        session.updateState();
+
+        Assert.assertEquals("00:00:02", view.clock);
+        Assert.assertEquals("2.00", view.amount);
+    }
+
+    @Test
+    public void pausedIntervalsAreNotCounted() {
+        now += SECOND;
+        session.pause();
+        now += 10 * SECOND;
+        session.resume();
+        now += 2 * SECOND;
+        session.updateState();
+
+        Assert.assertEquals("00:00:03", view.clock);
+    }
+
+    @Test
+    public void overrunTicksAreCoalesced() {
+        //the previous tick was due at 1s but the host was busy until 3.7s
+        now += 3700 * MILLI;
+        session.updateState();
+
+        Assert.assertEquals("00:00:03", view.clock);
+        Assert.assertEquals(300 * MILLI, session.nextTickDelayNanos());
+    }
+
+    @Test
+    public void fixedIncrementFallsBehind() {
+        CalculatingSession fixed = new CalculatingSession(view, Locale.US, new MoneyPerSecondCalculator(1, 3600.0),
+                1000, Timekeeping.FIXED_INCREMENT, () -> now);
+        fixed.start(null);
+
+        now += 3700 * MILLI;
+        fixed.updateState();
+
+        Assert.assertEquals("00:00:01", view.clock);
+        Assert.assertEquals(1000 * MILLI, fixed.nextTickDelayNanos());
+    }
+
+    @Test
+    public void adaptiveTickWaitsForTheNextSecond() {
+        CalculatingSession adaptive = new CalculatingSession(view, Locale.US, new MoneyPerSecondCalculator(1, 1.0),
+                1000, Timekeeping.ADAPTIVE, () -> now);
+        adaptive.start(null);
+
+        now += 2300 * MILLI;
+        adaptive.updateState();
+
+        Assert.assertEquals(700 * MILLI, adaptive.nextTickDelayNanos());
+    }
+
+    @Test
+    public void adaptiveTickWaitsForTheNextCentWithoutClock() {
+        RecordingView amountOnly = new AmountOnlyView();
+        //0.36 per hour - one cent every 100 seconds
+        CalculatingSession adaptive = new CalculatingSession(amountOnly, Locale.US,
+                new MoneyPerSecondCalculator(1, 0.36), 1000, Timekeeping.ADAPTIVE, () -> now);
+        adaptive.start(null);
+
+        now += 20 * SECOND;
+        adaptive.updateState();
+        Assert.assertEquals("0.00", amountOnly.amount);
+
+        //at 50s the amount is the double nearest to 0.005 - just above the tie, so 0.01 shows from then on
+        long delay = adaptive.nextTickDelayNanos();
+        Assert.assertEquals(30 * SECOND, delay);
+
+        now += delay;
+        adaptive.updateState();
+        Assert.assertEquals("0.01", amountOnly.amount);
+    }
+
+    @Test
+    public void smoothTicksRenderOnlyChanges() {
+        CalculatingSession smooth = new CalculatingSession(view, Locale.US, new MoneyPerSecondCalculator(1, 1.0), 100,
+                Timekeeping.MONOTONIC, () -> now);
+        smooth.start(null);
+
+        for (int i = 0; i < 100; i++) {
+            smooth.updateState();
+            now += smooth.nextTickDelayNanos();
+        }
+
+        Assert.assertEquals("00:00:09", view.clock);
+        Assert.assertEquals(10, view.clockUpdates);
+    }
+
+    @Test
+    public void stateTransitions() {
+        Assert.assertEquals(SessionState.RUNNING, session.getState());
+        Assert.assertFalse(session.resume());
+        Assert.assertTrue(session.pause());
+        Assert.assertFalse(session.pause());
+        Assert.assertEquals(SessionState.PAUSED, session.getState());
+        Assert.assertTrue(session.resume());
+        Assert.assertTrue(session.stop());
+        Assert.assertFalse(session.stop());
+        Assert.assertFalse(session.resume());
+        Assert.assertEquals(SessionState.STOPPED, session.getState());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void cannotStartTwice() {
+        session.start(null);
+    }
+
+    @Test
+    public void stoppedClockDoesNotMove() {
+        now += 2 * SECOND;
+        session.pause();
+        now += SECOND;
+        session.stop();
+        now += 5 * SECOND;
+
+        Assert.assertEquals(2, session.getElapsedSeconds());
+    }
+
+    @Test
+    public void concurrentPauseAndResumeKeepTimeConsistent() throws InterruptedException {
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    session.pause();
+                    session.resume();
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        //the fake clock never moved - no pause may have been counted twice or lost
+        Assert.assertEquals(SessionState.RUNNING, session.getState());
+        now += SECOND;
+        Assert.assertEquals(1, session.getElapsedSeconds());
+    }
+
+    @Test
+    public void onlyChangedTextsAreSentToTheView() {
+        now += 1200 * MILLI;
+        session.updateState();
+        view.clock = null;
+        view.amount = null;
+
+        now += 300 * MILLI;
+        session.updateState();
+
+        Assert.assertNull(view.clock);
+        Assert.assertNull(view.amount);
+    }
+
+    @Test
+    public void steadyStateTickAllocatesNothing() {
+        java.lang.management.ThreadMXBean bean = java.lang.management.ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        CalculatingSession quiet = new CalculatingSession(new CharSequenceView(), Locale.US,
+                new MoneyPerSecondCalculator(3, 25.5), 1000, Timekeeping.MONOTONIC, () -> now);
+        quiet.start(null);
+        for (int i = 0; i < 20_000; i++) { //warm up
+            now += 10 * MILLI;
+            quiet.updateState();
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 10_000; i++) {
+            now += 10 * MILLI;
+            quiet.updateState();
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        //the counter itself may allocate a little - but nothing proportional to the ticks
+        Assert.assertTrue("Allocated " + allocated + " bytes in 10000 ticks", allocated < 1024);
+    }
+
+    private static class CharSequenceView extends RecordingView {
+        private int length;
+
+        @Override
+        public void setClock(CharSequence formattedClock) {
+            length += formattedClock.length();
+        }
+
+        @Override
+        public void setAmount(CharSequence formattedAmount) {
+            length += formattedAmount.length();
+        }
+    }
+
+    private static class AmountOnlyView extends RecordingView {
+        @Override
+        public boolean showsClock() {
+            return false;
+        }
+    }
+
+    private static class RecordingView implements CalculatingView {
+        private String clock;
+        private String amount;
+        private int clockUpdates;
+
+        @Override
+        public void setClock(String formattedClock) {
+            clock = formattedClock;
+            clockUpdates++;
+        }
+
+        @Override
+        public void setAmount(String formattedAmount) {
+            amount = formattedAmount;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package bg.kirilov.timer.presenter;
+
+import bg.kirilov.timer.calculator.MoneyPerSecondCalculator;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @date 10/17/2026
+ */
+public class CalculatingThreadTest {
+
+    private static final CalculatingView NO_VIEW = new CalculatingView() {
+        @Override
+        public void setClock(String formattedClock) {
+        }
+
+        @Override
+        public void setAmount(String formattedAmount) {
+        }
+    };
+
+    @Test
+    public void stopWakesUpASleepingThread() throws InterruptedException {
+        //the thread would sleep for an hour between ticks
+        CalculatingThread thread = new CalculatingThread(NO_VIEW, new MoneyPerSecondCalculator(1, 1.0), 3_600_000L);
+        thread.start();
+        Thread.sleep(20);
+
+        thread.stopThread();
+        thread.join(1000);
+
+        Assert.assertFalse(thread.isAlive());
+    }
+
+    @Test(timeout = 5000)
+    public void pauseWakesUpASleepingThread() throws InterruptedException {
+        CalculatingThread thread = new CalculatingThread(NO_VIEW, new MoneyPerSecondCalculator(1, 1.0), 3_600_000L);
+        thread.start();
+        while (thread.getState() != Thread.State.TIMED_WAITING) {
+            Thread.sleep(5);
+        }
+
+        //parks until resumed instead of waiting out the hour
+        thread.pauseThread();
+        while (thread.getState() != Thread.State.WAITING) {
+            Thread.sleep(5);
+        }
+
+        thread.stopThread();
+        thread.join(1000);
+        Assert.assertFalse(thread.isAlive());
+    }
+
+    @Test
+    public void pausedThreadIsResumedAndStopped() throws InterruptedException {
+        CalculatingThread thread = new CalculatingThread(NO_VIEW, new MoneyPerSecondCalculator(1, 1.0), 5, Timekeeping.MONOTONIC);
+        thread.start();
+
+        thread.pauseThread();
+        Assert.assertTrue(thread.isPaused());
+        thread.resumeThread();
+        Assert.assertFalse(thread.isPaused());
+
+        thread.pauseThread();
+        thread.stopThread();
+        thread.join(1000);
+
+        Assert.assertFalse(thread.isAlive());
+        Assert.assertEquals(SessionState.STOPPED, thread.getSession().getState());
+    }
+}
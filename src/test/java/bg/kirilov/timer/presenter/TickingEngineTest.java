@@ -0,0 +1,236 @@
+package bg.kirilov.timer.presenter;
+
+import bg.kirilov.timer.calculator.Calculator;
+import bg.kirilov.timer.calculator.MoneyPerSecondCalculator;
+import bg.kirilov.timer.calculator.VaryingHeadcountCalculator;
+import bg.kirilov.timer.metrics.TickMetrics;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Locale;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @date 10/17/2026
+ */
+public class TickingEngineTest {
+
+    private TickingEngine engine;
+
+    @Before
+    public void init() {
+        engine = new TickingEngine(2);
+    }
+
+    @After
+    public void cleanUp() {
+        engine.shutdown();
+    }
+
+    @Test
+    public void manySessionsShareFewThreads() throws InterruptedException {
+        int sessionsCount = 500;
+        CountDownLatch ticked = new CountDownLatch(sessionsCount * 3);
+
+        for (int i = 0; i < sessionsCount; i++) {
+            CountingView view = new CountingView(ticked);
+            engine.start(new CalculatingSession(view, view, 5));
+        }
+
+        Assert.assertTrue("All sessions should tick", ticked.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void pausedSessionIsNotUpdated() throws InterruptedException {
+        CountingView view = new CountingView(new CountDownLatch(3));
+        CalculatingSession session = engine.start(new CalculatingSession(view, view, 5));
+        Assert.assertTrue(view.latch.await(5, TimeUnit.SECONDS));
+
+        session.pause();
+        Thread.sleep(20);
+        int ticksWhenPaused = view.ticks.get();
+        Thread.sleep(50);
+        Assert.assertEquals(ticksWhenPaused, view.ticks.get());
+
+        session.resume();
+        Thread.sleep(50);
+        Assert.assertTrue("Resumed session should tick again", view.ticks.get() > ticksWhenPaused);
+
+        session.stop();
+        Thread.sleep(20);
+        int ticksWhenStopped = view.ticks.get();
+        Thread.sleep(50);
+        Assert.assertEquals(ticksWhenStopped, view.ticks.get());
+        Assert.assertFalse(session.isRunning());
+    }
+
+    @Test
+    public void recordsTicksAndCountsPerSession() {
+        TickMetrics metrics = new TickMetrics();
+        //the ticks run on this thread while the virtual time is advanced - none can still be running
+        VirtualTickScheduler scheduler = new VirtualTickScheduler();
+        TickingEngine measuredEngine = new TickingEngine(scheduler, metrics);
+        try {
+            CountingView view = new CountingView(new CountDownLatch(0));
+            CalculatingSession session = measuredEngine.start(new CalculatingSession(view, Locale.US, view, 5,
+                    Timekeeping.MONOTONIC, measuredEngine.getTimeSource()));
+            scheduler.advanceBy(TimeUnit.MILLISECONDS.toNanos(12));
+            session.pause();
+            scheduler.advanceBy(TimeUnit.MILLISECONDS.toNanos(20));
+            session.resume();
+            session.pause();
+            session.stop();
+            scheduler.advanceBy(TimeUnit.MILLISECONDS.toNanos(20));
+
+            //at 0, 5 and 10 ms
+            Assert.assertEquals(3, session.getTicksCount());
+            Assert.assertEquals(view.ticks.get(), session.getTicksCount());
+            Assert.assertEquals(session.getTicksCount(), metrics.getTickLateness().getCount());
+            Assert.assertEquals(session.getTicksCount(), metrics.getUpdateDuration().getCount());
+            Assert.assertEquals(2, session.getPausesCount());
+            Assert.assertEquals(TimeUnit.MILLISECONDS.toNanos(20), session.getPausedNanos());
+            Assert.assertEquals(0, scheduler.getPendingCount());
+        } finally {
+            measuredEngine.shutdown();
+        }
+    }
+
+    @Test
+    public void alertsWhenBudgetsAreReached() throws InterruptedException {
+        AtomicLong now = new AtomicLong();
+        BlockingQueue<String> alerts = new LinkedBlockingQueue<>();
+        CountingView view = new CountingView(new CountDownLatch(1)) {
+            @Override
+            public void budgetReached(double budget, long secondsPassed) {
+                alerts.add(budget + " at " + secondsPassed);
+            }
+        };
+        //1.00 per second
+        VaryingHeadcountCalculator calculator = new VaryingHeadcountCalculator(1, 3600.0);
+        CalculatingSession session = engine.start(new CalculatingSession(view, calculator, 1000,
+                Timekeeping.MONOTONIC, now::get));
+
+        session.setBudgets(20, 5, 10, 5000);
+        Assert.assertNull(alerts.poll(100, TimeUnit.MILLISECONDS));
+
+        now.set(TimeUnit.SECONDS.toNanos(6));
+        session.refresh();
+        Assert.assertEquals("5.0 at 6", alerts.poll(5, TimeUnit.SECONDS));
+
+        now.set(TimeUnit.SECONDS.toNanos(12));
+        session.refresh();
+        Assert.assertEquals("10.0 at 12", alerts.poll(5, TimeUnit.SECONDS));
+
+        //paused time costs nothing
+        session.pause();
+        now.addAndGet(TimeUnit.SECONDS.toNanos(100));
+        session.resume();
+        Assert.assertNull(alerts.poll(100, TimeUnit.MILLISECONDS));
+
+        //10.00 per second from now on - 20 is reached at the 13th second
+        calculator.join(12, 9);
+        session.refresh();
+        Assert.assertNull(alerts.poll(100, TimeUnit.MILLISECONDS));
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1100));
+        Assert.assertEquals("20.0 at 13", alerts.poll(5, TimeUnit.SECONDS));
+        Assert.assertNull(alerts.poll(100, TimeUnit.MILLISECONDS));
+        session.stop();
+
+        //budgets reached before they were set are not reported
+        session = engine.start(new CalculatingSession(view, new MoneyPerSecondCalculator(1, 3600.0), 1000,
+                Timekeeping.MONOTONIC, now::get));
+        now.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        session.setBudgets(5, 10);
+        Assert.assertNull(alerts.poll(100, TimeUnit.MILLISECONDS));
+        session.stop();
+    }
+
+    @Test
+    public void refreshWhileATickIsRunning() throws InterruptedException {
+        AtomicBoolean blockNextTick = new AtomicBoolean();
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch released = new CountDownLatch(1);
+        AtomicInteger updating = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        CountingView view = new CountingView(new CountDownLatch(3)) {
+            @Override
+            public double calculate(long secondsPassed) {
+                if (updating.incrementAndGet() > 1) {
+                    overlaps.incrementAndGet();
+                }
+                try {
+                    if (blockNextTick.compareAndSet(true, false)) {
+                        blocked.countDown();
+                        released.await(5, TimeUnit.SECONDS);
+                    }
+                    return super.calculate(secondsPassed);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    updating.decrementAndGet();
+                }
+            }
+        };
+        //a tick every 50 ms
+        CalculatingSession session = engine.start(new CalculatingSession(view, view, 50));
+        Assert.assertTrue(view.latch.await(5, TimeUnit.SECONDS));
+
+        blockNextTick.set(true);
+        Assert.assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        session.refresh();
+        Thread.sleep(50);
+        released.countDown();
+
+        Thread.sleep(50);
+        int ticksBefore = view.ticks.get();
+        Thread.sleep(500);
+        int ticks = view.ticks.get() - ticksBefore;
+        session.stop();
+
+        Assert.assertEquals("Updates must not run concurrently", 0, overlaps.get());
+        //one chain ticks 10 times in 500 ms, two chains 20 times
+        Assert.assertTrue("A single tick chain expected, ticked " + ticks + " times", ticks <= 14);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void sessionCannotBeStartedTwice() {
+        CalculatingSession session = new CalculatingSession(new CountingView(new CountDownLatch(1)), new MoneyPerSecondCalculator(1, 1.0));
+        engine.start(session);
+        engine.start(session);
+    }
+
+    /**
+     * Counts the ticks as calculations - the view itself is only updated when the texts change
+     */
+    private static class CountingView implements CalculatingView, Calculator {
+        private final CountDownLatch latch;
+        private final AtomicInteger ticks = new AtomicInteger();
+
+        CountingView(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public void setClock(String formattedClock) {
+        }
+
+        @Override
+        public void setAmount(String formattedAmount) {
+        }
+
+        @Override
+        public double calculate(long secondsPassed) {
+            ticks.incrementAndGet();
+            latch.countDown();
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package bg.kirilov.timer.presenter;
+
+import bg.kirilov.timer.calculator.MoneyPerSecondCalculator;
+import bg.kirilov.timer.metrics.TickMetrics;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @date 10/17/2026
+ */
+public class VirtualTickSchedulerTest {
+
+    private final VirtualTickScheduler scheduler = new VirtualTickScheduler();
+
+    @Test
+    public void runsTheDueTasksInOrderOfTheirDueTime() {
+        List<String> run = new ArrayList<>();
+        scheduler.schedule(() -> run.add("c at " + scheduler.nanoTime()), 30);
+        scheduler.schedule(() -> run.add("a at " + scheduler.nanoTime()), 10);
+        scheduler.schedule(() -> run.add("b at " + scheduler.nanoTime()), 10);
+        ScheduledFuture<?> cancelled = scheduler.schedule(() -> run.add("cancelled"), 20);
+        //scheduled by a task, due before the deadline
+        scheduler.schedule(() -> scheduler.schedule(() -> run.add("d at " + scheduler.nanoTime()), 15), 20);
+        Assert.assertTrue(cancelled.cancel(false));
+
+        Assert.assertEquals(4, scheduler.advanceBy(30));
+        Assert.assertEquals("[a at 10, b at 10, c at 30]", run.toString());
+        Assert.assertEquals(30, scheduler.nanoTime());
+
+        Assert.assertEquals(1, scheduler.runUntil(100));
+        Assert.assertEquals("d at 35", run.get(3));
+        Assert.assertEquals(100, scheduler.nanoTime());
+        Assert.assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    public void ticksAnHourInVirtualTime() {
+        TickingEngine engine = new TickingEngine(scheduler, new TickMetrics());
+        List<String> clocks = new ArrayList<>();
+        CalculatingSession session = engine.start(new CalculatingSession(new CalculatingView() {
+            @Override
+            public void setClock(String formattedClock) {
+                clocks.add(formattedClock);
+            }
+
+            @Override
+            public void setAmount(String formattedAmount) {
+            }
+        }, Locale.US, new MoneyPerSecondCalculator(6, 25.5), 1000, Timekeeping.MONOTONIC, engine.getTimeSource()));
+
+        scheduler.advanceBy(TimeUnit.MINUTES.toNanos(30));
+        Assert.assertTrue(session.pause());
+        //paused time costs nothing - the pending tick drops the session out of the schedule
+        Assert.assertEquals(1, scheduler.advanceBy(TimeUnit.HOURS.toNanos(5)));
+        Assert.assertTrue(session.resume());
+        scheduler.advanceBy(TimeUnit.MINUTES.toNanos(30));
+
+        Assert.assertEquals(3600, session.getElapsedSeconds());
+        //a tick every second and one on the resume
+        Assert.assertEquals(3602, session.getTicksCount());
+        Assert.assertEquals(153.0, session.getAmount(), 1e-9);
+        Assert.assertEquals("01:00:00", clocks.get(clocks.size() - 1));
+        Assert.assertEquals(TimeUnit.HOURS.toNanos(5), session.getPausedNanos());
+        Assert.assertEquals(1, scheduler.getPendingCount());
+
+        engine.shutdown();
+        Assert.assertEquals(0, scheduler.getPendingCount());
+    }
+}
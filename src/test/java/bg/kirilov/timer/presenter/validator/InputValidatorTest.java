@@ -32,6 +32,20 @@ public class InputValidatorTest {
         assertInvalid(result, "Input string is not a valid number");
     }
 
+    @Test
+    public void validateInteger_tooLarge() {
+        InputValidity<?> result = validator.validateInt("99999999999").getResult();
+        Assert.assertFalse(result.isValid());
+        Assert.assertEquals("too large", result.getInvalidReason());
+    }
+
+    @Test
+    public void validateInteger_empty() {
+        InputValidity<?> result = validator.validateInt("").getResult();
+        Assert.assertFalse(result.isValid());
+        Assert.assertEquals("nothing entered", result.getInvalidReason());
+    }
+
     @Test
     public void validateDouble() {
         String rawDouble = "5.03";
@@ -0,0 +1,137 @@
+package bg.kirilov.timer.presenter.validator;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * @date 10/17/2026
+ */
+public class NumberParserTest {
+
+    private final NumberParser parser = new NumberParser(Locale.US);
+
+    @Test
+    public void parsesIntegers() {
+        assertInt(0, "0");
+        assertInt(42, "+42");
+        assertInt(-42, "-042");
+        assertInt(Integer.MAX_VALUE, "2147483647");
+        assertInt(Integer.MIN_VALUE, "-2147483648");
+    }
+
+    @Test
+    public void rejectsInvalidIntegers() {
+        Assert.assertEquals(ParseStatus.EMPTY, parser.parseInt(""));
+        Assert.assertEquals(ParseStatus.MALFORMED, parser.parseInt("-"));
+        Assert.assertEquals(ParseStatus.MALFORMED, parser.parseInt("5.10"));
+        Assert.assertEquals(ParseStatus.MALFORMED, parser.parseInt(" 5"));
+        Assert.assertEquals(ParseStatus.MALFORMED, parser.parseInt("99999999999x"));
+        Assert.assertEquals(ParseStatus.OUT_OF_RANGE, parser.parseInt("2147483648"));
+        Assert.assertEquals(ParseStatus.OUT_OF_RANGE, parser.parseInt("-2147483649"));
+        Assert.assertEquals(ParseStatus.OUT_OF_RANGE, parser.parseInt("99999999999"));
+    }
+
+    @Test
+    public void parsesAPartOfTheText() {
+        Assert.assertEquals(ParseStatus.OK, parser.parseInt("id=17;", 3, 5));
+        Assert.assertEquals(17, parser.intValue());
+        Assert.assertEquals(ParseStatus.OK, parser.parseDouble("rate=2.5;", 5, 8));
+        Assert.assertEquals(2.5, parser.doubleValue(), 0);
+    }
+
+    @Test
+    public void parsesDecimalsLikeTheJdk() {
+        String[] samples = {"0", "-0", "5.03", " 37.50 ", ".5", "5.", "1e3", "1E-3", "+2.5e+2", "123456789012345678901234567890",
+                "0.000000000000000000000000001", "4.9e-324", "1.7976931348623157e308", "9007199254740993",
+                "0.1", "0.30000000000000004", "2.2250738585072014E-308", "1e-400"};
+        for (String sample : samples) {
+            assertDouble(sample);
+        }
+
+        Random random = new Random(16);
+        for (int i = 0; i < 100_000; i++) {
+            assertDouble(Double.toString(Double.longBitsToDouble(random.nextLong())).replace("Infinity", "1").replace("NaN", "2"));
+            assertDouble(random.nextInt(1_000_000) + "." + random.nextInt(1000));
+            assertDouble(Long.toString(random.nextLong()) + "e" + (random.nextInt(60) - 30));
+        }
+    }
+
+    @Test
+    public void rejectsInvalidDecimals() {
+        Assert.assertEquals(ParseStatus.EMPTY, parser.parseDouble("  "));
+        Assert.assertEquals(ParseStatus.MALFORMED, parser.parseDouble("asd"));
+        Assert.assertEquals(ParseStatus.MALFORMED, parser.parseDouble("."));
+        Assert.assertEquals(ParseStatus.MALFORMED, parser.parseDouble("1.2.3"));
+        Assert.assertEquals(ParseStatus.MALFORMED, parser.parseDouble("37,5"));
+        Assert.assertEquals(ParseStatus.MALFORMED, parser.parseDouble("1e"));
+        Assert.assertEquals(ParseStatus.MALFORMED, parser.parseDouble("NaN"));
+        Assert.assertEquals(ParseStatus.MALFORMED, parser.parseDouble("Infinity"));
+        Assert.assertEquals(ParseStatus.MALFORMED, parser.parseDouble("0x1p3"));
+        Assert.assertEquals(ParseStatus.MALFORMED, parser.parseDouble("5d"));
+        Assert.assertEquals(ParseStatus.OUT_OF_RANGE, parser.parseDouble("1e400"));
+    }
+
+    @Test
+    public void acceptsTheDecimalSeparatorOfTheLocale() {
+        NumberParser german = new NumberParser(Locale.GERMANY);
+
+        Assert.assertEquals(ParseStatus.OK, german.parseDouble("37,50"));
+        Assert.assertEquals(37.5, german.doubleValue(), 0);
+        Assert.assertEquals(ParseStatus.OK, german.parseDouble("37.50"));
+        Assert.assertEquals(37.5, german.doubleValue(), 0);
+        Assert.assertEquals(ParseStatus.OK, german.parseDouble("1,00000000000000000000001"));
+        Assert.assertEquals(1, german.doubleValue(), 0);
+        Assert.assertEquals(ParseStatus.MALFORMED, german.parseDouble("1.234,5"));
+    }
+
+    @Test
+    public void invalidInputAllocatesNothing() {
+        java.lang.management.ThreadMXBean bean = java.lang.management.ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        String[] rows = {"4x2", "37,5.0", "", "12345678901", "abc", "37.50"};
+        int rejected = 0;
+        for (int i = 0; i < 20_000; i++) { //warm up
+            rejected += parseAll(rows);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100_000; i++) {
+            rejected += parseAll(rows);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        Assert.assertTrue(rejected > 0);
+        Assert.assertTrue("Allocated " + allocated + " bytes", allocated < 1024);
+    }
+
+    private int parseAll(String[] rows) {
+        int rejected = 0;
+        for (String row : rows) {
+            if (parser.parseInt(row) != ParseStatus.OK) {
+                rejected++;
+            }
+            if (parser.parseDouble(row) != ParseStatus.OK) {
+                rejected++;
+            }
+        }
+        return rejected;
+    }
+
+    private void assertInt(int expected, String text) {
+        Assert.assertEquals(text, ParseStatus.OK, parser.parseInt(text));
+        Assert.assertEquals(text, expected, parser.intValue());
+    }
+
+    private void assertDouble(String text) {
+        Assert.assertEquals(text, ParseStatus.OK, parser.parseDouble(text));
+        Assert.assertEquals(text, Double.doubleToLongBits(Double.parseDouble(text)), Double.doubleToLongBits(parser.doubleValue()));
+    }
+}
@@ -0,0 +1,61 @@
+package bg.kirilov.timer.replay;
+
+import bg.kirilov.timer.calculator.VaryingHeadcountCalculator;
+import bg.kirilov.timer.presenter.Timekeeping;
+import bg.kirilov.timer.report.SessionRecordSource;
+import bg.kirilov.timer.util.AmountText;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @date 10/17/2026
+ */
+public class SessionReplayTest {
+
+    private static final int SESSIONS = 2000;
+
+    @Test(timeout = 60_000)
+    public void replaysAYearOfSessions() {
+        long[] startedAtMillis = new long[SESSIONS];
+        long[] durationSeconds = new long[SESSIONS];
+        int[] peopleCount = new int[SESSIONS];
+        double[] payRate = new double[SESSIONS];
+        double[] amount = new double[SESSIONS];
+        long recordedCents = 0;
+        Random random = new Random(7);
+        long yearStart = 1_767_225_600_000L;
+        for (int i = 0; i < SESSIONS; i++) {
+            startedAtMillis[i] = yearStart + (long) (random.nextDouble() * TimeUnit.DAYS.toMillis(365));
+            durationSeconds[i] = 60 + random.nextInt(7200);
+            peopleCount[i] = 1 + random.nextInt(30);
+            payRate[i] = 10 + random.nextInt(9000) / 100.0;
+            amount[i] = new VaryingHeadcountCalculator(peopleCount[i], payRate[i]).calculate(durationSeconds[i]);
+            recordedCents += AmountText.toCents(amount[i]);
+        }
+        //one session recorded with a wrong amount
+        amount[42] += 1;
+
+        for (Timekeeping timekeeping : new Timekeeping[]{Timekeeping.MONOTONIC, Timekeeping.ADAPTIVE}) {
+            int[] row = {0};
+            SessionRecordSource recorded = record -> {
+                if (row[0] == SESSIONS) {
+                    return false;
+                }
+                int i = row[0]++;
+                record.set(String.valueOf(i), startedAtMillis[i], peopleCount[i], payRate[i], durationSeconds[i], amount[i]);
+                return true;
+            };
+            ReplayResult result = new SessionReplay(timekeeping).replay(recorded);
+
+            Assert.assertEquals(SESSIONS, result.getSessionsCount());
+            Assert.assertEquals(recordedCents + 100, result.getRecordedCents());
+            Assert.assertEquals(recordedCents, result.getReplayedCents());
+            Assert.assertEquals(1, result.getMismatchedCount());
+            Assert.assertTrue(result.toString(), result.getVirtualNanos() > TimeUnit.DAYS.toNanos(300));
+            Assert.assertTrue(result.toString(), result.getSpeedup() > 1000);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package bg.kirilov.timer.report;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @date 10/17/2026
+ */
+public class ReportExportTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void exportsInTheBackground() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("report.csv");
+        Thread caller = Thread.currentThread();
+        Thread[] exporter = new Thread[1];
+
+        CompletableFuture<Long> exported = ReportExport.exportAsync(sessions(3, exporter), ReportFormat.CSV, file);
+
+        Assert.assertEquals(3, (long) exported.get(10, TimeUnit.SECONDS));
+        Assert.assertNotSame(caller, exporter[0]);
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        Assert.assertEquals(4, lines.size());
+        Assert.assertTrue(lines.get(3), lines.get(3).startsWith("s2,"));
+    }
+
+    @Test
+    public void completesWithTheFailure() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("missing").resolve("report.csv");
+
+        CompletableFuture<Long> exported = ReportExport.exportAsync(sessions(3, new Thread[1]), ReportFormat.CSV, file);
+
+        try {
+            exported.get(10, TimeUnit.SECONDS);
+            Assert.fail("The directory does not exist");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(String.valueOf(e.getCause()), e.getCause() instanceof UncheckedIOException);
+            Assert.assertTrue(String.valueOf(e.getCause()), e.getCause().getCause() instanceof NoSuchFileException);
+        }
+        Assert.assertTrue(exported.isCompletedExceptionally());
+    }
+
+    /**
+     * @param reader - receives the thread that read the sessions
+     */
+    private static SessionRecordSource sessions(int count, Thread[] reader) {
+        int[] next = {0};
+        return record -> {
+            reader[0] = Thread.currentThread();
+            if (next[0] == count) {
+                return false;
+            }
+            record.set("s" + next[0], 0, 1, 10, 60, 0.17);
+            next[0]++;
+            return true;
+        };
+    }
+}
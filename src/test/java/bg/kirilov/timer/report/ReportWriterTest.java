@@ -0,0 +1,124 @@
+package bg.kirilov.timer.report;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Random;
+
+/**
+ * @date 10/17/2026
+ */
+public class ReportWriterTest {
+
+    private static final long OCT_17_2026_NOON = 1792238400000L;
+
+    @Test
+    public void writesCsv() throws IOException {
+        String csv = write(ReportFormat.CSV,
+                new SessionRecord().set("standup", OCT_17_2026_NOON, 6, 25.5, 3725, 158.2875),
+                new SessionRecord().set("say \"hi\", all", 0, 1, 0.123456, 0, 0));
+
+        Assert.assertEquals("id,started_at,participants,pay_rate,seconds,time,amount\n"
+                + "standup,2026-10-17T12:00:00Z,6,25.50,3725,01:02:05,158.29\n"
+                + "\"say \"\"hi\"\", all\",1970-01-01T00:00:00Z,1,0.123456,0,00:00:00,0.00\n", csv);
+    }
+
+    @Test
+    public void writesJsonLines() throws IOException {
+        String json = write(ReportFormat.JSON_LINES,
+                new SessionRecord().set("стая \"1\"\\\n😀", OCT_17_2026_NOON, 6, 25.5, 360000, 1.005));
+
+        Assert.assertEquals("{\"id\":\"стая \\\"1\\\"\\\\\\u000a😀\",\"startedAt\":\"2026-10-17T12:00:00Z\","
+                + "\"participants\":6,\"payRate\":25.50,\"seconds\":360000,\"time\":\"100:00:00\",\"amount\":1.00}\n", json);
+    }
+
+    @Test
+    public void writesDatesLikeJavaTime() throws IOException {
+        Random random = new Random(17);
+        for (int i = 0; i < 10_000; i++) {
+            long millis = (random.nextLong() % 253402300799L) * 1000;
+            if (millis < -62167219200000L) {
+                millis = -millis;
+            }
+            String csv = write(ReportFormat.CSV, new SessionRecord().set("a", millis + 999, 1, 1, 1, 1));
+
+            Assert.assertTrue(csv, csv.contains("a," + Instant.ofEpochMilli(millis) + ","));
+        }
+    }
+
+    @Test
+    public void smallBufferWritesTheSame() throws IOException {
+        ByteArrayOutputStream small = new ByteArrayOutputStream();
+        ByteArrayOutputStream large = new ByteArrayOutputStream();
+        try (ReportWriter smallWriter = new ReportWriter(Channels.newChannel(small), ReportFormat.JSON_LINES, 64);
+             ReportWriter largeWriter = new ReportWriter(large, ReportFormat.JSON_LINES)) {
+            SessionRecord record = new SessionRecord();
+            for (int i = 0; i < 1000; i++) {
+                record.set("session-" + i, OCT_17_2026_NOON + i * 1000L, i % 10 + 1, 12.75, i * 60, i * 3.1);
+                smallWriter.write(record);
+                largeWriter.write(record);
+            }
+        }
+
+        Assert.assertArrayEquals(large.toByteArray(), small.toByteArray());
+    }
+
+    @Test
+    public void rowsAllocateNothing() throws IOException {
+        java.lang.management.ThreadMXBean bean = java.lang.management.ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        ReportWriter writer = new ReportWriter(new DiscardingChannel(), ReportFormat.CSV);
+        SessionRecord record = new SessionRecord().set("weekly sync", OCT_17_2026_NOON, 12, 48.25, 5400, 868.5);
+        for (int i = 0; i < 20_000; i++) { //warm up
+            writer.write(record);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100_000; i++) {
+            writer.write(record);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        Assert.assertTrue("Allocated " + allocated + " bytes in 100000 rows", allocated < 1024);
+    }
+
+    private static String write(ReportFormat format, SessionRecord... records) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ReportWriter writer = new ReportWriter(out, format)) {
+            for (SessionRecord record : records) {
+                writer.write(record);
+            }
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static class DiscardingChannel implements WritableByteChannel {
+        @Override
+        public int write(ByteBuffer source) {
+            int written = source.remaining();
+            source.position(source.limit());
+            return written;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
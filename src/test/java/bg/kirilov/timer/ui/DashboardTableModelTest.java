@@ -0,0 +1,91 @@
+package bg.kirilov.timer.ui;
+
+import bg.kirilov.timer.presenter.CalculatingView;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.swing.event.TableModelEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @date 10/17/2026
+ */
+public class DashboardTableModelTest {
+
+    private DashboardTableModel model;
+    private final List<String> updates = new ArrayList<>();
+    private final List<CalculatingView> views = new ArrayList<>();
+
+    @Before
+    public void init() {
+        model = new DashboardTableModel();
+        for (int i = 0; i < 200; i++) {
+            views.add(model.addRow("room" + i));
+        }
+        model.addTableModelListener(event -> {
+            if (event.getType() == TableModelEvent.UPDATE) {
+                updates.add(event.getFirstRow() + "-" + event.getLastRow());
+            }
+        });
+        //the rows are new
+        model.flushFrame(0, 199);
+        updates.clear();
+    }
+
+    @Test
+    public void repaintsOnlyTheVisibleRowsThatChanged() {
+        Assert.assertEquals(0, model.flushFrame(0, 199));
+
+        for (int row : new int[]{3, 4, 5, 7, 63, 64, 65, 150}) {
+            views.get(row).setClock("00:00:01");
+        }
+        views.get(4).setAmount("0.02");
+        Assert.assertEquals("00:00:01", model.getValueAt(63, DashboardTableModel.CLOCK_COLUMN));
+        Assert.assertEquals("0.02", model.getValueAt(4, DashboardTableModel.AMOUNT_COLUMN));
+
+        //one event per run of rows, nothing below the screen
+        Assert.assertEquals(3, model.flushFrame(0, 100));
+        Assert.assertEquals("[3-5, 7-7, 63-65]", updates.toString());
+        //the bits are cleared, also of the rows not visible
+        Assert.assertEquals(0, model.flushFrame(0, 199));
+    }
+
+    @Test
+    public void rowsMoveUpWhenASessionIsRemoved() {
+        Assert.assertTrue(model.removeRow("room10"));
+        Assert.assertFalse(model.removeRow("room10"));
+        Assert.assertEquals(199, model.getRowCount());
+        Assert.assertEquals("room11", model.getId(10));
+
+        //the rows below the removed one are painted again
+        model.flushFrame(0, 198);
+        Assert.assertEquals("[10-198]", updates.toString());
+        updates.clear();
+
+        views.get(11).setAmount("1.00");
+        model.flushFrame(0, 198);
+        Assert.assertEquals("[10-10]", updates.toString());
+        Assert.assertEquals("1.00", model.getValueAt(10, DashboardTableModel.AMOUNT_COLUMN));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void idsAreUnique() {
+        model.addRow("room0");
+    }
+
+    @Test
+    public void growsBeyondTheInitialCapacity() {
+        for (int i = 200; i < 5000; i++) {
+            views.add(model.addRow("room" + i));
+        }
+        model.flushFrame(0, 4999);
+        updates.clear();
+
+        views.get(4999).setClock("00:00:01");
+        views.get(4000).setClock("00:00:01");
+        Assert.assertEquals(2, model.flushFrame(3990, 4999));
+        Assert.assertEquals("[4000-4000, 4999-4999]", updates.toString());
+    }
+}
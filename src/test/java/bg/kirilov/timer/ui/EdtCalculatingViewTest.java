@@ -0,0 +1,73 @@
+package bg.kirilov.timer.ui;
+
+import bg.kirilov.timer.presenter.CalculatingView;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @date 10/17/2026
+ */
+public class EdtCalculatingViewTest {
+
+    @Test
+    public void latestValuesAreRenderedOnTheEdt() throws Exception {
+        RecordingView target = new RecordingView();
+        EdtCalculatingView bridge = new EdtCalculatingView(target, new EdtRenderer(TimeUnit.MILLISECONDS.toNanos(5)));
+
+        for (int i = 0; i <= 10_000; i++) {
+            bridge.setClock("clock " + i);
+            bridge.setAmount("amount " + i);
+        }
+        waitForRender();
+
+        Assert.assertEquals("clock 10000", target.clocks.get(target.clocks.size() - 1));
+        Assert.assertEquals("amount 10000", target.amounts.get(target.amounts.size() - 1));
+        Assert.assertTrue("Intermediate values should be dropped: " + target.clocks.size(), target.clocks.size() < 100);
+        Assert.assertFalse("Rendered off the EDT", target.offEdt);
+    }
+
+    @Test
+    public void clearDropsPendingValues() throws Exception {
+        RecordingView target = new RecordingView();
+        EdtCalculatingView bridge = new EdtCalculatingView(target, new EdtRenderer(TimeUnit.MILLISECONDS.toNanos(5)));
+
+        SwingUtilities.invokeAndWait(() -> {
+            bridge.setClock("00:00:05");
+            bridge.clear();
+        });
+        waitForRender();
+
+        Assert.assertTrue(target.clocks.isEmpty());
+    }
+
+    private static void waitForRender() throws Exception {
+        //the renderer waits at most a frame, then drains on the EDT
+        Thread.sleep(50);
+        SwingUtilities.invokeAndWait(() -> {
+        });
+    }
+
+    private static class RecordingView implements CalculatingView {
+        private final List<String> clocks = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> amounts = Collections.synchronizedList(new ArrayList<>());
+        private volatile boolean offEdt;
+
+        @Override
+        public void setClock(String formattedClock) {
+            offEdt |= !SwingUtilities.isEventDispatchThread();
+            clocks.add(formattedClock);
+        }
+
+        @Override
+        public void setAmount(String formattedAmount) {
+            offEdt |= !SwingUtilities.isEventDispatchThread();
+            amounts.add(formattedAmount);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package bg.kirilov.timer.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.text.NumberFormat;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * @date 10/17/2026
+ */
+@RunWith(Parameterized.class)
+public class AmountTextTest {
+
+    private static final double[] AMOUNTS = {
+            0, 0.005, 0.015, 0.085, 0.125, 0.285, 0.353, 1.005, 2.675, 2, 55.3, 100.02, 999.995, 1000, 1234567.891, -42.5, 1e17, 1e300
+    };
+
+    private Locale locale;
+
+    public AmountTextTest(Locale locale) {
+        this.locale = locale;
+    }
+
+    @Parameterized.Parameters
+    public static Collection<Object[]> locales() {
+        return Arrays.asList(new Object[][]{
+                {Locale.US},
+                {Locale.GERMANY},
+                {Locale.FRANCE},
+                {new Locale("bg", "BG")}
+        });
+    }
+
+    @Test
+    public void printsLikeNumberFormat() {
+        NumberFormat format = NumberFormat.getInstance(locale);
+        format.setMinimumFractionDigits(2);
+        format.setMaximumFractionDigits(2);
+        AmountText text = new AmountText(format);
+
+        for (double amount : AMOUNTS) {
+            text.set(amount);
+            Assert.assertEquals("Amount " + amount + " in " + locale, format.format(amount), text.toString());
+        }
+    }
+
+    @Test
+    public void roundsTiesLikeNumberFormat() {
+        NumberFormat format = NumberFormat.getInstance(locale);
+        format.setMinimumFractionDigits(2);
+        format.setMaximumFractionDigits(2);
+        AmountText text = new AmountText(format);
+
+        for (int i = 0; i < 100_000; i++) {
+            double amount = i * 0.0125 / 3.0;
+            text.set(amount);
+            Assert.assertEquals("Amount " + amount, format.format(amount), text.toString());
+
+            double tie = i / 200.0;
+            text.set(tie);
+            Assert.assertEquals("Amount " + tie, format.format(tie), text.toString());
+        }
+    }
+
+    @Test
+    public void reportsChangesOnly() {
+        NumberFormat format = NumberFormat.getInstance(locale);
+        AmountText text = new AmountText(format);
+
+        Assert.assertTrue(text.set(1.001));
+        Assert.assertFalse(text.set(1.002));
+        Assert.assertTrue(text.set(1.01));
+    }
+}
@@ -0,0 +1,36 @@
+package bg.kirilov.timer.util;
+
+import org.joda.time.Duration;
+import org.joda.time.format.PeriodFormatter;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @date 10/17/2026
+ */
+public class ClockTextTest {
+
+    private static PeriodFormatter format = Formatters.getPeriodFormatter();
+
+    @Test
+    public void printsLikePeriodFormatter() {
+        ClockText text = new ClockText();
+        long[] samples = {0, 1, 59, 60, 315, 3599, 3600, 57344, 359999, 360000, 3600L * 1234 + 61};
+
+        for (long seconds : samples) {
+            text.set(seconds);
+            String expected = format.print(new Duration(seconds * TimeConstants.ONE_SECOND_IN_MILLIS).toPeriod());
+            Assert.assertEquals("Seconds: " + seconds, expected, text.toString());
+            Assert.assertEquals(expected.length(), text.length());
+            Assert.assertEquals(expected.charAt(0), text.charAt(0));
+        }
+    }
+
+    @Test
+    public void reportsChangesOnly() {
+        ClockText text = new ClockText();
+        Assert.assertFalse(text.set(0));
+        Assert.assertTrue(text.set(1));
+        Assert.assertFalse(text.set(1));
+    }
+}
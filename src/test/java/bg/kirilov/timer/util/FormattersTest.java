@@ -0,0 +1,83 @@
+package bg.kirilov.timer.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * @date 10/17/2026
+ */
+public class FormattersTest {
+
+    @Test
+    public void localeIsRespectedOnEveryCall() {
+        Assert.assertEquals("1,234.50", Formatters.getNumberFormatter(Locale.US).format(1234.5));
+        Assert.assertEquals("1.234,50", Formatters.getNumberFormatter(Locale.GERMANY).format(1234.5));
+        Assert.assertEquals("1,234.50", Formatters.formatNumber(1234.5, Locale.US));
+    }
+
+    @Test
+    public void numberFormatterIsConfinedToTheThread() throws Exception {
+        NumberFormat mine = Formatters.getNumberFormatter(Locale.US);
+        Assert.assertSame(mine, Formatters.getNumberFormatter(Locale.US));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            NumberFormat other = executor.submit(() -> Formatters.getNumberFormatter(Locale.US)).get();
+            Assert.assertNotSame(mine, other);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void concurrentFormattingIsCorrect() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final Locale locale = t % 2 == 0 ? Locale.US : Locale.GERMANY;
+                final String separator = t % 2 == 0 ? "." : ",";
+                results.add(executor.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() {
+                        int wrong = 0;
+                        for (int i = 0; i < 20_000; i++) {
+                            String expected = i + separator + "25";
+                            String actual = stripGrouping(Formatters.formatNumber(i + 0.25, locale), separator);
+                            if (!expected.equals(actual)) {
+                                wrong++;
+                            }
+                        }
+                        return wrong;
+                    }
+                }));
+            }
+            for (Future<Integer> result : results) {
+                Assert.assertEquals(0, (int) result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void periodFormatterIsSharedPerLocale() {
+        Assert.assertSame(Formatters.getPeriodFormatter(Locale.US), Formatters.getPeriodFormatter(Locale.US));
+        Assert.assertEquals(Locale.GERMANY, Formatters.getPeriodFormatter(Locale.GERMANY).getLocale());
+    }
+
+    private static String stripGrouping(String text, String decimalSeparator) {
+        String grouping = ".".equals(decimalSeparator) ? "," : ".";
+        return text.replace(grouping, "");
+    }
+}